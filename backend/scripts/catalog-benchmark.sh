@@ -0,0 +1,30 @@
+#!/usr/bin/env bash
+# Catalogue benchmark: requests per second and bytes allocated per request for GET /api/items
+# served by loading and serializing every item (the old path) against the pre-encoded snapshot
+# (200, gzip 200 and 304), plus the cost of republishing after a save.
+#
+#   scripts/catalog-benchmark.sh [-i items] [-t threads] [-s seconds per case]
+#
+# Compiles the test classes and runs com.platform.ShareNet.benchmark.CatalogBenchmark
+# in-process against the in-memory item repository; no application or database is needed.
+# Needs mvn and java on the PATH.
+set -euo pipefail
+
+ITEMS=2000
+THREADS=$(nproc 2>/dev/null || echo 4)
+SECONDS_PER_CASE=5
+
+while getopts "i:t:s:" opt; do
+  case "$opt" in
+    i) ITEMS=$OPTARG ;;
+    t) THREADS=$OPTARG ;;
+    s) SECONDS_PER_CASE=$OPTARG ;;
+    *) sed -n '6p' "$0"; exit 2 ;;
+  esac
+done
+
+cd "$(dirname "$0")/.."
+mvn -B -q test-compile
+mvn -B -q dependency:build-classpath -Dmdep.outputFile=target/benchmark.classpath
+java -Xms1g -Xmx1g -cp "target/test-classes:target/classes:$(cat target/benchmark.classpath)" \
+  com.platform.ShareNet.benchmark.CatalogBenchmark "$ITEMS" "$THREADS" "$SECONDS_PER_CASE"
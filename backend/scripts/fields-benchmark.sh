@@ -0,0 +1,60 @@
+#!/usr/bin/env bash
+# Sparse fieldset benchmark: bytes on the wire, response time and database time per request
+# for the common list screens, with the full representation and with ?fields=.
+#
+#   scripts/fields-benchmark.sh [-b base-url] [-n requests] [-u user-id] [-o other-user-id]
+#
+# Runs against an application that is already up. TOKEN must hold a bearer token for the user
+# endpoints; if it belongs to an account listed in admin.emails, database time is read from
+# /api/admin/sql-stats (reset before each scenario). Needs curl and python3.
+set -euo pipefail
+
+BASE=http://localhost:8080
+RUNS=50
+USER_ID=1
+OTHER_ID=2
+
+while getopts "b:n:u:o:" opt; do
+  case "$opt" in
+    b) BASE=$OPTARG ;;
+    n) RUNS=$OPTARG ;;
+    u) USER_ID=$OPTARG ;;
+    o) OTHER_ID=$OPTARG ;;
+    *) sed -n '5p' "$0"; exit 2 ;;
+  esac
+done
+
+AUTH=()
+[ -n "${TOKEN:-}" ] && AUTH=(-H "Authorization: Bearer $TOKEN")
+
+db_ms() {
+  curl -fsS "${AUTH[@]}" "$BASE/api/admin/sql-stats?limit=200" 2>/dev/null \
+    | python3 -c 'import json,sys; print(round(sum(s["totalMs"] for s in json.load(sys.stdin)["statements"]), 2))' \
+    || echo "n/a"
+}
+
+run() {
+  local name=$1 path=$2
+  curl -fsS -o /dev/null -X DELETE "${AUTH[@]}" "$BASE/api/admin/sql-stats" 2>/dev/null || true
+  local bytes=0 total=0
+  for _ in $(seq 1 "$RUNS"); do
+    read -r size seconds < <(curl -fsS -o /dev/null -w '%{size_download} %{time_total}\n' "${AUTH[@]}" "$BASE$path")
+    bytes=$size
+    total=$(python3 -c "print($total + $seconds)")
+  done
+  local db
+  db=$(db_ms)
+  [ "$db" != "n/a" ] && db=$(python3 -c "print(round($db / $RUNS, 3))")
+  printf '%-34s %10s %10s %10s\n' "$name" "$bytes" "$(python3 -c "print(round($total * 1000 / $RUNS, 2))")" "$db"
+}
+
+echo "base=$BASE requests=$RUNS"
+printf '%-34s %10s %10s %10s\n' scenario bytes mean_ms db_ms
+run "items (full)"                 "/api/items/available"
+run "items ?fields= (cards)"       "/api/items/available?fields=name,pricePerDay,category,location,available"
+run "user (full)"                  "/api/users/$USER_ID"
+run "user ?fields= (header)"       "/api/users/$USER_ID?fields=name,creditPoints"
+run "transactions (full)"          "/api/transactions/user/$USER_ID"
+run "transactions ?fields= (list)" "/api/transactions/user/$USER_ID?fields=amount,type,timestamp,item.name"
+run "chats (full)"                 "/api/chats/$USER_ID/$OTHER_ID"
+run "chats ?fields= (thread)"      "/api/chats/$USER_ID/$OTHER_ID?fields=message,timeStamp,sender.id"
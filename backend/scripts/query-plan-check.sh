@@ -0,0 +1,27 @@
+#!/usr/bin/env bash
+# Query plan check: runs EXPLAIN for every repository query against a local MySQL and fails when
+# one reads a whole table or index.
+#
+#   scripts/query-plan-check.sh [-u jdbc-url] [-U user] [-P password]
+#
+# Runs com.platform.ShareNet.QueryPlanTests, which is skipped in a plain `mvn test`. The tables in
+# the target database are DROPPED, recreated from the entity mappings and seeded, so point it at
+# a scratch schema (the default creates sharenet_query_plan), never at real data.
+set -euo pipefail
+
+URL="jdbc:mysql://localhost:3306/sharenet_query_plan?createDatabaseIfNotExist=true&useSSL=false&allowPublicKeyRetrieval=true"
+DB_USER=root
+DB_PASSWORD=${MYSQL_PASSWORD:-}
+
+while getopts "u:U:P:" opt; do
+  case "$opt" in
+    u) URL=$OPTARG ;;
+    U) DB_USER=$OPTARG ;;
+    P) DB_PASSWORD=$OPTARG ;;
+    *) sed -n '5p' "$0"; exit 2 ;;
+  esac
+done
+
+cd "$(dirname "$0")/.."
+mvn -B test -Dtest=QueryPlanTests -Dsurefire.failIfNoSpecifiedTests=false \
+  "-Dquery-plan.url=$URL" "-Dquery-plan.username=$DB_USER" "-Dquery-plan.password=$DB_PASSWORD"
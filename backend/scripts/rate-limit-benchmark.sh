@@ -0,0 +1,26 @@
+#!/usr/bin/env bash
+# Rate-limit benchmark: nanoseconds RateLimitFilter adds per request on an unlimited route, on a
+# limited route for one client, and on a limited route spread over many client buckets.
+#
+#   scripts/rate-limit-benchmark.sh [-c clients] [-n iterations]
+#
+# Compiles the test classes and runs com.platform.ShareNet.benchmark.RateLimitBenchmark
+# in-process; no application or database is needed. Needs mvn and java on the PATH.
+set -euo pipefail
+
+CLIENTS=50000
+ITERATIONS=5000000
+
+while getopts "c:n:" opt; do
+  case "$opt" in
+    c) CLIENTS=$OPTARG ;;
+    n) ITERATIONS=$OPTARG ;;
+    *) sed -n '5p' "$0"; exit 2 ;;
+  esac
+done
+
+cd "$(dirname "$0")/.."
+mvn -B -q test-compile
+mvn -B -q dependency:build-classpath -Dmdep.outputFile=target/benchmark.classpath
+java -cp "target/test-classes:target/classes:$(cat target/benchmark.classpath)" \
+  com.platform.ShareNet.benchmark.RateLimitBenchmark "$CLIENTS" "$ITERATIONS"
@@ -0,0 +1,42 @@
+#!/usr/bin/env bash
+# Recommendation benchmark: time of a full co-borrow matrix rebuild for synthetic borrows, at
+# common fork-join pool parallelism 1, 2, 4... up to the core count.
+#
+#   scripts/recommendation-benchmark.sh [-p pairs] [-b borrowers] [-i items] [-r rounds]
+#
+# Compiles the test classes and runs com.platform.ShareNet.benchmark.RecommendationBenchmark
+# once per parallelism level, each in its own JVM; no application or database is needed.
+# Needs mvn, java and nproc on the PATH.
+set -euo pipefail
+
+PAIRS=1000000
+BORROWERS=100000
+ITEMS=50000
+ROUNDS=5
+
+while getopts "p:b:i:r:" opt; do
+  case "$opt" in
+    p) PAIRS=$OPTARG ;;
+    b) BORROWERS=$OPTARG ;;
+    i) ITEMS=$OPTARG ;;
+    r) ROUNDS=$OPTARG ;;
+    *) sed -n '5p' "$0"; exit 2 ;;
+  esac
+done
+
+cd "$(dirname "$0")/.."
+mvn -B -q test-compile
+mvn -B -q dependency:build-classpath -Dmdep.outputFile=target/benchmark.classpath
+
+CORES=$(nproc)
+LEVELS=()
+for ((p = 1; p < CORES; p *= 2)); do
+  LEVELS+=("$p")
+done
+LEVELS+=("$CORES")
+
+for p in "${LEVELS[@]}"; do
+  java -Xms2g -Xmx2g -Djava.util.concurrent.ForkJoinPool.common.parallelism="$p" \
+    -cp "target/test-classes:target/classes:$(cat target/benchmark.classpath)" \
+    com.platform.ShareNet.benchmark.RecommendationBenchmark "$PAIRS" "$BORROWERS" "$ITEMS" "$ROUNDS"
+done
@@ -0,0 +1,28 @@
+#!/usr/bin/env bash
+# Serialization benchmark: bytes (raw and gzipped) and encode/decode time per response for the
+# JSON, CBOR and protobuf encodings of an item page and a conversation.
+#
+#   scripts/serialization-benchmark.sh [-i items] [-c chats] [-n iterations]
+#
+# Compiles the test classes and runs com.platform.ShareNet.benchmark.SerializationBenchmark
+# in-process; no application or database is needed. Needs mvn and java on the PATH.
+set -euo pipefail
+
+ITEMS=50
+CHATS=200
+ITERATIONS=2000
+
+while getopts "i:c:n:" opt; do
+  case "$opt" in
+    i) ITEMS=$OPTARG ;;
+    c) CHATS=$OPTARG ;;
+    n) ITERATIONS=$OPTARG ;;
+    *) sed -n '5p' "$0"; exit 2 ;;
+  esac
+done
+
+cd "$(dirname "$0")/.."
+mvn -B -q test-compile
+mvn -B -q dependency:build-classpath -Dmdep.outputFile=target/benchmark.classpath
+java -cp "target/test-classes:target/classes:$(cat target/benchmark.classpath)" \
+  com.platform.ShareNet.benchmark.SerializationBenchmark "$ITEMS" "$CHATS" "$ITERATIONS"
@@ -0,0 +1,89 @@
+#!/usr/bin/env bash
+# Cold-start benchmark: time from launching the JVM to the first successful request, and the
+# resident set size at that point.
+#
+#   scripts/startup-benchmark.sh [-m standard|fast] [-n runs] [-p port] [-u path]
+#
+# standard runs target/ShareNet-*.jar as built by "mvn package"; fast runs the extracted jar in
+# target/fast-start with the AOT context and CDS archive from "mvn -Pfast-start package".
+# The database settings come from the environment as for the prod profile (DATABASE_URL,
+# DATABASE_USERNAME, DATABASE_PASSWORD); SPRING_PROFILES_ACTIVE defaults to prod.
+set -euo pipefail
+
+MODE=standard
+RUNS=5
+PORT=18080
+REQUEST_PATH=/api/items
+TIMEOUT_SECONDS=120
+
+while getopts "m:n:p:u:" opt; do
+  case "$opt" in
+    m) MODE=$OPTARG ;;
+    n) RUNS=$OPTARG ;;
+    p) PORT=$OPTARG ;;
+    u) REQUEST_PATH=$OPTARG ;;
+    *) sed -n '5p' "$0"; exit 2 ;;
+  esac
+done
+
+cd "$(dirname "$0")/.."
+export SPRING_PROFILES_ACTIVE=${SPRING_PROFILES_ACTIVE:-prod}
+
+JAR=$(ls target/ShareNet-*.jar 2>/dev/null | grep -v '\.original$' | head -n 1 || true)
+case "$MODE" in
+  standard)
+    [ -n "$JAR" ] || { echo "No jar in target/, run mvn package first" >&2; exit 1; }
+    WORKDIR=.
+    JAVA_ARGS=(-jar "$JAR")
+    ;;
+  fast)
+    WORKDIR=target/fast-start
+    [ -f "$WORKDIR/application.jsa" ] || { echo "No CDS archive, run mvn -Pfast-start package first" >&2; exit 1; }
+    JAVA_ARGS=(-XX:SharedArchiveFile=application.jsa -Dspring.aot.enabled=true -jar "$(basename "$JAR")")
+    ;;
+  *)
+    echo "Unknown mode '$MODE' (standard or fast)" >&2; exit 2 ;;
+esac
+
+now_ms() { echo $(( $(date +%s%N) / 1000000 )); }
+
+rss_kb() {
+  if [ -r "/proc/$1/status" ]; then
+    awk '/^VmRSS:/ { print $2 }' "/proc/$1/status"
+  else
+    ps -o rss= -p "$1" | tr -d ' '
+  fi
+}
+
+PID=
+cleanup() { [ -n "$PID" ] && kill "$PID" 2>/dev/null && wait "$PID" 2>/dev/null || true; }
+trap cleanup EXIT
+
+times=()
+echo "mode=$MODE profile=$SPRING_PROFILES_ACTIVE url=http://localhost:$PORT$REQUEST_PATH"
+for run in $(seq 1 "$RUNS"); do
+  start=$(now_ms)
+  (cd "$WORKDIR" && exec java "${JAVA_ARGS[@]}" --server.port="$PORT") > "target/startup-benchmark-$run.log" 2>&1 &
+  PID=$!
+
+  until curl -fsS -o /dev/null "http://localhost:$PORT$REQUEST_PATH" 2>/dev/null; do
+    if ! kill -0 "$PID" 2>/dev/null; then
+      echo "run $run: application exited, see target/startup-benchmark-$run.log" >&2; exit 1
+    fi
+    if [ $(( $(now_ms) - start )) -gt $(( TIMEOUT_SECONDS * 1000 )) ]; then
+      echo "run $run: no successful response within ${TIMEOUT_SECONDS}s" >&2; exit 1
+    fi
+    sleep 0.05
+  done
+
+  elapsed=$(( $(now_ms) - start ))
+  rss=$(rss_kb "$PID")
+  printf 'run %d: first request after %d ms, rss %d MB\n' "$run" "$elapsed" $(( rss / 1024 ))
+  times+=("$elapsed")
+  cleanup
+  PID=
+done
+
+sorted=($(printf '%s\n' "${times[@]}" | sort -n))
+printf 'min %d ms, median %d ms, max %d ms over %d runs\n' \
+  "${sorted[0]}" "${sorted[$(( ${#sorted[@]} / 2 ))]}" "${sorted[-1]}" "${#sorted[@]}"
@@ -0,0 +1,28 @@
+#!/usr/bin/env bash
+# Suggest benchmark: heap used by the item-name completion trie and its prefix-lookup and update
+# latency for a synthetic catalogue.
+#
+#   scripts/suggest-benchmark.sh [-i items] [-n lookups] [-k top-k]
+#
+# Compiles the test classes and runs com.platform.ShareNet.benchmark.SuggestBenchmark
+# in-process; no application or database is needed. Needs mvn and java on the PATH.
+set -euo pipefail
+
+ITEMS=1000000
+LOOKUPS=1000000
+TOP_K=10
+
+while getopts "i:n:k:" opt; do
+  case "$opt" in
+    i) ITEMS=$OPTARG ;;
+    n) LOOKUPS=$OPTARG ;;
+    k) TOP_K=$OPTARG ;;
+    *) sed -n '5p' "$0"; exit 2 ;;
+  esac
+done
+
+cd "$(dirname "$0")/.."
+mvn -B -q test-compile
+mvn -B -q dependency:build-classpath -Dmdep.outputFile=target/benchmark.classpath
+java -Xms2g -Xmx2g -XX:+UseParallelGC -cp "target/test-classes:target/classes:$(cat target/benchmark.classpath)" \
+  com.platform.ShareNet.benchmark.SuggestBenchmark "$ITEMS" "$LOOKUPS" "$TOP_K"
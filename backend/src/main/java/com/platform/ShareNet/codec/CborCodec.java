@@ -0,0 +1,403 @@
+package com.platform.ShareNet.codec;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * CBOR (RFC 8949) encoding of a Jackson token stream, and decoding back to maps, lists and
+ * scalars.
+ *
+ * Objects and arrays are written with indefinite lengths so the encoder can stream tokens
+ * without counting members first. Doubles that are exact as floats take the 4-byte form.
+ * Decoding reads untrusted request bodies, so every malformed input, including nesting deeper
+ * than {@link #MAX_DEPTH}, ends in an {@link IllegalArgumentException}.
+ */
+public final class CborCodec {
+
+    private static final int UNSIGNED = 0;
+    private static final int NEGATIVE = 1;
+    private static final int BYTES = 2;
+    private static final int TEXT = 3;
+    private static final int ARRAY = 4;
+    private static final int MAP = 5;
+    private static final int TAG = 6;
+    private static final int SIMPLE = 7;
+
+    private static final int BREAK = 0xff;
+
+    // Arrays, maps and tags nested deeper than this are rejected rather than recursed into
+    public static final int MAX_DEPTH = 64;
+
+    private CborCodec() {
+    }
+
+    public static void encode(JsonParser parser, OutputStream out) throws IOException {
+        Output output = new Output(out);
+        JsonToken token = parser.currentToken() != null ? parser.currentToken() : parser.nextToken();
+        while (token != null) {
+            switch (token) {
+                case START_OBJECT -> output.write(MAP << 5 | 31);
+                case START_ARRAY -> output.write(ARRAY << 5 | 31);
+                case END_OBJECT, END_ARRAY -> output.write(BREAK);
+                case FIELD_NAME, VALUE_STRING -> output.text(parser.getText());
+                case VALUE_NUMBER_INT -> {
+                    if (parser.getNumberType() == JsonParser.NumberType.BIG_INTEGER) {
+                        output.integer(parser.getBigIntegerValue());
+                    } else {
+                        output.integer(parser.getLongValue());
+                    }
+                }
+                case VALUE_NUMBER_FLOAT -> {
+                    if (parser.getNumberType() == JsonParser.NumberType.BIG_DECIMAL) {
+                        output.decimal(parser.getDecimalValue());
+                    } else {
+                        output.floating(parser.getDoubleValue());
+                    }
+                }
+                case VALUE_TRUE -> output.write(SIMPLE << 5 | 21);
+                case VALUE_FALSE -> output.write(SIMPLE << 5 | 20);
+                case VALUE_NULL -> output.write(SIMPLE << 5 | 22);
+                case VALUE_EMBEDDED_OBJECT -> {
+                    Object value = parser.getEmbeddedObject();
+                    if (value instanceof byte[] bytes) {
+                        output.head(BYTES, bytes.length);
+                        output.write(bytes);
+                    } else if (value == null) {
+                        output.write(SIMPLE << 5 | 22);
+                    } else {
+                        output.text(value.toString());
+                    }
+                }
+                default -> {
+                }
+            }
+            token = parser.nextToken();
+        }
+        output.flush();
+    }
+
+    /**
+     * Decodes one data item: maps become {@link LinkedHashMap}s with string keys, arrays
+     * {@link List}s, integers {@link Long} (or {@link BigInteger} beyond 64 bits).
+     */
+    public static Object decode(byte[] data) {
+        return new Input(data).value();
+    }
+
+    private static final class Output {
+
+        private final OutputStream out;
+        private final byte[] buffer = new byte[8192];
+        private int position;
+
+        Output(OutputStream out) {
+            this.out = out;
+        }
+
+        void write(int b) throws IOException {
+            if (position == buffer.length) {
+                flushBuffer();
+            }
+            buffer[position++] = (byte) b;
+        }
+
+        void write(byte[] bytes) throws IOException {
+            if (bytes.length > buffer.length - position) {
+                flushBuffer();
+                if (bytes.length > buffer.length) {
+                    out.write(bytes);
+                    return;
+                }
+            }
+            System.arraycopy(bytes, 0, buffer, position, bytes.length);
+            position += bytes.length;
+        }
+
+        void head(int major, long length) throws IOException {
+            int type = major << 5;
+            if (length < 24) {
+                write(type | (int) length);
+            } else if (length < 0x100) {
+                write(type | 24);
+                write((int) length);
+            } else if (length < 0x10000) {
+                write(type | 25);
+                writeBigEndian(length, 2);
+            } else if (length < 0x100000000L) {
+                write(type | 26);
+                writeBigEndian(length, 4);
+            } else {
+                write(type | 27);
+                writeBigEndian(length, 8);
+            }
+        }
+
+        void text(String value) throws IOException {
+            byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            head(TEXT, bytes.length);
+            write(bytes);
+        }
+
+        void integer(long value) throws IOException {
+            if (value >= 0) {
+                head(UNSIGNED, value);
+            } else {
+                head(NEGATIVE, -1 - value);
+            }
+        }
+
+        void integer(BigInteger value) throws IOException {
+            if (value.bitLength() < 64) {
+                integer(value.longValue());
+                return;
+            }
+            // Tags 2 and 3: bignums as big-endian magnitudes
+            boolean negative = value.signum() < 0;
+            byte[] magnitude = (negative ? value.negate().subtract(BigInteger.ONE) : value).toByteArray();
+            int skip = magnitude[0] == 0 ? 1 : 0;
+            head(TAG, negative ? 3 : 2);
+            head(BYTES, magnitude.length - skip);
+            for (int i = skip; i < magnitude.length; i++) {
+                write(magnitude[i]);
+            }
+        }
+
+        // Tag 4: [exponent, mantissa]
+        void decimal(BigDecimal value) throws IOException {
+            head(TAG, 4);
+            head(ARRAY, 2);
+            integer(-value.scale());
+            integer(value.unscaledValue());
+        }
+
+        void floating(double value) throws IOException {
+            float single = (float) value;
+            if (single == value || Double.isNaN(value)) {
+                write(SIMPLE << 5 | 26);
+                writeBigEndian(Float.floatToIntBits(single) & 0xffffffffL, 4);
+            } else {
+                write(SIMPLE << 5 | 27);
+                writeBigEndian(Double.doubleToLongBits(value), 8);
+            }
+        }
+
+        private void writeBigEndian(long value, int bytes) throws IOException {
+            for (int shift = (bytes - 1) * 8; shift >= 0; shift -= 8) {
+                write((int) (value >>> shift) & 0xff);
+            }
+        }
+
+        void flush() throws IOException {
+            flushBuffer();
+            out.flush();
+        }
+
+        private void flushBuffer() throws IOException {
+            out.write(buffer, 0, position);
+            position = 0;
+        }
+    }
+
+    private static final class Input {
+
+        static final Object BREAK_MARKER = new Object();
+
+        private final byte[] data;
+        private int position;
+        private int depth;
+
+        Input(byte[] data) {
+            this.data = data;
+        }
+
+        // An item where a break is not allowed: at the top, in definite-length containers, as a
+        // map value and as tag content
+        Object value() {
+            Object value = item();
+            if (value == BREAK_MARKER) {
+                throw new IllegalArgumentException("Unexpected break in CBOR data");
+            }
+            return value;
+        }
+
+        Object item() {
+            int initial = next();
+            if (initial == BREAK) {
+                return BREAK_MARKER;
+            }
+            int major = initial >>> 5;
+            int info = initial & 0x1f;
+            switch (major) {
+                case UNSIGNED: {
+                    long value = argument(info);
+                    return value >= 0 ? value : unsigned(value);
+                }
+                case NEGATIVE: {
+                    long value = argument(info);
+                    return value >= 0 ? -1 - value : unsigned(value).negate().subtract(BigInteger.ONE);
+                }
+                case BYTES:
+                    return info == 31 ? chunks(BYTES) : take(length(info));
+                case TEXT:
+                    return new String(info == 31 ? chunks(TEXT) : take(length(info)), StandardCharsets.UTF_8);
+                case ARRAY: {
+                    enter();
+                    List<Object> list = new ArrayList<>();
+                    if (info == 31) {
+                        for (Object element = item(); element != BREAK_MARKER; element = item()) {
+                            list.add(element);
+                        }
+                    } else {
+                        for (long i = length(info); i > 0; i--) {
+                            list.add(value());
+                        }
+                    }
+                    depth--;
+                    return list;
+                }
+                case MAP: {
+                    enter();
+                    Map<String, Object> map = new LinkedHashMap<>();
+                    if (info == 31) {
+                        for (Object key = item(); key != BREAK_MARKER; key = item()) {
+                            map.put(String.valueOf(key), value());
+                        }
+                    } else {
+                        for (long i = length(info); i > 0; i--) {
+                            map.put(String.valueOf(value()), value());
+                        }
+                    }
+                    depth--;
+                    return map;
+                }
+                case TAG: {
+                    long tag = argument(info);
+                    enter();
+                    Object value = tagged(tag);
+                    depth--;
+                    return value;
+                }
+                default:
+                    return simple(info);
+            }
+        }
+
+        private void enter() {
+            if (++depth > MAX_DEPTH) {
+                throw new IllegalArgumentException("CBOR data is nested deeper than " + MAX_DEPTH + " levels");
+            }
+        }
+
+        private static BigInteger unsigned(long value) {
+            return new BigInteger(Long.toUnsignedString(value));
+        }
+
+        private Object tagged(long tag) {
+            Object content = value();
+            if ((tag == 2 || tag == 3) && content instanceof byte[] bytes) {
+                BigInteger magnitude = new BigInteger(1, bytes);
+                return tag == 2 ? magnitude : magnitude.negate().subtract(BigInteger.ONE);
+            }
+            if (tag == 4) {
+                if (!(content instanceof List<?> parts) || parts.size() != 2
+                        || !(parts.get(0) instanceof Long exponent)
+                        || !(parts.get(1) instanceof Long || parts.get(1) instanceof BigInteger)) {
+                    throw new IllegalArgumentException("CBOR decimal fraction must be [exponent, mantissa] integers");
+                }
+                // The scale is the negated exponent and must fit an int
+                if (exponent <= Integer.MIN_VALUE || exponent > Integer.MAX_VALUE) {
+                    throw new IllegalArgumentException("CBOR decimal exponent " + exponent + " out of range");
+                }
+                Object mantissa = parts.get(1);
+                BigInteger unscaled = mantissa instanceof BigInteger big ? big : BigInteger.valueOf((Long) mantissa);
+                return new BigDecimal(unscaled, (int) -exponent);
+            }
+            return content;
+        }
+
+        private Object simple(int info) {
+            switch (info) {
+                case 20:
+                    return Boolean.FALSE;
+                case 21:
+                    return Boolean.TRUE;
+                case 22:
+                case 23:
+                    return null;
+                case 25:
+                    return (double) Float.float16ToFloat((short) argument(25));
+                case 26:
+                    return (double) Float.intBitsToFloat((int) argument(26));
+                case 27:
+                    return Double.longBitsToDouble(argument(27));
+                default:
+                    throw new IllegalArgumentException("Unsupported CBOR simple value " + info);
+            }
+        }
+
+        private byte[] chunks(int major) {
+            ByteArrayOutputStream joined = new ByteArrayOutputStream();
+            while (true) {
+                int initial = next();
+                if (initial == BREAK) {
+                    return joined.toByteArray();
+                }
+                if (initial >>> 5 != major) {
+                    throw new IllegalArgumentException("Mixed chunk types in CBOR string");
+                }
+                joined.writeBytes(take(length(initial & 0x1f)));
+            }
+        }
+
+        private long length(int info) {
+            long length = argument(info);
+            if (length < 0 || length > data.length - position) {
+                throw new IllegalArgumentException("CBOR length " + length + " runs past the end of the data");
+            }
+            return length;
+        }
+
+        private long argument(int info) {
+            if (info < 24) {
+                return info;
+            }
+            int bytes = switch (info) {
+                case 24 -> 1;
+                case 25 -> 2;
+                case 26 -> 4;
+                case 27 -> 8;
+                default -> throw new IllegalArgumentException("Unsupported CBOR argument " + info);
+            };
+            long value = 0;
+            for (int i = 0; i < bytes; i++) {
+                value = value << 8 | next();
+            }
+            return value;
+        }
+
+        private byte[] take(long length) {
+            byte[] bytes = new byte[(int) length];
+            System.arraycopy(data, position, bytes, 0, bytes.length);
+            position += bytes.length;
+            return bytes;
+        }
+
+        private int next() {
+            if (position >= data.length) {
+                throw new IllegalArgumentException("Truncated CBOR data");
+            }
+            return data[position++] & 0xff;
+        }
+    }
+}
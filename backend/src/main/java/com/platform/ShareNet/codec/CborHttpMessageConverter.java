@@ -0,0 +1,52 @@
+package com.platform.ShareNet.codec;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
+import com.platform.ShareNet.monitoring.RequestTimings;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+
+import java.io.IOException;
+
+/**
+ * {@code application/cbor} for any type Jackson can serialize, so CBOR bodies carry exactly the
+ * properties (and {@code @JsonInclude} rules) of the JSON ones.
+ */
+public class CborHttpMessageConverter extends AbstractHttpMessageConverter<Object> {
+
+    public static final MediaType APPLICATION_CBOR = MediaType.parseMediaType("application/cbor");
+
+    private final ObjectMapper objectMapper;
+
+    public CborHttpMessageConverter(ObjectMapper objectMapper) {
+        super(APPLICATION_CBOR);
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    protected boolean supports(Class<?> clazz) {
+        return true;
+    }
+
+    @Override
+    protected Object readInternal(Class<?> clazz, HttpInputMessage inputMessage) throws IOException {
+        try {
+            Object value = CborCodec.decode(inputMessage.getBody().readAllBytes());
+            return objectMapper.convertValue(value, clazz);
+        } catch (IllegalArgumentException e) {
+            throw new HttpMessageNotReadableException("Invalid CBOR body: " + e.getMessage(), e, inputMessage);
+        }
+    }
+
+    @Override
+    protected void writeInternal(Object value, HttpOutputMessage outputMessage) throws IOException {
+        try (RequestTimings.Span span = RequestTimings.span("cbor");
+                TokenBuffer buffer = new TokenBuffer(objectMapper, false)) {
+            objectMapper.writeValue(buffer, value);
+            CborCodec.encode(buffer.asParser(), outputMessage.getBody());
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package com.platform.ShareNet.codec;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.List;
+
+/**
+ * Adds the binary encodings after the defaults, so they are chosen only when the
+ * {@code Accept} or {@code Content-Type} header names them and JSON stays the default.
+ */
+@Configuration
+public class CodecConfig implements WebMvcConfigurer {
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Override
+    public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+        converters.add(new CborHttpMessageConverter(objectMapper));
+        converters.add(new ProtobufHttpMessageConverter(objectMapper));
+    }
+}
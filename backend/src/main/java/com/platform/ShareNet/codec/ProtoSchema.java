@@ -0,0 +1,144 @@
+package com.platform.ShareNet.codec;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Message descriptors for the protobuf encoding, mirroring {@code src/main/proto/sharenet.proto}.
+ * Fields are matched by their JSON property names, so entities, typed envelopes and the
+ * {@code ?fields=} maps all encode through the same descriptor; properties without a field
+ * (such as the user password) are left out.
+ */
+public final class ProtoSchema {
+
+    public enum Type {
+        INT64, DOUBLE, BOOL, STRING, MESSAGE, MAP
+    }
+
+    /**
+     * @param message the nested message for {@code MESSAGE} fields and the value message of a
+     *                {@code MAP} field, or {@code null} when map values are {@code valueType}
+     */
+    public record Field(String name, int number, Type type, boolean repeated, ProtoSchema message, Type valueType) {
+    }
+
+    public static final ProtoSchema USER = new ProtoSchema("User", List.of(
+            scalar("id", 1, Type.INT64),
+            scalar("name", 2, Type.STRING),
+            scalar("email", 3, Type.STRING),
+            scalar("creditPoints", 4, Type.DOUBLE),
+            scalar("latitude", 5, Type.DOUBLE),
+            scalar("longitude", 6, Type.DOUBLE)));
+
+    public static final ProtoSchema ITEM = new ProtoSchema("Item", List.of(
+            scalar("id", 1, Type.INT64),
+            scalar("name", 2, Type.STRING),
+            scalar("description", 3, Type.STRING),
+            scalar("pricePerDay", 4, Type.DOUBLE),
+            scalar("imageUrl", 5, Type.STRING),
+            scalar("category", 6, Type.STRING),
+            scalar("condition", 7, Type.STRING),
+            scalar("location", 8, Type.STRING),
+            scalar("available", 9, Type.BOOL),
+            scalar("availableUntil", 10, Type.STRING),
+            scalar("latitude", 11, Type.DOUBLE),
+            scalar("longitude", 12, Type.DOUBLE),
+            scalar("createdAt", 13, Type.STRING),
+            scalar("updatedAt", 14, Type.STRING),
+            message("owner", 15, USER, false)));
+
+    public static final ProtoSchema CHAT = new ProtoSchema("Chat", List.of(
+            scalar("id", 1, Type.INT64),
+            message("sender", 2, USER, false),
+            message("receiver", 3, USER, false),
+            scalar("message", 4, Type.STRING),
+            scalar("timeStamp", 5, Type.STRING)));
+
+    public static final ProtoSchema FACET_COUNTS = new ProtoSchema("FacetCounts", List.of(
+            new Field("counts", 1, Type.MAP, false, null, Type.INT64)));
+
+    public static final ProtoSchema ITEM_LIST = new ProtoSchema("ItemListResponse", List.of(
+            scalar("success", 1, Type.BOOL),
+            scalar("message", 2, Type.STRING),
+            scalar("itemId", 3, Type.INT64),
+            scalar("total", 4, Type.INT64),
+            message("items", 5, ITEM, true),
+            new Field("facets", 6, Type.MAP, false, FACET_COUNTS, Type.MESSAGE)));
+
+    public static final ProtoSchema ITEM_RESULT = new ProtoSchema("ItemResponse", List.of(
+            scalar("success", 1, Type.BOOL),
+            scalar("message", 2, Type.STRING),
+            message("item", 3, ITEM, false)));
+
+    public static final ProtoSchema CHAT_LIST = new ProtoSchema("ChatListResponse", List.of(
+            scalar("success", 1, Type.BOOL),
+            scalar("message", 2, Type.STRING),
+            message("chats", 3, CHAT, true)));
+
+    public static final ProtoSchema CHAT_RESULT = new ProtoSchema("ChatResponse", List.of(
+            scalar("success", 1, Type.BOOL),
+            scalar("message", 2, Type.STRING),
+            message("chat", 3, CHAT, false)));
+
+    public static final ProtoSchema ITEM_STATS = new ProtoSchema("ItemStatsResponse", List.of(
+            scalar("success", 1, Type.BOOL),
+            scalar("itemId", 2, Type.INT64),
+            scalar("views", 3, Type.INT64),
+            scalar("detailOpens", 4, Type.INT64),
+            scalar("updatedAt", 5, Type.STRING)));
+
+    public static final ProtoSchema SUGGESTION = new ProtoSchema("Suggestion", List.of(
+            scalar("text", 1, Type.STRING),
+            scalar("type", 2, Type.STRING),
+            scalar("count", 3, Type.INT64)));
+
+    public static final ProtoSchema SUGGEST_RESULT = new ProtoSchema("SuggestResponse", List.of(
+            scalar("success", 1, Type.BOOL),
+            scalar("query", 2, Type.STRING),
+            message("suggestions", 3, SUGGESTION, true)));
+
+    private final String name;
+    private final Map<String, Field> byName = new HashMap<>();
+    private final Map<Integer, Field> byNumber = new HashMap<>();
+
+    private ProtoSchema(String name, List<Field> fields) {
+        this.name = name;
+        for (Field field : fields) {
+            byName.put(field.name(), field);
+            byNumber.put(field.number(), field);
+        }
+    }
+
+    public String name() {
+        return name;
+    }
+
+    Field field(String name) {
+        return byName.get(name);
+    }
+
+    Field field(int number) {
+        return byNumber.get(number);
+    }
+
+    /**
+     * The map field of a message that exists only to hold one map, like {@code FacetCounts}.
+     * proto3 has no maps of maps, so such a message stands in for the inner JSON object itself.
+     */
+    Field wrappedMap() {
+        if (byName.size() != 1) {
+            return null;
+        }
+        Field only = byName.values().iterator().next();
+        return only.type() == Type.MAP ? only : null;
+    }
+
+    private static Field scalar(String name, int number, Type type) {
+        return new Field(name, number, type, false, null, null);
+    }
+
+    private static Field message(String name, int number, ProtoSchema message, boolean repeated) {
+        return new Field(name, number, Type.MESSAGE, repeated, message, null);
+    }
+}
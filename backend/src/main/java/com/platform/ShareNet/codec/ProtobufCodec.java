@@ -0,0 +1,362 @@
+package com.platform.ShareNet.codec;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Protobuf wire-format encoding of a Jackson token stream against a {@link ProtoSchema}, and
+ * decoding back to maps keyed by JSON property name.
+ *
+ * Follows proto3: fields holding their default value (0, false, empty string, null) are not
+ * written, repeated messages are written one record each and maps as repeated key/value entries.
+ */
+public final class ProtobufCodec {
+
+    private static final int VARINT = 0;
+    private static final int FIXED64 = 1;
+    private static final int LENGTH_DELIMITED = 2;
+    private static final int FIXED32 = 5;
+
+    private ProtobufCodec() {
+    }
+
+    /**
+     * Encodes the object the parser is positioned at (or about to read) as {@code schema}.
+     */
+    public static void encode(JsonParser parser, ProtoSchema schema, OutputStream out) throws IOException {
+        if (parser.currentToken() == null) {
+            parser.nextToken();
+        }
+        if (parser.currentToken() != JsonToken.START_OBJECT) {
+            throw new IllegalArgumentException(schema.name() + " must be encoded from an object");
+        }
+        Buffer buffer = new Buffer();
+        message(parser, schema, buffer);
+        out.write(buffer.bytes, 0, buffer.size);
+    }
+
+    // Parser is at START_OBJECT; leaves it at the matching END_OBJECT
+    private static void message(JsonParser parser, ProtoSchema schema, Buffer out) throws IOException {
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            ProtoSchema.Field field = schema.field(parser.currentName());
+            JsonToken token = parser.nextToken();
+            if (field == null || token == JsonToken.VALUE_NULL) {
+                parser.skipChildren();
+                continue;
+            }
+            if (field.repeated()) {
+                if (token != JsonToken.START_ARRAY) {
+                    throw new IllegalArgumentException(schema.name() + "." + field.name() + " must be an array");
+                }
+                while (parser.nextToken() != JsonToken.END_ARRAY) {
+                    value(parser, field, field.type(), field.message(), out, true);
+                }
+            } else if (field.type() == ProtoSchema.Type.MAP) {
+                if (token == JsonToken.START_OBJECT) {
+                    entries(parser, field, out);
+                } else {
+                    parser.skipChildren();
+                }
+            } else {
+                value(parser, field, field.type(), field.message(), out, false);
+            }
+        }
+    }
+
+    private static void entries(JsonParser parser, ProtoSchema.Field field, Buffer out) throws IOException {
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            Buffer entry = new Buffer();
+            byte[] key = parser.currentName().getBytes(StandardCharsets.UTF_8);
+            entry.tag(1, LENGTH_DELIMITED);
+            entry.varint(key.length);
+            entry.write(key, key.length);
+            parser.nextToken();
+            ProtoSchema.Field value = new ProtoSchema.Field("value", 2, field.valueType(), false, field.message(), null);
+            value(parser, value, value.type(), value.message(), entry, true);
+            out.tag(field.number(), LENGTH_DELIMITED);
+            out.varint(entry.size);
+            out.write(entry.bytes, entry.size);
+        }
+    }
+
+    private static void value(JsonParser parser, ProtoSchema.Field field, ProtoSchema.Type type, ProtoSchema message,
+            Buffer out, boolean keepDefault) throws IOException {
+        if (type != ProtoSchema.Type.MESSAGE && parser.currentToken().isStructStart()) {
+            parser.skipChildren();
+            return;
+        }
+        switch (type) {
+            case MESSAGE -> {
+                if (parser.currentToken() != JsonToken.START_OBJECT) {
+                    parser.skipChildren();
+                    return;
+                }
+                Buffer nested = new Buffer();
+                ProtoSchema.Field wrapped = message.wrappedMap();
+                if (wrapped != null) {
+                    entries(parser, wrapped, nested);
+                } else {
+                    message(parser, message, nested);
+                }
+                out.tag(field.number(), LENGTH_DELIMITED);
+                out.varint(nested.size);
+                out.write(nested.bytes, nested.size);
+            }
+            case INT64 -> {
+                long value = parser.getValueAsLong();
+                if (value != 0 || keepDefault) {
+                    out.tag(field.number(), VARINT);
+                    out.varint(value);
+                }
+            }
+            case DOUBLE -> {
+                double value = parser.getValueAsDouble();
+                if (value != 0 || keepDefault) {
+                    out.tag(field.number(), FIXED64);
+                    out.fixed64(Double.doubleToLongBits(value));
+                }
+            }
+            case BOOL -> {
+                boolean value = parser.getValueAsBoolean();
+                if (value || keepDefault) {
+                    out.tag(field.number(), VARINT);
+                    out.varint(value ? 1 : 0);
+                }
+            }
+            case STRING -> {
+                String value = parser.getValueAsString();
+                if (value != null && (!value.isEmpty() || keepDefault)) {
+                    byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+                    out.tag(field.number(), LENGTH_DELIMITED);
+                    out.varint(bytes.length);
+                    out.write(bytes, bytes.length);
+                }
+            }
+            default -> parser.skipChildren();
+        }
+    }
+
+    /**
+     * Decodes a message to a map keyed by JSON property name. Repeated fields become lists,
+     * map fields maps, and unknown fields are skipped. Malformed data (truncation, lengths past
+     * the enclosing message, a wire type that does not fit the field) throws
+     * {@link IllegalArgumentException}.
+     */
+    public static Map<String, Object> decode(byte[] data, ProtoSchema schema) {
+        return decode(data, 0, data.length, schema);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Map<String, Object> decode(byte[] data, int from, int to, ProtoSchema schema) {
+        Map<String, Object> result = new LinkedHashMap<>();
+        Reader in = new Reader(data, from, to);
+        while (in.position < to) {
+            long key = in.varint();
+            int number = (int) (key >>> 3);
+            int wireType = (int) (key & 7);
+            ProtoSchema.Field field = schema.field(number);
+            if (field == null) {
+                in.skip(wireType);
+                continue;
+            }
+            expect(field, wireType);
+            if (field.type() == ProtoSchema.Type.MAP) {
+                int length = in.length();
+                Map<String, Object> entry = decodeEntry(data, in.position, in.position + length, field);
+                in.position += length;
+                ((Map<String, Object>) result.computeIfAbsent(field.name(), name -> new LinkedHashMap<>()))
+                        .put((String) entry.get("key"), entry.get("value"));
+                continue;
+            }
+            Object value = scalar(data, in, field.type(), field.message());
+            if (field.repeated()) {
+                ((List<Object>) result.computeIfAbsent(field.name(), name -> new ArrayList<>())).add(value);
+            } else {
+                result.put(field.name(), value);
+            }
+        }
+        return result;
+    }
+
+    private static Map<String, Object> decodeEntry(byte[] data, int from, int to, ProtoSchema.Field field) {
+        Map<String, Object> entry = new LinkedHashMap<>();
+        Reader in = new Reader(data, from, to);
+        while (in.position < to) {
+            long key = in.varint();
+            int number = (int) (key >>> 3);
+            int wireType = (int) (key & 7);
+            if (number == 1) {
+                expect(field, ProtoSchema.Type.STRING, wireType);
+                entry.put("key", scalar(data, in, ProtoSchema.Type.STRING, null));
+            } else if (number == 2) {
+                expect(field, field.valueType(), wireType);
+                entry.put("value", scalar(data, in, field.valueType(), field.message()));
+            } else {
+                in.skip((int) (key & 7));
+            }
+        }
+        return entry;
+    }
+
+    private static void expect(ProtoSchema.Field field, int wireType) {
+        expect(field, field.type(), wireType);
+    }
+
+    private static void expect(ProtoSchema.Field field, ProtoSchema.Type type, int wireType) {
+        int expected = switch (type) {
+            case INT64, BOOL -> VARINT;
+            case DOUBLE -> FIXED64;
+            default -> LENGTH_DELIMITED;
+        };
+        if (wireType != expected) {
+            throw new IllegalArgumentException("Protobuf field " + field.name() + " has wire type " + wireType
+                    + ", expected " + expected);
+        }
+    }
+
+    private static Object scalar(byte[] data, Reader in, ProtoSchema.Type type, ProtoSchema message) {
+        switch (type) {
+            case INT64:
+                return in.varint();
+            case BOOL:
+                return in.varint() != 0;
+            case DOUBLE:
+                return Double.longBitsToDouble(in.fixed64());
+            case STRING: {
+                int length = in.length();
+                String value = new String(data, in.position, length, StandardCharsets.UTF_8);
+                in.position += length;
+                return value;
+            }
+            case MESSAGE: {
+                int length = in.length();
+                Map<String, Object> value = decode(data, in.position, in.position + length, message);
+                in.position += length;
+                ProtoSchema.Field wrapped = message.wrappedMap();
+                if (wrapped != null) {
+                    Object entries = value.get(wrapped.name());
+                    return entries != null ? entries : new LinkedHashMap<String, Object>();
+                }
+                return value;
+            }
+            default:
+                throw new IllegalArgumentException("Unsupported field type " + type);
+        }
+    }
+
+    private static final class Buffer {
+
+        private byte[] bytes = new byte[256];
+        private int size;
+
+        void tag(int number, int wireType) {
+            varint((long) number << 3 | wireType);
+        }
+
+        void varint(long value) {
+            ensure(10);
+            while ((value & ~0x7FL) != 0) {
+                bytes[size++] = (byte) ((value & 0x7F) | 0x80);
+                value >>>= 7;
+            }
+            bytes[size++] = (byte) value;
+        }
+
+        void fixed64(long value) {
+            ensure(8);
+            for (int i = 0; i < 8; i++) {
+                bytes[size++] = (byte) (value >>> (8 * i));
+            }
+        }
+
+        void write(byte[] source, int length) {
+            ensure(length);
+            System.arraycopy(source, 0, bytes, size, length);
+            size += length;
+        }
+
+        private void ensure(int extra) {
+            if (size + extra > bytes.length) {
+                bytes = Arrays.copyOf(bytes, Math.max(bytes.length * 2, size + extra));
+            }
+        }
+    }
+
+    private static final class Reader {
+
+        private final byte[] data;
+        private final int limit;
+        private int position;
+
+        Reader(byte[] data, int from, int to) {
+            if (from < 0 || to > data.length || from > to) {
+                throw new IllegalArgumentException("Protobuf length runs past the end of the data");
+            }
+            this.data = data;
+            this.position = from;
+            this.limit = to;
+        }
+
+        long varint() {
+            long value = 0;
+            for (int shift = 0; shift < 64; shift += 7) {
+                byte b = next();
+                value |= (long) (b & 0x7F) << shift;
+                if (b >= 0) {
+                    return value;
+                }
+            }
+            throw new IllegalArgumentException("Malformed protobuf varint");
+        }
+
+        long fixed64() {
+            long value = 0;
+            for (int i = 0; i < 8; i++) {
+                value |= (long) (next() & 0xff) << (8 * i);
+            }
+            return value;
+        }
+
+        // Length prefix of a length-delimited field, checked against what is left of this message
+        int length() {
+            long length = varint();
+            if (length < 0 || length > limit - position) {
+                throw new IllegalArgumentException("Protobuf length " + length + " runs past the end of the message");
+            }
+            return (int) length;
+        }
+
+        void skip(int wireType) {
+            int length = switch (wireType) {
+                case VARINT -> {
+                    varint();
+                    yield 0;
+                }
+                case FIXED64 -> 8;
+                case LENGTH_DELIMITED -> length();
+                case FIXED32 -> 4;
+                default -> throw new IllegalArgumentException("Unsupported protobuf wire type " + wireType);
+            };
+            if (length > limit - position) {
+                throw new IllegalArgumentException("Truncated protobuf data");
+            }
+            position += length;
+        }
+
+        private byte next() {
+            if (position >= limit) {
+                throw new IllegalArgumentException("Truncated protobuf data");
+            }
+            return data[position++];
+        }
+    }
+}
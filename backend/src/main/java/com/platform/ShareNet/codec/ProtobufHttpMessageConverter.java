@@ -0,0 +1,71 @@
+package com.platform.ShareNet.codec;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
+import com.platform.ShareNet.dto.ChatListResponse;
+import com.platform.ShareNet.dto.ChatResponse;
+import com.platform.ShareNet.dto.ItemListResponse;
+import com.platform.ShareNet.dto.ItemResponse;
+import com.platform.ShareNet.dto.ItemStatsResponse;
+import com.platform.ShareNet.dto.SuggestResponse;
+import com.platform.ShareNet.model.Chat;
+import com.platform.ShareNet.model.Item;
+import com.platform.ShareNet.monitoring.RequestTimings;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+
+import java.io.IOException;
+import java.util.Map;
+
+/**
+ * {@code application/x-protobuf} for the item and chat messages of {@code sharenet.proto}.
+ * Other types are not convertible, so asking for protobuf elsewhere gets a 406.
+ */
+public class ProtobufHttpMessageConverter extends AbstractHttpMessageConverter<Object> {
+
+    public static final MediaType APPLICATION_PROTOBUF = MediaType.parseMediaType("application/x-protobuf");
+
+    private static final Map<Class<?>, ProtoSchema> SCHEMAS = Map.of(
+            Item.class, ProtoSchema.ITEM,
+            Chat.class, ProtoSchema.CHAT,
+            ItemListResponse.class, ProtoSchema.ITEM_LIST,
+            ItemResponse.class, ProtoSchema.ITEM_RESULT,
+            ChatListResponse.class, ProtoSchema.CHAT_LIST,
+            ChatResponse.class, ProtoSchema.CHAT_RESULT,
+            ItemStatsResponse.class, ProtoSchema.ITEM_STATS,
+            SuggestResponse.class, ProtoSchema.SUGGEST_RESULT);
+
+    private final ObjectMapper objectMapper;
+
+    public ProtobufHttpMessageConverter(ObjectMapper objectMapper) {
+        super(APPLICATION_PROTOBUF);
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    protected boolean supports(Class<?> clazz) {
+        return SCHEMAS.containsKey(clazz);
+    }
+
+    @Override
+    protected Object readInternal(Class<?> clazz, HttpInputMessage inputMessage) throws IOException {
+        try {
+            Map<String, Object> value = ProtobufCodec.decode(inputMessage.getBody().readAllBytes(), SCHEMAS.get(clazz));
+            return objectMapper.convertValue(value, clazz);
+        } catch (IllegalArgumentException e) {
+            throw new HttpMessageNotReadableException("Invalid protobuf body: " + e.getMessage(), e, inputMessage);
+        }
+    }
+
+    @Override
+    protected void writeInternal(Object value, HttpOutputMessage outputMessage) throws IOException {
+        try (RequestTimings.Span span = RequestTimings.span("protobuf");
+                TokenBuffer buffer = new TokenBuffer(objectMapper, false)) {
+            objectMapper.writeValue(buffer, value);
+            ProtobufCodec.encode(buffer.asParser(), SCHEMAS.get(value.getClass()), outputMessage.getBody());
+        }
+    }
+}
@@ -0,0 +1,289 @@
+package com.platform.ShareNet.config;
+
+import com.platform.ShareNet.config.ConcurrencyLimitProperties.Priority;
+import com.platform.ShareNet.monitoring.RequestTimingFilter;
+import com.platform.ShareNet.monitoring.RequestTimings;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.PathContainer;
+import org.springframework.stereotype.Component;
+import org.springframework.web.cors.CorsUtils;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Adaptive limit on requests in flight, so that a slow database sheds load with a fast 503
+ * instead of every request queueing for a pooled connection until it times out.
+ *
+ * The limit follows the database time of completed requests (SQL plus waiting for a
+ * connection, as recorded by the profiling data source): while recent time stays within
+ * {@code concurrency-limit.tolerance} of the baseline it grows by about its square root per
+ * window, and as recent time rises above that it shrinks in proportion. Async requests, such as
+ * the streamed feed, hold their slot until their async processing completes. Each route
+ * has a priority class that may fill only its share of the limit, so low-priority reads are
+ * turned away first and login, chat and admin keep the remainder. Runs in the security chain
+ * after CORS, before authentication.
+ */
+@Component
+public class ConcurrencyLimitFilter extends OncePerRequestFilter {
+
+    private static final Logger logger = LoggerFactory.getLogger(ConcurrencyLimitFilter.class);
+
+    private static final byte[] SERVICE_UNAVAILABLE =
+            "{\"success\":false,\"message\":\"The server is busy, please retry shortly\"}".getBytes();
+
+    private static final long SHED_LOG_INTERVAL_NANOS = TimeUnit.SECONDS.toNanos(10);
+
+    private final boolean enabled;
+    private final Priority defaultPriority;
+    private final Map<Priority, Double> shares = new EnumMap<>(Priority.class);
+    private final List<Route> routes = new ArrayList<>();
+    private final List<PathPattern> excluded = new ArrayList<>();
+    private final GradientLimit limit;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final Map<Priority, LongAdder> admitted = new EnumMap<>(Priority.class);
+    private final Map<Priority, LongAdder> shed = new EnumMap<>(Priority.class);
+    private final AtomicLong lastShedLog = new AtomicLong(System.nanoTime() - SHED_LOG_INTERVAL_NANOS);
+
+    public ConcurrencyLimitFilter(ConcurrencyLimitProperties properties) {
+        this.enabled = properties.isEnabled();
+        this.defaultPriority = properties.getDefaultPriority();
+        for (Priority priority : Priority.values()) {
+            shares.put(priority, Math.max(0, Math.min(1, properties.getShares().getOrDefault(priority, 1.0))));
+            admitted.put(priority, new LongAdder());
+            shed.put(priority, new LongAdder());
+        }
+        properties.getRoutes().forEach((name, route) -> {
+            if (route.getPath() == null) {
+                logger.warn("Ignoring concurrency limit route '{}' without a path", name);
+                return;
+            }
+            routes.add(new Route(route.getMethod(), PathPatternParser.defaultInstance.parse(route.getPath()),
+                    route.getPriority()));
+        });
+        for (String path : properties.getExcludedPaths()) {
+            excluded.add(PathPatternParser.defaultInstance.parse(path));
+        }
+        this.limit = new GradientLimit(properties.getInitialLimit(), properties.getMinLimit(), properties.getMaxLimit(),
+                properties.getTolerance(), properties.getSmoothing(), properties.getWindow().toNanos(),
+                properties.getMinWindowSamples(), properties.getLongWindows());
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        Priority priority = enabled && !CorsUtils.isPreFlightRequest(request) ? classify(request) : null;
+        if (priority == null) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        if (!tryAcquire(priority)) {
+            shed.get(priority).increment();
+            logShedding(priority);
+            response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+            response.setHeader(HttpHeaders.RETRY_AFTER, "1");
+            response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+            response.getOutputStream().write(SERVICE_UNAVAILABLE);
+            return;
+        }
+
+        admitted.get(priority).increment();
+        // Read now: an async request completes on another thread, without the thread-local timings
+        RequestTimings timings = RequestTimings.current();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            RequestTimingFilter.onCompletion(request, () -> release(timings));
+        }
+    }
+
+    private void release(RequestTimings timings) {
+        int before = inFlight.getAndDecrement();
+        long databaseNanos = timings == null ? 0 : timings.recorded("sql") + timings.recorded("connection");
+        // Requests answered from caches say nothing about the database
+        if (databaseNanos > 0) {
+            limit.onSample(databaseNanos, before, System.nanoTime());
+        }
+    }
+
+    private boolean tryAcquire(Priority priority) {
+        int allowed = Math.max(1, (int) (limit.limit() * shares.get(priority)));
+        while (true) {
+            int current = inFlight.get();
+            if (current >= allowed) {
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    // Null for excluded paths
+    private Priority classify(HttpServletRequest request) {
+        PathContainer path = PathContainer.parsePath(request.getRequestURI());
+        for (PathPattern pattern : excluded) {
+            if (pattern.matches(path)) {
+                return null;
+            }
+        }
+        for (Route route : routes) {
+            if ((route.method() == null || route.method().equalsIgnoreCase(request.getMethod()))
+                    && route.pattern().matches(path)) {
+                return route.priority();
+            }
+        }
+        return defaultPriority;
+    }
+
+    private void logShedding(Priority priority) {
+        long now = System.nanoTime();
+        long last = lastShedLog.get();
+        if (now - last >= SHED_LOG_INTERVAL_NANOS && lastShedLog.compareAndSet(last, now)) {
+            logger.warn("Shedding {} requests: {} in flight, limit {}, database time {} ms against {} ms long-term",
+                    priority.name().toLowerCase(), inFlight.get(), limit.limit(),
+                    millis(limit.recentNanos()), millis(limit.longTermNanos()));
+        }
+    }
+
+    public Map<String, Object> stats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("enabled", enabled);
+        stats.put("limit", limit.limit());
+        stats.put("inFlight", inFlight.get());
+        stats.put("recentDatabaseMs", millis(limit.recentNanos()));
+        stats.put("longTermDatabaseMs", millis(limit.longTermNanos()));
+        Map<String, Object> classes = new LinkedHashMap<>();
+        for (Priority priority : Priority.values()) {
+            Map<String, Object> counts = new LinkedHashMap<>();
+            counts.put("share", shares.get(priority));
+            counts.put("admitted", admitted.get(priority).sum());
+            counts.put("shed", shed.get(priority).sum());
+            classes.put(priority.name().toLowerCase(), counts);
+        }
+        stats.put("priorities", classes);
+        return stats;
+    }
+
+    private static double millis(double nanos) {
+        return Math.round(nanos / 1_000.0) / 1_000.0;
+    }
+
+    private record Route(String method, PathPattern pattern, Priority priority) {
+    }
+
+    /**
+     * Gradient limit estimator. Samples are averaged per window; each window may move the
+     * baseline and sets the limit to {@code limit * gradient + sqrt(limit)}, smoothed, where the
+     * gradient is {@code tolerance * baseline / recent} clamped to [0.5, 1]. The square-root term
+     * probes for more capacity while latency holds, and the gradient backs off once requests queue.
+     *
+     * The baseline is an EMA over {@code longWindows} windows (a plain mean until that many have
+     * been seen), fed only by windows in which the limit was not binding, or could not be lowered
+     * any further. Time measured while the limit is saturated includes queueing the limit itself
+     * admitted, and would let the baseline and the limit ratchet each other up; a single unusually
+     * fast window moves the baseline by just {@code 1 / longWindows} of the difference.
+     */
+    static final class GradientLimit {
+
+        private final int minLimit;
+        private final int maxLimit;
+        private final double tolerance;
+        private final double smoothing;
+        private final long windowNanos;
+        private final int minWindowSamples;
+        private final int longWindows;
+
+        private volatile int limit;
+
+        // Guarded by this
+        private double estimate;
+        private double longTerm;
+        private long baselineWindows;
+        private double recent;
+        private long windowStart;
+        private long windowSum;
+        private int windowSamples;
+        private int windowMaxInFlight;
+
+        GradientLimit(int initialLimit, int minLimit, int maxLimit, double tolerance, double smoothing,
+                long windowNanos, int minWindowSamples, int longWindows) {
+            this.minLimit = Math.max(1, minLimit);
+            this.maxLimit = Math.max(this.minLimit, maxLimit);
+            this.tolerance = Math.max(1, tolerance);
+            this.smoothing = Math.max(0.01, Math.min(1, smoothing));
+            this.windowNanos = windowNanos;
+            this.minWindowSamples = Math.max(1, minWindowSamples);
+            this.longWindows = Math.max(1, longWindows);
+            this.estimate = Math.max(this.minLimit, Math.min(this.maxLimit, initialLimit));
+            this.limit = (int) estimate;
+        }
+
+        int limit() {
+            return limit;
+        }
+
+        synchronized double recentNanos() {
+            return recent;
+        }
+
+        synchronized double longTermNanos() {
+            return longTerm;
+        }
+
+        /**
+         * @param inFlight requests in flight when this one completed, itself included
+         */
+        synchronized void onSample(long nanos, int inFlight, long now) {
+            if (windowSamples == 0) {
+                windowStart = now;
+            }
+            windowSum += nanos;
+            windowSamples++;
+            windowMaxInFlight = Math.max(windowMaxInFlight, inFlight);
+            if (now - windowStart < windowNanos || windowSamples < minWindowSamples) {
+                return;
+            }
+            recent = (double) windowSum / windowSamples;
+            int maxInFlight = windowMaxInFlight;
+            windowSum = 0;
+            windowSamples = 0;
+            windowMaxInFlight = 0;
+
+            boolean saturated = maxInFlight >= estimate / 2;
+            if (baselineWindows == 0 || !saturated || estimate < 2 * minLimit) {
+                baselineWindows++;
+                longTerm += (recent - longTerm) / Math.min(baselineWindows, longWindows);
+            }
+            // A limit that is not being used says nothing about how much more the database can take
+            if (!saturated) {
+                return;
+            }
+            double gradient = Math.max(0.5, Math.min(1.0, tolerance * longTerm / recent));
+            double next = estimate * gradient + Math.sqrt(estimate);
+            estimate = Math.max(minLimit, Math.min(maxLimit, estimate * (1 - smoothing) + next * smoothing));
+            limit = (int) estimate;
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package com.platform.ShareNet.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Adaptive in-flight limit and per-route priority classes, bound from {@code concurrency-limit.*}
+ * in application.properties.
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "concurrency-limit")
+public class ConcurrencyLimitProperties {
+
+    public enum Priority {
+        CRITICAL, NORMAL, LOW
+    }
+
+    private boolean enabled = true;
+
+    private int initialLimit = 20;
+    private int minLimit = 4;
+    private int maxLimit = 200;
+
+    // Recent database time may reach this multiple of the long-term average before the limit shrinks
+    private double tolerance = 1.5;
+
+    // Weight of each new estimate in the limit
+    private double smoothing = 0.2;
+
+    // Samples are averaged over windows at least this long and this large
+    private Duration window = Duration.ofMillis(100);
+    private int minWindowSamples = 10;
+
+    // Windows averaged into the baseline database time; see ConcurrencyLimitFilter.GradientLimit
+    private int longWindows = 600;
+
+    private Priority defaultPriority = Priority.NORMAL;
+
+    // Share of the limit each class may fill; the rest is kept for the classes above it
+    private Map<Priority, Double> shares = new EnumMap<>(Map.of(
+            Priority.CRITICAL, 1.0, Priority.NORMAL, 0.8, Priority.LOW, 0.5));
+
+    // Never limited, e.g. health checks
+    private List<String> excludedPaths = List.of("/", "/health", "/error");
+
+    // First match wins; unmatched requests get the default priority
+    private Map<String, Route> routes = new LinkedHashMap<>();
+
+    @Data
+    public static class Route {
+        // Any method when not set
+        private String method;
+        private String path;
+        private Priority priority = Priority.NORMAL;
+    }
+}
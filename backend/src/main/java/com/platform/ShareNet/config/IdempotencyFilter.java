@@ -0,0 +1,283 @@
+package com.platform.ShareNet.config;
+
+import com.platform.ShareNet.service.IdempotencyService;
+import com.platform.ShareNet.service.IdempotencyService.Execution;
+import com.platform.ShareNet.service.IdempotencyService.StoredResponse;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.PathContainer;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Makes POSTs on {@code idempotency.paths} safe to retry when they carry an
+ * {@code Idempotency-Key} header: the first response is stored and replayed for later requests
+ * with the same key from the same caller, and duplicates arriving while the first one is still
+ * running wait for its result. A key reused with a different method, query string or body is
+ * rejected with 422 rather than answered with the first request's response.
+ */
+@Component
+public class IdempotencyFilter extends OncePerRequestFilter {
+
+    public static final String HEADER = "Idempotency-Key";
+    public static final String REPLAYED_HEADER = "Idempotent-Replayed";
+
+    private static final int MAX_KEY_LENGTH = 255;
+
+    // The body is read up front to fingerprint it; the idempotent endpoints take small JSON bodies
+    private static final int MAX_BODY_BYTES = 1024 * 1024;
+
+    @Autowired
+    private IdempotencyService idempotencyService;
+
+    private final List<PathPattern> paths;
+    private final Duration waitTimeout;
+
+    public IdempotencyFilter(@Value("${idempotency.paths}") List<String> paths,
+            @Value("${idempotency.wait-timeout:30s}") Duration waitTimeout) {
+        this.paths = paths.stream().map(PathPatternParser.defaultInstance::parse).toList();
+        this.waitTimeout = waitTimeout;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        if (!"POST".equals(request.getMethod()) || request.getHeader(HEADER) == null) {
+            return true;
+        }
+        PathContainer path = PathContainer.parsePath(request.getRequestURI());
+        return paths.stream().noneMatch(pattern -> pattern.matches(path));
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        String idempotencyKey = request.getHeader(HEADER).trim();
+        if (idempotencyKey.isEmpty() || idempotencyKey.length() > MAX_KEY_LENGTH) {
+            writeError(response, HttpStatus.BAD_REQUEST, "Idempotency-Key must be 1 to " + MAX_KEY_LENGTH + " characters");
+            return;
+        }
+        String key = hash(RequestIdentity.clientKey(request) + '\n' + request.getRequestURI() + '\n' + idempotencyKey);
+
+        byte[] body = readBody(request);
+        if (body == null) {
+            writeError(response, HttpStatus.PAYLOAD_TOO_LARGE, "Request body is too large");
+            return;
+        }
+        String fingerprint = fingerprint(request, body);
+        HttpServletRequest cachedRequest = new CachedBodyRequest(request, body);
+
+        StoredResponse stored = idempotencyService.find(key);
+        if (stored != null) {
+            replayIfMatching(response, stored, fingerprint);
+            return;
+        }
+
+        Execution execution = new Execution(fingerprint, new CompletableFuture<>());
+        Execution original = idempotencyService.begin(key, execution);
+        if (original != null) {
+            if (!fingerprint.equals(original.fingerprint())) {
+                writeMismatch(response);
+            } else {
+                awaitOriginal(response, original.result());
+            }
+            return;
+        }
+
+        StoredResponse result = null;
+        try {
+            // Another request may have finished between the lookup and registering this one
+            stored = idempotencyService.find(key);
+            if (stored != null) {
+                result = stored;
+                replayIfMatching(response, stored, fingerprint);
+                return;
+            }
+            ContentCachingResponseWrapper wrapper = new ContentCachingResponseWrapper(response);
+            try {
+                filterChain.doFilter(cachedRequest, wrapper);
+                result = new StoredResponse(fingerprint, wrapper.getStatus(), wrapper.getContentType(),
+                        wrapper.getContentAsByteArray());
+            } finally {
+                wrapper.copyBodyToResponse();
+            }
+        } finally {
+            idempotencyService.complete(key, execution, result);
+        }
+    }
+
+    private void awaitOriginal(HttpServletResponse response, CompletableFuture<StoredResponse> original)
+            throws IOException {
+        try {
+            StoredResponse stored = original.get(waitTimeout.toMillis(), TimeUnit.MILLISECONDS);
+            if (stored != null) {
+                replay(response, stored);
+            } else {
+                writeError(response, HttpStatus.CONFLICT, "The original request with this Idempotency-Key failed; retry it");
+            }
+        } catch (TimeoutException e) {
+            writeError(response, HttpStatus.CONFLICT, "A request with this Idempotency-Key is still being processed");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            writeError(response, HttpStatus.SERVICE_UNAVAILABLE, "Interrupted while waiting for the original request");
+        } catch (ExecutionException e) {
+            writeError(response, HttpStatus.CONFLICT, "The original request with this Idempotency-Key failed; retry it");
+        }
+    }
+
+    private static void replayIfMatching(HttpServletResponse response, StoredResponse stored, String fingerprint)
+            throws IOException {
+        if (stored.matches(fingerprint)) {
+            replay(response, stored);
+        } else {
+            writeMismatch(response);
+        }
+    }
+
+    private static void writeMismatch(HttpServletResponse response) throws IOException {
+        writeError(response, HttpStatus.UNPROCESSABLE_ENTITY,
+                "Idempotency-Key was already used for a different request");
+    }
+
+    private static void replay(HttpServletResponse response, StoredResponse stored) throws IOException {
+        response.setStatus(stored.statusCode());
+        if (stored.contentType() != null) {
+            response.setContentType(stored.contentType());
+        }
+        response.setHeader(REPLAYED_HEADER, "true");
+        if (stored.body() != null) {
+            response.getOutputStream().write(stored.body());
+        }
+    }
+
+    private static void writeError(HttpServletResponse response, HttpStatus status, String message) throws IOException {
+        response.setStatus(status.value());
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.getOutputStream().write(("{\"success\":false,\"message\":\"" + message + "\"}").getBytes(StandardCharsets.UTF_8));
+    }
+
+    // Null when the body is over MAX_BODY_BYTES. Form bodies are left to the container, which
+    // parses them into parameters; the fingerprint covers those instead.
+    private static byte[] readBody(HttpServletRequest request) throws IOException {
+        if (isForm(request)) {
+            return new byte[0];
+        }
+        byte[] body = request.getInputStream().readNBytes(MAX_BODY_BYTES + 1);
+        return body.length > MAX_BODY_BYTES ? null : body;
+    }
+
+    private static boolean isForm(HttpServletRequest request) {
+        return request.getContentType() != null
+                && request.getContentType().toLowerCase().startsWith(MediaType.APPLICATION_FORM_URLENCODED_VALUE);
+    }
+
+    private static String fingerprint(HttpServletRequest request, byte[] body) {
+        MessageDigest digest = sha256();
+        digest.update((request.getMethod() + '\n' + request.getQueryString() + '\n').getBytes(StandardCharsets.UTF_8));
+        if (isForm(request)) {
+            for (Map.Entry<String, String[]> parameter : new TreeMap<>(request.getParameterMap()).entrySet()) {
+                digest.update((parameter.getKey() + '=' + String.join(",", parameter.getValue()) + '\n')
+                        .getBytes(StandardCharsets.UTF_8));
+            }
+        } else {
+            digest.update(body);
+        }
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    private static String hash(String value) {
+        return HexFormat.of().formatHex(sha256().digest(value.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    // Serves the body that was read for the fingerprint to the rest of the chain
+    private static final class CachedBodyRequest extends HttpServletRequestWrapper {
+
+        private final byte[] body;
+
+        CachedBodyRequest(HttpServletRequest request, byte[] body) {
+            super(request);
+            this.body = body;
+        }
+
+        @Override
+        public ServletInputStream getInputStream() throws IOException {
+            if (isForm(this)) {
+                return super.getInputStream();
+            }
+            ByteArrayInputStream input = new ByteArrayInputStream(body);
+            return new ServletInputStream() {
+                @Override
+                public int read() {
+                    return input.read();
+                }
+
+                @Override
+                public int read(byte[] b, int off, int len) {
+                    return input.read(b, off, len);
+                }
+
+                @Override
+                public boolean isFinished() {
+                    return input.available() == 0;
+                }
+
+                @Override
+                public boolean isReady() {
+                    return true;
+                }
+
+                @Override
+                public void setReadListener(ReadListener readListener) {
+                    throw new UnsupportedOperationException();
+                }
+            };
+        }
+
+        @Override
+        public BufferedReader getReader() throws IOException {
+            if (isForm(this)) {
+                return super.getReader();
+            }
+            Charset charset = getCharacterEncoding() != null
+                    ? Charset.forName(getCharacterEncoding()) : StandardCharsets.UTF_8;
+            return new BufferedReader(new InputStreamReader(getInputStream(), charset));
+        }
+    }
+}
@@ -1,6 +1,9 @@
 package com.platform.ShareNet.config;
 
+import com.platform.ShareNet.monitoring.RequestTimings;
 import com.platform.ShareNet.service.JwtService;
+import com.platform.ShareNet.service.TokenRevocationService;
+import io.jsonwebtoken.Claims;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -23,12 +26,18 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     private static final Logger logger = LoggerFactory.getLogger(JwtAuthenticationFilter.class);
 
+    // Request attribute holding the authenticated caller's userId claim
+    static final String USER_ID_ATTRIBUTE = JwtAuthenticationFilter.class.getName() + ".userId";
+
     @Autowired
     private JwtService jwtService;
 
     @Autowired
     private UserDetailsService userDetailsService;
 
+    @Autowired
+    private TokenRevocationService tokenRevocationService;
+
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
             throws ServletException, IOException {
@@ -42,18 +51,26 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
             return;
         }
 
-        try {
+        try (RequestTimings.Span span = RequestTimings.span("jwt")) {
             jwt = authHeader.substring(7);
-            userEmail = jwtService.extractUsername(jwt);
+            Claims claims = jwtService.extractAllClaims(jwt);
+            userEmail = claims.getSubject();
 
-            if (userEmail != null && SecurityContextHolder.getContext().getAuthentication() == null) {
+            // In-memory check; tokens issued before jti existed carry none and cannot be revoked
+            if (tokenRevocationService.isRevoked(claims.getId())) {
+                logger.debug("Rejected revoked token {}", claims.getId());
+            } else if (userEmail != null && SecurityContextHolder.getContext().getAuthentication() == null) {
                 UserDetails userDetails = this.userDetailsService.loadUserByUsername(userEmail);
 
-                if (jwtService.validateToken(jwt, userDetails)) {
+                if (jwtService.validateToken(claims, userDetails)) {
                     UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
                             userDetails, null, userDetails.getAuthorities());
                     authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
                     SecurityContextHolder.getContext().setAuthentication(authToken);
+                    Object userId = claims.get("userId");
+                    if (userId instanceof Number number) {
+                        request.setAttribute(USER_ID_ATTRIBUTE, number.longValue());
+                    }
                 }
             }
         } catch (Exception e) {
@@ -15,8 +15,8 @@ public class JwtConfig {
     @Value("${jwt.secret:ShareNetSuperSecretKeyThatIsLongEnough2024}")
     private String jwtSecret;
 
-    // Default: 24 hours in milliseconds
-    @Value("${jwt.expiration:86400000}")
+    // Access token lifetime, default 15 minutes in milliseconds; refresh tokens cover longer sessions
+    @Value("${jwt.expiration:900000}")
     private long jwtExpiration;
 
     @Bean
@@ -0,0 +1,176 @@
+package com.platform.ShareNet.config;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.PathContainer;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Token-bucket throttling for the expensive endpoints configured under {@code rate-limit.routes}.
+ *
+ * Runs right after {@link JwtAuthenticationFilter}, so authenticated callers are limited per
+ * user (the JWT userId claim) and anonymous ones per client IP. Buckets live in a size-bounded
+ * Caffeine cache; a periodic sweep drops the ones that have been full for
+ * {@code rate-limit.idle-timeout}, which keeps access-order bookkeeping off the request path.
+ * A bucket is a single CAS-updated timestamp (GCRA), so the allowed path takes no locks.
+ */
+@Component
+@Lazy(false)
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    private static final Logger logger = LoggerFactory.getLogger(RateLimitFilter.class);
+
+    private static final byte[] TOO_MANY_REQUESTS =
+            "{\"success\":false,\"message\":\"Too many requests, please retry later\"}".getBytes();
+
+    private final boolean enabled;
+    private final List<Limit> limits = new ArrayList<>();
+    private final Cache<String, TokenBucket> buckets;
+    private final long idleTimeoutNanos;
+
+    public RateLimitFilter(RateLimitProperties properties) {
+        this.enabled = properties.isEnabled();
+        properties.getRoutes().forEach((name, route) -> {
+            if (route.getPath() == null || route.getCapacity() <= 0 || route.getRefillPerMinute() <= 0) {
+                logger.warn("Ignoring incomplete rate limit route '{}'", name);
+                return;
+            }
+            PathPattern pattern = PathPatternParser.defaultInstance.parse(route.getPath());
+            String literal = pattern.getPatternString().matches(".*[{}*?].*") ? null : pattern.getPatternString();
+            limits.add(new Limit(name, route.getMethod(), pattern, literal,
+                    TimeUnit.MINUTES.toNanos(1) / route.getRefillPerMinute(), route.getCapacity()));
+        });
+        this.buckets = Caffeine.newBuilder()
+                .maximumSize(properties.getMaxKeys())
+                .build();
+        this.idleTimeoutNanos = properties.getIdleTimeout().toNanos();
+    }
+
+    // A bucket that has been full for the idle timeout is the same as a new one
+    @Scheduled(fixedDelayString = "${rate-limit.sweep-interval-ms:60000}")
+    public void sweep() {
+        long now = System.nanoTime();
+        buckets.asMap().values().removeIf(bucket -> bucket.fullFor(now) >= idleTimeoutNanos);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        Limit limit = enabled ? match(request) : null;
+        if (limit == null) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        String key = limit.name() + '|' + RequestIdentity.clientKey(request);
+        TokenBucket bucket = buckets.get(key, k -> new TokenBucket(limit, System.nanoTime()));
+        long waitNanos = bucket.tryAcquire(System.nanoTime());
+        if (waitNanos == 0) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, Long.toString(Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos + 999_999_999))));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.getOutputStream().write(TOO_MANY_REQUESTS);
+    }
+
+    private Limit match(HttpServletRequest request) {
+        String uri = null;
+        boolean plain = false;
+        PathContainer path = null;
+        for (Limit limit : limits) {
+            if (!limit.method().equalsIgnoreCase(request.getMethod())) {
+                continue;
+            }
+            if (uri == null) {
+                uri = request.getRequestURI();
+                // Encoded or parameterized paths must go through the parser, as they do for routing
+                plain = uri.indexOf('%') < 0 && uri.indexOf(';') < 0;
+            }
+            if (limit.literal() != null && plain) {
+                if (limit.literal().equals(uri)) {
+                    return limit;
+                }
+                continue;
+            }
+            if (path == null) {
+                path = PathContainer.parsePath(uri);
+            }
+            if (limit.pattern().matches(path)) {
+                return limit;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * @param literal the path for patterns without variables or wildcards, compared as a string
+     */
+    private record Limit(String name, String method, PathPattern pattern, String literal, long intervalNanos,
+            int capacity) {
+    }
+
+    /**
+     * Generic cell rate algorithm: the bucket is the theoretical arrival time of the next
+     * request. A request is admitted if pushing that time forward by one interval keeps it
+     * within {@code capacity} intervals of now, which is equivalent to a token bucket.
+     */
+    static final class TokenBucket {
+
+        private final long intervalNanos;
+        private final long burstNanos;
+        private final AtomicLong theoreticalArrival;
+
+        TokenBucket(Limit limit, long now) {
+            this.intervalNanos = limit.intervalNanos();
+            this.burstNanos = limit.intervalNanos() * limit.capacity();
+            this.theoreticalArrival = new AtomicLong(now);
+        }
+
+        /**
+         * Returns 0 if a token was taken, otherwise how long until one becomes available.
+         */
+        long tryAcquire(long now) {
+            while (true) {
+                long current = theoreticalArrival.get();
+                long next = Math.max(current, now) + intervalNanos;
+                long wait = next - now - burstNanos;
+                if (wait > 0) {
+                    return wait;
+                }
+                if (theoreticalArrival.compareAndSet(current, next)) {
+                    return 0;
+                }
+            }
+        }
+
+        /**
+         * How long the bucket has been back at full capacity, or a negative value if it is not.
+         */
+        long fullFor(long now) {
+            return now - theoreticalArrival.get();
+        }
+    }
+}
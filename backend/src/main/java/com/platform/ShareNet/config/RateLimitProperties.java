@@ -0,0 +1,38 @@
+package com.platform.ShareNet.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Per-route token-bucket budgets, bound from {@code rate-limit.*} in application.properties.
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "rate-limit")
+public class RateLimitProperties {
+
+    private boolean enabled = true;
+
+    // Upper bound on live buckets across all routes
+    private int maxKeys = 100_000;
+
+    // Buckets that have been full again for this long are dropped by the sweep (rate-limit.sweep-interval-ms)
+    private Duration idleTimeout = Duration.ofMinutes(10);
+
+    private Map<String, Route> routes = new LinkedHashMap<>();
+
+    @Data
+    public static class Route {
+        private String method = "POST";
+        private String path;
+        // Burst size
+        private int capacity = 10;
+        // Sustained rate
+        private int refillPerMinute = 10;
+    }
+}
@@ -0,0 +1,28 @@
+package com.platform.ShareNet.config;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+/**
+ * Identifies the caller of a request for per-client bookkeeping: the userId claim once
+ * {@link JwtAuthenticationFilter} has authenticated the request, otherwise the client IP. Behind
+ * a proxy the IP comes from X-Forwarded-For as resolved by {@code server.forward-headers-strategy}.
+ */
+final class RequestIdentity {
+
+    private RequestIdentity() {
+    }
+
+    static String clientKey(HttpServletRequest request) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.isAuthenticated()
+                && !(authentication instanceof AnonymousAuthenticationToken)) {
+            Object userId = request.getAttribute(JwtAuthenticationFilter.USER_ID_ATTRIBUTE);
+            // Tokens issued without a userId claim fall back to the subject (email)
+            return userId != null ? "user:" + userId : "subject:" + authentication.getName();
+        }
+        return "ip:" + request.getRemoteAddr();
+    }
+}
@@ -1,14 +1,15 @@
 package com.platform.ShareNet.controller;
 
+import com.platform.ShareNet.dto.ChatListResponse;
+import com.platform.ShareNet.dto.ChatResponse;
 import com.platform.ShareNet.model.Chat;
 import com.platform.ShareNet.service.ChatService;
+import com.platform.ShareNet.service.SparseFieldsService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
 
 @RestController
 @RequestMapping("/api/chats")
@@ -17,36 +18,31 @@ public class ChatController {
     @Autowired
     private ChatService chatService;
 
+    @Autowired
+    private SparseFieldsService sparseFieldsService;
+
     @GetMapping("/{user1}/{user2}")
-    public ResponseEntity<Map<String, Object>> getChat(@PathVariable Long user1,@PathVariable Long user2){
+    public ResponseEntity<ChatListResponse> getChat(@PathVariable Long user1,@PathVariable Long user2,
+            @RequestParam(required = false) String fields){
         try {
-            List<Chat> chats = chatService.getChatBetweenUsers(user1, user2);
-            Map<String, Object> response = new HashMap<>();
-            response.put("success", true);
-            response.put("chats", chats);
-            return ResponseEntity.ok(response);
+            SparseFieldsService.Selection selection = sparseFieldsService.parse(SparseFieldsService.Resource.CHAT, fields);
+            List<?> chats = selection == null ? chatService.getChatBetweenUsers(user1, user2)
+                    : sparseFieldsService.chatsBetween(selection, user1, user2);
+            return ResponseEntity.ok(ChatListResponse.ok(chats));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(ChatListResponse.failure(e.getMessage()));
         } catch (Exception e) {
-            Map<String, Object> response = new HashMap<>();
-            response.put("success", false);
-            response.put("message", "Failed to get chats: " + e.getMessage());
-            return ResponseEntity.internalServerError().body(response);
+            return ResponseEntity.internalServerError().body(ChatListResponse.failure("Failed to get chats: " + e.getMessage()));
         }
     }
     
     @PostMapping("/send")
-    public ResponseEntity<Map<String, Object>> sendMessage(@RequestBody Chat message){
+    public ResponseEntity<ChatResponse> sendMessage(@RequestBody Chat message){
         try {
             Chat savedMessage = chatService.sendMessage(message);
-            Map<String, Object> response = new HashMap<>();
-            response.put("success", true);
-            response.put("message", "Message sent successfully");
-            response.put("chat", savedMessage);
-            return ResponseEntity.ok(response);
+            return ResponseEntity.ok(ChatResponse.ok("Message sent successfully", savedMessage));
         } catch (Exception e) {
-            Map<String, Object> response = new HashMap<>();
-            response.put("success", false);
-            response.put("message", "Failed to send message: " + e.getMessage());
-            return ResponseEntity.badRequest().body(response);
+            return ResponseEntity.badRequest().body(ChatResponse.failure("Failed to send message: " + e.getMessage()));
         }
     }
 }
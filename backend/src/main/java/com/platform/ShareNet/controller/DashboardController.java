@@ -0,0 +1,43 @@
+package com.platform.ShareNet.controller;
+
+import com.platform.ShareNet.monitoring.RequestTimings;
+import com.platform.ShareNet.service.DashboardService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.HashMap;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/dashboard")
+@CrossOrigin(origins = { "http://localhost:3000", "http://localhost:5173" })
+public class DashboardController {
+
+    @Autowired
+    private DashboardService dashboardService;
+
+    // Profile, owned items, pending requests, own requests and transactions in one round trip.
+    // Sections that failed or timed out are missing and listed under "errors".
+    @GetMapping("/{userId}")
+    public ResponseEntity<Map<String, Object>> getDashboard(@PathVariable Long userId) {
+        DashboardService.Dashboard dashboard;
+        try (RequestTimings.Span span = RequestTimings.span("dashboard")) {
+            dashboard = dashboardService.load(userId);
+        }
+        Map<String, Object> response = new HashMap<>(dashboard.sections());
+        if (!dashboard.errors().containsKey(DashboardService.USER) && dashboard.sections().get(DashboardService.USER) == null) {
+            response.clear();
+            response.put("success", false);
+            response.put("message", "User not found");
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(response);
+        }
+        response.put("success", true);
+        response.put("partial", !dashboard.errors().isEmpty());
+        if (!dashboard.errors().isEmpty()) {
+            response.put("errors", dashboard.errors());
+        }
+        return ResponseEntity.ok(response);
+    }
+}
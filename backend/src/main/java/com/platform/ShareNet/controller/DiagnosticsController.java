@@ -0,0 +1,151 @@
+package com.platform.ShareNet.controller;
+
+import com.platform.ShareNet.config.ConcurrencyLimitFilter;
+import com.platform.ShareNet.monitoring.JfrRecordingService;
+import com.platform.ShareNet.monitoring.SlowRequestLog;
+import com.platform.ShareNet.service.CacheCoherenceService;
+import com.platform.ShareNet.service.NearCacheService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.convert.DurationStyle;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/admin")
+public class DiagnosticsController {
+
+    @Autowired
+    private JfrRecordingService jfrRecordingService;
+
+    @Autowired
+    private SlowRequestLog slowRequestLog;
+
+    @Autowired
+    private CacheCoherenceService cacheCoherenceService;
+
+    @Autowired
+    private ConcurrencyLimitFilter concurrencyLimitFilter;
+
+    @Autowired
+    private NearCacheService nearCacheService;
+
+    // Start a flight recording, e.g. POST /api/admin/jfr/start?settings=profile&duration=2m
+    @PostMapping("/jfr/start")
+    public ResponseEntity<Map<String, Object>> startRecording(
+            @RequestParam(defaultValue = "default") String settings,
+            @RequestParam(required = false) String duration) {
+        Map<String, Object> response = new HashMap<>();
+        try {
+            Duration maxDuration = duration == null ? null : DurationStyle.detectAndParse(duration);
+            response.put("success", true);
+            response.put("recording", jfrRecordingService.start(settings, maxDuration));
+            return ResponseEntity.ok(response);
+        } catch (IllegalStateException e) {
+            response.put("success", false);
+            response.put("message", e.getMessage());
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(response);
+        } catch (Exception e) {
+            response.put("success", false);
+            response.put("message", "Failed to start recording: " + e.getMessage());
+            return ResponseEntity.badRequest().body(response);
+        }
+    }
+
+    @PostMapping("/jfr/stop")
+    public ResponseEntity<Map<String, Object>> stopRecording() {
+        Map<String, Object> response = new HashMap<>();
+        try {
+            response.put("success", true);
+            response.put("file", jfrRecordingService.stop());
+            return ResponseEntity.ok(response);
+        } catch (IllegalStateException e) {
+            response.put("success", false);
+            response.put("message", e.getMessage());
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(response);
+        } catch (Exception e) {
+            response.put("success", false);
+            response.put("message", "Failed to stop recording: " + e.getMessage());
+            return ResponseEntity.internalServerError().body(response);
+        }
+    }
+
+    @GetMapping("/jfr")
+    public ResponseEntity<Map<String, Object>> getRecordings() {
+        Map<String, Object> response = new HashMap<>();
+        response.put("success", true);
+        response.put("recording", jfrRecordingService.isRecording());
+        response.put("files", jfrRecordingService.recordings());
+        return ResponseEntity.ok(response);
+    }
+
+    @GetMapping("/jfr/{name}")
+    public ResponseEntity<Resource> downloadRecording(@PathVariable String name) {
+        Path file = jfrRecordingService.file(name);
+        if (file == null) {
+            return ResponseEntity.notFound().build();
+        }
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_OCTET_STREAM)
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + name + "\"")
+                .body(new FileSystemResource(file));
+    }
+
+    // Most recent requests over request-timing.slow-threshold, newest first, with their phase breakdown
+    @GetMapping("/slow-requests")
+    public ResponseEntity<Map<String, Object>> getSlowRequests(@RequestParam(defaultValue = "false") boolean download) {
+        Map<String, Object> response = new HashMap<>();
+        response.put("success", true);
+        response.put("requests", slowRequestLog.snapshot());
+        ResponseEntity.BodyBuilder builder = ResponseEntity.ok();
+        if (download) {
+            builder.header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"slow-requests.json\"");
+        }
+        return builder.body(response);
+    }
+
+    // Change-log position and write-to-eviction lag of this instance, measured against coherence.max-staleness
+    @GetMapping("/cache-coherence")
+    public ResponseEntity<Map<String, Object>> getCacheCoherence() {
+        Map<String, Object> response = new HashMap<>();
+        response.put("success", true);
+        response.put("stats", cacheCoherenceService.stats());
+        return ResponseEntity.ok(response);
+    }
+
+    @DeleteMapping("/cache-coherence")
+    public ResponseEntity<Map<String, Object>> resetCacheCoherence() {
+        cacheCoherenceService.resetStats();
+        Map<String, Object> response = new HashMap<>();
+        response.put("success", true);
+        response.put("message", "Cache coherence statistics reset");
+        return ResponseEntity.ok(response);
+    }
+
+    // Current in-flight limit, the database times it follows and admitted/shed counts per priority
+    @GetMapping("/concurrency-limit")
+    public ResponseEntity<Map<String, Object>> getConcurrencyLimit() {
+        Map<String, Object> response = new HashMap<>();
+        response.put("success", true);
+        response.put("stats", concurrencyLimitFilter.stats());
+        return ResponseEntity.ok(response);
+    }
+
+    // Size, hit rate, loads and coalesced misses of the item and user near caches
+    @GetMapping("/near-cache")
+    public ResponseEntity<Map<String, Object>> getNearCache() {
+        Map<String, Object> response = new HashMap<>();
+        response.put("success", true);
+        response.put("stats", nearCacheService.stats());
+        return ResponseEntity.ok(response);
+    }
+}
@@ -1,16 +1,36 @@
 package com.platform.ShareNet.controller;
 
+import com.platform.ShareNet.dto.ItemListResponse;
+import com.platform.ShareNet.dto.ItemResponse;
+import com.platform.ShareNet.dto.ItemStatsResponse;
+import com.platform.ShareNet.dto.SuggestResponse;
 import com.platform.ShareNet.model.Item;
 import com.platform.ShareNet.model.User;
+import com.platform.ShareNet.service.BatchLookupService;
+import com.platform.ShareNet.service.CatalogSnapshotService;
+import com.platform.ShareNet.service.FacetIndexService;
+import com.platform.ShareNet.service.ItemFeedService;
 import com.platform.ShareNet.service.ItemService;
+import com.platform.ShareNet.service.ItemStatsService;
+import com.platform.ShareNet.service.RecommendationService;
+import com.platform.ShareNet.service.SparseFieldsService;
+import com.platform.ShareNet.service.SuggestService;
+import com.platform.ShareNet.service.TrendingService;
 import com.platform.ShareNet.service.UserService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.time.LocalDateTime;
 
-import java.util.HashMap;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
 
 @RestController
@@ -24,28 +44,280 @@ public class ItemController {
     @Autowired
     private UserService userService;
 
+    @Autowired
+    private CatalogSnapshotService catalogSnapshotService;
+
+    @Autowired
+    private RecommendationService recommendationService;
+
+    @Autowired
+    private FacetIndexService facetIndexService;
+
+    @Autowired
+    private ItemFeedService itemFeedService;
+
+    @Autowired
+    private SparseFieldsService sparseFieldsService;
+
+    @Autowired
+    private BatchLookupService batchLookupService;
+
+    @Autowired
+    private ItemStatsService itemStatsService;
+
+    @Autowired
+    private TrendingService trendingService;
+
+    @Autowired
+    private SuggestService suggestService;
+
     @GetMapping
-    public ResponseEntity<List<Item>> getAllItems() {
+    public ResponseEntity<?> getAllItems(
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding,
+            @RequestParam(required = false) String fields) {
         try {
-            List<Item> items = itemService.getAllItems();
-            return ResponseEntity.ok(items);
+            SparseFieldsService.Selection selection = sparseFieldsService.parse(SparseFieldsService.Resource.ITEM, fields);
+            if (selection != null) {
+                return ResponseEntity.ok(sparseFieldsService.allItems(selection));
+            }
+            return catalogResponse(catalogSnapshotService.current().all(), ifNoneMatch, acceptEncoding);
+        } catch (IllegalArgumentException e) {
+            return badFields(e);
         } catch (Exception e) {
             return ResponseEntity.internalServerError().build();
         }
     }
 
+    // ?ids=3,1,2: those items in that order, missing ids skipped, duplicates collapsed
+    @GetMapping(params = "ids")
+    public ResponseEntity<ItemListResponse> getItemsByIds(@RequestParam String ids,
+            @RequestParam(required = false) String fields) {
+        try {
+            SparseFieldsService.Selection selection = sparseFieldsService.parse(SparseFieldsService.Resource.ITEM, fields);
+            List<Long> itemIds = batchLookupService.parseIds(ids);
+            List<?> items = selection == null ? batchLookupService.items(itemIds)
+                    : batchLookupService.items(selection, itemIds);
+            return ResponseEntity.ok(ItemListResponse.of(items));
+        } catch (IllegalArgumentException e) {
+            return badFields(e);
+        } catch (Exception e) {
+            return ResponseEntity.internalServerError().body(ItemListResponse.failure("Failed to get items: " + e.getMessage()));
+        }
+    }
+
+    /**
+     * The whole catalogue, or the items changed since {@code updatedSince}, as NDJSON streamed
+     * from the database. Send the returned {@code X-Feed-Watermark} as the next updatedSince.
+     */
+    @GetMapping("/feed")
+    public ResponseEntity<StreamingResponseBody> getItemFeed(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime updatedSince) {
+        if (!itemFeedService.tryAcquire()) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .header(HttpHeaders.RETRY_AFTER, "30")
+                    .build();
+        }
+        LocalDateTime watermark = itemFeedService.nextWatermark();
+        StreamingResponseBody body = out -> {
+            try {
+                itemFeedService.write(updatedSince, out);
+            } finally {
+                itemFeedService.release();
+            }
+        };
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .cacheControl(CacheControl.noStore())
+                .header("X-Feed-Watermark", watermark.toString())
+                .body(body);
+    }
+
     @GetMapping("/available")
-    public ResponseEntity<List<Item>> getAvailableItems() {
+    public ResponseEntity<?> getAvailableItems(
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding,
+            @RequestParam(required = false) String fields) {
         try {
-            List<Item> items = itemService.getAllItems();
-            return ResponseEntity.ok(items);
+            SparseFieldsService.Selection selection = sparseFieldsService.parse(SparseFieldsService.Resource.ITEM, fields);
+            if (selection != null) {
+                return ResponseEntity.ok(sparseFieldsService.availableItems(selection));
+            }
+            return catalogResponse(catalogSnapshotService.current().available(), ifNoneMatch, acceptEncoding);
+        } catch (IllegalArgumentException e) {
+            return badFields(e);
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
         }
     }
 
+    @GetMapping("/facets")
+    public ResponseEntity<ItemListResponse> getFacets(
+            @RequestParam(required = false) List<String> category,
+            @RequestParam(required = false) List<String> condition,
+            @RequestParam(required = false) List<String> price,
+            @RequestParam(required = false) Boolean available,
+            @RequestParam(required = false) Long ownerId,
+            @RequestParam(defaultValue = "0") int offset,
+            @RequestParam(defaultValue = "50") int limit,
+            @RequestParam(required = false) String fields) {
+        try {
+            SparseFieldsService.Selection selection = sparseFieldsService.parse(SparseFieldsService.Resource.ITEM, fields);
+            FacetIndexService.Result result = facetIndexService.query(
+                    new FacetIndexService.Filter(category, condition, price, available, ownerId),
+                    Math.max(0, offset), Math.max(0, Math.min(limit, 500)));
+            List<?> items = selection == null ? itemService.getItemsByIds(result.itemIds())
+                    : sparseFieldsService.itemsByIds(selection, result.itemIds());
+            // The browse grid: every item on the page counts as a view
+            itemStatsService.recordViews(result.itemIds());
+            trendingService.recordViews(result.itemIds());
+            return ResponseEntity.ok(ItemListResponse.ofFacets(result.total(), result.facets(), items));
+        } catch (IllegalArgumentException e) {
+            return badFields(e);
+        } catch (Exception e) {
+            return ResponseEntity.internalServerError().body(ItemListResponse.failure("Failed to get facets: " + e.getMessage()));
+        }
+    }
+
+    // Trending overall or in a category; with lat/lon, around that point ("trending near you")
+    @GetMapping("/trending")
+    public ResponseEntity<ItemListResponse> getTrending(
+            @RequestParam(required = false) String category,
+            @RequestParam(required = false) Double lat,
+            @RequestParam(required = false) Double lon,
+            @RequestParam(defaultValue = "20") int limit,
+            @RequestParam(required = false) String fields) {
+        try {
+            SparseFieldsService.Selection selection = sparseFieldsService.parse(SparseFieldsService.Resource.ITEM, fields);
+            if ((lat == null) != (lon == null)) {
+                return ResponseEntity.badRequest().body(ItemListResponse.failure("lat and lon must be given together"));
+            }
+            List<Long> ids = trendingService.trending(category, lat, lon, Math.max(0, Math.min(limit, 100)));
+            List<?> items = selection == null ? itemService.getItemsByIds(ids)
+                    : sparseFieldsService.itemsByIds(selection, ids);
+            return ResponseEntity.ok(ItemListResponse.of(items));
+        } catch (IllegalArgumentException e) {
+            return badFields(e);
+        } catch (Exception e) {
+            return ResponseEntity.internalServerError()
+                    .body(ItemListResponse.failure("Failed to get trending items: " + e.getMessage()));
+        }
+    }
+
+    // Search-box completions: matching categories, then item names, most popular first
+    @GetMapping("/suggest")
+    public ResponseEntity<SuggestResponse> suggest(@RequestParam(defaultValue = "") String q,
+            @RequestParam(defaultValue = "8") int limit) {
+        return ResponseEntity.ok(SuggestResponse.of(q, suggestService.suggest(q, Math.max(0, Math.min(limit, 20)))));
+    }
+
+    // Item detail, served from the near cache; concurrent misses for one id share a single query
+    @GetMapping("/{id}")
+    public ResponseEntity<ItemResponse> getItem(@PathVariable Long id) {
+        try {
+            Item item = itemService.getItemById(id);
+            if (item == null) {
+                return ResponseEntity.status(HttpStatus.NOT_FOUND).body(ItemResponse.failure("Item not found"));
+            }
+            return ResponseEntity.ok(ItemResponse.of(item));
+        } catch (Exception e) {
+            return ResponseEntity.internalServerError().body(ItemResponse.failure("Failed to get item: " + e.getMessage()));
+        }
+    }
+
+    @GetMapping("/{id}/also-borrowed")
+    public ResponseEntity<ItemListResponse> getAlsoBorrowed(@PathVariable Long id,
+            @RequestParam(defaultValue = "10") int limit,
+            @RequestParam(required = false) String fields) {
+        try {
+            SparseFieldsService.Selection selection = sparseFieldsService.parse(SparseFieldsService.Resource.ITEM, fields);
+            List<Long> ids = recommendationService.getAlsoBorrowed(id, limit);
+            List<?> items = selection == null ? itemService.getItemsByIds(ids)
+                    : sparseFieldsService.itemsByIds(selection, ids);
+            return ResponseEntity.ok(ItemListResponse.ofRelated(id, items));
+        } catch (IllegalArgumentException e) {
+            return badFields(e);
+        } catch (Exception e) {
+            return ResponseEntity.internalServerError()
+                    .body(ItemListResponse.failure("Failed to get recommendations: " + e.getMessage()));
+        }
+    }
+
+    // Sent by the detail page when it is opened; counted in memory and flushed in batches. Unknown
+    // ids are answered from the near cache, which keeps missing ids too, and never reach the counters.
+    @PostMapping("/{id}/opened")
+    public ResponseEntity<Void> itemOpened(@PathVariable Long id) {
+        if (itemService.getItemById(id) == null) {
+            return ResponseEntity.notFound().build();
+        }
+        itemStatsService.recordOpen(id);
+        trendingService.recordOpen(id);
+        return ResponseEntity.noContent().build();
+    }
+
+    @GetMapping("/{id}/stats")
+    public ResponseEntity<ItemStatsResponse> getItemStats(@PathVariable Long id) {
+        return ResponseEntity.ok(ItemStatsResponse.of(itemStatsService.get(id)));
+    }
+
+    private static ResponseEntity<ItemListResponse> badFields(IllegalArgumentException e) {
+        return ResponseEntity.badRequest().body(ItemListResponse.failure(e.getMessage()));
+    }
+
+    private ResponseEntity<byte[]> catalogResponse(CatalogSnapshotService.View view, String ifNoneMatch,
+            String acceptEncoding) {
+        boolean gzip = acceptsGzip(acceptEncoding);
+        String etag = gzip ? view.gzipEtag() : view.etag();
+        if (view.matches(ifNoneMatch)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .eTag(etag)
+                    .varyBy(HttpHeaders.ACCEPT_ENCODING)
+                    .build();
+        }
+        ResponseEntity.BodyBuilder builder = ResponseEntity.ok()
+                .eTag(etag)
+                .cacheControl(CacheControl.noCache())
+                .varyBy(HttpHeaders.ACCEPT_ENCODING)
+                .contentType(MediaType.APPLICATION_JSON);
+        if (gzip) {
+            return builder.header(HttpHeaders.CONTENT_ENCODING, "gzip").body(view.gzip());
+        }
+        return builder.body(view.json());
+    }
+
+    // gzip (or *) with a q-value above zero; an explicit gzip entry wins over *, so "gzip;q=0" refuses it
+    private static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        Double gzip = null;
+        Double any = null;
+        for (String part : acceptEncoding.split(",")) {
+            String[] params = part.split(";");
+            String coding = params[0].trim().toLowerCase(Locale.ROOT);
+            double q = 1;
+            for (int i = 1; i < params.length; i++) {
+                String param = params[i].trim();
+                if (param.regionMatches(true, 0, "q=", 0, 2)) {
+                    try {
+                        q = Double.parseDouble(param.substring(2).trim());
+                    } catch (NumberFormatException e) {
+                        q = 0;
+                    }
+                }
+            }
+            if (coding.equals("gzip") || coding.equals("x-gzip")) {
+                gzip = q;
+            } else if (coding.equals("*")) {
+                any = q;
+            }
+        }
+        double q = gzip != null ? gzip : any != null ? any : 0;
+        return q > 0;
+    }
+
     @PostMapping("/upload")
-    public ResponseEntity<Map<String, Object>> uploadItem(@RequestBody Map<String, Object> itemData) {
+    public ResponseEntity<ItemResponse> uploadItem(@RequestBody Map<String, Object> itemData) {
         try {
             Item item = new Item();
             item.setName((String) itemData.get("name"));
@@ -71,31 +343,18 @@ public class ItemController {
                 Long ownerId = ((Number) ownerIdObj).longValue();
                 User owner = userService.getUserById(ownerId);
                 if (owner == null) {
-                    Map<String, Object> error = new HashMap<>();
-                    error.put("success", false);
-                    error.put("message", "Owner with id " + ownerId + " not found");
-                    return ResponseEntity.badRequest().body(error);
+                    return ResponseEntity.badRequest().body(ItemResponse.failure("Owner with id " + ownerId + " not found"));
                 }
                 item.setOwner(owner);
             } else {
-                Map<String, Object> error = new HashMap<>();
-                error.put("success", false);
-                error.put("message", "ownerId is required");
-                return ResponseEntity.badRequest().body(error);
+                return ResponseEntity.badRequest().body(ItemResponse.failure("ownerId is required"));
             }
 
             Item savedItem = itemService.saveItem(item);
-            Map<String, Object> response = new HashMap<>();
-            response.put("success", true);
-            response.put("message", "Item uploaded successfully");
-            response.put("item", savedItem);
-            return ResponseEntity.ok(response);
+            return ResponseEntity.ok(ItemResponse.ok("Item uploaded successfully", savedItem));
 
         } catch (Exception e) {
-            Map<String, Object> response = new HashMap<>();
-            response.put("success", false);
-            response.put("message", "Failed to upload item: " + e.getMessage());
-            return ResponseEntity.badRequest().body(response);
+            return ResponseEntity.badRequest().body(ItemResponse.failure("Failed to upload item: " + e.getMessage()));
         }
     }
 }
\ No newline at end of file
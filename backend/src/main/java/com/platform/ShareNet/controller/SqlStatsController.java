@@ -0,0 +1,67 @@
+package com.platform.ShareNet.controller;
+
+import com.platform.ShareNet.monitoring.SqlProfiler;
+import com.platform.ShareNet.monitoring.StatementStats;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/admin/sql-stats")
+public class SqlStatsController {
+
+    private static final int MAX_LIMIT = 200;
+
+    @Autowired
+    private SqlProfiler sqlProfiler;
+
+    // Top statements by total time (default) or by p99 latency
+    @GetMapping
+    public ResponseEntity<Map<String, Object>> getTopStatements(
+            @RequestParam(defaultValue = "20") int limit,
+            @RequestParam(defaultValue = "total") String orderBy) {
+        Map<String, Object> response = new HashMap<>();
+        if (!"total".equals(orderBy) && !"p99".equals(orderBy)) {
+            response.put("success", false);
+            response.put("message", "orderBy must be 'total' or 'p99'");
+            return ResponseEntity.badRequest().body(response);
+        }
+
+        List<Map<String, Object>> statements = new ArrayList<>();
+        for (StatementStats.Entry entry : sqlProfiler.top(Math.max(1, Math.min(limit, MAX_LIMIT)), "p99".equals(orderBy))) {
+            Map<String, Object> statement = new HashMap<>();
+            statement.put("sql", entry.sql());
+            statement.put("count", entry.count());
+            statement.put("errors", entry.errors());
+            statement.put("rows", entry.rows());
+            statement.put("totalMs", millis(entry.totalNanos()));
+            statement.put("meanMs", entry.count() == 0 ? 0 : millis(entry.totalNanos() / entry.count()));
+            statement.put("p50Ms", millis(entry.percentileNanos(50)));
+            statement.put("p99Ms", millis(entry.percentileNanos(99)));
+            statement.put("maxMs", millis(entry.maxNanos()));
+            statements.add(statement);
+        }
+        response.put("success", true);
+        response.put("orderBy", orderBy);
+        response.put("statements", statements);
+        return ResponseEntity.ok(response);
+    }
+
+    @DeleteMapping
+    public ResponseEntity<Map<String, Object>> reset() {
+        sqlProfiler.reset();
+        Map<String, Object> response = new HashMap<>();
+        response.put("success", true);
+        response.put("message", "SQL statistics reset");
+        return ResponseEntity.ok(response);
+    }
+
+    private static double millis(long nanos) {
+        return Math.round(nanos / 1_000.0) / 1_000.0;
+    }
+}
@@ -1,14 +1,15 @@
 package com.platform.ShareNet.controller;
 
+import com.platform.ShareNet.dto.TransactionListResponse;
+import com.platform.ShareNet.dto.TransactionResponse;
 import com.platform.ShareNet.model.Transaction;
+import com.platform.ShareNet.service.SparseFieldsService;
 import com.platform.ShareNet.service.TransactionService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
 
 @RestController
 @RequestMapping("/api/transactions")
@@ -18,36 +19,33 @@ public class TransactionController {
     @Autowired
     private TransactionService transactionService;
 
+    @Autowired
+    private SparseFieldsService sparseFieldsService;
+
     @GetMapping("/user/{userId}")
-    public ResponseEntity<Map<String, Object>> getUserTransactions(@PathVariable Long userId){
+    public ResponseEntity<TransactionListResponse> getUserTransactions(@PathVariable Long userId,
+            @RequestParam(required = false) String fields){
         try {
-            List<Transaction> transactions = transactionService.getTransactionForUser(userId);
-            Map<String, Object> response = new HashMap<>();
-            response.put("success", true);
-            response.put("transactions", transactions);
-            return ResponseEntity.ok(response);
+            SparseFieldsService.Selection selection = sparseFieldsService.parse(SparseFieldsService.Resource.TRANSACTION, fields);
+            List<?> transactions = selection == null ? transactionService.getTransactionForUser(userId)
+                    : sparseFieldsService.transactionsForUser(selection, userId);
+            return ResponseEntity.ok(TransactionListResponse.ok(transactions));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(TransactionListResponse.failure(e.getMessage()));
         } catch (Exception e) {
-            Map<String, Object> response = new HashMap<>();
-            response.put("success", false);
-            response.put("message", "Failed to get transactions: " + e.getMessage());
-            return ResponseEntity.internalServerError().body(response);
+            return ResponseEntity.internalServerError()
+                    .body(TransactionListResponse.failure("Failed to get transactions: " + e.getMessage()));
         }
     }
 
     @PostMapping("/create")
-    public ResponseEntity<Map<String, Object>> createTransaction(@RequestBody Transaction transaction){
+    public ResponseEntity<TransactionResponse> createTransaction(@RequestBody Transaction transaction){
         try {
             Transaction savedTransaction = transactionService.saveTransaction(transaction);
-            Map<String, Object> response = new HashMap<>();
-            response.put("success", true);
-            response.put("message", "Transaction created successfully");
-            response.put("transaction", savedTransaction);
-            return ResponseEntity.ok(response);
+            return ResponseEntity.ok(TransactionResponse.ok("Transaction created successfully", savedTransaction));
         } catch (Exception e) {
-            Map<String, Object> response = new HashMap<>();
-            response.put("success", false);
-            response.put("message", "Failed to create transaction: " + e.getMessage());
-            return ResponseEntity.badRequest().body(response);
+            return ResponseEntity.badRequest()
+                    .body(TransactionResponse.failure("Failed to create transaction: " + e.getMessage()));
         }
     }
 
@@ -1,16 +1,23 @@
 package com.platform.ShareNet.controller;
 
+import com.platform.ShareNet.config.JwtConfig;
 import com.platform.ShareNet.dto.LoginRequest;
 import com.platform.ShareNet.dto.RegisterRequest;
 import com.platform.ShareNet.model.User;
+import com.platform.ShareNet.service.BatchLookupService;
+import com.platform.ShareNet.service.RefreshTokenService;
+import com.platform.ShareNet.service.SparseFieldsService;
 import com.platform.ShareNet.service.UserService;
+import io.jsonwebtoken.JwtException;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 @RestController
@@ -21,15 +28,57 @@ public class UserController {
     @Autowired
     private UserService userService;
 
+    @Autowired
+    private SparseFieldsService sparseFieldsService;
+
+    @Autowired
+    private RefreshTokenService refreshTokenService;
+
+    @Autowired
+    private JwtConfig jwtConfig;
+
+    @Autowired
+    private BatchLookupService batchLookupService;
+
+    // ?ids=3,1,2: those users in that order, missing ids skipped, duplicates collapsed
+    @GetMapping(value = "/users", params = "ids")
+    public ResponseEntity<Map<String, Object>> getUsersByIds(@RequestParam String ids,
+            @RequestParam(required = false) String fields) {
+        Map<String, Object> response = new HashMap<>();
+        try {
+            SparseFieldsService.Selection selection = sparseFieldsService.parse(SparseFieldsService.Resource.USER, fields);
+            List<Long> userIds = batchLookupService.parseIds(ids);
+            List<?> users = selection == null ? batchLookupService.users(userIds)
+                    : batchLookupService.users(selection, userIds);
+            response.put("success", true);
+            response.put("users", users);
+            return ResponseEntity.ok(response);
+        } catch (IllegalArgumentException e) {
+            response.put("success", false);
+            response.put("message", e.getMessage());
+            return ResponseEntity.badRequest().body(response);
+        } catch (Exception e) {
+            response.put("success", false);
+            response.put("message", "Failed to get users: " + e.getMessage());
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(response);
+        }
+    }
+
     @GetMapping("/users/{id}")
-    public ResponseEntity<User> getUser(@PathVariable Long id) {
+    public ResponseEntity<?> getUser(@PathVariable Long id, @RequestParam(required = false) String fields) {
         try {
-            User user = userService.getUserById(id);
+            SparseFieldsService.Selection selection = sparseFieldsService.parse(SparseFieldsService.Resource.USER, fields);
+            Object user = selection == null ? userService.getUserById(id) : sparseFieldsService.user(selection, id);
             if (user != null) {
                 return ResponseEntity.ok(user);
             } else {
                 return ResponseEntity.notFound().build();
             }
+        } catch (IllegalArgumentException e) {
+            Map<String, Object> response = new HashMap<>();
+            response.put("success", false);
+            response.put("message", e.getMessage());
+            return ResponseEntity.badRequest().body(response);
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
         }
@@ -54,6 +103,8 @@ public class UserController {
             response.put("message", "User registered successfully");
             response.put("user", registeredUser);
             response.put("token", token);
+            response.put("refreshToken", refreshTokenService.create(registeredUser.getId(), registeredUser.getEmail()));
+            response.put("expiresIn", jwtConfig.getJwtExpiration() / 1000);
             return ResponseEntity.status(HttpStatus.CREATED).body(response);
         } catch (Exception e) {
             Map<String, Object> response = new HashMap<>();
@@ -74,6 +125,8 @@ public class UserController {
                 response.put("success", true);
                 response.put("message", "Login successful");
                 response.put("token", token);
+                response.put("refreshToken", refreshTokenService.create(user.getId(), user.getEmail()));
+                response.put("expiresIn", jwtConfig.getJwtExpiration() / 1000);
                 response.put("user", user);
                 return ResponseEntity.ok(response);
             } else {
@@ -90,6 +143,73 @@ public class UserController {
         }
     }
 
+    /**
+     * Renews an access token without a password check; the refresh token is replaced by the
+     * one returned.
+     */
+    @PostMapping("/auth/refresh")
+    public ResponseEntity<Map<String, Object>> refreshToken(@RequestBody Map<String, String> body) {
+        Map<String, Object> response = new HashMap<>();
+        String refreshToken = body.get("refreshToken");
+        if (refreshToken == null || refreshToken.isBlank()) {
+            response.put("success", false);
+            response.put("message", "refreshToken is required");
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(response);
+        }
+        try {
+            RefreshTokenService.TokenPair tokens = refreshTokenService.rotate(refreshToken);
+            response.put("success", true);
+            response.put("token", tokens.accessToken());
+            response.put("refreshToken", tokens.refreshToken());
+            response.put("expiresIn", tokens.expiresIn());
+            return ResponseEntity.ok(response);
+        } catch (IllegalArgumentException e) {
+            response.put("success", false);
+            response.put("message", e.getMessage());
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(response);
+        } catch (Exception e) {
+            response.put("success", false);
+            response.put("message", "Token refresh failed: " + e.getMessage());
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(response);
+        }
+    }
+
+    /**
+     * Revokes the bearer token and, when {@code refreshToken} is sent, its refresh token family.
+     */
+    @PostMapping("/auth/logout")
+    public ResponseEntity<Map<String, Object>> logoutUser(
+            @RequestHeader(value = HttpHeaders.AUTHORIZATION, required = false) String authorization,
+            @RequestBody(required = false) Map<String, String> body) {
+        Map<String, Object> response = new HashMap<>();
+        if (authorization == null || !authorization.startsWith("Bearer ")) {
+            response.put("success", false);
+            response.put("message", "Bearer token is required");
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(response);
+        }
+        try {
+            userService.logoutUser(authorization.substring(7));
+            if (body != null && body.get("refreshToken") != null) {
+                refreshTokenService.revoke(body.get("refreshToken"));
+            }
+            response.put("success", true);
+            response.put("message", "Logged out successfully");
+            return ResponseEntity.ok(response);
+        } catch (JwtException e) {
+            response.put("success", false);
+            response.put("message", "Invalid or expired token");
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(response);
+        } catch (IllegalArgumentException e) {
+            response.put("success", false);
+            response.put("message", e.getMessage());
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(response);
+        } catch (Exception e) {
+            response.put("success", false);
+            response.put("message", "Logout failed: " + e.getMessage());
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(response);
+        }
+    }
+
     @PostMapping("/users/{userId}/buy-credit")
     public ResponseEntity<Map<String, Object>> buyCredit(@PathVariable Long userId,
             @RequestParam double amount) {
@@ -109,9 +229,11 @@ public class UserController {
     }
 
     @GetMapping("/users/profile")
-    public ResponseEntity<Map<String, Object>> getUserProfile(@RequestParam Long userId) {
+    public ResponseEntity<Map<String, Object>> getUserProfile(@RequestParam Long userId,
+            @RequestParam(required = false) String fields) {
         try {
-            User user = userService.getUserById(userId);
+            SparseFieldsService.Selection selection = sparseFieldsService.parse(SparseFieldsService.Resource.USER, fields);
+            Object user = selection == null ? userService.getUserById(userId) : sparseFieldsService.user(selection, userId);
             if (user != null) {
                 Map<String, Object> response = new HashMap<>();
                 response.put("success", true);
@@ -123,6 +245,11 @@ public class UserController {
                 response.put("message", "User not found");
                 return ResponseEntity.notFound().build();
             }
+        } catch (IllegalArgumentException e) {
+            Map<String, Object> response = new HashMap<>();
+            response.put("success", false);
+            response.put("message", e.getMessage());
+            return ResponseEntity.badRequest().body(response);
         } catch (Exception e) {
             Map<String, Object> response = new HashMap<>();
             response.put("success", false);
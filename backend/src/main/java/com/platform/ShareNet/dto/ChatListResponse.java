@@ -0,0 +1,20 @@
+package com.platform.ShareNet.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.util.List;
+
+/**
+ * Envelope for a conversation: full chat entities, or {@code ?fields=} maps.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record ChatListResponse(boolean success, String message, List<?> chats) {
+
+    public static ChatListResponse ok(List<?> chats) {
+        return new ChatListResponse(true, null, chats);
+    }
+
+    public static ChatListResponse failure(String message) {
+        return new ChatListResponse(false, message, null);
+    }
+}
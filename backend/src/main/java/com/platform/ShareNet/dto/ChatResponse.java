@@ -0,0 +1,16 @@
+package com.platform.ShareNet.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.platform.ShareNet.model.Chat;
+
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record ChatResponse(boolean success, String message, Chat chat) {
+
+    public static ChatResponse ok(String message, Chat chat) {
+        return new ChatResponse(true, message, chat);
+    }
+
+    public static ChatResponse failure(String message) {
+        return new ChatResponse(false, message, null);
+    }
+}
@@ -0,0 +1,30 @@
+package com.platform.ShareNet.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Envelope for endpoints returning a list of items: full entities, or {@code ?fields=} maps.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record ItemListResponse(boolean success, String message, Long itemId, Integer total,
+        Map<String, Map<String, Integer>> facets, List<?> items) {
+
+    public static ItemListResponse ofFacets(int total, Map<String, Map<String, Integer>> facets, List<?> items) {
+        return new ItemListResponse(true, null, null, total, facets, items);
+    }
+
+    public static ItemListResponse of(List<?> items) {
+        return new ItemListResponse(true, null, null, null, null, items);
+    }
+
+    public static ItemListResponse ofRelated(Long itemId, List<?> items) {
+        return new ItemListResponse(true, null, itemId, null, null, items);
+    }
+
+    public static ItemListResponse failure(String message) {
+        return new ItemListResponse(false, message, null, null, null, null);
+    }
+}
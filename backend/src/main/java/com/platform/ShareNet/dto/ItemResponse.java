@@ -0,0 +1,20 @@
+package com.platform.ShareNet.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.platform.ShareNet.model.Item;
+
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record ItemResponse(boolean success, String message, Item item) {
+
+    public static ItemResponse of(Item item) {
+        return new ItemResponse(true, null, item);
+    }
+
+    public static ItemResponse ok(String message, Item item) {
+        return new ItemResponse(true, message, item);
+    }
+
+    public static ItemResponse failure(String message) {
+        return new ItemResponse(false, message, null);
+    }
+}
@@ -0,0 +1,19 @@
+package com.platform.ShareNet.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.platform.ShareNet.model.ItemStats;
+
+import java.time.LocalDateTime;
+
+/**
+ * View and detail-open totals of one item, flushed and still buffered; {@code updatedAt} is the
+ * last flush, absent before the first.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record ItemStatsResponse(boolean success, Long itemId, long views, long detailOpens, LocalDateTime updatedAt) {
+
+    public static ItemStatsResponse of(ItemStats stats) {
+        return new ItemStatsResponse(true, stats.getItemId(), stats.getViews(), stats.getDetailOpens(),
+                stats.getUpdatedAt());
+    }
+}
@@ -0,0 +1,12 @@
+package com.platform.ShareNet.dto;
+
+import com.platform.ShareNet.service.SuggestService;
+
+import java.util.List;
+
+public record SuggestResponse(boolean success, String query, List<SuggestService.Suggestion> suggestions) {
+
+    public static SuggestResponse of(String query, List<SuggestService.Suggestion> suggestions) {
+        return new SuggestResponse(true, query, suggestions);
+    }
+}
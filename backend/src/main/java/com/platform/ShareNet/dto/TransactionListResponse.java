@@ -0,0 +1,20 @@
+package com.platform.ShareNet.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.util.List;
+
+/**
+ * Envelope for a user's transactions: full entities, or {@code ?fields=} maps.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record TransactionListResponse(boolean success, String message, List<?> transactions) {
+
+    public static TransactionListResponse ok(List<?> transactions) {
+        return new TransactionListResponse(true, null, transactions);
+    }
+
+    public static TransactionListResponse failure(String message) {
+        return new TransactionListResponse(false, message, null);
+    }
+}
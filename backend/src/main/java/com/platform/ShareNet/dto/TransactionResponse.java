@@ -0,0 +1,16 @@
+package com.platform.ShareNet.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.platform.ShareNet.model.Transaction;
+
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record TransactionResponse(boolean success, String message, Transaction transaction) {
+
+    public static TransactionResponse ok(String message, Transaction transaction) {
+        return new TransactionResponse(true, message, transaction);
+    }
+
+    public static TransactionResponse failure(String message) {
+        return new TransactionResponse(false, message, null);
+    }
+}
@@ -4,6 +4,7 @@ import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.Table;
 import lombok.AllArgsConstructor;
 import lombok.Data;
@@ -12,7 +13,14 @@ import lombok.NoArgsConstructor;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "borrow_requests")
+@Table(name = "borrow_requests", indexes = {
+        @Index(name = "idx_borrow_requests_status_end_date", columnList = "status, end_date"),
+        @Index(name = "idx_borrow_requests_status_created_at", columnList = "status, created_at"),
+        @Index(name = "idx_borrow_requests_owner_created_at", columnList = "owner_id, created_at"),
+        @Index(name = "idx_borrow_requests_borrower_created_at", columnList = "borrower_id, created_at"),
+        @Index(name = "idx_borrow_requests_item_status", columnList = "item_id, status"),
+        @Index(name = "idx_borrow_requests_created_at", columnList = "created_at")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -27,7 +35,7 @@ public class BorrowRequest {
     private Long ownerId;
     private LocalDateTime startDate;
     private LocalDateTime endDate;
-    private String status; // PENDING, APPROVED, REJECTED, COMPLETED
+    private String status; // PENDING, APPROVED, REJECTED, COMPLETED, OVERDUE
     private String message;
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
@@ -0,0 +1,43 @@
+package com.platform.ShareNet.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * One entry of the cache change log: the entity {@code entityId} of {@code cacheName} changed,
+ * and every instance should evict its cached copy. Appended in the writer's transaction.
+ */
+@Entity
+@Table(name = "cache_invalidations", indexes = @Index(name = "idx_cache_invalidations_created_at", columnList = "created_at"))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CacheInvalidation {
+
+    // Instances tail the log by id, the clustered primary key
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(length = 32, nullable = false)
+    private String cacheName;
+
+    private Long entityId;
+
+    // Instance that made the change; it has already updated its own caches
+    @Column(length = 36)
+    private String origin;
+
+    @Column(name = "created_at")
+    private LocalDateTime createdAt;
+}
@@ -0,0 +1,35 @@
+package com.platform.ShareNet.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Running view and detail-open totals of one item, added to in batches by the counter flusher.
+ */
+@Entity
+@Table(name = "item_stats")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ItemStats {
+
+    @Id
+    @Column(name = "item_id")
+    private Long itemId;
+
+    @Column(nullable = false)
+    private long views;
+
+    @Column(name = "detail_opens", nullable = false)
+    private long detailOpens;
+
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+}
@@ -1,16 +1,18 @@
 package com.platform.ShareNet.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.Table;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
 @Entity
-@Table(name = "users")
+@Table(name = "users", indexes = @Index(name = "idx_users_email", columnList = "email"))
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -22,6 +24,8 @@ public class User {
     private Long id;
     private String name;
     private String email;
+    // Never serialized: users are embedded as item owners in public responses
+    @JsonIgnore
     private String password;
     private double creditPoints;
     private double latitude;
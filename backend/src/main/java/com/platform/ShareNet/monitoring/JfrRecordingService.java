@@ -0,0 +1,126 @@
+package com.platform.ShareNet.monitoring;
+
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+import jdk.jfr.RecordingState;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+
+/**
+ * Starts and stops JDK Flight Recorder recordings on demand, with the request phase events
+ * enabled, and keeps the last few finished recordings as files for download.
+ */
+@Service
+public class JfrRecordingService {
+
+    private static final Logger logger = LoggerFactory.getLogger(JfrRecordingService.class);
+
+    private static final DateTimeFormatter FILE_TIME = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss");
+
+    private final Duration maxDuration;
+    private final int maxRecordings;
+    private final Path directory;
+
+    // Guarded by this
+    private Recording active;
+    private final Deque<Path> finished = new ArrayDeque<>();
+    // Guarded by this. Keeps names, and so files, unique when two recordings start within a second
+    private int started;
+
+    public JfrRecordingService(@Value("${jfr.max-duration:10m}") Duration maxDuration,
+            @Value("${jfr.max-recordings:3}") int maxRecordings) throws IOException {
+        this.maxDuration = maxDuration;
+        this.maxRecordings = maxRecordings;
+        this.directory = Files.createTempDirectory("sharenet-jfr");
+    }
+
+    /**
+     * @param settings a JDK configuration name, {@code default} (about 1% overhead) or
+     *                 {@code profile} (more detail, a few percent)
+     */
+    public synchronized String start(String settings, Duration duration) throws IOException, ParseException {
+        if (active != null && active.getState() == RecordingState.RUNNING) {
+            throw new IllegalStateException("A recording is already running");
+        }
+        if (active != null) {
+            // The previous one ran out on its own; keep it before starting over
+            stop();
+        }
+        Recording recording = new Recording(Configuration.getConfiguration(settings));
+        recording.setName("sharenet-" + LocalDateTime.now().format(FILE_TIME) + "-" + ++started);
+        recording.enable(PhaseEvent.class);
+        recording.enable(RequestEvent.class);
+        recording.setToDisk(true);
+        // Stops by itself if nobody calls stop
+        recording.setDuration(duration == null || duration.compareTo(maxDuration) > 0 ? maxDuration : duration);
+        recording.start();
+        active = recording;
+        logger.info("Started JFR recording {} with '{}' settings", recording.getName(), settings);
+        return recording.getName();
+    }
+
+    /**
+     * Stops the current recording (or takes the one that already ran out) and writes it to a
+     * file, returning the file name.
+     */
+    public synchronized String stop() throws IOException {
+        if (active == null) {
+            throw new IllegalStateException("No recording has been started");
+        }
+        Recording recording = active;
+        active = null;
+        try {
+            if (recording.getState() == RecordingState.RUNNING) {
+                recording.stop();
+            }
+            Path file = directory.resolve(recording.getName() + ".jfr");
+            recording.dump(file);
+            finished.addLast(file);
+            while (finished.size() > maxRecordings) {
+                Files.deleteIfExists(finished.removeFirst());
+            }
+            logger.info("Stopped JFR recording {}", recording.getName());
+            return file.getFileName().toString();
+        } finally {
+            recording.close();
+        }
+    }
+
+    public synchronized boolean isRecording() {
+        return active != null && active.getState() == RecordingState.RUNNING;
+    }
+
+    public synchronized List<String> recordings() {
+        List<String> names = new ArrayList<>();
+        for (Path file : finished) {
+            names.add(file.getFileName().toString());
+        }
+        return names;
+    }
+
+    /**
+     * Returns the file for a finished recording, or {@code null} if there is none by that name.
+     */
+    public synchronized Path file(String name) {
+        for (Path file : finished) {
+            if (file.getFileName().toString().equals(name)) {
+                return file;
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,22 @@
+package com.platform.ShareNet.monitoring;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("com.platform.ShareNet.RequestPhase")
+@Label("Request Phase")
+@Description("Time spent in one phase of an HTTP request: JWT filter, password hashing, repository call or JSON serialization")
+@Category("ShareNet")
+@StackTrace(false)
+class PhaseEvent extends Event {
+
+    @Label("Phase")
+    String phase;
+
+    @Label("Detail")
+    String detail;
+}
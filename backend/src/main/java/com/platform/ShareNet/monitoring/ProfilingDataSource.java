@@ -0,0 +1,240 @@
+package com.platform.ShareNet.monitoring;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.Arrays;
+
+/**
+ * JDK proxies around a {@link DataSource} and the connections, statements and result sets it
+ * hands out, reporting each execution to {@link SqlProfiler}.
+ *
+ * Updates are recorded when they return. Queries are recorded when their result set is closed
+ * or exhausted, so the time includes fetching and the row count is the number of rows read.
+ * Waiting for a pooled connection is added to the request's {@code connection} phase. The data
+ * source proxy is also {@link AutoCloseable} when the pool is, and closing it closes the pool,
+ * so shutdown still releases the pool's connections through the wrapped bean.
+ */
+public final class ProfilingDataSource {
+
+    private ProfilingDataSource() {
+    }
+
+    public static DataSource wrap(DataSource dataSource, SqlProfiler profiler) {
+        if (Proxy.isProxyClass(dataSource.getClass()) && Proxy.getInvocationHandler(dataSource) instanceof Handler) {
+            return dataSource;
+        }
+        Class<?>[] types = dataSource instanceof AutoCloseable
+                ? new Class<?>[]{DataSource.class, AutoCloseable.class}
+                : new Class<?>[]{DataSource.class};
+        Handler handler = new Handler(dataSource) {
+            @Override
+            Object intercept(Method method, Object[] args) throws Throwable {
+                long start = System.nanoTime();
+                Object result = invoke(method, args);
+                if (result instanceof Connection connection) {
+                    RequestTimings.add("connection", System.nanoTime() - start);
+                    return proxy(Connection.class, new ConnectionHandler(connection, profiler));
+                }
+                return result;
+            }
+        };
+        return (DataSource) Proxy.newProxyInstance(ProfilingDataSource.class.getClassLoader(), types, handler);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T proxy(Class<T> type, InvocationHandler handler) {
+        return (T) Proxy.newProxyInstance(ProfilingDataSource.class.getClassLoader(), new Class<?>[]{type}, handler);
+    }
+
+    private abstract static class Handler implements InvocationHandler {
+
+        final Object target;
+
+        Handler(Object target) {
+            this.target = target;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "unwrap":
+                    if (((Class<?>) args[0]).isInstance(proxy)) {
+                        return proxy;
+                    }
+                    break;
+                case "isWrapperFor":
+                    if (((Class<?>) args[0]).isInstance(proxy)) {
+                        return true;
+                    }
+                    break;
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                default:
+                    break;
+            }
+            return intercept(method, args);
+        }
+
+        abstract Object intercept(Method method, Object[] args) throws Throwable;
+
+        Object invoke(Method method, Object[] args) throws Throwable {
+            try {
+                return method.invoke(target, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        }
+    }
+
+    private static final class ConnectionHandler extends Handler {
+
+        private final SqlProfiler profiler;
+
+        ConnectionHandler(Connection target, SqlProfiler profiler) {
+            super(target);
+            this.profiler = profiler;
+        }
+
+        @Override
+        Object intercept(Method method, Object[] args) throws Throwable {
+            Object result = invoke(method, args);
+            String name = method.getName();
+            if (result instanceof CallableStatement statement && "prepareCall".equals(name)) {
+                return proxy(CallableStatement.class, new StatementHandler(statement, (String) args[0], profiler));
+            }
+            if (result instanceof PreparedStatement statement && "prepareStatement".equals(name)) {
+                return proxy(PreparedStatement.class, new StatementHandler(statement, (String) args[0], profiler));
+            }
+            if (result instanceof Statement statement && "createStatement".equals(name)) {
+                return proxy(Statement.class, new StatementHandler(statement, null, profiler));
+            }
+            return result;
+        }
+    }
+
+    private static final class StatementHandler extends Handler {
+
+        private final String preparedSql;
+        private final SqlProfiler profiler;
+        private Object[] parameters;
+        private int parameterCount;
+
+        StatementHandler(Statement target, String preparedSql, SqlProfiler profiler) {
+            super(target);
+            this.preparedSql = preparedSql;
+            this.profiler = profiler;
+        }
+
+        @Override
+        Object intercept(Method method, Object[] args) throws Throwable {
+            String name = method.getName();
+            if (!name.startsWith("execute")) {
+                if (name.startsWith("set") && args != null && args.length >= 2 && args[0] instanceof Integer index) {
+                    bind(index, args[1]);
+                } else if ("clearParameters".equals(name)) {
+                    parameters = null;
+                    parameterCount = 0;
+                }
+                return invoke(method, args);
+            }
+
+            String sql = args != null && args.length > 0 && args[0] instanceof String text ? text : preparedSql;
+            Object[] bound = parameters == null ? null : Arrays.copyOf(parameters, parameterCount);
+            long start = System.nanoTime();
+            Object result;
+            try {
+                result = invoke(method, args);
+            } catch (Throwable e) {
+                profiler.record(sql, bound, System.nanoTime() - start, -1, true);
+                throw e;
+            }
+            if (result instanceof ResultSet resultSet) {
+                return proxy(ResultSet.class, new ResultSetHandler(resultSet, sql, bound, start, profiler));
+            }
+            profiler.record(sql, bound, System.nanoTime() - start, rows(result), false);
+            return result;
+        }
+
+        private void bind(int index, Object value) {
+            if (index < 1) {
+                return;
+            }
+            if (parameters == null) {
+                parameters = new Object[Math.max(index, 8)];
+            } else if (index > parameters.length) {
+                parameters = Arrays.copyOf(parameters, Math.max(index, parameters.length * 2));
+            }
+            parameters[index - 1] = value;
+            parameterCount = Math.max(parameterCount, index);
+        }
+
+        private static long rows(Object result) {
+            if (result instanceof Integer count) {
+                return count;
+            }
+            if (result instanceof Long count) {
+                return count;
+            }
+            if (result instanceof int[] counts) {
+                return Arrays.stream(counts).filter(count -> count > 0).asLongStream().sum();
+            }
+            if (result instanceof long[] counts) {
+                return Arrays.stream(counts).filter(count -> count > 0).sum();
+            }
+            return -1;
+        }
+    }
+
+    private static final class ResultSetHandler extends Handler {
+
+        private final String sql;
+        private final Object[] parameters;
+        private final long start;
+        private final SqlProfiler profiler;
+        private long rows;
+        private boolean recorded;
+
+        ResultSetHandler(ResultSet target, String sql, Object[] parameters, long start, SqlProfiler profiler) {
+            super(target);
+            this.sql = sql;
+            this.parameters = parameters;
+            this.start = start;
+            this.profiler = profiler;
+        }
+
+        @Override
+        Object intercept(Method method, Object[] args) throws Throwable {
+            String name = method.getName();
+            if ("next".equals(name)) {
+                Object result = invoke(method, args);
+                if (Boolean.TRUE.equals(result)) {
+                    rows++;
+                } else {
+                    finish();
+                }
+                return result;
+            }
+            if ("close".equals(name)) {
+                finish();
+            }
+            return invoke(method, args);
+        }
+
+        private void finish() {
+            if (!recorded) {
+                recorded = true;
+                profiler.record(sql, parameters, System.nanoTime() - start, rows, false);
+            }
+        }
+    }
+}
@@ -0,0 +1,93 @@
+package com.platform.ShareNet.monitoring;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.springframework.aop.framework.Advised;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.repository.Repository;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.async.CallableProcessingInterceptor;
+import org.springframework.web.servlet.config.annotation.AsyncSupportConfigurer;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.io.IOException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Type;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Hooks the request phases that are not timed in place: repository calls and JSON
+ * serialization. The JWT filter and password hashing open their spans themselves. Async
+ * handlers, such as streamed responses, record into their request's timings from the MVC task
+ * executor.
+ */
+@Configuration
+public class RequestTimingConfig implements WebMvcConfigurer {
+
+    @Bean
+    public static BeanPostProcessor repositoryTimingPostProcessor() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof Repository<?, ?> && bean instanceof Advised advised && !advised.isFrozen()) {
+                    Class<?>[] interfaces = advised.getProxiedInterfaces();
+                    String repository = interfaces.length > 0 ? interfaces[0].getSimpleName() : beanName;
+                    Map<Method, String> details = new ConcurrentHashMap<>();
+                    advised.addAdvice(0, (MethodInterceptor) invocation -> {
+                        String detail = details.computeIfAbsent(invocation.getMethod(),
+                                method -> repository + "." + method.getName());
+                        try (RequestTimings.Span span = RequestTimings.span("repository", detail)) {
+                            return invocation.proceed();
+                        }
+                    });
+                }
+                return bean;
+            }
+        };
+    }
+
+    @Override
+    public void configureAsyncSupport(AsyncSupportConfigurer configurer) {
+        configurer.registerCallableInterceptors(new CallableProcessingInterceptor() {
+
+            // Pre and post processing run on the executor thread, around the task
+            private final ThreadLocal<RequestTimings> previous = new ThreadLocal<>();
+
+            @Override
+            public <T> void preProcess(NativeWebRequest request, Callable<T> task) {
+                Object timings = request.getAttribute(RequestTimings.ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+                if (timings instanceof RequestTimings requestTimings) {
+                    previous.set(RequestTimings.attach(requestTimings));
+                }
+            }
+
+            @Override
+            public <T> void postProcess(NativeWebRequest request, Callable<T> task, Object result) {
+                if (request.getAttribute(RequestTimings.ATTRIBUTE, RequestAttributes.SCOPE_REQUEST) != null) {
+                    RequestTimings.restore(previous.get());
+                    previous.remove();
+                }
+            }
+        });
+    }
+
+    // Replaces Boot's default converter (same type), adding the serialization phase
+    @Bean
+    public MappingJackson2HttpMessageConverter mappingJackson2HttpMessageConverter(ObjectMapper objectMapper) {
+        return new MappingJackson2HttpMessageConverter(objectMapper) {
+            @Override
+            protected void writeInternal(Object object, Type type, HttpOutputMessage outputMessage) throws IOException {
+                try (RequestTimings.Span span = RequestTimings.span("json")) {
+                    super.writeInternal(object, type, outputMessage);
+                }
+            }
+        };
+    }
+}
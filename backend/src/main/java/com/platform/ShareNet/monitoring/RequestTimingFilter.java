@@ -0,0 +1,119 @@
+package com.platform.ShareNet.monitoring;
+
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Outermost filter: opens the per-request {@link RequestTimings}, emits a JFR
+ * {@link RequestEvent} and keeps the breakdown of requests slower than
+ * {@code request-timing.slow-threshold} in the {@link SlowRequestLog}. Async requests, such as
+ * streamed responses, are measured until their async processing completes.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class RequestTimingFilter extends OncePerRequestFilter {
+
+    private static final Logger logger = LoggerFactory.getLogger(RequestTimingFilter.class);
+
+    private final SlowRequestLog slowRequestLog;
+    private final long slowThresholdNanos;
+
+    public RequestTimingFilter(SlowRequestLog slowRequestLog,
+            @Value("${request-timing.slow-threshold:500ms}") Duration slowThreshold) {
+        this.slowRequestLog = slowRequestLog;
+        this.slowThresholdNanos = slowThreshold.toNanos();
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        RequestEvent event = new RequestEvent();
+        event.begin();
+        RequestTimings timings = RequestTimings.begin();
+        request.setAttribute(RequestTimings.ATTRIBUTE, timings);
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            RequestTimings.end();
+            onCompletion(request, () -> finish(request, response, event, timings));
+        }
+    }
+
+    /**
+     * Runs {@code action} when the request is complete: right away, or for a request that went
+     * async on this thread, once its async processing completes, fails or times out. Call it
+     * after the filter chain has returned.
+     */
+    public static void onCompletion(HttpServletRequest request, Runnable action) {
+        if (!request.isAsyncStarted()) {
+            action.run();
+            return;
+        }
+        request.getAsyncContext().addListener(new AsyncListener() {
+            @Override
+            public void onComplete(AsyncEvent asyncEvent) {
+                action.run();
+            }
+
+            // Errors and timeouts end in onComplete as well
+            @Override
+            public void onTimeout(AsyncEvent asyncEvent) {
+            }
+
+            @Override
+            public void onError(AsyncEvent asyncEvent) {
+            }
+
+            @Override
+            public void onStartAsync(AsyncEvent asyncEvent) {
+                asyncEvent.getAsyncContext().addListener(this);
+            }
+        });
+    }
+
+    private void finish(HttpServletRequest request, HttpServletResponse response, RequestEvent event,
+            RequestTimings timings) {
+        event.end();
+        if (event.shouldCommit()) {
+            event.method = request.getMethod();
+            event.path = request.getRequestURI();
+            event.status = response.getStatus();
+            event.commit();
+        }
+        long elapsed = timings.elapsedNanos();
+        if (elapsed >= slowThresholdNanos) {
+            recordSlow(request, response, timings, elapsed);
+        }
+    }
+
+    private void recordSlow(HttpServletRequest request, HttpServletResponse response, RequestTimings timings, long elapsed) {
+        Map<String, SlowRequestLog.PhaseTiming> phases = new LinkedHashMap<>();
+        timings.phases().forEach((name, phase) ->
+                phases.put(name, new SlowRequestLog.PhaseTiming(phase.count, millis(phase.nanos))));
+        SlowRequestLog.SlowRequest slow = new SlowRequestLog.SlowRequest(Instant.now(), request.getMethod(),
+                request.getRequestURI(), response.getStatus(), millis(elapsed), phases);
+        slowRequestLog.add(slow);
+        logger.info("Slow request {} {} ({} ms): {}", slow.method(), slow.path(), slow.totalMs(), phases);
+    }
+
+    private static double millis(long nanos) {
+        return Math.round(nanos / 1_000.0) / 1_000.0;
+    }
+}
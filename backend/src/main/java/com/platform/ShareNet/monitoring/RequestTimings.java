@@ -0,0 +1,174 @@
+package com.platform.ShareNet.monitoring;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.Callable;
+
+/**
+ * Time spent per phase in the request running on the current thread.
+ *
+ * Instrumented code wraps a phase in {@link #span}; the span adds its duration to the
+ * request's breakdown (if {@link RequestTimingFilter} started one) and emits a JFR
+ * {@link PhaseEvent}, which costs next to nothing while no recording is running. Phases may
+ * nest, e.g. a repository call includes the SQL it runs. Work the request hands to other
+ * threads records into the same breakdown when it is wrapped with {@link #propagate}; async
+ * request processing is attached by {@link RequestTimingConfig}.
+ */
+public final class RequestTimings {
+
+    private static final ThreadLocal<RequestTimings> CURRENT = new ThreadLocal<>();
+
+    // Request attribute holding the request's timings, for work that finishes on other threads
+    public static final String ATTRIBUTE = RequestTimings.class.getName();
+
+    private final long startNanos = System.nanoTime();
+
+    // Guarded by this; threads working for the same request add to it concurrently
+    private final Map<String, Phase> phases = new LinkedHashMap<>();
+
+    private RequestTimings() {
+    }
+
+    static RequestTimings begin() {
+        RequestTimings timings = new RequestTimings();
+        CURRENT.set(timings);
+        return timings;
+    }
+
+    static void end() {
+        CURRENT.remove();
+    }
+
+    /**
+     * The timings of the request on the current thread, {@code null} outside a request.
+     */
+    public static RequestTimings current() {
+        return CURRENT.get();
+    }
+
+    // Makes the current thread record into timings until restore(previous)
+    static RequestTimings attach(RequestTimings timings) {
+        RequestTimings previous = CURRENT.get();
+        CURRENT.set(timings);
+        return previous;
+    }
+
+    static void restore(RequestTimings previous) {
+        if (previous == null) {
+            CURRENT.remove();
+        } else {
+            CURRENT.set(previous);
+        }
+    }
+
+    /**
+     * Wraps a task submitted to another thread so that what it records counts toward the
+     * request submitting it. Outside a request the task is returned as is.
+     */
+    public static <T> Callable<T> propagate(Callable<T> task) {
+        RequestTimings timings = CURRENT.get();
+        if (timings == null) {
+            return task;
+        }
+        return () -> {
+            RequestTimings previous = attach(timings);
+            try {
+                return task.call();
+            } finally {
+                restore(previous);
+            }
+        };
+    }
+
+    public static Span span(String phase) {
+        return new Span(phase, null);
+    }
+
+    public static Span span(String phase, String detail) {
+        return new Span(phase, detail);
+    }
+
+    /**
+     * Adds an already measured duration to the current request, without a JFR event.
+     */
+    public static void add(String phase, long nanos) {
+        RequestTimings timings = CURRENT.get();
+        if (timings != null) {
+            timings.record(phase, nanos);
+        }
+    }
+
+    private synchronized void record(String phase, long nanos) {
+        phases.computeIfAbsent(phase, name -> new Phase()).add(nanos);
+    }
+
+    /**
+     * Time recorded so far under {@code phase} by the request on the current thread, 0 if none.
+     */
+    public static long nanos(String phase) {
+        RequestTimings timings = CURRENT.get();
+        return timings == null ? 0 : timings.recorded(phase);
+    }
+
+    /**
+     * Time recorded so far under {@code phase}, by any thread working for this request.
+     */
+    public synchronized long recorded(String phase) {
+        Phase recorded = phases.get(phase);
+        return recorded == null ? 0 : recorded.nanos;
+    }
+
+    long elapsedNanos() {
+        return System.nanoTime() - startNanos;
+    }
+
+    // A copy, so it can be read while other threads still record
+    synchronized Map<String, Phase> phases() {
+        Map<String, Phase> copy = new LinkedHashMap<>();
+        phases.forEach((name, phase) -> copy.put(name, phase.copy()));
+        return copy;
+    }
+
+    static final class Phase {
+        int count;
+        long nanos;
+
+        Phase copy() {
+            Phase copy = new Phase();
+            copy.count = count;
+            copy.nanos = nanos;
+            return copy;
+        }
+
+        void add(long duration) {
+            count++;
+            nanos += duration;
+        }
+    }
+
+    public static final class Span implements AutoCloseable {
+
+        private final String phase;
+        private final String detail;
+        private final PhaseEvent event = new PhaseEvent();
+        private final long start;
+
+        private Span(String phase, String detail) {
+            this.phase = phase;
+            this.detail = detail;
+            this.event.begin();
+            this.start = System.nanoTime();
+        }
+
+        @Override
+        public void close() {
+            add(phase, System.nanoTime() - start);
+            event.end();
+            if (event.shouldCommit()) {
+                event.phase = phase;
+                event.detail = detail;
+                event.commit();
+            }
+        }
+    }
+}
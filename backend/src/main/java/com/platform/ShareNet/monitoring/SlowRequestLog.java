@@ -0,0 +1,54 @@
+package com.platform.ShareNet.monitoring;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Fixed-size ring of the most recent requests slower than {@code request-timing.slow-threshold},
+ * each with its per-phase breakdown. Writers only bump a counter and store into a slot.
+ */
+@Component
+public class SlowRequestLog {
+
+    private final AtomicReferenceArray<SlowRequest> ring;
+    private final AtomicLong written = new AtomicLong();
+
+    public SlowRequestLog(@Value("${request-timing.ring-size:200}") int size) {
+        this.ring = new AtomicReferenceArray<>(Math.max(size, 1));
+    }
+
+    void add(SlowRequest request) {
+        long sequence = written.getAndIncrement();
+        ring.set((int) (sequence % ring.length()), request);
+    }
+
+    /**
+     * Newest first.
+     */
+    public List<SlowRequest> snapshot() {
+        long end = written.get();
+        long start = Math.max(0, end - ring.length());
+        List<SlowRequest> requests = new ArrayList<>((int) (end - start));
+        for (long sequence = end - 1; sequence >= start; sequence--) {
+            SlowRequest request = ring.get((int) (sequence % ring.length()));
+            if (request != null) {
+                requests.add(request);
+            }
+        }
+        return requests;
+    }
+
+    public record SlowRequest(Instant at, String method, String path, int status, double totalMs,
+            Map<String, PhaseTiming> phases) {
+    }
+
+    public record PhaseTiming(int count, double totalMs) {
+    }
+}
@@ -0,0 +1,132 @@
+package com.platform.ShareNet.monitoring;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.regex.Pattern;
+
+/**
+ * Collects timings for every JDBC statement run through {@link ProfilingDataSource} and logs the
+ * slow ones.
+ *
+ * Statements are grouped by normalized SQL (literals replaced by {@code ?}, IN lists collapsed).
+ * A statement slower than {@code sql-profiler.slow-threshold} is logged with its bind values and
+ * the application method that issued it, at most once per {@code sql-profiler.slow-log-interval}
+ * for each normalized statement.
+ */
+@Component
+public class SqlProfiler {
+
+    private static final Logger logger = LoggerFactory.getLogger(SqlProfiler.class);
+
+    private static final Pattern STRING_LITERAL = Pattern.compile("'(?:[^']|'')*'");
+    private static final Pattern NUMBER_LITERAL = Pattern.compile("\\b\\d+(?:\\.\\d+)?\\b");
+    private static final Pattern IN_LIST = Pattern.compile("(?i)\\bin\\s*\\(\\s*\\?(?:\\s*,\\s*\\?)*\\s*\\)");
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    private static final String APPLICATION_PACKAGE = "com.platform.ShareNet.";
+    private static final int MAX_PARAMETER_LENGTH = 100;
+
+    private final int maxStatements;
+    private final long slowThresholdNanos;
+    private final long slowLogIntervalNanos;
+    private final List<String> redactedColumns;
+
+    private final AtomicReference<StatementStats> stats;
+    // Hibernate reuses the same SQL strings, so normalizing each one once is enough
+    private final Cache<String, String> normalized = Caffeine.newBuilder().maximumSize(4096).build();
+
+    public SqlProfiler(@Value("${sql-profiler.max-statements:256}") int maxStatements,
+            @Value("${sql-profiler.slow-threshold:200ms}") Duration slowThreshold,
+            @Value("${sql-profiler.slow-log-interval:10s}") Duration slowLogInterval,
+            @Value("${sql-profiler.redacted-columns:password}") List<String> redactedColumns) {
+        this.maxStatements = maxStatements;
+        this.slowThresholdNanos = slowThreshold.toNanos();
+        this.slowLogIntervalNanos = slowLogInterval.toNanos();
+        this.redactedColumns = redactedColumns.stream().map(column -> column.trim().toLowerCase(Locale.ROOT)).toList();
+        this.stats = new AtomicReference<>(new StatementStats(maxStatements));
+    }
+
+    /**
+     * @param parameters bind values by parameter index minus one, may be {@code null}
+     * @param rows rows updated or read, or -1 if not known
+     */
+    public void record(String sql, Object[] parameters, long nanos, long rows, boolean failed) {
+        if (sql == null) {
+            return;
+        }
+        String key = normalized.get(sql, SqlProfiler::normalize);
+        StatementStats.Entry entry = stats.get().entry(key);
+        entry.record(nanos, rows, failed);
+        RequestTimings.add("sql", nanos);
+        if (nanos >= slowThresholdNanos && entry.tryAcquireSlowLog(System.nanoTime(), slowLogIntervalNanos)) {
+            logger.warn("Slow SQL ({} ms, {} rows) from {}: {} params={}",
+                    nanos / 1_000_000, rows, caller(), sql, describe(key, parameters));
+        }
+    }
+
+    public List<StatementStats.Entry> top(int limit, boolean byP99) {
+        Comparator<StatementStats.Entry> order = byP99
+                ? Comparator.comparingLong((StatementStats.Entry entry) -> entry.percentileNanos(99))
+                : Comparator.comparingLong(StatementStats.Entry::totalNanos);
+        return stats.get().entries().stream()
+                .sorted(order.reversed())
+                .limit(limit)
+                .toList();
+    }
+
+    public void reset() {
+        stats.set(new StatementStats(maxStatements));
+    }
+
+    static String normalize(String sql) {
+        String result = STRING_LITERAL.matcher(sql).replaceAll("?");
+        result = NUMBER_LITERAL.matcher(result).replaceAll("?");
+        result = IN_LIST.matcher(result).replaceAll("in (?)");
+        return WHITESPACE.matcher(result).replaceAll(" ").trim();
+    }
+
+    private String describe(String sql, Object[] parameters) {
+        if (parameters == null || parameters.length == 0) {
+            return "[]";
+        }
+        String lower = sql.toLowerCase(Locale.ROOT);
+        if (redactedColumns.stream().anyMatch(lower::contains)) {
+            return "[redacted]";
+        }
+        StringBuilder out = new StringBuilder("[");
+        for (int i = 0; i < parameters.length; i++) {
+            Object value = parameters[i];
+            if (i > 0) {
+                out.append(", ");
+            }
+            if (value instanceof byte[] bytes) {
+                out.append('<').append(bytes.length).append(" bytes>");
+            } else {
+                String text = String.valueOf(value);
+                out.append(text.length() > MAX_PARAMETER_LENGTH ? text.substring(0, MAX_PARAMETER_LENGTH) + "..." : text);
+            }
+        }
+        return out.append(']').toString();
+    }
+
+    // First application frame outside this package and Spring's generated proxies
+    private static String caller() {
+        return StackWalker.getInstance().walk(frames -> frames
+                .filter(frame -> frame.getClassName().startsWith(APPLICATION_PACKAGE)
+                        && !frame.getClassName().startsWith(SqlProfiler.class.getPackageName())
+                        && !frame.getClassName().contains("$$"))
+                .findFirst()
+                .map(frame -> frame.getClassName().substring(APPLICATION_PACKAGE.length()) + "." + frame.getMethodName())
+                .orElse("unknown"));
+    }
+}
@@ -0,0 +1,28 @@
+package com.platform.ShareNet.monitoring;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+
+@Configuration
+public class SqlProfilerConfig {
+
+    // Static so the post-processor does not force this configuration to be created early
+    @Bean
+    @ConditionalOnProperty(name = "sql-profiler.enabled", havingValue = "true", matchIfMissing = true)
+    public static BeanPostProcessor profilingDataSourcePostProcessor(ObjectProvider<SqlProfiler> profiler) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource) {
+                    return ProfilingDataSource.wrap(dataSource, profiler.getObject());
+                }
+                return bean;
+            }
+        };
+    }
+}
@@ -0,0 +1,177 @@
+package com.platform.ShareNet.monitoring;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Fixed-capacity table of per-statement timings, keyed by normalized SQL.
+ *
+ * Slots are claimed with a CAS and never removed, so recording never locks or allocates once a
+ * statement has been seen. When every slot is taken, further statements share one overflow
+ * entry. Durations go into a log-linear histogram (eight sub-buckets per power of two, about
+ * 12% resolution) from which percentiles are read.
+ */
+public class StatementStats {
+
+    static final String OVERFLOW = "(other statements)";
+
+    private static final int LINEAR_BUCKETS = 16;
+    private static final int SUB_BUCKET_BITS = 3;
+    private static final int MAX_EXPONENT = 40;
+    private static final int BUCKETS = LINEAR_BUCKETS + (MAX_EXPONENT - 3) * (1 << SUB_BUCKET_BITS);
+
+    private final AtomicReferenceArray<Entry> table;
+    private final int mask;
+    private final Entry overflow = new Entry(OVERFLOW);
+
+    public StatementStats(int capacity) {
+        int size = Integer.highestOneBit(Math.max(capacity, 2) - 1) << 1;
+        this.table = new AtomicReferenceArray<>(size);
+        this.mask = size - 1;
+    }
+
+    public Entry entry(String sql) {
+        int index = (sql.hashCode() * 0x9E3779B9) >>> 1 & mask;
+        for (int probe = 0; probe <= mask; probe++) {
+            Entry entry = table.get(index);
+            if (entry == null) {
+                Entry claimed = new Entry(sql);
+                if (table.compareAndSet(index, null, claimed)) {
+                    return claimed;
+                }
+                entry = table.get(index);
+            }
+            if (entry.sql.equals(sql)) {
+                return entry;
+            }
+            index = (index + 1) & mask;
+        }
+        return overflow;
+    }
+
+    public List<Entry> entries() {
+        List<Entry> entries = new ArrayList<>();
+        for (int i = 0; i < table.length(); i++) {
+            Entry entry = table.get(i);
+            if (entry != null) {
+                entries.add(entry);
+            }
+        }
+        if (overflow.count() > 0) {
+            entries.add(overflow);
+        }
+        return entries;
+    }
+
+    static int bucket(long micros) {
+        if (micros < LINEAR_BUCKETS) {
+            return (int) Math.max(micros, 0);
+        }
+        int exponent = 63 - Long.numberOfLeadingZeros(micros);
+        if (exponent >= MAX_EXPONENT) {
+            return BUCKETS - 1;
+        }
+        int sub = (int) (micros >>> (exponent - SUB_BUCKET_BITS)) & ((1 << SUB_BUCKET_BITS) - 1);
+        return LINEAR_BUCKETS + (exponent - 4) * (1 << SUB_BUCKET_BITS) + sub;
+    }
+
+    // Upper bound, in microseconds, of the values that fall into a bucket
+    static long bucketLimit(int bucket) {
+        if (bucket < LINEAR_BUCKETS) {
+            return bucket;
+        }
+        int exponent = (bucket - LINEAR_BUCKETS) / (1 << SUB_BUCKET_BITS) + 4;
+        int sub = (bucket - LINEAR_BUCKETS) % (1 << SUB_BUCKET_BITS);
+        return (1L << exponent) + ((sub + 1L) << (exponent - SUB_BUCKET_BITS)) - 1;
+    }
+
+    public static final class Entry {
+
+        private final String sql;
+        private final LongAdder count = new LongAdder();
+        private final LongAdder errors = new LongAdder();
+        private final LongAdder totalNanos = new LongAdder();
+        private final LongAdder rows = new LongAdder();
+        private final AtomicLong maxNanos = new AtomicLong();
+        private final AtomicLongArray histogram = new AtomicLongArray(BUCKETS);
+        private final AtomicLong lastSlowLog = new AtomicLong(Long.MIN_VALUE);
+
+        Entry(String sql) {
+            this.sql = sql;
+        }
+
+        public void record(long nanos, long rowCount, boolean failed) {
+            count.increment();
+            totalNanos.add(nanos);
+            if (rowCount > 0) {
+                rows.add(rowCount);
+            }
+            if (failed) {
+                errors.increment();
+            }
+            histogram.incrementAndGet(bucket(TimeUnit.NANOSECONDS.toMicros(nanos)));
+            long max = maxNanos.get();
+            while (nanos > max && !maxNanos.compareAndSet(max, nanos)) {
+                max = maxNanos.get();
+            }
+        }
+
+        /**
+         * Returns {@code true} for at most one caller per {@code intervalNanos}.
+         */
+        boolean tryAcquireSlowLog(long now, long intervalNanos) {
+            long last = lastSlowLog.get();
+            return (last == Long.MIN_VALUE || now - last >= intervalNanos) && lastSlowLog.compareAndSet(last, now);
+        }
+
+        public String sql() {
+            return sql;
+        }
+
+        public long count() {
+            return count.sum();
+        }
+
+        public long errors() {
+            return errors.sum();
+        }
+
+        public long totalNanos() {
+            return totalNanos.sum();
+        }
+
+        public long rows() {
+            return rows.sum();
+        }
+
+        public long maxNanos() {
+            return maxNanos.get();
+        }
+
+        public long percentileNanos(double percentile) {
+            long[] counts = new long[BUCKETS];
+            long total = 0;
+            for (int i = 0; i < BUCKETS; i++) {
+                counts[i] = histogram.get(i);
+                total += counts[i];
+            }
+            if (total == 0) {
+                return 0;
+            }
+            long rank = (long) Math.ceil(total * percentile / 100.0);
+            long seen = 0;
+            for (int i = 0; i < BUCKETS; i++) {
+                seen += counts[i];
+                if (seen >= rank) {
+                    return Math.min(TimeUnit.MICROSECONDS.toNanos(bucketLimit(i)), maxNanos());
+                }
+            }
+            return maxNanos();
+        }
+    }
+}
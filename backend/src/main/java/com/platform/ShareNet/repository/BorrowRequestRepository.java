@@ -1,12 +1,17 @@
 package com.platform.ShareNet.repository;
 
 import com.platform.ShareNet.model.BorrowRequest;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -23,9 +28,33 @@ public interface BorrowRequestRepository extends JpaRepository<BorrowRequest, Lo
     
     Optional<BorrowRequest> findByIdAndBorrowerId(Long id, Long borrowerId);
     
-    @Query("SELECT br FROM BorrowRequest br WHERE br.ownerId = :userId OR br.borrowerId = :userId ORDER BY br.createdAt DESC")
+    // One index read per role instead of an OR across two columns, which MySQL answers with a full scan;
+    // the second branch skips requests where the user is also the owner so none is returned twice
+    @Query(value = "SELECT * FROM borrow_requests WHERE owner_id = :userId "
+            + "UNION ALL SELECT * FROM borrow_requests WHERE borrower_id = :userId AND NOT (owner_id <=> :userId) "
+            + "ORDER BY created_at DESC", nativeQuery = true)
     List<BorrowRequest> findAllByUserId(@Param("userId") Long userId);
     
     @Query("SELECT br FROM BorrowRequest br WHERE br.status = :status ORDER BY br.createdAt DESC")
     List<BorrowRequest> findByStatus(@Param("status") String status);
+
+    // (borrowerId, itemId) pairs only, so a full recommendation rebuild does not hydrate entities
+    @Query("SELECT br.borrowerId, br.itemId FROM BorrowRequest br WHERE br.status IN :statuses")
+    List<Object[]> findBorrowPairsByStatusIn(@Param("statuses") Collection<String> statuses);
+
+    // (itemId, createdAt) of requests created since :since, to warm up trending after a restart
+    @Query("SELECT br.itemId, br.createdAt FROM BorrowRequest br WHERE br.createdAt >= :since")
+    List<Object[]> findItemIdsCreatedSince(@Param("since") LocalDateTime since);
+
+    // (id, endDate) of approved borrows ending by :until, earliest first; a range scan on idx_borrow_requests_status_end_date
+    @Query("SELECT br.id, br.endDate FROM BorrowRequest br WHERE br.status = 'APPROVED' AND br.endDate <= :until ORDER BY br.endDate")
+    List<Object[]> findApprovedEndingBefore(@Param("until") LocalDateTime until, Pageable pageable);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT br.id FROM BorrowRequest br WHERE br.id IN :ids AND br.status = 'APPROVED' AND br.endDate <= :now")
+    List<Long> lockOverdue(@Param("ids") Collection<Long> ids, @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query("UPDATE BorrowRequest br SET br.status = 'OVERDUE', br.updatedAt = :now WHERE br.id IN :ids")
+    int markOverdue(@Param("ids") Collection<Long> ids, @Param("now") LocalDateTime now);
 }
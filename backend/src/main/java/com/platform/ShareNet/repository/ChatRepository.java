@@ -7,6 +7,7 @@ import org.springframework.data.repository.query.Param;
 import java.util.List;
 
 public interface ChatRepository extends JpaRepository<Chat,Long> {
+    // Both branches are equality prefixes of idx_chats_pair_time, so MySQL reads them as two ranges of that index
     @Query("SELECT c FROM Chat c WHERE (c.sender.id = :user1 AND c.receiver.id = :user2) OR (c.sender.id = :user2 AND c.receiver.id = :user1) ORDER BY c.timeStamp")
     List<Chat> findChatsBetweenUsers(@Param("user1") Long user1, @Param("user2") Long user2);
 }
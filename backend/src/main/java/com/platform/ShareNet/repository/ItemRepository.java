@@ -1,10 +1,38 @@
 package com.platform.ShareNet.repository;
 
 import com.platform.ShareNet.model.Item;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 public interface ItemRepository extends JpaRepository<Item, Long> {
-    // Field renamed to `available` in Item.java — method name updated accordingly
+    // Field renamed to `available` in Item.java — method name updated accordingly. Owners are
+    // fetched in the same statement; the derived query loaded each distinct owner with its own SELECT.
+    @Query("SELECT i FROM Item i LEFT JOIN FETCH i.owner WHERE i.available = true")
     List<Item> findByAvailableTrue();
-}
\ No newline at end of file
+
+    // Owners come back in the same statement; findAllById would load each distinct (EAGER) owner with its own SELECT
+    @Query("SELECT i FROM Item i LEFT JOIN FETCH i.owner WHERE i.id IN :ids")
+    List<Item> findAllWithOwnerByIdIn(@Param("ids") Collection<Long> ids);
+
+    // (id, availableUntil) of available listings ending by :until, earliest first; a range scan on idx_items_available_until
+    @Query("SELECT i.id, i.availableUntil FROM Item i WHERE i.available = true AND i.availableUntil <= :until ORDER BY i.availableUntil")
+    List<Object[]> findAvailableUntilBefore(@Param("until") LocalDateTime until, Pageable pageable);
+
+    // Re-checks timers under a row lock so a listing extended since it was scheduled is left alone
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT i.id FROM Item i WHERE i.id IN :ids AND i.available = true AND i.availableUntil <= :now")
+    List<Long> lockExpired(@Param("ids") Collection<Long> ids, @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query("UPDATE Item i SET i.available = false, i.updatedAt = :now WHERE i.id IN :ids")
+    int markUnavailable(@Param("ids") Collection<Long> ids, @Param("now") LocalDateTime now);
+}
@@ -0,0 +1,7 @@
+package com.platform.ShareNet.repository;
+
+import com.platform.ShareNet.model.ItemStats;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface ItemStatsRepository extends JpaRepository<ItemStats, Long> {
+}
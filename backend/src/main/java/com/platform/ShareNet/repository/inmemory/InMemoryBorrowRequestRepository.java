@@ -0,0 +1,127 @@
+package com.platform.ShareNet.repository.inmemory;
+
+import com.platform.ShareNet.model.BorrowRequest;
+import com.platform.ShareNet.repository.BorrowRequestRepository;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+
+@Repository
+@Profile("inmemory")
+public class InMemoryBorrowRequestRepository extends InMemoryLongRepository<BorrowRequest> implements BorrowRequestRepository {
+
+    private static final Comparator<BorrowRequest> NEWEST_FIRST = Comparator.comparing(BorrowRequest::getCreatedAt,
+            Comparator.nullsFirst(Comparator.<LocalDateTime>naturalOrder())).reversed();
+
+    private final SecondaryIndex<BorrowRequest, Long> byBorrower = index(BorrowRequest::getBorrowerId);
+    private final SecondaryIndex<BorrowRequest, Long> byOwner = index(BorrowRequest::getOwnerId);
+    private final SecondaryIndex<BorrowRequest, Long> byItem = index(BorrowRequest::getItemId);
+    private final SecondaryIndex<BorrowRequest, String> byStatus = index(BorrowRequest::getStatus);
+
+    public InMemoryBorrowRequestRepository() {
+        super(BorrowRequest.class, BorrowRequest::getId, BorrowRequest::setId);
+    }
+
+    @Override
+    public List<BorrowRequest> findByBorrowerId(Long borrowerId) {
+        return lookup(byBorrower, borrowerId, request -> Objects.equals(request.getBorrowerId(), borrowerId));
+    }
+
+    @Override
+    public List<BorrowRequest> findByOwnerId(Long ownerId) {
+        return lookup(byOwner, ownerId, request -> Objects.equals(request.getOwnerId(), ownerId));
+    }
+
+    @Override
+    public List<BorrowRequest> findByItemId(Long itemId) {
+        return lookup(byItem, itemId, request -> Objects.equals(request.getItemId(), itemId));
+    }
+
+    @Override
+    public Optional<BorrowRequest> findByIdAndOwnerId(Long id, Long ownerId) {
+        return findById(id).filter(request -> Objects.equals(request.getOwnerId(), ownerId));
+    }
+
+    @Override
+    public Optional<BorrowRequest> findByIdAndBorrowerId(Long id, Long borrowerId) {
+        return findById(id).filter(request -> Objects.equals(request.getBorrowerId(), borrowerId));
+    }
+
+    @Override
+    public List<BorrowRequest> findAllByUserId(Long userId) {
+        Set<Long> ids = new LinkedHashSet<>(byOwner.get(userId));
+        ids.addAll(byBorrower.get(userId));
+        List<BorrowRequest> requests = loadAll(ids, request -> Objects.equals(request.getOwnerId(), userId)
+                || Objects.equals(request.getBorrowerId(), userId));
+        requests.sort(NEWEST_FIRST);
+        return requests;
+    }
+
+    @Override
+    public List<BorrowRequest> findByStatus(String status) {
+        List<BorrowRequest> requests = withStatus(status);
+        requests.sort(NEWEST_FIRST);
+        return requests;
+    }
+
+    @Override
+    public List<Object[]> findBorrowPairsByStatusIn(Collection<String> statuses) {
+        List<Object[]> pairs = new ArrayList<>();
+        for (String status : new LinkedHashSet<>(statuses)) {
+            for (BorrowRequest request : withStatus(status)) {
+                pairs.add(new Object[]{request.getBorrowerId(), request.getItemId()});
+            }
+        }
+        return pairs;
+    }
+
+    @Override
+    public List<Object[]> findItemIdsCreatedSince(LocalDateTime since) {
+        return findAll().stream()
+                .filter(request -> request.getCreatedAt() != null && !request.getCreatedAt().isBefore(since))
+                .map(request -> new Object[]{request.getItemId(), request.getCreatedAt()})
+                .toList();
+    }
+
+    @Override
+    public List<Object[]> findApprovedEndingBefore(LocalDateTime until, Pageable pageable) {
+        List<BorrowRequest> due = lookup(byStatus, "APPROVED", request -> "APPROVED".equals(request.getStatus())
+                && request.getEndDate() != null && !request.getEndDate().isAfter(until));
+        due.sort(Comparator.comparing(BorrowRequest::getEndDate));
+        return limit(due, pageable).stream()
+                .map(request -> new Object[]{request.getId(), request.getEndDate()})
+                .toList();
+    }
+
+    @Override
+    public List<Long> lockOverdue(Collection<Long> ids, LocalDateTime now) {
+        return loadAll(ids, request -> "APPROVED".equals(request.getStatus())
+                && request.getEndDate() != null && !request.getEndDate().isAfter(now))
+                .stream().map(BorrowRequest::getId).toList();
+    }
+
+    @Override
+    public int markOverdue(Collection<Long> ids, LocalDateTime now) {
+        List<BorrowRequest> requests = loadAll(ids, request -> true);
+        for (BorrowRequest request : requests) {
+            request.setStatus("OVERDUE");
+            request.setUpdatedAt(now);
+            save(request);
+        }
+        return requests.size();
+    }
+
+    private List<BorrowRequest> withStatus(String status) {
+        return lookup(byStatus, status, request -> Objects.equals(request.getStatus(), status));
+    }
+}
@@ -0,0 +1,44 @@
+package com.platform.ShareNet.repository.inmemory;
+
+import com.platform.ShareNet.model.CacheInvalidation;
+import com.platform.ShareNet.repository.CacheInvalidationRepository;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.List;
+
+@Repository
+@Profile("inmemory")
+public class InMemoryCacheInvalidationRepository extends InMemoryLongRepository<CacheInvalidation>
+        implements CacheInvalidationRepository {
+
+    public InMemoryCacheInvalidationRepository() {
+        super(CacheInvalidation.class, CacheInvalidation::getId, CacheInvalidation::setId);
+    }
+
+    @Override
+    public List<CacheInvalidation> findAfter(long after, Pageable pageable) {
+        List<CacheInvalidation> found = findAll().stream()
+                .filter(entry -> entry.getId() > after)
+                .sorted(Comparator.comparing(CacheInvalidation::getId))
+                .toList();
+        return limit(found, pageable);
+    }
+
+    @Override
+    public long findMaxId() {
+        return findAll().stream().mapToLong(CacheInvalidation::getId).max().orElse(0);
+    }
+
+    @Override
+    public int deleteCreatedBefore(LocalDateTime cutoff) {
+        List<CacheInvalidation> old = findAll().stream()
+                .filter(entry -> entry.getCreatedAt() != null && entry.getCreatedAt().isBefore(cutoff))
+                .toList();
+        deleteAll(old);
+        return old.size();
+    }
+}
@@ -0,0 +1,50 @@
+package com.platform.ShareNet.repository.inmemory;
+
+import com.platform.ShareNet.model.Chat;
+import com.platform.ShareNet.model.User;
+import com.platform.ShareNet.repository.ChatRepository;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.List;
+
+@Repository
+@Profile("inmemory")
+public class InMemoryChatRepository extends InMemoryLongRepository<Chat> implements ChatRepository {
+
+    private final SecondaryIndex<Chat, Conversation> byConversation = index(
+            chat -> Conversation.of(userId(chat.getSender()), userId(chat.getReceiver())));
+
+    public InMemoryChatRepository() {
+        super(Chat.class, Chat::getId, Chat::setId);
+    }
+
+    @Override
+    public List<Chat> findChatsBetweenUsers(Long user1, Long user2) {
+        Conversation conversation = Conversation.of(user1, user2);
+        if (conversation == null) {
+            return List.of();
+        }
+        List<Chat> chats = lookup(byConversation, conversation,
+                chat -> conversation.equals(Conversation.of(userId(chat.getSender()), userId(chat.getReceiver()))));
+        chats.sort(Comparator.comparing(Chat::getTimeStamp, Comparator.nullsFirst(Comparator.<LocalDateTime>naturalOrder())));
+        return chats;
+    }
+
+    private static Long userId(User user) {
+        return user == null ? null : user.getId();
+    }
+
+    // Both directions of a conversation share one key
+    private record Conversation(long low, long high) {
+
+        static Conversation of(Long a, Long b) {
+            if (a == null || b == null) {
+                return null;
+            }
+            return new Conversation(Math.min(a, b), Math.max(a, b));
+        }
+    }
+}
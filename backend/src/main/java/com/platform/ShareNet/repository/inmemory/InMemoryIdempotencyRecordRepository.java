@@ -0,0 +1,65 @@
+package com.platform.ShareNet.repository.inmemory;
+
+import com.platform.ShareNet.model.IdempotencyRecord;
+import com.platform.ShareNet.repository.IdempotencyRecordRepository;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+
+@Repository
+@Profile("inmemory")
+public class InMemoryIdempotencyRecordRepository extends InMemoryRepository<IdempotencyRecord, String>
+        implements IdempotencyRecordRepository {
+
+    private final ConcurrentHashMap<String, IdempotencyRecord> records = new ConcurrentHashMap<>();
+
+    public InMemoryIdempotencyRecordRepository() {
+        super(IdempotencyRecord.class);
+    }
+
+    @Override
+    public int deleteExpired(LocalDateTime now) {
+        int removed = 0;
+        for (IdempotencyRecord record : records.values()) {
+            if (record.getExpiresAt() != null && record.getExpiresAt().isBefore(now)
+                    && records.remove(record.getId(), record)) {
+                removed++;
+            }
+        }
+        return removed;
+    }
+
+    @Override
+    protected String idOf(IdempotencyRecord record) {
+        return record.getId();
+    }
+
+    @Override
+    protected String generateId(IdempotencyRecord record) {
+        throw new IllegalArgumentException("Idempotency record ids must be assigned before saving");
+    }
+
+    @Override
+    protected IdempotencyRecord load(String id) {
+        return id == null ? null : records.get(id);
+    }
+
+    @Override
+    protected void store(String id, IdempotencyRecord record) {
+        records.put(id, record);
+    }
+
+    @Override
+    protected IdempotencyRecord evict(String id) {
+        return id == null ? null : records.remove(id);
+    }
+
+    @Override
+    protected List<IdempotencyRecord> values() {
+        return new ArrayList<>(records.values());
+    }
+}
@@ -0,0 +1,62 @@
+package com.platform.ShareNet.repository.inmemory;
+
+import com.platform.ShareNet.model.Item;
+import com.platform.ShareNet.repository.ItemRepository;
+import org.springframework.beans.DirectFieldAccessor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+
+@Repository
+@Profile("inmemory")
+public class InMemoryItemRepository extends InMemoryLongRepository<Item> implements ItemRepository {
+
+    private final SecondaryIndex<Item, Boolean> available = index(item -> item.isAvailable() ? Boolean.TRUE : null);
+
+    public InMemoryItemRepository() {
+        super(Item.class, Item::getId, Item::setId);
+    }
+
+    @Override
+    public List<Item> findByAvailableTrue() {
+        return lookup(available, Boolean.TRUE, Item::isAvailable);
+    }
+
+    @Override
+    public List<Object[]> findAvailableUntilBefore(LocalDateTime until, Pageable pageable) {
+        List<Item> due = lookup(available, Boolean.TRUE, item -> item.isAvailable()
+                && item.getAvailableUntil() != null && !item.getAvailableUntil().isAfter(until));
+        due.sort(Comparator.comparing(Item::getAvailableUntil));
+        return limit(due, pageable).stream()
+                .map(item -> new Object[]{item.getId(), item.getAvailableUntil()})
+                .toList();
+    }
+
+    @Override
+    public List<Long> lockExpired(Collection<Long> ids, LocalDateTime now) {
+        return loadAll(ids, item -> item.isAvailable()
+                && item.getAvailableUntil() != null && !item.getAvailableUntil().isAfter(now))
+                .stream().map(Item::getId).toList();
+    }
+
+    @Override
+    public List<Item> findAllWithOwnerByIdIn(Collection<Long> ids) {
+        return loadAll(ids, item -> true);
+    }
+
+    @Override
+    public int markUnavailable(Collection<Long> ids, LocalDateTime now) {
+        List<Item> items = loadAll(ids, item -> true);
+        for (Item item : items) {
+            // Item#setAvailable is not usable, the JPQL update bypasses it the same way; save stamps updatedAt
+            new DirectFieldAccessor(item).setPropertyValue("available", false);
+            save(item);
+        }
+        return items.size();
+    }
+}
@@ -0,0 +1,15 @@
+package com.platform.ShareNet.repository.inmemory;
+
+import com.platform.ShareNet.model.ItemStats;
+import com.platform.ShareNet.repository.ItemStatsRepository;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Repository;
+
+@Repository
+@Profile("inmemory")
+public class InMemoryItemStatsRepository extends InMemoryLongRepository<ItemStats> implements ItemStatsRepository {
+
+    public InMemoryItemStatsRepository() {
+        super(ItemStats.class, ItemStats::getItemId, ItemStats::setItemId);
+    }
+}
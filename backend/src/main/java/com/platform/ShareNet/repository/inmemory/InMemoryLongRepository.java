@@ -0,0 +1,111 @@
+package com.platform.ShareNet.repository.inmemory;
+
+import com.platform.ShareNet.util.ConcurrentLongObjectMap;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * In-memory repository for entities with generated {@code Long} ids, kept in a
+ * {@link ConcurrentLongObjectMap} and numbered from a sequence like an identity column.
+ */
+public abstract class InMemoryLongRepository<T> extends InMemoryRepository<T, Long> {
+
+    private final ConcurrentLongObjectMap<T> rows = new ConcurrentLongObjectMap<>();
+    private final AtomicLong sequence = new AtomicLong();
+    private final List<SecondaryIndex<T, ?>> indexes = new ArrayList<>();
+
+    private final Function<T, Long> getId;
+    private final BiConsumer<T, Long> setId;
+
+    protected InMemoryLongRepository(Class<T> type, Function<T, Long> getId, BiConsumer<T, Long> setId) {
+        super(type);
+        this.getId = getId;
+        this.setId = setId;
+    }
+
+    /**
+     * Registers an index; call from the constructor, before anything is saved.
+     */
+    protected <K> SecondaryIndex<T, K> index(Function<T, K> key) {
+        SecondaryIndex<T, K> index = new SecondaryIndex<>(key);
+        indexes.add(index);
+        return index;
+    }
+
+    /**
+     * Entities listed under {@code value} that still match {@code condition}, in id order.
+     */
+    protected <K> List<T> lookup(SecondaryIndex<T, K> index, K value, Predicate<T> condition) {
+        return loadAll(index.get(value), condition);
+    }
+
+    protected List<T> loadAll(Collection<Long> ids, Predicate<T> condition) {
+        List<T> found = new ArrayList<>(ids.size());
+        for (Long id : ids instanceof Set ? ids : new LinkedHashSet<>(ids)) {
+            T entity = id == null ? null : rows.get(id);
+            if (entity != null && condition.test(entity)) {
+                found.add(entity);
+            }
+        }
+        found.sort(Comparator.comparing(getId));
+        return found;
+    }
+
+    @Override
+    protected Long idOf(T entity) {
+        return getId.apply(entity);
+    }
+
+    @Override
+    protected Long generateId(T entity) {
+        Long id = sequence.incrementAndGet();
+        setId.accept(entity, id);
+        return id;
+    }
+
+    @Override
+    protected T load(Long id) {
+        return id == null ? null : rows.get(id);
+    }
+
+    @Override
+    protected void store(Long id, T entity) {
+        sequence.accumulateAndGet(id, Math::max);
+        rows.put(id, entity);
+        for (SecondaryIndex<T, ?> index : indexes) {
+            index.update(id, entity);
+        }
+    }
+
+    @Override
+    protected T evict(Long id) {
+        T removed = id == null ? null : rows.remove(id);
+        if (removed != null) {
+            for (SecondaryIndex<T, ?> index : indexes) {
+                index.remove(id);
+            }
+        }
+        return removed;
+    }
+
+    @Override
+    protected List<T> values() {
+        List<T> values = rows.values();
+        values.sort(Comparator.comparing(getId));
+        return values;
+    }
+
+    @Override
+    public long count() {
+        return rows.size();
+    }
+}
@@ -0,0 +1,65 @@
+package com.platform.ShareNet.repository.inmemory;
+
+import com.platform.ShareNet.model.OutboxEvent;
+import com.platform.ShareNet.repository.OutboxEventRepository;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+@Repository
+@Profile("inmemory")
+public class InMemoryOutboxEventRepository extends InMemoryLongRepository<OutboxEvent> implements OutboxEventRepository {
+
+    private static final List<String> UNDELIVERED = List.of("PENDING", "PROCESSING");
+
+    private final SecondaryIndex<OutboxEvent, String> byStatus = index(OutboxEvent::getStatus);
+    private final SecondaryIndex<OutboxEvent, Long> byAggregate = index(OutboxEvent::getAggregateId);
+
+    public InMemoryOutboxEventRepository() {
+        super(OutboxEvent.class, OutboxEvent::getId, OutboxEvent::setId);
+    }
+
+    @Override
+    public List<OutboxEvent> findDueForUpdate(LocalDateTime now, Pageable pageable) {
+        List<OutboxEvent> due = new ArrayList<>();
+        for (String status : UNDELIVERED) {
+            due.addAll(lookup(byStatus, status, event -> status.equals(event.getStatus())
+                    && event.getNextAttemptAt() != null && !event.getNextAttemptAt().isAfter(now)));
+        }
+        due.sort(Comparator.comparing(OutboxEvent::getId));
+        return limit(due, pageable);
+    }
+
+    @Override
+    public List<Object[]> findOldestUndeliveredIds(Collection<Long> aggregateIds) {
+        Map<List<Object>, Long> oldest = new LinkedHashMap<>();
+        for (Long aggregateId : new LinkedHashSet<>(aggregateIds)) {
+            for (OutboxEvent event : lookup(byAggregate, aggregateId, event -> Objects.equals(event.getAggregateId(), aggregateId)
+                    && UNDELIVERED.contains(event.getStatus()))) {
+                // Lookups return id order, so the first event of each aggregate is its oldest
+                oldest.putIfAbsent(List.of(event.getAggregateType(), aggregateId), event.getId());
+            }
+        }
+        List<Object[]> rows = new ArrayList<>(oldest.size());
+        oldest.forEach((aggregate, id) -> rows.add(new Object[]{aggregate.get(0), aggregate.get(1), id}));
+        return rows;
+    }
+
+    @Override
+    public int deleteDeliveredBefore(LocalDateTime cutoff) {
+        List<OutboxEvent> delivered = lookup(byStatus, "DELIVERED", event -> "DELIVERED".equals(event.getStatus())
+                && event.getDeliveredAt() != null && event.getDeliveredAt().isBefore(cutoff));
+        deleteAll(delivered);
+        return delivered.size();
+    }
+}
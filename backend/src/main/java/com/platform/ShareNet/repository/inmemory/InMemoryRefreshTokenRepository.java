@@ -0,0 +1,60 @@
+package com.platform.ShareNet.repository.inmemory;
+
+import com.platform.ShareNet.model.RefreshToken;
+import com.platform.ShareNet.repository.RefreshTokenRepository;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+
+@Repository
+@Profile("inmemory")
+public class InMemoryRefreshTokenRepository extends InMemoryLongRepository<RefreshToken> implements RefreshTokenRepository {
+
+    private final SecondaryIndex<RefreshToken, String> byHash = index(RefreshToken::getTokenHash);
+    private final SecondaryIndex<RefreshToken, String> byFamily = index(RefreshToken::getFamilyId);
+
+    public InMemoryRefreshTokenRepository() {
+        super(RefreshToken.class, RefreshToken::getId, RefreshToken::setId);
+    }
+
+    @Override
+    public Optional<RefreshToken> findByTokenHash(String tokenHash) {
+        return lookup(byHash, tokenHash, token -> Objects.equals(token.getTokenHash(), tokenHash)).stream().findFirst();
+    }
+
+    // Synchronized so two rotations of the same token cannot both claim it, as the UPDATE guarantees in MySQL
+    @Override
+    public synchronized int markUsed(Long id, LocalDateTime now) {
+        RefreshToken token = findById(id).orElse(null);
+        if (token == null || token.getUsedAt() != null || token.getRevokedAt() != null) {
+            return 0;
+        }
+        token.setUsedAt(now);
+        save(token);
+        return 1;
+    }
+
+    @Override
+    public synchronized int revokeFamily(String familyId, LocalDateTime now) {
+        List<RefreshToken> family = lookup(byFamily, familyId,
+                token -> Objects.equals(token.getFamilyId(), familyId) && token.getRevokedAt() == null);
+        for (RefreshToken token : family) {
+            token.setRevokedAt(now);
+            save(token);
+        }
+        return family.size();
+    }
+
+    @Override
+    public int deleteExpired(LocalDateTime now) {
+        List<RefreshToken> expired = findAll().stream()
+                .filter(token -> token.getExpiresAt() != null && token.getExpiresAt().isBefore(now))
+                .toList();
+        deleteAll(expired);
+        return expired.size();
+    }
+}
@@ -0,0 +1,416 @@
+package com.platform.ShareNet.repository.inmemory;
+
+import jakarta.persistence.EntityNotFoundException;
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.PreUpdate;
+import org.springframework.beans.DirectFieldAccessor;
+import org.springframework.dao.IncorrectResultSizeDataAccessException;
+import org.springframework.data.domain.Example;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.projection.SpelAwareProxyProjectionFactory;
+import org.springframework.data.repository.query.FluentQuery;
+import org.springframework.util.ReflectionUtils;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+/**
+ * Base for the {@code inmemory} profile's repositories: the {@link JpaRepository} contract over
+ * a map of live entity references, with no SQL, no copies and no dirty checking.
+ *
+ * Entities are indexed when saved, so a change that is never saved is visible through
+ * {@code findById} but not through secondary-index queries. Query by Example scans every entity
+ * with a {@link ProbeMatcher}.
+ */
+public abstract class InMemoryRepository<T, ID> implements JpaRepository<T, ID> {
+
+    private final List<Method> prePersist = new ArrayList<>();
+    // Run on every save of an existing entity; there is no dirty checking to skip unchanged ones
+    private final List<Method> preUpdate = new ArrayList<>();
+
+    protected InMemoryRepository(Class<T> type) {
+        ReflectionUtils.doWithMethods(type, method -> {
+            ReflectionUtils.makeAccessible(method);
+            (method.isAnnotationPresent(PrePersist.class) ? prePersist : preUpdate).add(method);
+        }, method -> method.isAnnotationPresent(PrePersist.class) || method.isAnnotationPresent(PreUpdate.class));
+    }
+
+    protected abstract ID idOf(T entity);
+
+    /**
+     * Assigns a generated id to a new entity, or rejects it if ids must be assigned manually.
+     */
+    protected abstract ID generateId(T entity);
+
+    protected abstract T load(ID id);
+
+    protected abstract void store(ID id, T entity);
+
+    protected abstract T evict(ID id);
+
+    protected abstract List<T> values();
+
+    @Override
+    public <S extends T> S save(S entity) {
+        ID id = idOf(entity);
+        for (Method method : id == null || load(id) == null ? prePersist : preUpdate) {
+            ReflectionUtils.invokeMethod(method, entity);
+        }
+        if (id == null) {
+            id = generateId(entity);
+        }
+        store(id, entity);
+        return entity;
+    }
+
+    @Override
+    public <S extends T> List<S> saveAll(Iterable<S> entities) {
+        List<S> saved = new ArrayList<>();
+        for (S entity : entities) {
+            saved.add(save(entity));
+        }
+        return saved;
+    }
+
+    @Override
+    public <S extends T> S saveAndFlush(S entity) {
+        return save(entity);
+    }
+
+    @Override
+    public <S extends T> List<S> saveAllAndFlush(Iterable<S> entities) {
+        return saveAll(entities);
+    }
+
+    @Override
+    public void flush() {
+    }
+
+    @Override
+    public Optional<T> findById(ID id) {
+        return Optional.ofNullable(load(id));
+    }
+
+    @Override
+    public boolean existsById(ID id) {
+        return load(id) != null;
+    }
+
+    @Override
+    public List<T> findAll() {
+        return values();
+    }
+
+    @Override
+    public List<T> findAllById(Iterable<ID> ids) {
+        List<T> found = new ArrayList<>();
+        for (ID id : ids) {
+            T entity = load(id);
+            if (entity != null) {
+                found.add(entity);
+            }
+        }
+        return found;
+    }
+
+    @Override
+    public List<T> findAll(Sort sort) {
+        return sorted(values(), sort);
+    }
+
+    @Override
+    public Page<T> findAll(Pageable pageable) {
+        List<T> all = sorted(values(), pageable.getSort());
+        return new PageImpl<>(limit(all, pageable), pageable, all.size());
+    }
+
+    @Override
+    public long count() {
+        return values().size();
+    }
+
+    @Override
+    public void deleteById(ID id) {
+        evict(id);
+    }
+
+    @Override
+    public void delete(T entity) {
+        ID id = idOf(entity);
+        if (id != null) {
+            evict(id);
+        }
+    }
+
+    @Override
+    public void deleteAllById(Iterable<? extends ID> ids) {
+        for (ID id : ids) {
+            evict(id);
+        }
+    }
+
+    @Override
+    public void deleteAll(Iterable<? extends T> entities) {
+        for (T entity : entities) {
+            delete(entity);
+        }
+    }
+
+    @Override
+    public void deleteAll() {
+        for (T entity : values()) {
+            delete(entity);
+        }
+    }
+
+    @Override
+    public void deleteAllInBatch(Iterable<T> entities) {
+        deleteAll(entities);
+    }
+
+    @Override
+    public void deleteAllByIdInBatch(Iterable<ID> ids) {
+        deleteAllById(ids);
+    }
+
+    @Override
+    public void deleteAllInBatch() {
+        deleteAll();
+    }
+
+    @Override
+    @Deprecated
+    public T getOne(ID id) {
+        return getReferenceById(id);
+    }
+
+    @Override
+    @Deprecated
+    public T getById(ID id) {
+        return getReferenceById(id);
+    }
+
+    @Override
+    public T getReferenceById(ID id) {
+        T entity = load(id);
+        if (entity == null) {
+            throw new EntityNotFoundException("No entity with id " + id);
+        }
+        return entity;
+    }
+
+    @Override
+    public <S extends T> Optional<S> findOne(Example<S> example) {
+        return Optional.ofNullable(single(matching(example)));
+    }
+
+    @Override
+    public <S extends T> List<S> findAll(Example<S> example) {
+        return matching(example);
+    }
+
+    @Override
+    public <S extends T> List<S> findAll(Example<S> example, Sort sort) {
+        return sorted(matching(example), sort);
+    }
+
+    @Override
+    public <S extends T> Page<S> findAll(Example<S> example, Pageable pageable) {
+        List<S> all = sorted(matching(example), pageable.getSort());
+        return new PageImpl<>(limit(all, pageable), pageable, all.size());
+    }
+
+    @Override
+    public <S extends T> long count(Example<S> example) {
+        return matching(example).size();
+    }
+
+    @Override
+    public <S extends T> boolean exists(Example<S> example) {
+        ProbeMatcher matcher = new ProbeMatcher(example);
+        return values().stream().anyMatch(matcher);
+    }
+
+    @Override
+    public <S extends T, R> R findBy(Example<S> example, Function<FluentQuery.FetchableFluentQuery<S>, R> queryFunction) {
+        return queryFunction.apply(new ExampleQuery<>(matching(example), Sort.unsorted(), Integer.MAX_VALUE));
+    }
+
+    @SuppressWarnings("unchecked")
+    private <S extends T> List<S> matching(Example<S> example) {
+        ProbeMatcher matcher = new ProbeMatcher(example);
+        List<S> found = new ArrayList<>();
+        for (T entity : values()) {
+            if (matcher.test(entity)) {
+                found.add((S) entity);
+            }
+        }
+        return found;
+    }
+
+    private static <E> E single(List<E> results) {
+        if (results.size() > 1) {
+            throw new IncorrectResultSizeDataAccessException(1, results.size());
+        }
+        return results.isEmpty() ? null : results.get(0);
+    }
+
+    /**
+     * {@link FluentQuery.FetchableFluentQuery} over the entities an example matched. Property
+     * selection is a no-op since entities are always whole; {@code as} takes the entity's own
+     * types or interface projections.
+     */
+    private static final class ExampleQuery<R> implements FluentQuery.FetchableFluentQuery<R> {
+
+        private static final SpelAwareProxyProjectionFactory PROJECTIONS = new SpelAwareProxyProjectionFactory();
+
+        private final List<?> matches;
+        private final Sort sort;
+        private final int limit;
+        private final Class<R> resultType;
+
+        ExampleQuery(List<R> matches, Sort sort, int limit) {
+            this(matches, sort, limit, null);
+        }
+
+        private ExampleQuery(List<?> matches, Sort sort, int limit, Class<R> resultType) {
+            this.matches = matches;
+            this.sort = sort;
+            this.limit = limit;
+            this.resultType = resultType;
+        }
+
+        @Override
+        public FluentQuery.FetchableFluentQuery<R> sortBy(Sort sort) {
+            return new ExampleQuery<>(matches, this.sort.and(sort), limit, resultType);
+        }
+
+        @Override
+        public FluentQuery.FetchableFluentQuery<R> limit(int limit) {
+            if (limit < 0) {
+                throw new IllegalArgumentException("Limit must not be negative");
+            }
+            return new ExampleQuery<>(matches, sort, limit, resultType);
+        }
+
+        @Override
+        public <N> FluentQuery.FetchableFluentQuery<N> as(Class<N> resultType) {
+            if (!resultType.isInterface() && matches.stream().anyMatch(match -> !resultType.isInstance(match))) {
+                throw new UnsupportedOperationException("Class-based projections are not supported in memory");
+            }
+            return new ExampleQuery<>(matches, sort, limit, resultType);
+        }
+
+        @Override
+        public FluentQuery.FetchableFluentQuery<R> project(Collection<String> properties) {
+            return this;
+        }
+
+        @Override
+        public R oneValue() {
+            return single(all());
+        }
+
+        @Override
+        public R firstValue() {
+            List<R> results = all();
+            return results.isEmpty() ? null : results.get(0);
+        }
+
+        @Override
+        public List<R> all() {
+            List<?> results = sorted(matches, sort);
+            return convert(results.size() > limit ? results.subList(0, limit) : results);
+        }
+
+        @Override
+        public Page<R> page(Pageable pageable) {
+            List<?> results = sorted(matches, pageable.getSort().isSorted() ? pageable.getSort() : sort);
+            return new PageImpl<>(convert(InMemoryRepository.limit(results, pageable)), pageable, results.size());
+        }
+
+        @Override
+        public Stream<R> stream() {
+            return all().stream();
+        }
+
+        @Override
+        public long count() {
+            return Math.min(matches.size(), limit);
+        }
+
+        @Override
+        public boolean exists() {
+            return !matches.isEmpty() && limit > 0;
+        }
+
+        @SuppressWarnings("unchecked")
+        private List<R> convert(List<?> results) {
+            List<R> converted = new ArrayList<>(results.size());
+            for (Object result : results) {
+                converted.add(resultType == null || resultType.isInstance(result)
+                        ? (R) result : PROJECTIONS.createProjection(resultType, result));
+            }
+            return converted;
+        }
+    }
+
+    /**
+     * The page's slice of an already sorted list, or all of it when unpaged.
+     */
+    protected static <E> List<E> limit(List<E> sorted, Pageable pageable) {
+        if (pageable == null || pageable.isUnpaged()) {
+            return sorted;
+        }
+        int from = (int) Math.min(pageable.getOffset(), sorted.size());
+        int to = Math.min(from + pageable.getPageSize(), sorted.size());
+        return new ArrayList<>(sorted.subList(from, to));
+    }
+
+    // Sort keys are read once per entity; nulls sort low, as in MySQL
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    protected static <E> List<E> sorted(Collection<E> entities, Sort sort) {
+        if (sort == null || sort.isUnsorted()) {
+            return new ArrayList<>(entities);
+        }
+        List<Sort.Order> orders = sort.toList();
+        List<Object[]> rows = new ArrayList<>(entities.size());
+        for (E entity : entities) {
+            DirectFieldAccessor accessor = new DirectFieldAccessor(entity);
+            Object[] row = new Object[orders.size() + 1];
+            for (int i = 0; i < orders.size(); i++) {
+                Object value = accessor.getPropertyValue(orders.get(i).getProperty());
+                row[i] = orders.get(i).isIgnoreCase() && value instanceof String text ? text.toLowerCase(Locale.ROOT) : value;
+            }
+            row[orders.size()] = entity;
+            rows.add(row);
+        }
+        Comparator<Object[]> comparator = null;
+        for (int i = 0; i < orders.size(); i++) {
+            int column = i;
+            Comparator<Object[]> next = Comparator.comparing(row -> (Comparable) row[column],
+                    Comparator.nullsFirst(Comparator.naturalOrder()));
+            if (orders.get(i).isDescending()) {
+                next = next.reversed();
+            }
+            comparator = comparator == null ? next : comparator.thenComparing(next);
+        }
+        rows.sort(comparator);
+        List<E> result = new ArrayList<>(rows.size());
+        for (Object[] row : rows) {
+            result.add((E) row[orders.size()]);
+        }
+        return result;
+    }
+}
@@ -0,0 +1,87 @@
+package com.platform.ShareNet.repository.inmemory;
+
+import com.platform.ShareNet.model.RevokedToken;
+import com.platform.ShareNet.repository.RevokedTokenRepository;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+
+@Repository
+@Profile("inmemory")
+public class InMemoryRevokedTokenRepository extends InMemoryRepository<RevokedToken, String>
+        implements RevokedTokenRepository {
+
+    private final ConcurrentHashMap<String, RevokedToken> tokens = new ConcurrentHashMap<>();
+
+    public InMemoryRevokedTokenRepository() {
+        super(RevokedToken.class);
+    }
+
+    @Override
+    public List<RevokedToken> findByExpiresAtAfter(LocalDateTime now) {
+        List<RevokedToken> found = new ArrayList<>();
+        for (RevokedToken token : tokens.values()) {
+            if (token.getExpiresAt() != null && token.getExpiresAt().isAfter(now)) {
+                found.add(token);
+            }
+        }
+        return found;
+    }
+
+    @Override
+    public List<RevokedToken> findByRevokedAtAfter(LocalDateTime since) {
+        List<RevokedToken> found = new ArrayList<>();
+        for (RevokedToken token : tokens.values()) {
+            if (token.getRevokedAt() != null && token.getRevokedAt().isAfter(since)) {
+                found.add(token);
+            }
+        }
+        return found;
+    }
+
+    @Override
+    public int deleteExpired(LocalDateTime now) {
+        int removed = 0;
+        for (RevokedToken token : tokens.values()) {
+            if (token.getExpiresAt() != null && token.getExpiresAt().isBefore(now)
+                    && tokens.remove(token.getId(), token)) {
+                removed++;
+            }
+        }
+        return removed;
+    }
+
+    @Override
+    protected String idOf(RevokedToken token) {
+        return token.getId();
+    }
+
+    @Override
+    protected String generateId(RevokedToken token) {
+        throw new IllegalArgumentException("Revoked token ids must be assigned before saving");
+    }
+
+    @Override
+    protected RevokedToken load(String id) {
+        return id == null ? null : tokens.get(id);
+    }
+
+    @Override
+    protected void store(String id, RevokedToken token) {
+        tokens.put(id, token);
+    }
+
+    @Override
+    protected RevokedToken evict(String id) {
+        return id == null ? null : tokens.remove(id);
+    }
+
+    @Override
+    protected List<RevokedToken> values() {
+        return new ArrayList<>(tokens.values());
+    }
+}
@@ -0,0 +1,20 @@
+package com.platform.ShareNet.repository.inmemory;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.transaction.PlatformTransactionManager;
+
+/**
+ * Storage for the {@code inmemory} profile, which replaces MySQL and JPA with the
+ * {@code InMemory*Repository} beans in this package (see application-inmemory.properties).
+ */
+@Configuration
+@Profile("inmemory")
+public class InMemoryStorageConfig {
+
+    @Bean
+    public PlatformTransactionManager transactionManager() {
+        return new InMemoryTransactionManager();
+    }
+}
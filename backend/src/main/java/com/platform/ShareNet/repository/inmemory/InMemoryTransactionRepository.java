@@ -0,0 +1,39 @@
+package com.platform.ShareNet.repository.inmemory;
+
+import com.platform.ShareNet.model.Transaction;
+import com.platform.ShareNet.repository.TransactionRepository;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Objects;
+
+@Repository
+@Profile("inmemory")
+public class InMemoryTransactionRepository extends InMemoryLongRepository<Transaction> implements TransactionRepository {
+
+    private final SecondaryIndex<Transaction, Long> byUser = index(Transaction::getUserId);
+
+    public InMemoryTransactionRepository() {
+        super(Transaction.class, Transaction::getId, Transaction::setId);
+    }
+
+    @Override
+    public <S extends Transaction> S save(S transaction) {
+        // userId is the read-only mirror of the user_id join column
+        if (transaction.getUser() != null) {
+            transaction.setUserId(transaction.getUser().getId());
+        }
+        return super.save(transaction);
+    }
+
+    @Override
+    public List<Transaction> findByUserId(Long userId) {
+        return lookup(byUser, userId, transaction -> Objects.equals(transaction.getUserId(), userId));
+    }
+
+    @Override
+    public List<Transaction> findByUser_Id(Long userId) {
+        return findByUserId(userId);
+    }
+}
@@ -0,0 +1,39 @@
+package com.platform.ShareNet.repository.inmemory;
+
+import com.platform.ShareNet.model.User;
+import com.platform.ShareNet.repository.UserRepository;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Repository;
+
+import java.util.Locale;
+import java.util.Optional;
+
+@Repository
+@Profile("inmemory")
+public class InMemoryUserRepository extends InMemoryLongRepository<User> implements UserRepository {
+
+    // Case-insensitive, like the default MySQL collation the email column is compared with
+    private final SecondaryIndex<User, String> byEmail = index(user -> normalize(user.getEmail()));
+
+    public InMemoryUserRepository() {
+        super(User.class, User::getId, User::setId);
+    }
+
+    @Override
+    public Optional<User> findByEmail(String email) {
+        String key = normalize(email);
+        if (key == null) {
+            return Optional.empty();
+        }
+        return lookup(byEmail, key, user -> key.equals(normalize(user.getEmail()))).stream().findFirst();
+    }
+
+    @Override
+    public boolean existsByEmail(String email) {
+        return findByEmail(email).isPresent();
+    }
+
+    private static String normalize(String email) {
+        return email == null ? null : email.toLowerCase(Locale.ROOT);
+    }
+}
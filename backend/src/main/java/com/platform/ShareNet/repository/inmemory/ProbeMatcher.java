@@ -0,0 +1,150 @@
+package com.platform.ShareNet.repository.inmemory;
+
+import jakarta.persistence.Embeddable;
+import jakarta.persistence.Embedded;
+import jakarta.persistence.ManyToOne;
+import jakarta.persistence.OneToOne;
+import jakarta.persistence.Transient;
+import org.springframework.data.domain.Example;
+import org.springframework.data.domain.ExampleMatcher;
+import org.springframework.data.domain.ExampleMatcher.StringMatcher;
+import org.springframework.data.support.ExampleMatcherAccessor;
+import org.springframework.util.ReflectionUtils;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Predicate;
+
+/**
+ * Query by Example over live entities, following what Spring Data JPA turns an {@link Example}
+ * into: every non-null field of the probe is a condition (primitives always are, as in JPA),
+ * single-valued associations and embeddables are matched field by field, collections are
+ * ignored, and the matcher's ignored paths, null handling, string matching, case handling and
+ * value transformers apply per property path. Regex matching is rejected, as JPA does.
+ */
+final class ProbeMatcher implements Predicate<Object> {
+
+    private final Class<?> probeType;
+    private final boolean all;
+    private final List<Condition> conditions = new ArrayList<>();
+
+    ProbeMatcher(Example<?> example) {
+        ExampleMatcher matcher = example.getMatcher();
+        this.probeType = example.getProbeType();
+        this.all = matcher.isAllMatching();
+        collect(example.getProbe(), "", List.of(), new ExampleMatcherAccessor(matcher),
+                Collections.newSetFromMap(new IdentityHashMap<>()));
+    }
+
+    @Override
+    public boolean test(Object candidate) {
+        if (!probeType.isInstance(candidate)) {
+            return false;
+        }
+        // No conditions match everything, in either mode
+        if (conditions.isEmpty()) {
+            return true;
+        }
+        for (Condition condition : conditions) {
+            if (condition.test(candidate) != all) {
+                return !all;
+            }
+        }
+        return all;
+    }
+
+    private void collect(Object probe, String prefix, List<Field> parents, ExampleMatcherAccessor accessor,
+            Set<Object> visited) {
+        visited.add(probe);
+        ReflectionUtils.doWithFields(probe.getClass(), field -> {
+            String path = prefix + field.getName();
+            if (accessor.isIgnoredPath(path)) {
+                return;
+            }
+            ReflectionUtils.makeAccessible(field);
+            Object value = accessor.getValueTransformerForPath(path)
+                    .apply(Optional.ofNullable(field.get(probe))).orElse(null);
+            List<Field> fields = new ArrayList<>(parents);
+            fields.add(field);
+            if (value == null) {
+                if (accessor.getNullHandler() == ExampleMatcher.NullHandler.INCLUDE) {
+                    conditions.add(new Condition(fields, null, null, false));
+                }
+                return;
+            }
+            if (isNested(field)) {
+                // A probe that refers back to itself stops where JPA would
+                if (!visited.contains(value)) {
+                    collect(value, path + ".", fields, accessor, visited);
+                }
+                return;
+            }
+            StringMatcher stringMatcher = null;
+            if (value instanceof String) {
+                stringMatcher = accessor.getStringMatcherForPath(path);
+                if (stringMatcher == StringMatcher.REGEX) {
+                    throw new UnsupportedOperationException("Regex matching is not supported for property " + path);
+                }
+            }
+            conditions.add(new Condition(fields, value, stringMatcher, accessor.isIgnoreCaseForPath(path)));
+        }, ProbeMatcher::isMatchable);
+    }
+
+    private static boolean isMatchable(Field field) {
+        int modifiers = field.getModifiers();
+        return !Modifier.isStatic(modifiers) && !Modifier.isTransient(modifiers)
+                && !field.isAnnotationPresent(Transient.class)
+                && !Collection.class.isAssignableFrom(field.getType())
+                && !Map.class.isAssignableFrom(field.getType());
+    }
+
+    private static boolean isNested(Field field) {
+        return field.isAnnotationPresent(ManyToOne.class) || field.isAnnotationPresent(OneToOne.class)
+                || field.isAnnotationPresent(Embedded.class) || field.getType().isAnnotationPresent(Embeddable.class);
+    }
+
+    /**
+     * One property path of the probe: the candidate's value there must equal {@code expected}
+     * ({@code null} meaning it must be null), compared as a string when {@code stringMatcher} is set.
+     */
+    private record Condition(List<Field> path, Object expected, StringMatcher stringMatcher, boolean ignoreCase) {
+
+        boolean test(Object candidate) {
+            Object actual = candidate;
+            for (Field field : path) {
+                if (actual == null) {
+                    // A missing association leaves every condition below it unmet, as an inner join does
+                    return false;
+                }
+                actual = ReflectionUtils.getField(field, actual);
+            }
+            if (expected == null || actual == null) {
+                return expected == actual;
+            }
+            if (stringMatcher == null || !(actual instanceof String text)) {
+                return Objects.deepEquals(expected, actual);
+            }
+            String wanted = (String) expected;
+            if (ignoreCase) {
+                wanted = wanted.toLowerCase(Locale.ROOT);
+                text = text.toLowerCase(Locale.ROOT);
+            }
+            return switch (stringMatcher) {
+                case STARTING -> text.startsWith(wanted);
+                case ENDING -> text.endsWith(wanted);
+                case CONTAINING -> text.contains(wanted);
+                default -> text.equals(wanted);
+            };
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package com.platform.ShareNet.repository.inmemory;
+
+import com.platform.ShareNet.util.ConcurrentLongObjectMap;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * Non-unique index from a derived key to entity ids. Entities with a {@code null} key are not
+ * indexed.
+ *
+ * The index may briefly list an id under a key it no longer has when the same entity is saved
+ * concurrently, so callers re-check the condition on the entities they load.
+ */
+final class SecondaryIndex<T, K> {
+
+    private final Function<T, K> key;
+    private final ConcurrentHashMap<K, Set<Long>> ids = new ConcurrentHashMap<>();
+    // Key each id was last indexed under, so an update can leave its old bucket
+    private final ConcurrentLongObjectMap<K> keys = new ConcurrentLongObjectMap<>();
+
+    SecondaryIndex(Function<T, K> key) {
+        this.key = key;
+    }
+
+    void update(long id, T entity) {
+        K next = key.apply(entity);
+        K previous = next == null ? keys.remove(id) : keys.put(id, next);
+        if (previous != null && !previous.equals(next)) {
+            unlink(previous, id);
+        }
+        if (next != null) {
+            ids.compute(next, (k, bucket) -> {
+                Set<Long> result = bucket == null ? ConcurrentHashMap.newKeySet() : bucket;
+                result.add(id);
+                return result;
+            });
+        }
+    }
+
+    void remove(long id) {
+        K previous = keys.remove(id);
+        if (previous != null) {
+            unlink(previous, id);
+        }
+    }
+
+    List<Long> get(K value) {
+        Set<Long> bucket = ids.get(value);
+        return bucket == null ? List.of() : new ArrayList<>(bucket);
+    }
+
+    private void unlink(K value, long id) {
+        ids.computeIfPresent(value, (k, bucket) -> {
+            bucket.remove(id);
+            return bucket.isEmpty() ? null : bucket;
+        });
+    }
+}
@@ -0,0 +1,138 @@
+package com.platform.ShareNet.service;
+
+import com.platform.ShareNet.model.Item;
+import com.platform.ShareNet.model.User;
+import com.platform.ShareNet.repository.ItemRepository;
+import com.platform.ShareNet.repository.UserRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * Resolves many users or items in one call for {@code GET /api/users?ids=} and
+ * {@code GET /api/items?ids=}.
+ *
+ * Ids are de-duplicated, then looked up with one {@code IN} query per {@code batch-lookup.chunk-size}
+ * ids. Ids the near cache already holds are served from it and not queried; the ids looked up
+ * are not added to it, so a batch cannot put back an entry a concurrent change just evicted.
+ */
+@Service
+public class BatchLookupService {
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ItemRepository itemRepository;
+
+    @Autowired
+    private SparseFieldsService sparseFieldsService;
+
+    @Autowired
+    private NearCacheService nearCacheService;
+
+    private final int chunkSize;
+    private final int maxIds;
+
+    public BatchLookupService(@Value("${batch-lookup.chunk-size:500}") int chunkSize,
+            @Value("${batch-lookup.max-ids:1000}") int maxIds) {
+        this.chunkSize = Math.max(1, chunkSize);
+        this.maxIds = maxIds;
+    }
+
+    /**
+     * Parses a comma-separated id list, dropping duplicates and keeping the first-seen order.
+     *
+     * @throws IllegalArgumentException for a non-numeric id or more than {@code batch-lookup.max-ids} ids
+     */
+    public List<Long> parseIds(String ids) {
+        Set<Long> parsed = new LinkedHashSet<>();
+        for (String raw : ids.split(",")) {
+            String id = raw.trim();
+            if (id.isEmpty()) {
+                continue;
+            }
+            try {
+                parsed.add(Long.valueOf(id));
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Invalid id '" + id + "'");
+            }
+            if (parsed.size() > maxIds) {
+                throw new IllegalArgumentException("At most " + maxIds + " ids per request");
+            }
+        }
+        return List.copyOf(parsed);
+    }
+
+    /**
+     * Users in the order of {@code ids}, skipping ids that do not exist.
+     */
+    public List<User> users(List<Long> ids) {
+        return lookup(ids, nearCacheService.cachedUsers(ids), userRepository::findAllById, User::getId);
+    }
+
+    /**
+     * Items in the order of {@code ids}, skipping ids that do not exist.
+     */
+    public List<Item> items(List<Long> ids) {
+        return lookup(ids, nearCacheService.cachedItems(ids), itemRepository::findAllWithOwnerByIdIn, Item::getId);
+    }
+
+    // ?fields= projections skip the near cache; each chunk is one IN query selecting just those columns
+
+    public List<Map<String, Object>> users(SparseFieldsService.Selection selection, List<Long> ids) {
+        List<Map<String, Object>> found = new ArrayList<>(ids.size());
+        for (List<Long> chunk : chunks(ids)) {
+            found.addAll(sparseFieldsService.usersByIds(selection, chunk));
+        }
+        return found;
+    }
+
+    public List<Map<String, Object>> items(SparseFieldsService.Selection selection, List<Long> ids) {
+        List<Map<String, Object>> found = new ArrayList<>(ids.size());
+        for (List<Long> chunk : chunks(ids)) {
+            found.addAll(sparseFieldsService.itemsByIds(selection, chunk));
+        }
+        return found;
+    }
+
+    private <T> List<T> lookup(List<Long> ids, Map<Long, T> cached, Function<List<Long>, List<T>> loader,
+            Function<T, Long> idOf) {
+        Map<Long, T> byId = new HashMap<>(cached);
+        List<Long> misses = new ArrayList<>();
+        for (Long id : ids) {
+            if (!byId.containsKey(id)) {
+                misses.add(id);
+            }
+        }
+        for (List<Long> chunk : chunks(misses)) {
+            for (T entity : loader.apply(chunk)) {
+                byId.put(idOf.apply(entity), entity);
+            }
+        }
+        List<T> ordered = new ArrayList<>(byId.size());
+        for (Long id : ids) {
+            T entity = byId.get(id);
+            if (entity != null) {
+                ordered.add(entity);
+            }
+        }
+        return ordered;
+    }
+
+    private List<List<Long>> chunks(List<Long> ids) {
+        List<List<Long>> chunks = new ArrayList<>((ids.size() + chunkSize - 1) / chunkSize);
+        for (int from = 0; from < ids.size(); from += chunkSize) {
+            chunks.add(ids.subList(from, Math.min(from + chunkSize, ids.size())));
+        }
+        return chunks;
+    }
+}
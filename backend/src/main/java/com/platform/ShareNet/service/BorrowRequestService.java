@@ -4,39 +4,93 @@ import com.platform.ShareNet.model.BorrowRequest;
 import com.platform.ShareNet.repository.BorrowRequestRepository;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 @Service
 public class BorrowRequestService {
 
+    static final String AGGREGATE_TYPE = "BorrowRequest";
+
     @Autowired
     private BorrowRequestRepository borrowRequestRepository;
 
+    @Autowired
+    private DomainEventPublisher domainEventPublisher;
+
+    @Autowired
+    private CacheCoherenceService cacheCoherenceService;
+
+    @Transactional
     public BorrowRequest createBorrowRequest(BorrowRequest request) {
         request.setCreatedAt(LocalDateTime.now());
         request.setUpdatedAt(LocalDateTime.now());
         request.setStatus("PENDING");
-        return borrowRequestRepository.save(request);
+        BorrowRequest saved = borrowRequestRepository.save(request);
+        domainEventPublisher.publish(DomainEventType.REQUEST_CREATED, AGGREGATE_TYPE, saved.getId(), payload(saved));
+        cacheCoherenceService.record(CacheCoherenceService.BORROW_REQUEST, saved.getId());
+        return saved;
     }
 
     public List<BorrowRequest> getUserRequests(Long userId) {
         return borrowRequestRepository.findAllByUserId(userId);
     }
 
+    @Transactional
     public BorrowRequest updateRequestStatus(Long requestId, String status) {
         Optional<BorrowRequest> requestOpt = borrowRequestRepository.findById(requestId);
         if (requestOpt.isPresent()) {
             BorrowRequest request = requestOpt.get();
             request.setStatus(status);
             request.setUpdatedAt(LocalDateTime.now());
-            return borrowRequestRepository.save(request);
+            BorrowRequest saved = borrowRequestRepository.save(request);
+            if ("APPROVED".equals(status)) {
+                domainEventPublisher.publish(DomainEventType.REQUEST_APPROVED, AGGREGATE_TYPE, saved.getId(), payload(saved));
+            }
+            cacheCoherenceService.record(CacheCoherenceService.BORROW_REQUEST, saved.getId());
+            return saved;
         }
         return null;
     }
 
+    /**
+     * Flags approved borrows whose end date has passed. Ids returned or completed since the
+     * timer was set are skipped; returns the ones actually marked.
+     */
+    @Transactional
+    public List<Long> markOverdue(Collection<Long> requestIds, LocalDateTime now) {
+        List<Long> overdue = borrowRequestRepository.lockOverdue(requestIds, now);
+        if (overdue.isEmpty()) {
+            return overdue;
+        }
+        borrowRequestRepository.markOverdue(overdue, now);
+        for (Long id : overdue) {
+            Map<String, Object> payload = new HashMap<>();
+            payload.put("requestId", id);
+            payload.put("status", "OVERDUE");
+            domainEventPublisher.publish(DomainEventType.REQUEST_OVERDUE, AGGREGATE_TYPE, id, payload);
+            cacheCoherenceService.record(CacheCoherenceService.BORROW_REQUEST, id);
+        }
+        return overdue;
+    }
+
+    private static Map<String, Object> payload(BorrowRequest request) {
+        Map<String, Object> payload = new HashMap<>();
+        payload.put("requestId", request.getId());
+        payload.put("itemId", request.getItemId());
+        payload.put("borrowerId", request.getBorrowerId());
+        payload.put("ownerId", request.getOwnerId());
+        payload.put("status", request.getStatus());
+        payload.put("endDate", request.getEndDate());
+        return payload;
+    }
+
     public List<BorrowRequest> getPendingRequestsForOwner(Long ownerId) {
         return borrowRequestRepository.findByStatus("PENDING").stream()
                 .filter(req -> req.getOwnerId().equals(ownerId))
@@ -0,0 +1,224 @@
+package com.platform.ShareNet.service;
+
+import com.platform.ShareNet.model.CacheInvalidation;
+import com.platform.ShareNet.repository.CacheInvalidationRepository;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Keeps the local caches of several instances coherent without a message broker.
+ *
+ * Writers append a row to the {@code cache_invalidations} change log in their own transaction.
+ * Every instance tails the log by primary key from a high-water mark every
+ * {@code coherence.poll-interval-ms} and hands each entry to the caches subscribed to it, so a
+ * cached copy is stale for at most about one poll interval after the write commits. The lag of
+ * every applied entry is measured against {@code coherence.max-staleness}.
+ *
+ * Auto-increment ids are assigned at insert but become visible at commit, so a poll can see id
+ * 12 before 11. Skipped ids are remembered as gaps and re-read on later polls until they show up
+ * or {@code coherence.gap-timeout} passes (rolled-back transactions leave permanent gaps).
+ * At most {@value #MAX_TRACKED_GAPS} gaps are tracked; ids skipped beyond that are logged and
+ * counted as untracked, since an entry committed under one of them is never applied.
+ */
+@Service
+@Lazy(false)
+public class CacheCoherenceService {
+
+    private static final Logger logger = LoggerFactory.getLogger(CacheCoherenceService.class);
+
+    public static final String ITEM = "item";
+    public static final String USER = "user";
+    public static final String BORROW_REQUEST = "borrow-request";
+
+    private static final int MAX_TRACKED_GAPS = 1000;
+
+    @FunctionalInterface
+    public interface Handler {
+        /**
+         * @param entityId the changed entity, or {@code null} for the whole cache
+         * @param local    whether this instance made the change and so already updated its caches
+         */
+        void invalidate(Long entityId, boolean local);
+    }
+
+    @Autowired
+    private CacheInvalidationRepository cacheInvalidationRepository;
+
+    private final String instanceId = UUID.randomUUID().toString();
+    private final Map<String, List<Handler>> handlers = new ConcurrentHashMap<>();
+    private final ZoneId zone = ZoneId.systemDefault();
+
+    private final long pollIntervalMs;
+    private final int batchSize;
+    private final long gapTimeoutMs;
+    private final long maxStalenessMs;
+    private final Duration retention;
+
+    // Poller state, only touched by the scheduler thread (and init before it starts)
+    private long highWaterMark = -1;
+    private final TreeMap<Long, Long> gaps = new TreeMap<>();
+
+    private final AtomicLong applied = new AtomicLong();
+    private final AtomicLong remoteApplied = new AtomicLong();
+    private final AtomicLong totalLagMs = new AtomicLong();
+    private final AtomicLong overBound = new AtomicLong();
+    private final AtomicLong untrackedGaps = new AtomicLong();
+    private volatile long maxLagMs;
+    private volatile long lastLagMs;
+    private volatile int pendingGaps;
+
+    public CacheCoherenceService(@Value("${coherence.poll-interval-ms:250}") long pollIntervalMs,
+            @Value("${coherence.batch-size:500}") int batchSize,
+            @Value("${coherence.gap-timeout:30s}") Duration gapTimeout,
+            @Value("${coherence.max-staleness:2s}") Duration maxStaleness,
+            @Value("${coherence.retention:1h}") Duration retention) {
+        this.pollIntervalMs = pollIntervalMs;
+        this.batchSize = batchSize;
+        this.gapTimeoutMs = gapTimeout.toMillis();
+        this.maxStalenessMs = maxStaleness.toMillis();
+        this.retention = retention;
+    }
+
+    // Before any cache can be loaded, so nothing written after a load is skipped
+    @PostConstruct
+    public void init() {
+        try {
+            highWaterMark = cacheInvalidationRepository.findMaxId();
+        } catch (Exception e) {
+            logger.warn("Failed to read the cache change log, starting from the first poll: " + e.getMessage());
+        }
+    }
+
+    public void subscribe(String cache, Handler handler) {
+        handlers.computeIfAbsent(cache, name -> new CopyOnWriteArrayList<>()).add(handler);
+    }
+
+    /**
+     * Appends a change-log entry; call inside the transaction making the change, so the entry
+     * commits (or rolls back) with it.
+     */
+    public void record(String cache, Long entityId) {
+        cacheInvalidationRepository.save(new CacheInvalidation(null, cache, entityId, instanceId, LocalDateTime.now()));
+    }
+
+    @Scheduled(fixedDelayString = "${coherence.poll-interval-ms:250}")
+    public void poll() {
+        try {
+            if (highWaterMark < 0) {
+                highWaterMark = cacheInvalidationRepository.findMaxId();
+                return;
+            }
+            long now = System.currentTimeMillis();
+            List<CacheInvalidation> entries = cacheInvalidationRepository.findAfter(highWaterMark, PageRequest.of(0, batchSize));
+            long untracked = 0;
+            for (CacheInvalidation entry : entries) {
+                for (long missing = highWaterMark + 1; missing < entry.getId(); missing++) {
+                    if (gaps.size() < MAX_TRACKED_GAPS) {
+                        gaps.put(missing, now);
+                    } else {
+                        untracked += entry.getId() - missing;
+                        break;
+                    }
+                }
+                highWaterMark = entry.getId();
+                apply(entry, now);
+            }
+            if (untracked > 0) {
+                untrackedGaps.addAndGet(untracked);
+                logger.warn("Cache change log has {} ids skipped past the {} tracked gaps; changes committed under them "
+                        + "will not be applied until the caches expire", untracked, MAX_TRACKED_GAPS);
+            }
+            if (!gaps.isEmpty()) {
+                for (CacheInvalidation late : cacheInvalidationRepository.findAllById(List.copyOf(gaps.keySet()))) {
+                    gaps.remove(late.getId());
+                    apply(late, now);
+                }
+                gaps.values().removeIf(firstSeen -> now - firstSeen > gapTimeoutMs);
+            }
+            pendingGaps = gaps.size();
+        } catch (Exception e) {
+            logger.warn("Failed to poll the cache change log: " + e.getMessage());
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${coherence.cleanup-interval-ms:600000}")
+    public void purgeOld() {
+        try {
+            int removed = cacheInvalidationRepository.deleteCreatedBefore(LocalDateTime.now().minus(retention));
+            if (removed > 0) {
+                logger.debug("Purged {} cache change-log entries", removed);
+            }
+        } catch (Exception e) {
+            logger.warn("Failed to purge the cache change log: " + e.getMessage());
+        }
+    }
+
+    private void apply(CacheInvalidation entry, long now) {
+        boolean local = instanceId.equals(entry.getOrigin());
+        applied.incrementAndGet();
+        if (!local && entry.getCreatedAt() != null) {
+            // Commit-to-eviction delay as seen by this instance; includes clock skew between hosts
+            long lag = Math.max(0, now - entry.getCreatedAt().atZone(zone).toInstant().toEpochMilli());
+            remoteApplied.incrementAndGet();
+            totalLagMs.addAndGet(lag);
+            lastLagMs = lag;
+            if (lag > maxLagMs) {
+                maxLagMs = lag;
+            }
+            if (lag > maxStalenessMs) {
+                overBound.incrementAndGet();
+                logger.debug("Cache entry {} {} applied {} ms after the write", entry.getCacheName(), entry.getEntityId(), lag);
+            }
+        }
+        for (Handler handler : handlers.getOrDefault(entry.getCacheName(), List.of())) {
+            try {
+                handler.invalidate(entry.getEntityId(), local);
+            } catch (Exception e) {
+                logger.warn("Failed to invalidate {} {}: {}", entry.getCacheName(), entry.getEntityId(), e.getMessage());
+            }
+        }
+    }
+
+    public Stats stats() {
+        long remote = remoteApplied.get();
+        return new Stats(instanceId, highWaterMark, applied.get(), remote, pendingGaps, untrackedGaps.get(), lastLagMs,
+                maxLagMs, remote == 0 ? 0 : (double) totalLagMs.get() / remote, overBound.get(), maxStalenessMs,
+                pollIntervalMs);
+    }
+
+    public void resetStats() {
+        applied.set(0);
+        remoteApplied.set(0);
+        totalLagMs.set(0);
+        overBound.set(0);
+        untrackedGaps.set(0);
+        maxLagMs = 0;
+        lastLagMs = 0;
+    }
+
+    /**
+     * @param untrackedGaps ids skipped while {@value #MAX_TRACKED_GAPS} gaps were already tracked
+     * @param overBound     remote entries applied later than {@code maxStalenessMs} after their write
+     */
+    public record Stats(String instanceId, long highWaterMark, long applied, long remoteApplied, int pendingGaps,
+            long untrackedGaps, long lastLagMs, long maxLagMs, double meanLagMs, long overBound, long maxStalenessMs, long pollIntervalMs) {
+    }
+}
@@ -0,0 +1,231 @@
+package com.platform.ShareNet.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.platform.ShareNet.model.Item;
+import com.platform.ShareNet.repository.ItemRepository;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * In-memory read model for the public catalogue endpoints.
+ *
+ * Every item is serialized once and kept as a JSON fragment; a save only re-encodes the
+ * item that changed and then re-assembles the two published arrays ({@code /api/items}
+ * and {@code /api/items/available}). Each published body carries a strong ETag derived from a
+ * hash of its bytes, so conditional GETs never reach MySQL or Jackson, and the same tag means
+ * the same body across restarts and on every instance.
+ */
+@Service
+public class CatalogSnapshotService {
+
+    @Autowired
+    private ItemRepository itemRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private CacheCoherenceService cacheCoherenceService;
+
+    private final Object lock = new Object();
+
+    // Guarded by lock. Ordered by id so the arrays come out in the same order as findAll().
+    private final Map<Long, Fragment> fragments = new TreeMap<>();
+
+    private long version;
+
+    private volatile Snapshot snapshot;
+
+    // Changes made on other instances; local ones are applied after commit by the writers
+    @PostConstruct
+    public void subscribe() {
+        cacheCoherenceService.subscribe(CacheCoherenceService.ITEM, (itemId, local) -> {
+            if (local) {
+                return;
+            }
+            if (itemId == null) {
+                invalidate();
+            } else {
+                itemRepository.findById(itemId).ifPresentOrElse(this::onItemSaved, this::invalidate);
+            }
+        });
+        cacheCoherenceService.subscribe(CacheCoherenceService.USER, (userId, local) -> {
+            if (local) {
+                return;
+            }
+            if (userId == null) {
+                invalidate();
+            } else {
+                onOwnerChanged(userId);
+            }
+        });
+    }
+
+    public Snapshot current() {
+        Snapshot current = snapshot;
+        if (current != null) {
+            return current;
+        }
+        synchronized (lock) {
+            if (snapshot == null) {
+                fragments.clear();
+                for (Item item : itemRepository.findAll()) {
+                    fragments.put(item.getId(), encode(item));
+                }
+                publish();
+            }
+            return snapshot;
+        }
+    }
+
+    public void onItemSaved(Item item) {
+        if (item == null || item.getId() == null) {
+            return;
+        }
+        synchronized (lock) {
+            // Nothing has been served yet; the first read will load everything anyway.
+            if (snapshot == null) {
+                return;
+            }
+            fragments.put(item.getId(), encode(item));
+            publish();
+        }
+    }
+
+    /**
+     * Re-encodes the items of one owner, who is embedded in each of their item documents.
+     */
+    public void onOwnerChanged(Long ownerId) {
+        List<Long> owned;
+        synchronized (lock) {
+            if (snapshot == null) {
+                return;
+            }
+            owned = fragments.entrySet().stream()
+                    .filter(entry -> ownerId.equals(entry.getValue().ownerId()))
+                    .map(Map.Entry::getKey)
+                    .toList();
+        }
+        if (owned.isEmpty()) {
+            return;
+        }
+        List<Item> items = itemRepository.findAllById(owned);
+        synchronized (lock) {
+            if (snapshot == null) {
+                return;
+            }
+            for (Item item : items) {
+                fragments.put(item.getId(), encode(item));
+            }
+            publish();
+        }
+    }
+
+    /**
+     * Drops the snapshot so the next read reloads it from the database. Used when a change
+     * cannot be applied per item.
+     */
+    public void invalidate() {
+        synchronized (lock) {
+            snapshot = null;
+            fragments.clear();
+        }
+    }
+
+    private Fragment encode(Item item) {
+        try {
+            Long ownerId = item.getOwner() == null ? null : item.getOwner().getId();
+            return new Fragment(objectMapper.writeValueAsBytes(item), item.isAvailable(), ownerId);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to serialize item " + item.getId(), e);
+        }
+    }
+
+    private void publish() {
+        long next = ++version;
+        List<Fragment> all = List.copyOf(fragments.values());
+        List<Fragment> available = all.stream().filter(Fragment::available).toList();
+        snapshot = new Snapshot(next, View.of("all", all), View.of("available", available));
+    }
+
+    private record Fragment(byte[] json, boolean available, Long ownerId) {
+    }
+
+    public record Snapshot(long version, View all, View available) {
+    }
+
+    /**
+     * One pre-encoded response body in both identity and gzip form.
+     */
+    public record View(String etag, String gzipEtag, byte[] json, byte[] gzip) {
+
+        static View of(String name, List<Fragment> fragments) {
+            int size = 2 + Math.max(0, fragments.size() - 1);
+            for (Fragment fragment : fragments) {
+                size += fragment.json().length;
+            }
+            byte[] json = new byte[size];
+            int pos = 0;
+            json[pos++] = '[';
+            for (int i = 0; i < fragments.size(); i++) {
+                if (i > 0) {
+                    json[pos++] = ',';
+                }
+                byte[] fragment = fragments.get(i).json();
+                System.arraycopy(fragment, 0, json, pos, fragment.length);
+                pos += fragment.length;
+            }
+            json[pos] = ']';
+
+            String tag = "\"catalog-" + name + "-" + hash(json);
+            return new View(tag + "\"", tag + "-gzip\"", json, gzip(json));
+        }
+
+        // 128 bits of SHA-256, base64url; far cheaper than the gzip pass over the same bytes
+        private static String hash(byte[] json) {
+            try {
+                byte[] digest = MessageDigest.getInstance("SHA-256").digest(json);
+                return Base64.getUrlEncoder().withoutPadding().encodeToString(Arrays.copyOf(digest, 16));
+            } catch (NoSuchAlgorithmException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+
+        public boolean matches(String ifNoneMatch) {
+            if (ifNoneMatch == null || ifNoneMatch.isBlank()) {
+                return false;
+            }
+            for (String candidate : ifNoneMatch.split(",")) {
+                String tag = candidate.trim();
+                if (tag.equals("*") || tag.equals(etag) || tag.equals(gzipEtag)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        private static byte[] gzip(byte[] json) {
+            ByteArrayOutputStream out = new ByteArrayOutputStream(Math.max(64, json.length / 4));
+            try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+                gzip.write(json);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            return out.toByteArray();
+        }
+    }
+}
@@ -4,22 +4,35 @@ import com.platform.ShareNet.model.Chat;
 import com.platform.ShareNet.repository.ChatRepository;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 @Service
 public class ChatService {
     @Autowired
     private ChatRepository chatRepository;
 
+    @Autowired
+    private DomainEventPublisher domainEventPublisher;
+
 
     public List<Chat> getChatBetweenUsers(Long user1, Long user2){
         return chatRepository.findChatsBetweenUsers(user1, user2);
     }
+    @Transactional
     public Chat sendMessage(Chat message){
         message.setTimeStamp(LocalDateTime.now());
-        return chatRepository.save(message);
+        Chat saved = chatRepository.save(message);
+        Map<String, Object> payload = new HashMap<>();
+        payload.put("chatId", saved.getId());
+        payload.put("senderId", saved.getSender() == null ? null : saved.getSender().getId());
+        payload.put("receiverId", saved.getReceiver() == null ? null : saved.getReceiver().getId());
+        domainEventPublisher.publish(DomainEventType.MESSAGE_SENT, "Chat", saved.getId(), payload);
+        return saved;
 
     }
 }
@@ -0,0 +1,121 @@
+package com.platform.ShareNet.service;
+
+import com.platform.ShareNet.model.Item;
+import com.platform.ShareNet.monitoring.RequestTimings;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Everything the owner dashboard shows, read in one request.
+ *
+ * The reads are independent, so each runs on its own virtual thread and the request waits
+ * about as long as the slowest one. Their SQL is timed as part of the request. Every branch gets {@code dashboard.branch-timeout}; a branch
+ * that fails or runs out of time is cancelled and reported in {@link Dashboard#errors()} while
+ * the others are still returned.
+ */
+@Service
+public class DashboardService {
+
+    private static final Logger logger = LoggerFactory.getLogger(DashboardService.class);
+
+    public static final String USER = "user";
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private ItemService itemService;
+
+    @Autowired
+    private FacetIndexService facetIndexService;
+
+    @Autowired
+    private BorrowRequestService borrowRequestService;
+
+    @Autowired
+    private TransactionService transactionService;
+
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+
+    private final Duration branchTimeout;
+    private final int maxItems;
+
+    public DashboardService(@Value("${dashboard.branch-timeout:2s}") Duration branchTimeout,
+            @Value("${dashboard.max-items:500}") int maxItems) {
+        this.branchTimeout = branchTimeout;
+        this.maxItems = maxItems;
+    }
+
+    /**
+     * @param sections results by name ({@code user}, {@code items}, {@code pendingRequests},
+     *                 {@code requests}, {@code transactions}); failed branches are left out
+     * @param errors   why each failed branch failed
+     */
+    public record Dashboard(Map<String, Object> sections, Map<String, String> errors) {
+    }
+
+    public Dashboard load(Long userId) {
+        Map<String, Callable<?>> branches = new LinkedHashMap<>();
+        branches.put(USER, () -> userService.getUserById(userId));
+        branches.put("items", () -> ownedItems(userId));
+        branches.put("pendingRequests", () -> borrowRequestService.getPendingRequestsForOwner(userId));
+        branches.put("requests", () -> borrowRequestService.getUserRequests(userId));
+        branches.put("transactions", () -> transactionService.getTransactionForUser(userId));
+
+        // All branches start together, so one deadline is each branch's own timeout
+        long deadline = System.nanoTime() + branchTimeout.toNanos();
+        Map<String, Future<?>> running = new LinkedHashMap<>();
+        branches.forEach((name, branch) -> running.put(name, executor.submit(RequestTimings.propagate(branch))));
+
+        Map<String, Object> sections = new LinkedHashMap<>();
+        Map<String, String> errors = new LinkedHashMap<>();
+        for (Map.Entry<String, Future<?>> entry : running.entrySet()) {
+            String name = entry.getKey();
+            Future<?> future = entry.getValue();
+            try {
+                sections.put(name, future.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS));
+            } catch (TimeoutException e) {
+                future.cancel(true);
+                errors.put(name, "Timed out after " + branchTimeout.toMillis() + " ms");
+            } catch (ExecutionException e) {
+                Throwable cause = e.getCause() != null ? e.getCause() : e;
+                logger.warn("Dashboard branch {} failed for user {}: {}", name, userId, cause.getMessage());
+                errors.put(name, "Failed: " + cause.getMessage());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                running.values().forEach(branch -> branch.cancel(true));
+                errors.put(name, "Interrupted");
+                break;
+            }
+        }
+        return new Dashboard(sections, errors);
+    }
+
+    // The owner's listings, located through the facet index's owner bitmap
+    private List<Item> ownedItems(Long ownerId) {
+        FacetIndexService.Result result = facetIndexService.query(
+                new FacetIndexService.Filter(null, null, null, null, ownerId), 0, maxItems);
+        return itemService.getItemsByIds(result.itemIds());
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+}
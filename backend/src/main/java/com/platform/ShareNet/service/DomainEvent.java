@@ -0,0 +1,21 @@
+package com.platform.ShareNet.service;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+/**
+ * An outbox event as handed to subscribers, with its JSON payload already parsed.
+ */
+public record DomainEvent(Long id, DomainEventType type, String aggregateType, Long aggregateId,
+        Map<String, Object> payload, LocalDateTime createdAt) {
+
+    public Long getLong(String field) {
+        Object value = payload.get(field);
+        return value instanceof Number number ? number.longValue() : null;
+    }
+
+    public LocalDateTime getDateTime(String field) {
+        Object value = payload.get(field);
+        return value instanceof String text ? LocalDateTime.parse(text) : null;
+    }
+}
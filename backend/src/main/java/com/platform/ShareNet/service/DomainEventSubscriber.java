@@ -0,0 +1,15 @@
+package com.platform.ShareNet.service;
+
+/**
+ * In-process consumer of outbox events.
+ *
+ * Delivery is at-least-once and in order per aggregate, so {@link #handle} must be idempotent.
+ * Throwing makes the dispatcher retry the event (and hold back later events of the same
+ * aggregate) with backoff.
+ */
+public interface DomainEventSubscriber {
+
+    boolean supports(DomainEventType type);
+
+    void handle(DomainEvent event) throws Exception;
+}
@@ -0,0 +1,10 @@
+package com.platform.ShareNet.service;
+
+public enum DomainEventType {
+    REQUEST_CREATED,
+    REQUEST_APPROVED,
+    REQUEST_OVERDUE,
+    ITEM_SAVED,
+    ITEM_EXPIRED,
+    MESSAGE_SENT
+}
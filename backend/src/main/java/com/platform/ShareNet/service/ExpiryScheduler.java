@@ -0,0 +1,242 @@
+package com.platform.ShareNet.service;
+
+import com.platform.ShareNet.repository.BorrowRequestRepository;
+import com.platform.ShareNet.repository.ItemRepository;
+import com.platform.ShareNet.util.TimingWheel;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Ends item listings at {@code availableUntil} and flags approved borrows as OVERDUE at
+ * {@code endDate}.
+ *
+ * Deadlines are held in a {@link TimingWheel} advanced once per tick instead of scanning the
+ * tables. Only deadlines up to {@code expiry.load-window} ahead, and at most
+ * {@code expiry.max-pending} of them, are kept in memory; they are loaded with indexed range
+ * queries at startup and again whenever time reaches the end of what was loaded. Saves and
+ * approvals in between arrive as outbox events. Timers are only hints: the batched updates
+ * re-check each row, so a stale timer for an extended or returned item does nothing.
+ */
+@Service
+@Lazy(false)
+public class ExpiryScheduler implements DomainEventSubscriber {
+
+    private static final Logger logger = LoggerFactory.getLogger(ExpiryScheduler.class);
+
+    private static final int SLOTS_PER_LEVEL = 64;
+    private static final int LEVELS = 4;
+    private static final long RETRY_DELAY_MS = 30_000;
+
+    @Autowired
+    private ItemRepository itemRepository;
+
+    @Autowired
+    private BorrowRequestRepository borrowRequestRepository;
+
+    @Autowired
+    private ItemService itemService;
+
+    @Autowired
+    private BorrowRequestService borrowRequestService;
+
+    private final int maxPending;
+    private final long loadWindowMs;
+    private final int batchSize;
+    private final ZoneId zone = ZoneId.systemDefault();
+
+    // Guarded by this
+    private final TimingWheel<Timer> wheel;
+    private long loadedUntil = Long.MIN_VALUE;
+
+    public ExpiryScheduler(@Value("${expiry.tick-ms:1000}") long tickMs,
+            @Value("${expiry.max-pending:100000}") int maxPending,
+            @Value("${expiry.load-window:24h}") Duration loadWindow,
+            @Value("${expiry.batch-size:500}") int batchSize) {
+        this.wheel = new TimingWheel<>(tickMs, SLOTS_PER_LEVEL, LEVELS, System.currentTimeMillis());
+        this.maxPending = maxPending;
+        // Keep every loaded deadline within the shortest horizon the wheel can have
+        long minHorizonMs = tickMs * (SLOTS_PER_LEVEL - 1) * (long) Math.pow(SLOTS_PER_LEVEL, LEVELS - 1);
+        this.loadWindowMs = Math.min(loadWindow.toMillis(), minHorizonMs);
+        this.batchSize = batchSize;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        reload(System.currentTimeMillis());
+    }
+
+    @Scheduled(fixedRateString = "${expiry.tick-ms:1000}")
+    public void tick() {
+        long now = System.currentTimeMillis();
+        List<Timer> due;
+        boolean reloadDue;
+        synchronized (this) {
+            if (loadedUntil == Long.MIN_VALUE) {
+                return;
+            }
+            due = wheel.advance(now);
+            reloadDue = now >= loadedUntil;
+        }
+        if (!due.isEmpty()) {
+            fire(due, now);
+        }
+        if (reloadDue) {
+            reload(now);
+        }
+    }
+
+    @Override
+    public boolean supports(DomainEventType type) {
+        return type == DomainEventType.ITEM_SAVED || type == DomainEventType.REQUEST_APPROVED;
+    }
+
+    @Override
+    public void handle(DomainEvent event) {
+        if (event.type() == DomainEventType.ITEM_SAVED) {
+            LocalDateTime until = event.getDateTime("availableUntil");
+            if (Boolean.TRUE.equals(event.payload().get("available")) && until != null) {
+                schedule(Kind.ITEM, event.aggregateId(), toMillis(until));
+            } else {
+                cancel(Kind.ITEM, event.aggregateId());
+            }
+        } else {
+            LocalDateTime endDate = event.getDateTime("endDate");
+            if (endDate != null) {
+                schedule(Kind.BORROW, event.aggregateId(), toMillis(endDate));
+            }
+        }
+    }
+
+    public synchronized int pendingTimers() {
+        return wheel.size();
+    }
+
+    /**
+     * Loads the earliest {@code max-pending} deadlines up to one window ahead, including ones
+     * already past (missed while the application was down).
+     */
+    void reload(long now) {
+        long until = now + loadWindowMs;
+        List<Object[]> items;
+        List<Object[]> borrows;
+        try {
+            PageRequest page = PageRequest.of(0, maxPending);
+            items = itemRepository.findAvailableUntilBefore(toDateTime(until), page);
+            borrows = borrowRequestRepository.findApprovedEndingBefore(toDateTime(until), page);
+        } catch (Exception e) {
+            logger.warn("Failed to load expiry timers, retrying in {} ms: {}", RETRY_DELAY_MS, e.getMessage());
+            synchronized (this) {
+                loadedUntil = now + RETRY_DELAY_MS;
+            }
+            return;
+        }
+
+        synchronized (this) {
+            loadedUntil = until;
+            // Both lists are ordered by deadline; merge them so the earliest ones win when capped
+            int i = 0;
+            int b = 0;
+            while (i < items.size() || b < borrows.size()) {
+                boolean takeItem = b >= borrows.size() || (i < items.size()
+                        && !((LocalDateTime) items.get(i)[1]).isAfter((LocalDateTime) borrows.get(b)[1]));
+                Object[] row = takeItem ? items.get(i++) : borrows.get(b++);
+                if (!schedule(takeItem ? Kind.ITEM : Kind.BORROW, (Long) row[0], toMillis((LocalDateTime) row[1]))) {
+                    break;
+                }
+            }
+            // A capped query says nothing about deadlines past its last row
+            if (items.size() == maxPending) {
+                loadedUntil = Math.min(loadedUntil, toMillis((LocalDateTime) items.get(items.size() - 1)[1]));
+            }
+            if (borrows.size() == maxPending) {
+                loadedUntil = Math.min(loadedUntil, toMillis((LocalDateTime) borrows.get(borrows.size() - 1)[1]));
+            }
+            logger.debug("Loaded expiry timers up to {}, {} pending", toDateTime(loadedUntil), wheel.size());
+        }
+    }
+
+    /**
+     * Returns {@code false} if the timer was not kept because the wheel is full; the loaded
+     * range then ends at its deadline so the next reload picks it up.
+     */
+    private synchronized boolean schedule(Kind kind, long id, long deadline) {
+        long key = kind.key(id);
+        if (deadline > loadedUntil) {
+            // Beyond the loaded range; the reload that covers it will find it in the table
+            wheel.cancel(key);
+            return true;
+        }
+        if (wheel.size() >= maxPending && !wheel.contains(key)) {
+            loadedUntil = deadline;
+            return false;
+        }
+        wheel.schedule(key, deadline, new Timer(kind, id));
+        return true;
+    }
+
+    private synchronized void cancel(Kind kind, long id) {
+        wheel.cancel(kind.key(id));
+    }
+
+    private void fire(List<Timer> due, long now) {
+        List<Long> itemIds = new ArrayList<>();
+        List<Long> requestIds = new ArrayList<>();
+        for (Timer timer : due) {
+            (timer.kind() == Kind.ITEM ? itemIds : requestIds).add(timer.id());
+        }
+        LocalDateTime at = toDateTime(now);
+        int expired = 0;
+        int overdue = 0;
+        try {
+            for (int from = 0; from < itemIds.size(); from += batchSize) {
+                expired += itemService.expireItems(itemIds.subList(from, Math.min(from + batchSize, itemIds.size())), at).size();
+            }
+            for (int from = 0; from < requestIds.size(); from += batchSize) {
+                overdue += borrowRequestService.markOverdue(requestIds.subList(from, Math.min(from + batchSize, requestIds.size())), at).size();
+            }
+        } catch (Exception e) {
+            // Unapplied rows still match the range queries, so an early reload retries them
+            logger.warn("Failed to apply expiry timers, retrying in {} ms: {}", RETRY_DELAY_MS, e.getMessage());
+            synchronized (this) {
+                loadedUntil = Math.min(loadedUntil, now + RETRY_DELAY_MS);
+            }
+        }
+        if (expired > 0 || overdue > 0) {
+            logger.info("Expired {} item listings, flagged {} borrow requests as overdue", expired, overdue);
+        }
+    }
+
+    private long toMillis(LocalDateTime dateTime) {
+        return dateTime.atZone(zone).toInstant().toEpochMilli();
+    }
+
+    private LocalDateTime toDateTime(long millis) {
+        return LocalDateTime.ofInstant(Instant.ofEpochMilli(millis), zone);
+    }
+
+    private enum Kind {
+        ITEM, BORROW;
+
+        long key(long id) {
+            return (id << 1) | ordinal();
+        }
+    }
+
+    private record Timer(Kind kind, long id) {
+    }
+}
@@ -0,0 +1,258 @@
+package com.platform.ShareNet.service;
+
+import com.platform.ShareNet.model.Item;
+import com.platform.ShareNet.repository.ItemRepository;
+import com.platform.ShareNet.util.LongObjectHashMap;
+import jakarta.annotation.PostConstruct;
+import org.roaringbitmap.RoaringBitmap;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Compressed-bitmap index over the browse facets of every item: category, condition, price
+ * band, availability and owner.
+ *
+ * A filter is the intersection of one bitmap per constrained dimension (values within a
+ * dimension are OR-ed), and each facet count is an AND-cardinality of that intersection with
+ * a value bitmap. Counts for a dimension ignore that dimension's own constraint, so the UI can
+ * show what selecting another value would yield. Bitmaps hold item ids as ints.
+ */
+@Service
+public class FacetIndexService {
+
+    public static final String UNSPECIFIED = "unspecified";
+
+    // Upper bounds (exclusive) of the price-per-day bands; anything above the last goes to the final band
+    private static final double[] PRICE_BOUNDS = {5, 10, 25, 50, 100};
+    private static final String[] PRICE_BANDS = {"0-5", "5-10", "10-25", "25-50", "50-100", "100+"};
+
+    @Autowired
+    private ItemRepository itemRepository;
+
+    @Autowired
+    private CacheCoherenceService cacheCoherenceService;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    // All guarded by lock
+    private final Map<String, RoaringBitmap> byCategory = new HashMap<>();
+    private final Map<String, RoaringBitmap> byCondition = new HashMap<>();
+    private final Map<String, RoaringBitmap> byPrice = new HashMap<>();
+    private final LongObjectHashMap<RoaringBitmap> byOwner = new LongObjectHashMap<>();
+    private final RoaringBitmap available = new RoaringBitmap();
+    private final RoaringBitmap all = new RoaringBitmap();
+    private final LongObjectHashMap<Doc> docs = new LongObjectHashMap<>();
+    private boolean loaded;
+
+    @PostConstruct
+    public void subscribe() {
+        cacheCoherenceService.subscribe(CacheCoherenceService.ITEM, (itemId, local) -> {
+            if (!local) {
+                itemRepository.findById(itemId).ifPresent(this::onItemSaved);
+            }
+        });
+    }
+
+    public Result query(Filter filter, int offset, int limit) {
+        ensureLoaded();
+        lock.readLock().lock();
+        try {
+            RoaringBitmap category = union(byCategory, filter.categories());
+            RoaringBitmap condition = union(byCondition, filter.conditions());
+            RoaringBitmap price = union(byPrice, filter.priceBands());
+            RoaringBitmap availability = availability(filter.available());
+            RoaringBitmap owner = filter.ownerId() == null ? null : orEmpty(byOwner.get(filter.ownerId()));
+
+            RoaringBitmap matches = intersect(category, condition, price, availability, owner);
+
+            Map<String, Map<String, Integer>> facets = new LinkedHashMap<>();
+            facets.put("category", counts(byCategory, intersect(condition, price, availability, owner)));
+            facets.put("condition", counts(byCondition, intersect(category, price, availability, owner)));
+            facets.put("price", priceCounts(intersect(category, condition, availability, owner)));
+
+            RoaringBitmap exceptAvailability = intersect(category, condition, price, owner);
+            int availableCount = RoaringBitmap.andCardinality(exceptAvailability, available);
+            Map<String, Integer> availableFacet = new LinkedHashMap<>();
+            availableFacet.put("true", availableCount);
+            availableFacet.put("false", exceptAvailability.getCardinality() - availableCount);
+            facets.put("available", availableFacet);
+
+            List<Long> page = new ArrayList<>(Math.max(0, Math.min(limit, matches.getCardinality() - offset)));
+            int position = 0;
+            for (int id : matches) {
+                if (position++ < offset) {
+                    continue;
+                }
+                if (page.size() >= limit) {
+                    break;
+                }
+                page.add((long) id);
+            }
+            return new Result(matches.getCardinality(), page, facets);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public void onItemSaved(Item item) {
+        if (item == null || item.getId() == null) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            // Until the first query the index is empty and will be loaded in full
+            if (loaded) {
+                index(item);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void ensureLoaded() {
+        lock.readLock().lock();
+        try {
+            if (loaded) {
+                return;
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        lock.writeLock().lock();
+        try {
+            if (!loaded) {
+                for (Item item : itemRepository.findAll()) {
+                    index(item);
+                }
+                loaded = true;
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Caller holds the write lock
+    private void index(Item item) {
+        int id = Math.toIntExact(item.getId());
+        Doc previous = docs.get(item.getId());
+        if (previous != null) {
+            remove(byCategory, previous.category(), id);
+            remove(byCondition, previous.condition(), id);
+            remove(byPrice, previous.priceBand(), id);
+            if (previous.ownerId() != null) {
+                byOwner.get(previous.ownerId()).remove(id);
+            }
+            available.remove(id);
+        }
+
+        Doc doc = new Doc(valueOf(item.getCategory()), valueOf(item.getCondition()),
+                priceBand(item.getPricePerDay()), item.getOwner() == null ? null : item.getOwner().getId());
+        byCategory.computeIfAbsent(doc.category(), k -> new RoaringBitmap()).add(id);
+        byCondition.computeIfAbsent(doc.condition(), k -> new RoaringBitmap()).add(id);
+        byPrice.computeIfAbsent(doc.priceBand(), k -> new RoaringBitmap()).add(id);
+        if (doc.ownerId() != null) {
+            byOwner.computeIfAbsent(doc.ownerId(), k -> new RoaringBitmap()).add(id);
+        }
+        if (item.isAvailable()) {
+            available.add(id);
+        }
+        all.add(id);
+        docs.put(item.getId(), doc);
+    }
+
+    private static void remove(Map<String, RoaringBitmap> index, String value, int id) {
+        RoaringBitmap bitmap = index.get(value);
+        if (bitmap != null) {
+            bitmap.remove(id);
+            if (bitmap.isEmpty()) {
+                index.remove(value);
+            }
+        }
+    }
+
+    private RoaringBitmap union(Map<String, RoaringBitmap> index, List<String> values) {
+        if (values == null || values.isEmpty()) {
+            return null;
+        }
+        RoaringBitmap result = new RoaringBitmap();
+        for (String value : values) {
+            RoaringBitmap bitmap = index.get(valueOf(value));
+            if (bitmap != null) {
+                result.or(bitmap);
+            }
+        }
+        return result;
+    }
+
+    private RoaringBitmap availability(Boolean wanted) {
+        if (wanted == null) {
+            return null;
+        }
+        return wanted ? available : RoaringBitmap.andNot(all, available);
+    }
+
+    // Null arguments are unconstrained dimensions
+    private RoaringBitmap intersect(RoaringBitmap... constraints) {
+        RoaringBitmap result = null;
+        for (RoaringBitmap constraint : constraints) {
+            if (constraint != null) {
+                result = result == null ? constraint.clone() : RoaringBitmap.and(result, constraint);
+            }
+        }
+        return result == null ? all : result;
+    }
+
+    private static Map<String, Integer> counts(Map<String, RoaringBitmap> index, RoaringBitmap scope) {
+        Map<String, Integer> counts = new LinkedHashMap<>();
+        index.forEach((value, bitmap) -> {
+            int count = RoaringBitmap.andCardinality(scope, bitmap);
+            if (count > 0) {
+                counts.put(value, count);
+            }
+        });
+        return counts;
+    }
+
+    private Map<String, Integer> priceCounts(RoaringBitmap scope) {
+        Map<String, Integer> counts = new LinkedHashMap<>();
+        for (String band : PRICE_BANDS) {
+            RoaringBitmap bitmap = byPrice.get(band);
+            counts.put(band, bitmap == null ? 0 : RoaringBitmap.andCardinality(scope, bitmap));
+        }
+        return counts;
+    }
+
+    private static RoaringBitmap orEmpty(RoaringBitmap bitmap) {
+        return bitmap == null ? new RoaringBitmap() : bitmap;
+    }
+
+    static String priceBand(double pricePerDay) {
+        for (int i = 0; i < PRICE_BOUNDS.length; i++) {
+            if (pricePerDay < PRICE_BOUNDS[i]) {
+                return PRICE_BANDS[i];
+            }
+        }
+        return PRICE_BANDS[PRICE_BANDS.length - 1];
+    }
+
+    private static String valueOf(String value) {
+        return value == null || value.isBlank() ? UNSPECIFIED : value.trim();
+    }
+
+    private record Doc(String category, String condition, String priceBand, Long ownerId) {
+    }
+
+    public record Filter(List<String> categories, List<String> conditions, List<String> priceBands,
+            Boolean available, Long ownerId) {
+    }
+
+    public record Result(int total, List<Long> itemIds, Map<String, Map<String, Integer>> facets) {
+    }
+}
@@ -0,0 +1,129 @@
+package com.platform.ShareNet.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.platform.ShareNet.model.IdempotencyRecord;
+import com.platform.ShareNet.repository.IdempotencyRecordRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Stores responses of POSTs sent with an {@code Idempotency-Key} so retries can be replayed.
+ *
+ * Completed responses sit in a bounded in-memory cache in front of the
+ * {@code idempotency_records} table; requests still executing are tracked as futures so
+ * concurrent duplicates wait for the original instead of running the write again. Both carry the
+ * fingerprint of the request that owns the key, so a key reused for a different request can be
+ * told apart from a retry.
+ */
+@Service
+@Lazy(false)
+public class IdempotencyService {
+
+    private static final Logger logger = LoggerFactory.getLogger(IdempotencyService.class);
+
+    @Autowired
+    private IdempotencyRecordRepository idempotencyRecordRepository;
+
+    private final Duration ttl;
+    private final Cache<String, StoredResponse> completed;
+    private final ConcurrentMap<String, Execution> inFlight = new ConcurrentHashMap<>();
+
+    public IdempotencyService(@Value("${idempotency.ttl:24h}") Duration ttl,
+            @Value("${idempotency.max-entries:10000}") long maxEntries) {
+        this.ttl = ttl;
+        this.completed = Caffeine.newBuilder()
+                .maximumSize(maxEntries)
+                .expireAfterWrite(ttl)
+                .build();
+    }
+
+    public StoredResponse find(String key) {
+        StoredResponse cached = completed.getIfPresent(key);
+        if (cached != null) {
+            return cached;
+        }
+        Optional<IdempotencyRecord> record = idempotencyRecordRepository.findById(key);
+        if (record.isPresent() && record.get().getExpiresAt().isAfter(LocalDateTime.now())) {
+            StoredResponse stored = new StoredResponse(record.get().getRequestHash(), record.get().getStatusCode(),
+                    record.get().getContentType(), record.get().getBody());
+            completed.put(key, stored);
+            return stored;
+        }
+        return null;
+    }
+
+    /**
+     * Registers {@code execution} as the in-flight request for {@code key}. Returns the request
+     * already executing under that key, or {@code null} if the caller now owns it.
+     */
+    public Execution begin(String key, Execution execution) {
+        return inFlight.putIfAbsent(key, execution);
+    }
+
+    /**
+     * Publishes the outcome to waiting duplicates. Only non-5xx responses are kept for replay;
+     * a server error leaves the key free so a later retry runs the request again.
+     */
+    public void complete(String key, Execution execution, StoredResponse response) {
+        try {
+            // A response replayed from the store is already there
+            if (response != null && response.statusCode() < 500 && completed.getIfPresent(key) != response) {
+                completed.put(key, response);
+                persist(key, response);
+            }
+        } finally {
+            inFlight.remove(key, execution);
+            execution.result().complete(response);
+        }
+    }
+
+    private void persist(String key, StoredResponse response) {
+        LocalDateTime now = LocalDateTime.now();
+        try {
+            idempotencyRecordRepository.save(new IdempotencyRecord(key, response.fingerprint(), response.statusCode(),
+                    response.contentType(), response.body(), now, now.plus(ttl)));
+        } catch (Exception e) {
+            // The cached copy still covers retries to this instance
+            logger.warn("Failed to persist idempotency record: " + e.getMessage());
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${idempotency.cleanup-interval-ms:3600000}")
+    public void purgeExpired() {
+        try {
+            int removed = idempotencyRecordRepository.deleteExpired(LocalDateTime.now());
+            if (removed > 0) {
+                logger.debug("Purged {} expired idempotency records", removed);
+            }
+        } catch (Exception e) {
+            logger.warn("Failed to purge idempotency records: " + e.getMessage());
+        }
+    }
+
+    /**
+     * @param fingerprint hash of the request that produced the response; {@code null} for records
+     *                    stored before fingerprints were kept, which match any request
+     */
+    public record StoredResponse(String fingerprint, int statusCode, String contentType, byte[] body) {
+
+        public boolean matches(String requestFingerprint) {
+            return fingerprint == null || fingerprint.equals(requestFingerprint);
+        }
+    }
+
+    public record Execution(String fingerprint, CompletableFuture<StoredResponse> result) {
+    }
+}
@@ -0,0 +1,170 @@
+package com.platform.ShareNet.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.platform.ShareNet.model.Item;
+import com.platform.ShareNet.repository.ItemRepository;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.concurrent.Semaphore;
+import java.util.stream.Stream;
+
+/**
+ * Writes the item catalogue as newline-delimited JSON straight from a forward-only JDBC cursor,
+ * so memory use does not grow with the catalogue and the first rows go out before the query
+ * has finished.
+ *
+ * Each export holds a pooled connection until it is done, so only a few may run at once.
+ */
+@Service
+public class ItemFeedService {
+
+    private static final String COLUMNS = "SELECT id, name, description, price_per_day, image_url, category, "
+            + "item_condition, location, is_available, available_until, latitude, longitude, created_at, "
+            + "updated_at, owner_id FROM items";
+
+    @Autowired
+    private ObjectProvider<JdbcTemplate> jdbcTemplate;
+
+    @Autowired
+    private ItemRepository itemRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private final Semaphore exports;
+    private final int flushEvery;
+    private final Duration watermarkLag;
+
+    public ItemFeedService(@Value("${item-feed.max-concurrent:2}") int maxConcurrent,
+            @Value("${item-feed.flush-every:500}") int flushEvery,
+            @Value("${item-feed.watermark-lag:1m}") Duration watermarkLag) {
+        this.exports = new Semaphore(maxConcurrent);
+        this.flushEvery = Math.max(1, flushEvery);
+        this.watermarkLag = watermarkLag;
+    }
+
+    /**
+     * Claims one of the export slots; {@link #release()} must follow once the export is done.
+     */
+    public boolean tryAcquire() {
+        return exports.tryAcquire();
+    }
+
+    public void release() {
+        exports.release();
+    }
+
+    /**
+     * The {@code updatedSince} a consumer should send next time, taken before the export starts.
+     * It trails the clock so that rows stamped just before the export but committed after it
+     * are picked up by the next sync; a few rows may arrive twice and should be upserted by id.
+     */
+    public LocalDateTime nextWatermark() {
+        return LocalDateTime.now().minus(watermarkLag);
+    }
+
+    /**
+     * Writes one JSON object per line: all items by id, or only those updated at or after
+     * {@code updatedSince} in update order. Returns the number of items written.
+     */
+    public long write(LocalDateTime updatedSince, OutputStream out) throws IOException {
+        try (JsonGenerator json = objectMapper.createGenerator(out)) {
+            json.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            // Lines are separated by the newline written after each item, not Jackson's space
+            json.setRootValueSeparator(null);
+            long written;
+            try {
+                JdbcTemplate jdbc = jdbcTemplate.getIfAvailable();
+                written = jdbc != null ? writeFromCursor(jdbc, updatedSince, json) : writeFromRepository(updatedSince, json);
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+            json.flush();
+            return written;
+        }
+    }
+
+    private long writeFromCursor(JdbcTemplate jdbc, LocalDateTime updatedSince, JsonGenerator json) {
+        String sql = updatedSince == null
+                ? COLUMNS + " ORDER BY id"
+                : COLUMNS + " WHERE updated_at >= ? ORDER BY updated_at, id";
+        long[] written = {0};
+        jdbc.query(connection -> {
+            PreparedStatement statement = connection.prepareStatement(sql,
+                    ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            // Connector/J streams row by row only with this fetch size; otherwise it buffers the whole result
+            statement.setFetchSize(Integer.MIN_VALUE);
+            if (updatedSince != null) {
+                statement.setObject(1, updatedSince);
+            }
+            return statement;
+        }, (ResultSet rs) -> {
+            writeLine(json, FeedItem.of(rs), ++written[0]);
+        });
+        return written[0];
+    }
+
+    // The in-memory profile has no JDBC; filter the repository's entities the same way instead
+    private long writeFromRepository(LocalDateTime updatedSince, JsonGenerator json) {
+        long written = 0;
+        Stream<Item> items = updatedSince == null
+                ? itemRepository.findAll().stream().sorted(Comparator.comparing(Item::getId))
+                : itemRepository.findAll().stream()
+                        .filter(item -> item.getUpdatedAt() != null && !item.getUpdatedAt().isBefore(updatedSince))
+                        .sorted(Comparator.comparing(Item::getUpdatedAt).thenComparing(Item::getId));
+        for (Item item : (Iterable<Item>) items::iterator) {
+            writeLine(json, FeedItem.of(item), ++written);
+        }
+        return written;
+    }
+
+    private void writeLine(JsonGenerator json, FeedItem item, long count) {
+        try {
+            json.writeObject(item);
+            json.writeRaw('\n');
+            if (count % flushEvery == 0) {
+                // Also flushes the response, sending what is buffered as a chunk
+                json.flush();
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    // Flat view of an item: the owner is referenced by id instead of embedded
+    record FeedItem(Long id, String name, String description, double pricePerDay, String imageUrl,
+            String category, String condition, String location, boolean available,
+            LocalDateTime availableUntil, double latitude, double longitude, LocalDateTime createdAt,
+            LocalDateTime updatedAt, Long ownerId) {
+
+        static FeedItem of(ResultSet rs) throws SQLException {
+            return new FeedItem(rs.getLong("id"), rs.getString("name"), rs.getString("description"),
+                    rs.getDouble("price_per_day"), rs.getString("image_url"), rs.getString("category"),
+                    rs.getString("item_condition"), rs.getString("location"), rs.getBoolean("is_available"),
+                    rs.getObject("available_until", LocalDateTime.class), rs.getDouble("latitude"),
+                    rs.getDouble("longitude"), rs.getObject("created_at", LocalDateTime.class),
+                    rs.getObject("updated_at", LocalDateTime.class), rs.getObject("owner_id", Long.class));
+        }
+
+        static FeedItem of(Item item) {
+            return new FeedItem(item.getId(), item.getName(), item.getDescription(), item.getPricePerDay(),
+                    item.getImageUrl(), item.getCategory(), item.getCondition(), item.getLocation(),
+                    item.isAvailable(), item.getAvailableUntil(), item.getLatitude(), item.getLongitude(),
+                    item.getCreatedAt(), item.getUpdatedAt(), item.getOwner() == null ? null : item.getOwner().getId());
+        }
+    }
+}
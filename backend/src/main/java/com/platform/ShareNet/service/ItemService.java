@@ -4,8 +4,14 @@ import com.platform.ShareNet.model.Item;
 import com.platform.ShareNet.repository.ItemRepository;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 @Service
 public class ItemService {
@@ -13,8 +19,67 @@ public class ItemService {
     @Autowired
     public ItemRepository itemRepository;
 
+    @Autowired
+    private CatalogSnapshotService catalogSnapshotService;
+
+    @Autowired
+    private FacetIndexService facetIndexService;
+
+    @Autowired
+    private SuggestService suggestService;
+
+    @Autowired
+    private NearCacheService nearCacheService;
+
+    @Autowired
+    private DomainEventPublisher domainEventPublisher;
+
+    @Autowired
+    private CacheCoherenceService cacheCoherenceService;
+
+    @Transactional
     public Item saveItem(Item item) {
-        return itemRepository.save(item);
+        Item saved = itemRepository.save(item);
+        Map<String, Object> payload = new HashMap<>();
+        payload.put("itemId", saved.getId());
+        payload.put("ownerId", saved.getOwner() == null ? null : saved.getOwner().getId());
+        payload.put("available", saved.isAvailable());
+        payload.put("availableUntil", saved.getAvailableUntil());
+        domainEventPublisher.publish(DomainEventType.ITEM_SAVED, "Item", saved.getId(), payload);
+        cacheCoherenceService.record(CacheCoherenceService.ITEM, saved.getId());
+
+        // In-memory read models must not see the item before it is committed
+        AfterCommit.run(() -> refreshReadModels(saved));
+        return saved;
+    }
+
+    /**
+     * Takes listings whose {@code availableUntil} has passed off the market. Ids whose listing
+     * was extended or already withdrawn since the timer was set are skipped; returns the rest.
+     */
+    @Transactional
+    public List<Long> expireItems(Collection<Long> ids, LocalDateTime now) {
+        List<Long> expired = itemRepository.lockExpired(ids, now);
+        if (expired.isEmpty()) {
+            return expired;
+        }
+        itemRepository.markUnavailable(expired, now);
+        for (Long id : expired) {
+            Map<String, Object> payload = new HashMap<>();
+            payload.put("itemId", id);
+            payload.put("available", false);
+            domainEventPublisher.publish(DomainEventType.ITEM_EXPIRED, "Item", id, payload);
+            cacheCoherenceService.record(CacheCoherenceService.ITEM, id);
+        }
+        AfterCommit.run(() -> itemRepository.findAllWithOwnerByIdIn(expired).forEach(this::refreshReadModels));
+        return expired;
+    }
+
+    private void refreshReadModels(Item item) {
+        catalogSnapshotService.onItemSaved(item);
+        facetIndexService.onItemSaved(item);
+        suggestService.onItemSaved(item);
+        nearCacheService.evictItem(item.getId());
     }
 
     public List<Item> getAvailableItems() {
@@ -25,7 +90,22 @@ public class ItemService {
         return itemRepository.findAll();
     }
 
+    public List<Item> getItemsByIds(List<Long> ids) {
+        Map<Long, Item> byId = new HashMap<>();
+        for (Item item : itemRepository.findAllWithOwnerByIdIn(ids)) {
+            byId.put(item.getId(), item);
+        }
+        List<Item> ordered = new ArrayList<>(ids.size());
+        for (Long id : ids) {
+            Item item = byId.get(id);
+            if (item != null) {
+                ordered.add(item);
+            }
+        }
+        return ordered;
+    }
+
     public Item getItemById(Long id) {
-        return itemRepository.findById(id).orElse(null);
+        return nearCacheService.item(id);
     }
 }
\ No newline at end of file
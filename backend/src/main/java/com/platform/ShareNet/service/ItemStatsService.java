@@ -0,0 +1,224 @@
+package com.platform.ShareNet.service;
+
+import com.platform.ShareNet.model.ItemStats;
+import com.platform.ShareNet.repository.ItemStatsRepository;
+import com.platform.ShareNet.util.ConcurrentLongObjectMap;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * View and detail-open counters per item.
+ *
+ * An increment is a {@link LongAdder} add on a counter found in a primitive-keyed map, so
+ * request threads never wait on the database or on each other. Every
+ * {@code item-stats.flush-interval-ms} the deltas are drained and added to {@code item_stats}
+ * with one batched upsert per {@code item-stats.batch-size} items. At most
+ * {@code item-stats.max-tracked} items are counted between flushes; increments for further items
+ * are dropped and counted. Counters idle for two flushes are released.
+ */
+@Service
+@Lazy(false)
+public class ItemStatsService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ItemStatsService.class);
+
+    private static final String UPSERT = "INSERT INTO item_stats (item_id, views, detail_opens, updated_at) VALUES (?, ?, ?, ?) "
+            + "ON DUPLICATE KEY UPDATE views = views + VALUES(views), detail_opens = detail_opens + VALUES(detail_opens), "
+            + "updated_at = VALUES(updated_at)";
+
+    @Autowired
+    private ObjectProvider<JdbcTemplate> jdbcTemplate;
+
+    @Autowired
+    private ItemStatsRepository itemStatsRepository;
+
+    private final ConcurrentLongObjectMap<Counter> counters = new ConcurrentLongObjectMap<>();
+    private final AtomicInteger tracked = new AtomicInteger();
+    private final LongAdder dropped = new LongAdder();
+    private final int maxTracked;
+    private final int batchSize;
+
+    public ItemStatsService(@Value("${item-stats.max-tracked:100000}") int maxTracked,
+            @Value("${item-stats.batch-size:500}") int batchSize) {
+        this.maxTracked = maxTracked;
+        this.batchSize = Math.max(1, batchSize);
+    }
+
+    public void recordView(Long itemId) {
+        Counter counter = counter(itemId);
+        if (counter != null) {
+            counter.views.increment();
+        }
+    }
+
+    public void recordViews(Collection<Long> itemIds) {
+        for (Long itemId : itemIds) {
+            recordView(itemId);
+        }
+    }
+
+    public void recordOpen(Long itemId) {
+        Counter counter = counter(itemId);
+        if (counter != null) {
+            counter.opens.increment();
+        }
+    }
+
+    /**
+     * Flushed totals plus what is still counted in memory.
+     */
+    public ItemStats get(Long itemId) {
+        ItemStats stats = itemStatsRepository.findById(itemId).orElseGet(() -> new ItemStats(itemId, 0, 0, null));
+        Counter counter = counters.get(itemId);
+        long views = stats.getViews() + (counter == null ? 0 : counter.views.sum());
+        long opens = stats.getDetailOpens() + (counter == null ? 0 : counter.opens.sum());
+        return new ItemStats(itemId, views, opens, stats.getUpdatedAt());
+    }
+
+    private Counter counter(Long itemId) {
+        if (itemId == null) {
+            return null;
+        }
+        Counter counter = counters.get(itemId);
+        if (counter != null) {
+            return counter;
+        }
+        if (tracked.get() >= maxTracked) {
+            dropped.increment();
+            return null;
+        }
+        return counters.computeIfAbsent(itemId, id -> {
+            tracked.incrementAndGet();
+            return new Counter(id);
+        });
+    }
+
+    @Scheduled(fixedDelayString = "${item-stats.flush-interval-ms:5000}")
+    public synchronized void flush() {
+        List<Delta> deltas = new ArrayList<>();
+        for (Counter counter : counters.values()) {
+            long views = counter.views.sumThenReset();
+            long opens = counter.opens.sumThenReset();
+            if (views != 0 || opens != 0) {
+                counter.idleFlushes = 0;
+                deltas.add(new Delta(counter.itemId, views, opens));
+            } else if (++counter.idleFlushes >= 2) {
+                release(counter);
+            }
+        }
+        for (int from = 0; from < deltas.size(); from += batchSize) {
+            List<Delta> batch = deltas.subList(from, Math.min(from + batchSize, deltas.size()));
+            try {
+                write(batch);
+            } catch (Exception e) {
+                // Keep the counts for the next flush rather than lose them
+                logger.warn("Failed to flush item stats for {} items: {}", batch.size(), e.getMessage());
+                for (Delta delta : deltas.subList(from, deltas.size())) {
+                    restore(delta);
+                }
+                return;
+            }
+        }
+        long droppedIncrements = dropped.sumThenReset();
+        if (droppedIncrements > 0) {
+            logger.warn("Dropped {} item stat increments; more than {} items were counted between flushes",
+                    droppedIncrements, maxTracked);
+        }
+    }
+
+    private void write(List<Delta> batch) {
+        LocalDateTime now = LocalDateTime.now();
+        JdbcTemplate jdbc = jdbcTemplate.getIfAvailable();
+        if (jdbc != null) {
+            jdbc.batchUpdate(UPSERT, batch, batch.size(), (statement, delta) -> {
+                statement.setLong(1, delta.itemId());
+                statement.setLong(2, delta.views());
+                statement.setLong(3, delta.opens());
+                statement.setTimestamp(4, Timestamp.valueOf(now));
+            });
+            return;
+        }
+        // The in-memory profile has no JDBC; add through the repository instead
+        for (Delta delta : batch) {
+            ItemStats stats = itemStatsRepository.findById(delta.itemId()).orElseGet(() -> new ItemStats(delta.itemId(), 0, 0, null));
+            stats.setViews(stats.getViews() + delta.views());
+            stats.setDetailOpens(stats.getDetailOpens() + delta.opens());
+            stats.setUpdatedAt(now);
+            itemStatsRepository.save(stats);
+        }
+    }
+
+    // An increment may still land on a counter just removed; carry it over instead of losing it
+    private void release(Counter counter) {
+        counters.remove(counter.itemId);
+        tracked.decrementAndGet();
+        long views = counter.views.sumThenReset();
+        long opens = counter.opens.sumThenReset();
+        if (views != 0 || opens != 0) {
+            restore(new Delta(counter.itemId, views, opens));
+        }
+    }
+
+    private void restore(Delta delta) {
+        Counter counter = counter(delta.itemId());
+        if (counter == null) {
+            return;
+        }
+        counter.views.add(delta.views());
+        counter.opens.add(delta.opens());
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        flush();
+        long views = 0;
+        long opens = 0;
+        int items = 0;
+        for (Counter counter : counters.values()) {
+            long pendingViews = counter.views.sum();
+            long pendingOpens = counter.opens.sum();
+            if (pendingViews != 0 || pendingOpens != 0) {
+                views += pendingViews;
+                opens += pendingOpens;
+                items++;
+            }
+        }
+        if (items > 0) {
+            logger.warn("Shutting down with {} views and {} detail opens of {} items not flushed", views, opens, items);
+        }
+        counters.clear();
+    }
+
+    private static final class Counter {
+
+        final long itemId;
+        final LongAdder views = new LongAdder();
+        final LongAdder opens = new LongAdder();
+
+        // Only touched by the flusher
+        int idleFlushes;
+
+        Counter(long itemId) {
+            this.itemId = itemId;
+        }
+    }
+
+    private record Delta(long itemId, long views, long opens) {
+    }
+}
@@ -0,0 +1,206 @@
+package com.platform.ShareNet.service;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.platform.ShareNet.model.Item;
+import com.platform.ShareNet.model.User;
+import com.platform.ShareNet.repository.ItemRepository;
+import com.platform.ShareNet.repository.UserRepository;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.BeanUtils;
+import org.springframework.beans.BeanWrapper;
+import org.springframework.beans.BeanWrapperImpl;
+import org.springframework.beans.DirectFieldAccessor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.beans.PropertyDescriptor;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+import java.util.function.UnaryOperator;
+
+/**
+ * Per-instance cache of single items and users by id, behind {@code ItemService.getItemById}
+ * and {@code UserService.getUserById}.
+ *
+ * Caffeine bounds each cache to {@code near-cache.*-size} entries with W-TinyLFU, so a burst of
+ * one-off ids cannot push out the ids that are read all the time. Entries are futures: the first
+ * miss for an id loads it on the caller's thread and every concurrent miss for the same id waits
+ * for that one load instead of querying too. Ids that do not exist are cached as well. Entries are
+ * evicted right after a local change commits and, through the change log, after changes on other
+ * instances; {@code near-cache.ttl} bounds how long anything missed by both can be served.
+ *
+ * The cache keeps detached copies and every caller gets a copy of its own, so no request can
+ * change what the next one reads, or have Hibernate track an instance shared with others.
+ */
+@Service
+public class NearCacheService {
+
+    @Autowired
+    private ItemRepository itemRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private CacheCoherenceService cacheCoherenceService;
+
+    private final AsyncCache<Long, Optional<Item>> items;
+    private final AsyncCache<Long, Optional<User>> users;
+
+    // Misses that found another caller's load in flight and waited for it
+    private final LongAdder coalescedItems = new LongAdder();
+    private final LongAdder coalescedUsers = new LongAdder();
+
+    public NearCacheService(@Value("${near-cache.item-size:10000}") long itemSize,
+            @Value("${near-cache.user-size:10000}") long userSize,
+            @Value("${near-cache.ttl:10m}") Duration ttl) {
+        this.items = Caffeine.newBuilder().maximumSize(itemSize).expireAfterWrite(ttl).recordStats().buildAsync();
+        this.users = Caffeine.newBuilder().maximumSize(userSize).expireAfterWrite(ttl).recordStats().buildAsync();
+    }
+
+    @PostConstruct
+    public void subscribe() {
+        cacheCoherenceService.subscribe(CacheCoherenceService.ITEM, (itemId, local) -> evictItem(itemId));
+        cacheCoherenceService.subscribe(CacheCoherenceService.USER, (userId, local) -> evictUser(userId));
+    }
+
+    public Item item(Long id) {
+        return get(items, id, coalescedItems, () -> itemRepository.findById(id), NearCacheService::copy).orElse(null);
+    }
+
+    public User user(Long id) {
+        return get(users, id, coalescedUsers, () -> userRepository.findById(id),
+                user -> copy(user, User.class)).orElse(null);
+    }
+
+    /**
+     * Copies of the items already cached for {@code ids}, without loading the others; for batch
+     * lookups, which read their misses together.
+     */
+    public Map<Long, Item> cachedItems(Collection<Long> ids) {
+        return cached(items, ids, NearCacheService::copy);
+    }
+
+    public Map<Long, User> cachedUsers(Collection<Long> ids) {
+        return cached(users, ids, user -> copy(user, User.class));
+    }
+
+    private static <T> Map<Long, T> cached(AsyncCache<Long, Optional<T>> cache, Collection<Long> ids,
+            UnaryOperator<T> copier) {
+        Map<Long, T> found = new HashMap<>();
+        for (Long id : ids) {
+            CompletableFuture<Optional<T>> entry = cache.getIfPresent(id);
+            if (entry != null && entry.isDone() && !entry.isCompletedExceptionally()) {
+                entry.join().ifPresent(value -> found.put(id, copier.apply(value)));
+            }
+        }
+        return found;
+    }
+
+    private static <T> Optional<T> get(AsyncCache<Long, Optional<T>> cache, Long id, LongAdder coalesced,
+            Supplier<Optional<T>> loader, UnaryOperator<T> copier) {
+        CompletableFuture<Optional<T>> load = new CompletableFuture<>();
+        CompletableFuture<Optional<T>> entry = cache.get(id, (key, executor) -> load);
+        if (entry == load) {
+            // Loaded here rather than on Caffeine's executor, so the query runs in this request's
+            // transaction and shows up in its timings. A failed load is dropped from the cache.
+            try {
+                load.complete(loader.get().map(copier));
+            } catch (RuntimeException e) {
+                load.completeExceptionally(e);
+                throw e;
+            }
+        } else if (!entry.isDone()) {
+            coalesced.increment();
+        }
+        try {
+            return entry.join().map(copier);
+        } catch (CompletionException e) {
+            throw e.getCause() instanceof RuntimeException cause ? cause : e;
+        }
+    }
+
+    private static Item copy(Item item) {
+        Item copy = copy(item, Item.class);
+        if (item.getOwner() != null) {
+            new DirectFieldAccessor(copy).setPropertyValue("owner", copy(item.getOwner(), User.class));
+        }
+        return copy;
+    }
+
+    // Read through getters, so an initialized Hibernate proxy copies as its target, and written to
+    // fields, since Item's setters are not usable. Associations are shared; callers copy them.
+    private static <T> T copy(T entity, Class<T> type) {
+        T copy = BeanUtils.instantiateClass(type);
+        BeanWrapper source = new BeanWrapperImpl(entity);
+        DirectFieldAccessor target = new DirectFieldAccessor(copy);
+        for (PropertyDescriptor property : source.getPropertyDescriptors()) {
+            String name = property.getName();
+            if (property.getReadMethod() != null && target.isWritableProperty(name)) {
+                target.setPropertyValue(name, source.getPropertyValue(name));
+            }
+        }
+        return copy;
+    }
+
+    /**
+     * Drops one item, or all of them for {@code null}. Loads in flight are dropped too, so a load
+     * that read the row before the change cannot put it back.
+     */
+    public void evictItem(Long id) {
+        if (id == null) {
+            items.synchronous().invalidateAll();
+        } else {
+            items.synchronous().invalidate(id);
+        }
+    }
+
+    /**
+     * Drops one user, or all of them for {@code null}, with the items that embed them as owner.
+     */
+    public void evictUser(Long id) {
+        if (id == null) {
+            users.synchronous().invalidateAll();
+            items.synchronous().invalidateAll();
+            return;
+        }
+        users.synchronous().invalidate(id);
+        items.asMap().values().removeIf(entry -> !entry.isDone() || entry.isCompletedExceptionally()
+                || entry.join().map(item -> item.getOwner() != null && Objects.equals(item.getOwner().getId(), id))
+                        .orElse(false));
+    }
+
+    public Map<String, Object> stats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("items", stats(items, coalescedItems));
+        stats.put("users", stats(users, coalescedUsers));
+        return stats;
+    }
+
+    private static Map<String, Object> stats(AsyncCache<Long, ?> cache, LongAdder coalesced) {
+        CacheStats stats = cache.synchronous().stats();
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("size", cache.synchronous().estimatedSize());
+        result.put("requests", stats.requestCount());
+        result.put("hits", stats.hitCount());
+        result.put("hitRate", Math.round(stats.hitRate() * 10_000) / 10_000.0);
+        result.put("loads", stats.loadCount());
+        result.put("loadFailures", stats.loadFailureCount());
+        result.put("coalesced", coalesced.sum());
+        result.put("averageLoadMs", Math.round(stats.averageLoadPenalty() / 1_000) / 1_000.0);
+        result.put("evictions", stats.evictionCount());
+        return result;
+    }
+}
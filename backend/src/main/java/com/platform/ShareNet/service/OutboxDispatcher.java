@@ -0,0 +1,197 @@
+package com.platform.ShareNet.service;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.platform.ShareNet.model.OutboxEvent;
+import com.platform.ShareNet.repository.OutboxEventRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Polls the outbox and delivers events to every {@link DomainEventSubscriber} that supports them.
+ *
+ * A batch is claimed with {@code FOR UPDATE SKIP LOCKED} and leased (status PROCESSING) so that
+ * several instances can poll the same table, and delivery happens outside that transaction. An
+ * event is only delivered once every older event of its aggregate has been; a failed event is
+ * retried with exponential backoff and blocks the rest of its aggregate until it succeeds or
+ * runs out of attempts.
+ */
+@Service
+@Lazy(false)
+public class OutboxDispatcher {
+
+    private static final Logger logger = LoggerFactory.getLogger(OutboxDispatcher.class);
+
+    static final String PENDING = "PENDING";
+    static final String PROCESSING = "PROCESSING";
+    static final String DELIVERED = "DELIVERED";
+    static final String FAILED = "FAILED";
+
+    private static final TypeReference<Map<String, Object>> PAYLOAD_TYPE = new TypeReference<>() {
+    };
+
+    @Autowired
+    private OutboxEventRepository outboxEventRepository;
+
+    @Autowired
+    private List<DomainEventSubscriber> subscribers;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${outbox.batch-size:100}")
+    private int batchSize;
+
+    @Value("${outbox.max-attempts:10}")
+    private int maxAttempts;
+
+    @Value("${outbox.lease-ms:60000}")
+    private long leaseMs;
+
+    @Value("${outbox.retry-backoff-ms:1000}")
+    private long retryBackoffMs;
+
+    @Value("${outbox.retention-days:7}")
+    private int retentionDays;
+
+    @Scheduled(fixedDelayString = "${outbox.poll-interval-ms:500}")
+    public void poll() {
+        try {
+            // Keep draining while batches come back full
+            while (dispatchBatch() == batchSize) {
+                // next batch
+            }
+        } catch (Exception e) {
+            logger.error("Outbox dispatch failed: " + e.getMessage());
+        }
+    }
+
+    int dispatchBatch() {
+        List<OutboxEvent> batch = transactionTemplate.execute(status -> claim());
+        if (batch == null || batch.isEmpty()) {
+            return 0;
+        }
+
+        Set<String> blocked = new HashSet<>();
+        for (OutboxEvent event : batch) {
+            String aggregate = event.getAggregateType() + ":" + event.getAggregateId();
+            if (blocked.contains(aggregate)) {
+                release(event);
+                continue;
+            }
+            try {
+                deliver(event);
+                event.setStatus(DELIVERED);
+                event.setDeliveredAt(LocalDateTime.now());
+                event.setLastError(null);
+            } catch (Exception e) {
+                blocked.add(aggregate);
+                fail(event, e);
+            }
+        }
+        transactionTemplate.executeWithoutResult(status -> outboxEventRepository.saveAll(batch));
+        return batch.size();
+    }
+
+    private List<OutboxEvent> claim() {
+        LocalDateTime now = LocalDateTime.now();
+        List<OutboxEvent> due = outboxEventRepository.findDueForUpdate(now, PageRequest.of(0, batchSize));
+        if (due.isEmpty()) {
+            return due;
+        }
+
+        Set<Long> aggregateIds = new HashSet<>();
+        for (OutboxEvent event : due) {
+            aggregateIds.add(event.getAggregateId());
+        }
+        Map<String, Long> oldest = new HashMap<>();
+        for (Object[] row : outboxEventRepository.findOldestUndeliveredIds(aggregateIds)) {
+            oldest.put(row[0] + ":" + row[1], (Long) row[2]);
+        }
+
+        // The first due event of an aggregate must be its oldest undelivered one, otherwise an
+        // earlier event is waiting for a retry or is leased by another dispatcher
+        List<OutboxEvent> claimed = new ArrayList<>();
+        Set<String> eligible = new HashSet<>();
+        Set<String> skipped = new HashSet<>();
+        for (OutboxEvent event : due) {
+            String aggregate = event.getAggregateType() + ":" + event.getAggregateId();
+            if (skipped.contains(aggregate)) {
+                continue;
+            }
+            if (!eligible.contains(aggregate)) {
+                if (!event.getId().equals(oldest.get(aggregate))) {
+                    skipped.add(aggregate);
+                    continue;
+                }
+                eligible.add(aggregate);
+            }
+            event.setStatus(PROCESSING);
+            event.setNextAttemptAt(now.plus(Duration.ofMillis(leaseMs)));
+            claimed.add(event);
+        }
+        return outboxEventRepository.saveAll(claimed);
+    }
+
+    private void deliver(OutboxEvent event) throws Exception {
+        DomainEventType type = DomainEventType.valueOf(event.getEventType());
+        DomainEvent domainEvent = new DomainEvent(event.getId(), type, event.getAggregateType(),
+                event.getAggregateId(), objectMapper.readValue(event.getPayload(), PAYLOAD_TYPE), event.getCreatedAt());
+        for (DomainEventSubscriber subscriber : subscribers) {
+            if (subscriber.supports(type)) {
+                subscriber.handle(domainEvent);
+            }
+        }
+    }
+
+    private void release(OutboxEvent event) {
+        event.setStatus(PENDING);
+        event.setNextAttemptAt(LocalDateTime.now());
+    }
+
+    private void fail(OutboxEvent event, Exception e) {
+        int attempts = event.getAttempts() + 1;
+        event.setAttempts(attempts);
+        String message = String.valueOf(e.getMessage());
+        event.setLastError(message.length() > 255 ? message.substring(0, 255) : message);
+        if (attempts >= maxAttempts) {
+            event.setStatus(FAILED);
+            logger.error("Giving up on outbox event {} ({}) after {} attempts: {}",
+                    event.getId(), event.getEventType(), attempts, e.getMessage());
+            return;
+        }
+        long backoff = retryBackoffMs << Math.min(attempts - 1, 16);
+        event.setStatus(PENDING);
+        event.setNextAttemptAt(LocalDateTime.now().plus(Duration.ofMillis(backoff)));
+        logger.warn("Outbox event {} ({}) failed, retrying in {} ms: {}",
+                event.getId(), event.getEventType(), backoff, e.getMessage());
+    }
+
+    @Scheduled(fixedDelayString = "${outbox.cleanup-interval-ms:3600000}")
+    public void purgeDelivered() {
+        try {
+            outboxEventRepository.deleteDeliveredBefore(LocalDateTime.now().minusDays(retentionDays));
+        } catch (Exception e) {
+            logger.warn("Failed to purge delivered outbox events: " + e.getMessage());
+        }
+    }
+}
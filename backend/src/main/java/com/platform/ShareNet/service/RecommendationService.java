@@ -0,0 +1,282 @@
+package com.platform.ShareNet.service;
+
+import com.platform.ShareNet.repository.BorrowRequestRepository;
+import com.platform.ShareNet.util.ConcurrentLongObjectMap;
+import com.platform.ShareNet.util.LongLongHashMap;
+import com.platform.ShareNet.util.LongObjectHashMap;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * "People who borrowed this also borrowed" recommendations.
+ *
+ * Keeps an item-by-item co-borrow matrix (how many distinct borrowers took both items) in
+ * primitive maps and publishes the top-K neighbours of every item, so a read is a single map
+ * lookup plus a copy of at most K ids. Approved borrows arrive incrementally as
+ * {@link DomainEventType#REQUEST_APPROVED} outbox events; the full rebuild at startup computes
+ * one matrix row per item in parallel on the fork-join pool.
+ */
+@Service
+@Lazy(false)
+public class RecommendationService implements DomainEventSubscriber {
+
+    private static final Logger logger = LoggerFactory.getLogger(RecommendationService.class);
+
+    static final Set<String> BORROWED_STATUSES = Set.of("APPROVED", "COMPLETED");
+
+    private static final long[] NONE = new long[0];
+
+    // Rows per fork-join leaf task
+    private static final int ROWS_PER_TASK = 256;
+
+    @Autowired
+    private BorrowRequestRepository borrowRequestRepository;
+
+    @Autowired
+    private CacheCoherenceService cacheCoherenceService;
+
+    @Value("${recommendations.top-k:10}")
+    private int topK;
+
+    // Guarded by this. borrower -> set of item ids (values unused)
+    private LongObjectHashMap<LongLongHashMap> itemsByBorrower = new LongObjectHashMap<>();
+
+    // Guarded by this. item -> (other item -> number of borrowers of both)
+    private LongObjectHashMap<LongLongHashMap> coBorrows = new LongObjectHashMap<>();
+
+    // Published top-K neighbour ids per item, best first. Written under this; a rebuild swaps
+    // in a whole new map, so readers see either the old lists or the new ones
+    private volatile ConcurrentLongObjectMap<long[]> neighbours = new ConcurrentLongObjectMap<>();
+
+    // Guarded by this. Borrows recorded while rebuild() reads the pairs, replayed onto its result
+    private List<long[]> recordedDuringRebuild;
+
+    public List<Long> getAlsoBorrowed(Long itemId, int limit) {
+        long[] ids = itemId == null ? null : neighbours.get(itemId);
+        if (ids == null) {
+            ids = NONE;
+        }
+        int n = Math.min(Math.max(limit, 0), ids.length);
+        List<Long> result = new ArrayList<>(n);
+        for (int i = 0; i < n; i++) {
+            result.add(ids[i]);
+        }
+        return result;
+    }
+
+    // The outbox hands each approval to one instance only; the change log reaches all of them
+    @PostConstruct
+    public void subscribe() {
+        cacheCoherenceService.subscribe(CacheCoherenceService.BORROW_REQUEST, (requestId, local) ->
+                borrowRequestRepository.findById(requestId)
+                        .filter(request -> BORROWED_STATUSES.contains(request.getStatus()))
+                        .ifPresent(request -> recordBorrow(request.getBorrowerId(), request.getItemId())));
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        try {
+            rebuild();
+        } catch (Exception e) {
+            logger.error("Failed to build recommendations: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Rebuilds from every borrow in the database. The query runs without the lock; borrows
+     * recorded meanwhile may be missing from its result, so they are applied again afterwards.
+     */
+    public void rebuild() {
+        synchronized (this) {
+            if (recordedDuringRebuild != null) {
+                return;
+            }
+            recordedDuringRebuild = new ArrayList<>();
+        }
+        try {
+            List<Object[]> pairs = borrowRequestRepository.findBorrowPairsByStatusIn(BORROWED_STATUSES);
+            long[] borrowerIds = new long[pairs.size()];
+            long[] itemIds = new long[pairs.size()];
+            int n = 0;
+            for (Object[] pair : pairs) {
+                if (pair[0] != null && pair[1] != null) {
+                    borrowerIds[n] = (Long) pair[0];
+                    itemIds[n] = (Long) pair[1];
+                    n++;
+                }
+            }
+            long start = System.nanoTime();
+            synchronized (this) {
+                rebuild(borrowerIds, itemIds, n);
+                List<long[]> recorded = recordedDuringRebuild;
+                recordedDuringRebuild = null;
+                // Borrows the query already saw are skipped as known
+                for (long[] borrow : recorded) {
+                    recordBorrow(borrow[0], borrow[1]);
+                }
+            }
+            logger.info("Rebuilt recommendations from {} borrows in {} ms", n, (System.nanoTime() - start) / 1_000_000);
+        } finally {
+            synchronized (this) {
+                recordedDuringRebuild = null;
+            }
+        }
+    }
+
+    /**
+     * Rebuilds the matrix from scratch out of the first {@code count} (borrower, item) pairs.
+     */
+    public synchronized void rebuild(long[] borrowerIds, long[] itemIds, int count) {
+        LongObjectHashMap<LongLongHashMap> byBorrower = new LongObjectHashMap<>();
+        LongObjectHashMap<LongLongHashMap> byItem = new LongObjectHashMap<>();
+        for (int i = 0; i < count; i++) {
+            byBorrower.computeIfAbsent(borrowerIds[i], k -> new LongLongHashMap(4)).put(itemIds[i], 1);
+            byItem.computeIfAbsent(itemIds[i], k -> new LongLongHashMap(4)).put(borrowerIds[i], 1);
+        }
+
+        long[] items = byItem.keys();
+        LongLongHashMap[] rows = new LongLongHashMap[items.length];
+        long[][] tops = new long[items.length][];
+        ForkJoinPool.commonPool().invoke(new RowTask(byBorrower, byItem, items, rows, tops, 0, items.length));
+
+        LongObjectHashMap<LongLongHashMap> matrix = new LongObjectHashMap<>(items.length);
+        ConcurrentLongObjectMap<long[]> published = new ConcurrentLongObjectMap<>();
+        for (int i = 0; i < items.length; i++) {
+            matrix.put(items[i], rows[i]);
+            published.put(items[i], tops[i]);
+        }
+        itemsByBorrower = byBorrower;
+        coBorrows = matrix;
+        neighbours = published;
+    }
+
+    /**
+     * Applies one approved borrow: the item gains a co-borrow with everything the borrower
+     * already had, and the top-K lists of every touched row are recomputed.
+     */
+    public synchronized void recordBorrow(Long borrowerId, Long itemId) {
+        if (borrowerId == null || itemId == null) {
+            return;
+        }
+        if (recordedDuringRebuild != null) {
+            recordedDuringRebuild.add(new long[] {borrowerId, itemId});
+        }
+        LongLongHashMap borrowed = itemsByBorrower.computeIfAbsent(borrowerId, k -> new LongLongHashMap(4));
+        if (borrowed.containsKey(itemId)) {
+            return;
+        }
+        long[] others = borrowed.keys();
+        LongLongHashMap row = coBorrows.computeIfAbsent(itemId, k -> new LongLongHashMap());
+        for (long other : others) {
+            row.addTo(other, 1);
+            coBorrows.computeIfAbsent(other, k -> new LongLongHashMap()).addTo(itemId, 1);
+        }
+        borrowed.put(itemId, 1);
+
+        neighbours.put(itemId, topNeighbours(row, topK));
+        for (long other : others) {
+            neighbours.put(other, topNeighbours(coBorrows.get(other), topK));
+        }
+    }
+
+    @Override
+    public boolean supports(DomainEventType type) {
+        return type == DomainEventType.REQUEST_APPROVED;
+    }
+
+    @Override
+    public void handle(DomainEvent event) {
+        recordBorrow(event.getLong("borrowerId"), event.getLong("itemId"));
+    }
+
+    static long[] topNeighbours(LongLongHashMap row, int k) {
+        if (k <= 0) {
+            return NONE;
+        }
+        long[] ids = new long[k];
+        long[] counts = new long[k];
+        int[] size = {0};
+        row.forEach((id, count) -> {
+            int n = size[0];
+            if (n == k && !better(id, count, ids[k - 1], counts[k - 1])) {
+                return;
+            }
+            int pos = n == k ? k - 1 : n;
+            while (pos > 0 && better(id, count, ids[pos - 1], counts[pos - 1])) {
+                ids[pos] = ids[pos - 1];
+                counts[pos] = counts[pos - 1];
+                pos--;
+            }
+            ids[pos] = id;
+            counts[pos] = count;
+            if (n < k) {
+                size[0] = n + 1;
+            }
+        });
+        return size[0] == k ? ids : Arrays.copyOf(ids, size[0]);
+    }
+
+    // Higher count wins; ties go to the lower id so results are stable across rebuilds
+    private static boolean better(long id, long count, long otherId, long otherCount) {
+        return count > otherCount || (count == otherCount && id < otherId);
+    }
+
+    private class RowTask extends RecursiveAction {
+
+        private final LongObjectHashMap<LongLongHashMap> byBorrower;
+        private final LongObjectHashMap<LongLongHashMap> byItem;
+        private final long[] items;
+        private final LongLongHashMap[] rows;
+        private final long[][] tops;
+        private final int from;
+        private final int to;
+
+        RowTask(LongObjectHashMap<LongLongHashMap> byBorrower, LongObjectHashMap<LongLongHashMap> byItem,
+                long[] items, LongLongHashMap[] rows, long[][] tops, int from, int to) {
+            this.byBorrower = byBorrower;
+            this.byItem = byItem;
+            this.items = items;
+            this.rows = rows;
+            this.tops = tops;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from > ROWS_PER_TASK) {
+                int mid = (from + to) >>> 1;
+                invokeAll(new RowTask(byBorrower, byItem, items, rows, tops, from, mid),
+                        new RowTask(byBorrower, byItem, items, rows, tops, mid, to));
+                return;
+            }
+            // Each task only writes its own rows, and the shared maps are read-only here
+            for (int i = from; i < to; i++) {
+                long item = items[i];
+                LongLongHashMap row = new LongLongHashMap();
+                byItem.get(item).forEach((borrower, ignored) ->
+                        byBorrower.get(borrower).forEach((other, unused) -> {
+                            if (other != item) {
+                                row.addTo(other, 1);
+                            }
+                        }));
+                rows[i] = row;
+                tops[i] = topNeighbours(row, topK);
+            }
+        }
+    }
+}
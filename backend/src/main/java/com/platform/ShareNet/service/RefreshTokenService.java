@@ -0,0 +1,132 @@
+package com.platform.ShareNet.service;
+
+import com.platform.ShareNet.config.JwtConfig;
+import com.platform.ShareNet.model.RefreshToken;
+import com.platform.ShareNet.repository.RefreshTokenRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.HexFormat;
+import java.util.UUID;
+
+/**
+ * Opaque refresh tokens that renew short-lived access tokens without a password check.
+ *
+ * A token is 256 random bits; only its SHA-256 is stored, which is enough for values that
+ * cannot be guessed and keeps renewal to one indexed lookup plus the access token's HMAC. Every
+ * renewal marks the presented token used and issues its successor in the same family. A used
+ * token presented again means it was copied, so the family is revoked and both holders must log
+ * in again.
+ */
+@Service
+@Lazy(false)
+public class RefreshTokenService {
+
+    private static final Logger logger = LoggerFactory.getLogger(RefreshTokenService.class);
+
+    @Autowired
+    private RefreshTokenRepository refreshTokenRepository;
+
+    @Autowired
+    private JwtService jwtService;
+
+    @Autowired
+    private JwtConfig jwtConfig;
+
+    private final Duration ttl;
+    private final SecureRandom random = new SecureRandom();
+
+    public RefreshTokenService(@Value("${refresh-token.ttl:30d}") Duration ttl) {
+        this.ttl = ttl;
+    }
+
+    public record TokenPair(String accessToken, String refreshToken, long expiresIn) {
+    }
+
+    /**
+     * Starts a new token family, at login or registration.
+     */
+    public String create(Long userId, String email) {
+        return issue(UUID.randomUUID().toString(), userId, email, LocalDateTime.now());
+    }
+
+    /**
+     * Exchanges a refresh token for a new access token and its successor refresh token.
+     *
+     * @throws IllegalArgumentException if the token is unknown, expired, revoked or reused
+     */
+    public TokenPair rotate(String refreshToken) {
+        RefreshToken token = refreshTokenRepository.findByTokenHash(hash(refreshToken))
+                .orElseThrow(() -> new IllegalArgumentException("Invalid refresh token"));
+        LocalDateTime now = LocalDateTime.now();
+        if (token.getRevokedAt() != null || !token.getExpiresAt().isAfter(now)) {
+            throw new IllegalArgumentException("Refresh token expired or revoked");
+        }
+        // Not one transaction: the family revocation below must survive the failed renewal
+        if (token.getUsedAt() != null || refreshTokenRepository.markUsed(token.getId(), now) == 0) {
+            int revoked = refreshTokenRepository.revokeFamily(token.getFamilyId(), now);
+            logger.warn("Refresh token reuse for user {}, revoked {} tokens of its family", token.getUserId(), revoked);
+            throw new IllegalArgumentException("Refresh token already used; please log in again");
+        }
+        String next = issue(token.getFamilyId(), token.getUserId(), token.getEmail(), now);
+        // A concurrent reuse may have revoked the family before the successor existed; the
+        // presented token is revoked along with it, so check again now the successor is stored
+        boolean revokedMeanwhile = refreshTokenRepository.findById(token.getId())
+                .map(stored -> stored.getRevokedAt() != null).orElse(true);
+        if (revokedMeanwhile) {
+            refreshTokenRepository.revokeFamily(token.getFamilyId(), now);
+            throw new IllegalArgumentException("Refresh token already used; please log in again");
+        }
+        String accessToken = jwtService.generateToken(token.getEmail(), token.getUserId());
+        return new TokenPair(accessToken, next, jwtConfig.getJwtExpiration() / 1000);
+    }
+
+    /**
+     * Revokes the family of a refresh token, at logout. Unknown tokens are ignored.
+     */
+    public void revoke(String refreshToken) {
+        refreshTokenRepository.findByTokenHash(hash(refreshToken))
+                .ifPresent(token -> refreshTokenRepository.revokeFamily(token.getFamilyId(), LocalDateTime.now()));
+    }
+
+    @Scheduled(fixedDelayString = "${refresh-token.cleanup-interval-ms:3600000}")
+    public void purgeExpired() {
+        try {
+            int removed = refreshTokenRepository.deleteExpired(LocalDateTime.now());
+            if (removed > 0) {
+                logger.debug("Purged {} expired refresh tokens", removed);
+            }
+        } catch (Exception e) {
+            logger.warn("Failed to purge refresh tokens: " + e.getMessage());
+        }
+    }
+
+    private String issue(String familyId, Long userId, String email, LocalDateTime now) {
+        byte[] bytes = new byte[32];
+        random.nextBytes(bytes);
+        String value = Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+        refreshTokenRepository.save(new RefreshToken(null, hash(value), familyId, userId, email, now, now.plus(ttl), null, null));
+        return value;
+    }
+
+    private static String hash(String value) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(value.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,255 @@
+package com.platform.ShareNet.service;
+
+import com.platform.ShareNet.model.Transaction;
+import com.platform.ShareNet.repository.ChatRepository;
+import com.platform.ShareNet.repository.ItemRepository;
+import com.platform.ShareNet.repository.TransactionRepository;
+import com.platform.ShareNet.repository.UserRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.TypedQuery;
+import org.springframework.beans.DirectFieldAccessor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Supplier;
+
+/**
+ * Answers the {@code ?fields=} variants of the item, user, chat and transaction read endpoints.
+ *
+ * Only the requested columns are selected, and an association is joined only when one of its
+ * fields is asked for, so a list screen that needs a few fields never reads the long text
+ * columns or the owner row. Results are plain maps in the order the fields were requested, with
+ * {@code owner.name}-style fields nested under their association. {@code id} is always included.
+ */
+@Service
+public class SparseFieldsService {
+
+    @Autowired
+    private ObjectProvider<EntityManager> entityManager;
+
+    @Autowired
+    private ItemRepository itemRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ChatRepository chatRepository;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    /**
+     * The fields a client may ask for. User passwords are never projectable.
+     */
+    public enum Resource {
+        ITEM("Item", Map.of("owner", "LEFT JOIN e.owner owner"),
+                "id", "name", "description", "pricePerDay", "imageUrl", "category", "condition", "location",
+                "available", "availableUntil", "latitude", "longitude", "createdAt", "updatedAt",
+                "owner.id", "owner.name", "owner.email", "owner.latitude", "owner.longitude"),
+        USER("User", Map.of(),
+                "id", "name", "email", "creditPoints", "latitude", "longitude"),
+        CHAT("Chat", Map.of("sender", "LEFT JOIN e.sender sender", "receiver", "LEFT JOIN e.receiver receiver"),
+                "id", "message", "timeStamp", "sender.id", "sender.name", "sender.email",
+                "receiver.id", "receiver.name", "receiver.email"),
+        TRANSACTION("Transaction", Map.of("item", "LEFT JOIN e.item item"),
+                "id", "userId", "amount", "type", "timestamp", "item.id", "item.name", "item.pricePerDay");
+
+        private final String entity;
+        private final Map<String, String> joins;
+        private final List<String> fields;
+
+        Resource(String entity, Map<String, String> joins, String... fields) {
+            this.entity = entity;
+            this.joins = joins;
+            this.fields = List.of(fields);
+        }
+    }
+
+    public record Selection(Resource resource, List<String> fields) {
+    }
+
+    /**
+     * Parses a comma-separated {@code fields} parameter; an association name alone stands for
+     * all of its fields. Returns {@code null} when the parameter is absent, meaning the full
+     * representation.
+     *
+     * @throws IllegalArgumentException for a field the resource does not have
+     */
+    public Selection parse(Resource resource, String fields) {
+        if (fields == null || fields.isBlank()) {
+            return null;
+        }
+        Set<String> selected = new LinkedHashSet<>();
+        selected.add("id");
+        for (String raw : fields.split(",")) {
+            String field = raw.trim();
+            if (field.isEmpty()) {
+                continue;
+            }
+            if (resource.fields.contains(field)) {
+                selected.add(field);
+            } else if (resource.joins.containsKey(field)) {
+                resource.fields.stream().filter(name -> name.startsWith(field + ".")).forEach(selected::add);
+            } else {
+                throw new IllegalArgumentException("Unknown field '" + field + "'; allowed: "
+                        + String.join(", ", resource.fields));
+            }
+        }
+        return new Selection(resource, List.copyOf(selected));
+    }
+
+    public List<Map<String, Object>> allItems(Selection selection) {
+        return select(selection, null, Map.of(), "e.id", () -> itemRepository.findAll());
+    }
+
+    public List<Map<String, Object>> availableItems(Selection selection) {
+        return select(selection, "e.available = true", Map.of(), "e.id", () -> itemRepository.findByAvailableTrue());
+    }
+
+    /**
+     * Items in the order of {@code ids}, skipping ids that do not exist.
+     */
+    public List<Map<String, Object>> itemsByIds(Selection selection, List<Long> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        return inOrder(ids, select(selection, "e.id IN :ids", Map.of("ids", ids), null,
+                () -> itemRepository.findAllById(ids)));
+    }
+
+    /**
+     * Users in the order of {@code ids}, skipping ids that do not exist.
+     */
+    public List<Map<String, Object>> usersByIds(Selection selection, List<Long> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        return inOrder(ids, select(selection, "e.id IN :ids", Map.of("ids", ids), null,
+                () -> userRepository.findAllById(ids)));
+    }
+
+    private static List<Map<String, Object>> inOrder(List<Long> ids, List<Map<String, Object>> rows) {
+        Map<Object, Map<String, Object>> byId = new HashMap<>();
+        for (Map<String, Object> row : rows) {
+            byId.put(row.get("id"), row);
+        }
+        List<Map<String, Object>> ordered = new ArrayList<>(ids.size());
+        for (Long id : ids) {
+            Map<String, Object> row = byId.get(id);
+            if (row != null) {
+                ordered.add(row);
+            }
+        }
+        return ordered;
+    }
+
+    public Map<String, Object> user(Selection selection, Long id) {
+        List<Map<String, Object>> rows = select(selection, "e.id = :id", Map.of("id", id), null,
+                () -> userRepository.findById(id).stream().toList());
+        return rows.isEmpty() ? null : rows.get(0);
+    }
+
+    public List<Map<String, Object>> chatsBetween(Selection selection, Long user1, Long user2) {
+        return select(selection,
+                "(e.sender.id = :user1 AND e.receiver.id = :user2) OR (e.sender.id = :user2 AND e.receiver.id = :user1)",
+                Map.of("user1", user1, "user2", user2), "e.timeStamp",
+                () -> chatRepository.findChatsBetweenUsers(user1, user2));
+    }
+
+    public List<Map<String, Object>> transactionsForUser(Selection selection, Long userId) {
+        return select(selection, "e.userId = :userId", Map.of("userId", userId), "e.id",
+                () -> transactionRepository.findByUserId(userId).stream()
+                        .sorted(Comparator.comparing(Transaction::getId)).toList());
+    }
+
+    private List<Map<String, Object>> select(Selection selection, String where, Map<String, Object> parameters,
+            String orderBy, Supplier<List<?>> fallback) {
+        EntityManager em = entityManager.getIfAvailable();
+        if (em == null) {
+            // In-memory profile: the same fields, read from the entities
+            List<Map<String, Object>> rows = new ArrayList<>();
+            for (Object entity : fallback.get()) {
+                rows.add(project(selection, entity));
+            }
+            return rows;
+        }
+
+        Resource resource = selection.resource();
+        Set<String> joins = new LinkedHashSet<>();
+        List<String> columns = new ArrayList<>();
+        for (String field : selection.fields()) {
+            int dot = field.indexOf('.');
+            if (dot < 0) {
+                columns.add("e." + field);
+            } else {
+                joins.add(resource.joins.get(field.substring(0, dot)));
+                columns.add(field);
+            }
+        }
+        StringBuilder jpql = new StringBuilder("SELECT ").append(String.join(", ", columns))
+                .append(" FROM ").append(resource.entity).append(" e");
+        for (String join : joins) {
+            jpql.append(' ').append(join);
+        }
+        if (where != null) {
+            jpql.append(" WHERE ").append(where);
+        }
+        if (orderBy != null) {
+            jpql.append(" ORDER BY ").append(orderBy);
+        }
+
+        TypedQuery<Object[]> query = em.createQuery(jpql.toString(), Object[].class);
+        parameters.forEach(query::setParameter);
+        List<Map<String, Object>> rows = new ArrayList<>();
+        for (Object[] values : query.getResultList()) {
+            rows.add(toRow(selection.fields(), values));
+        }
+        return rows;
+    }
+
+    private static Map<String, Object> project(Selection selection, Object entity) {
+        DirectFieldAccessor accessor = new DirectFieldAccessor(entity);
+        Object[] values = new Object[selection.fields().size()];
+        for (int i = 0; i < values.length; i++) {
+            String field = selection.fields().get(i);
+            int dot = field.indexOf('.');
+            if (dot < 0) {
+                values[i] = accessor.getPropertyValue(field);
+            } else {
+                Object associated = accessor.getPropertyValue(field.substring(0, dot));
+                values[i] = associated == null ? null
+                        : new DirectFieldAccessor(associated).getPropertyValue(field.substring(dot + 1));
+            }
+        }
+        return toRow(selection.fields(), values);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Map<String, Object> toRow(List<String> fields, Object[] values) {
+        Map<String, Object> row = new LinkedHashMap<>();
+        for (int i = 0; i < fields.size(); i++) {
+            String field = fields.get(i);
+            int dot = field.indexOf('.');
+            if (dot < 0) {
+                row.put(field, values[i]);
+            } else {
+                ((Map<String, Object>) row.computeIfAbsent(field.substring(0, dot), key -> new LinkedHashMap<>()))
+                        .put(field.substring(dot + 1), values[i]);
+            }
+        }
+        // A missing association comes back as all nulls; show it as null like the full entity does
+        row.replaceAll((key, value) -> value instanceof Map<?, ?> nested
+                && nested.values().stream().allMatch(v -> v == null) ? null : value);
+        return row;
+    }
+}
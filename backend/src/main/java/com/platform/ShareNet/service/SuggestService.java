@@ -0,0 +1,245 @@
+package com.platform.ShareNet.service;
+
+import com.platform.ShareNet.model.Item;
+import com.platform.ShareNet.model.ItemStats;
+import com.platform.ShareNet.repository.ItemRepository;
+import com.platform.ShareNet.repository.ItemStatsRepository;
+import com.platform.ShareNet.util.CompletionTrie;
+import com.platform.ShareNet.util.LongObjectHashMap;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Prefix completions for the browse search box, over the names and categories of available
+ * items.
+ *
+ * Each field has a {@link CompletionTrie} keyed by the normalized text (lowercase, single
+ * spaces). A key's weight is the summed popularity of the items carrying it, one plus their
+ * views plus {@code suggest.open-weight} per detail open, so every trie node already knows its
+ * top completions. The tries are built once the application is ready, off the lock, and until
+ * then queries find nothing. Saved items are applied as they commit; popularity moves slowly, so
+ * weights are refreshed by a periodic rebuild rather than on every view.
+ */
+@Service
+@Lazy(false)
+public class SuggestService {
+
+    private static final Logger logger = LoggerFactory.getLogger(SuggestService.class);
+
+    @Autowired
+    private ItemRepository itemRepository;
+
+    @Autowired
+    private ItemStatsRepository itemStatsRepository;
+
+    @Autowired
+    private CacheCoherenceService cacheCoherenceService;
+
+    private final int topK;
+    private final long openWeight;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    // All guarded by lock
+    private Index index;
+    private boolean loaded;
+    private List<Item> savedDuringRebuild;
+
+    public SuggestService(@Value("${suggest.top-k:10}") int topK,
+            @Value("${suggest.open-weight:3}") long openWeight) {
+        this.topK = topK;
+        this.openWeight = openWeight;
+        this.index = new Index(topK);
+    }
+
+    public record Suggestion(String text, String type, int count) {
+    }
+
+    private record Entry(String nameKey, String name, String categoryKey, String category, long weight) {
+    }
+
+    private static final class Index {
+
+        final CompletionTrie names;
+        final CompletionTrie categories;
+        final LongObjectHashMap<Entry> entries = new LongObjectHashMap<>();
+
+        Index(int topK) {
+            names = new CompletionTrie(topK);
+            categories = new CompletionTrie(topK);
+        }
+
+        void put(long itemId, Entry entry) {
+            Entry previous = entry == null ? entries.remove(itemId) : entries.put(itemId, entry);
+            if (previous != null) {
+                apply(previous, -1);
+            }
+            if (entry != null) {
+                apply(entry, 1);
+            }
+        }
+
+        private void apply(Entry entry, int sign) {
+            if (entry.nameKey() != null) {
+                names.add(entry.nameKey(), sign > 0 ? entry.name() : null, sign * entry.weight(), sign);
+            }
+            if (entry.categoryKey() != null) {
+                categories.add(entry.categoryKey(), sign > 0 ? entry.category() : null, sign * entry.weight(), sign);
+            }
+        }
+    }
+
+    @PostConstruct
+    public void subscribe() {
+        cacheCoherenceService.subscribe(CacheCoherenceService.ITEM, (itemId, local) -> {
+            if (!local && itemId != null) {
+                itemRepository.findById(itemId).ifPresent(this::onItemSaved);
+            }
+        });
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        try {
+            rebuild();
+        } catch (Exception e) {
+            // The next scheduled rebuild tries again
+            logger.error("Failed to build suggestions: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Matching categories first, then item names, each best first; at most {@code limit} of
+     * each and never more than {@code suggest.top-k}.
+     */
+    public List<Suggestion> suggest(String query, int limit) {
+        String prefix = normalize(query);
+        if (prefix == null) {
+            return List.of();
+        }
+        List<Suggestion> suggestions = new ArrayList<>();
+        lock.readLock().lock();
+        try {
+            for (CompletionTrie.Completion completion : index.categories.complete(prefix, limit)) {
+                suggestions.add(new Suggestion(completion.display(), "category", completion.count()));
+            }
+            for (CompletionTrie.Completion completion : index.names.complete(prefix, limit)) {
+                suggestions.add(new Suggestion(completion.display(), "name", completion.count()));
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        return suggestions;
+    }
+
+    public void onItemSaved(Item item) {
+        if (item == null || item.getId() == null) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            if (savedDuringRebuild != null) {
+                savedDuringRebuild.add(item);
+            }
+            // Before the first build the tries are empty and the build reads the item anyway
+            if (loaded) {
+                Entry previous = index.entries.get(item.getId());
+                index.put(item.getId(), entry(item, previous == null ? 1 : previous.weight()));
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Builds both tries with current popularity, off the lock, then swaps them in. Items saved
+     * while building are applied again to the new tries.
+     */
+    @Scheduled(fixedDelayString = "${suggest.rebuild-interval-ms:600000}",
+            initialDelayString = "${suggest.rebuild-interval-ms:600000}")
+    public void rebuild() {
+        lock.writeLock().lock();
+        try {
+            if (savedDuringRebuild != null) {
+                return;
+            }
+            savedDuringRebuild = new ArrayList<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+        Index rebuilt = null;
+        try {
+            rebuilt = build();
+        } finally {
+            lock.writeLock().lock();
+            try {
+                if (rebuilt != null) {
+                    for (Item item : savedDuringRebuild) {
+                        Entry previous = rebuilt.entries.get(item.getId());
+                        rebuilt.put(item.getId(), entry(item, previous == null ? 1 : previous.weight()));
+                    }
+                    index = rebuilt;
+                    loaded = true;
+                }
+                savedDuringRebuild = null;
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+        logger.debug("Rebuilt suggestions: {} names ({} trie nodes), {} categories",
+                rebuilt.names.size(), rebuilt.names.nodeCount(), rebuilt.categories.size());
+    }
+
+    private Index build() {
+        LongObjectHashMap<ItemStats> stats = new LongObjectHashMap<>();
+        for (ItemStats row : itemStatsRepository.findAll()) {
+            stats.put(row.getItemId(), row);
+        }
+        Index built = new Index(topK);
+        for (Item item : itemRepository.findAll()) {
+            ItemStats row = stats.get(item.getId());
+            long weight = row == null ? 1 : 1 + row.getViews() + openWeight * row.getDetailOpens();
+            built.put(item.getId(), entry(item, weight));
+        }
+        return built;
+    }
+
+    // Withdrawn listings are not suggested
+    private static Entry entry(Item item, long weight) {
+        if (!item.isAvailable()) {
+            return null;
+        }
+        String nameKey = normalize(item.getName());
+        String categoryKey = normalize(item.getCategory());
+        if (nameKey == null && categoryKey == null) {
+            return null;
+        }
+        return new Entry(nameKey, nameKey == null ? null : collapse(item.getName()),
+                categoryKey, categoryKey == null ? null : collapse(item.getCategory()), weight);
+    }
+
+    static String normalize(String text) {
+        if (text == null) {
+            return null;
+        }
+        String normalized = collapse(text).toLowerCase(Locale.ROOT);
+        return normalized.isEmpty() ? null : normalized;
+    }
+
+    private static String collapse(String text) {
+        return text.trim().replaceAll("\\s+", " ");
+    }
+}
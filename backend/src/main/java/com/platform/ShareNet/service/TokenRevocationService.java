@@ -0,0 +1,159 @@
+package com.platform.ShareNet.service;
+
+import com.platform.ShareNet.model.RevokedToken;
+import com.platform.ShareNet.repository.RevokedTokenRepository;
+import com.platform.ShareNet.util.BloomFilter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Revocation list for JWTs, keyed by their {@code jti} claim.
+ *
+ * Revocations are stored in {@code revoked_tokens} and mirrored in memory: a Bloom filter that
+ * rules out almost every live token in a few bit probes, backed by an exact set that settles
+ * the filter's false positives. Neither check touches the database. Entries are dropped once
+ * their token has expired, and revocations made by other instances are picked up every
+ * {@code revocation.refresh-interval-ms}.
+ */
+@Service
+@Lazy(false)
+public class TokenRevocationService {
+
+    private static final Logger logger = LoggerFactory.getLogger(TokenRevocationService.class);
+
+    @Autowired
+    private RevokedTokenRepository revokedTokenRepository;
+
+    private final long expectedEntries;
+    private final double falsePositiveRate;
+    private final Duration refreshOverlap;
+
+    // jti -> token expiry
+    private final ConcurrentMap<String, LocalDateTime> revoked = new ConcurrentHashMap<>();
+    // Replaced rather than cleared; writers hold the lock on this
+    private volatile BloomFilter filter;
+    private long filterCapacity;
+    private volatile LocalDateTime refreshedUntil;
+
+    public TokenRevocationService(@Value("${revocation.expected-entries:100000}") long expectedEntries,
+            @Value("${revocation.false-positive-rate:0.01}") double falsePositiveRate,
+            @Value("${revocation.refresh-overlap:1m}") Duration refreshOverlap) {
+        this.expectedEntries = expectedEntries;
+        this.falsePositiveRate = falsePositiveRate;
+        this.refreshOverlap = refreshOverlap;
+        this.filter = new BloomFilter(expectedEntries, falsePositiveRate);
+        this.filterCapacity = expectedEntries;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        LocalDateTime now = LocalDateTime.now();
+        try {
+            List<RevokedToken> tokens = revokedTokenRepository.findByExpiresAtAfter(now);
+            synchronized (this) {
+                for (RevokedToken token : tokens) {
+                    remember(token.getId(), token.getExpiresAt());
+                }
+                refreshedUntil = now;
+            }
+            logger.debug("Loaded {} revoked tokens", tokens.size());
+        } catch (Exception e) {
+            logger.warn("Failed to load revoked tokens: " + e.getMessage());
+        }
+    }
+
+    public boolean isRevoked(String tokenId) {
+        return tokenId != null && filter.mightContain(tokenId) && revoked.containsKey(tokenId);
+    }
+
+    /**
+     * Revokes a token until {@code expiresAt}. Revoking an already revoked token does nothing.
+     */
+    public void revoke(String tokenId, Long userId, LocalDateTime expiresAt) {
+        if (revoked.containsKey(tokenId) || !expiresAt.isAfter(LocalDateTime.now())) {
+            return;
+        }
+        revokedTokenRepository.save(new RevokedToken(tokenId, userId, LocalDateTime.now(), expiresAt));
+        synchronized (this) {
+            remember(tokenId, expiresAt);
+        }
+    }
+
+    public int size() {
+        return revoked.size();
+    }
+
+    // Picks up revocations made by other instances since the last refresh
+    @Scheduled(fixedDelayString = "${revocation.refresh-interval-ms:5000}")
+    public void refresh() {
+        LocalDateTime since = refreshedUntil;
+        if (since == null) {
+            return;
+        }
+        LocalDateTime now = LocalDateTime.now();
+        try {
+            // Overlap the previous window for clock skew and transactions committed late
+            List<RevokedToken> tokens = revokedTokenRepository.findByRevokedAtAfter(since.minus(refreshOverlap));
+            synchronized (this) {
+                for (RevokedToken token : tokens) {
+                    if (token.getExpiresAt().isAfter(now)) {
+                        remember(token.getId(), token.getExpiresAt());
+                    }
+                }
+                refreshedUntil = now;
+            }
+        } catch (Exception e) {
+            logger.warn("Failed to refresh revoked tokens: " + e.getMessage());
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${revocation.cleanup-interval-ms:600000}")
+    public void purgeExpired() {
+        LocalDateTime now = LocalDateTime.now();
+        synchronized (this) {
+            if (revoked.values().removeIf(expiresAt -> !expiresAt.isAfter(now))) {
+                // Bloom filters cannot forget, so start a fresh one from what is left
+                rebuild(Math.max(expectedEntries, 2L * revoked.size()));
+            }
+        }
+        try {
+            int removed = revokedTokenRepository.deleteExpired(now);
+            if (removed > 0) {
+                logger.debug("Purged {} expired revoked tokens", removed);
+            }
+        } catch (Exception e) {
+            logger.warn("Failed to purge revoked tokens: " + e.getMessage());
+        }
+    }
+
+    // Callers hold the lock, so a rebuild cannot miss an entry added while it runs. The exact
+    // set is written first: a reader that sees the filter bit also sees the entry.
+    private void remember(String tokenId, LocalDateTime expiresAt) {
+        revoked.put(tokenId, expiresAt);
+        filter.add(tokenId);
+        if (revoked.size() > filterCapacity) {
+            // Past its sizing the false-positive rate climbs quickly
+            rebuild(2L * revoked.size());
+        }
+    }
+
+    private void rebuild(long capacity) {
+        BloomFilter rebuilt = new BloomFilter(capacity, falsePositiveRate);
+        revoked.keySet().forEach(rebuilt::add);
+        filter = rebuilt;
+        filterCapacity = capacity;
+    }
+}
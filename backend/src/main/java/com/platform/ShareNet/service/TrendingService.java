@@ -0,0 +1,367 @@
+package com.platform.ShareNet.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.platform.ShareNet.model.Item;
+import com.platform.ShareNet.repository.BorrowRequestRepository;
+import com.platform.ShareNet.repository.ItemRepository;
+import com.platform.ShareNet.util.CountMinSketch;
+import com.platform.ShareNet.util.Geohash;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Trending items, overall, per category and per geohash cell.
+ *
+ * Views, detail opens and new borrow requests are queued by the request threads and applied by
+ * one drain task. Each event adds its weight to a count-min sketch of exponentially decayed
+ * item scores (half-life {@code trending.half-life}), and the item's new score is offered to a
+ * bounded top-K list for every scope it belongs to. Reads copy at most K published entries per
+ * scope, so memory and read cost do not grow with the catalogue.
+ *
+ * Decay uses a moving landmark: an event at time t weighs {@code w * 2^((t - landmark) / halfLife)},
+ * so older scores never need touching until the factor grows large, when everything is rescaled
+ * once. Borrow requests arrive through the cache change log on every instance; views and opens
+ * are counted by the instance that served them.
+ */
+@Service
+@Lazy(false)
+public class TrendingService {
+
+    private static final Logger logger = LoggerFactory.getLogger(TrendingService.class);
+
+    public static final String ALL = "all";
+
+    // Rescale before 2^x loses precision against fresh weights
+    private static final double MAX_EXPONENT = 40;
+
+    private static final Attributes MISSING = new Attributes(List.of());
+
+    @Autowired
+    private ItemRepository itemRepository;
+
+    @Autowired
+    private BorrowRequestRepository borrowRequestRepository;
+
+    @Autowired
+    private CacheCoherenceService cacheCoherenceService;
+
+    private final double viewWeight;
+    private final double openWeight;
+    private final double requestWeight;
+    private final double halfLifeMillis;
+    private final int topK;
+    private final int precision;
+
+    private final ArrayBlockingQueue<Event> events;
+    private final LongAdder dropped = new LongAdder();
+    private final ZoneId zone = ZoneId.systemDefault();
+
+    // Drain-thread state, guarded by this
+    private final CountMinSketch sketch;
+    private final Cache<String, TopK> scopes;
+    private long landmark = System.currentTimeMillis();
+
+    private final Cache<Long, Attributes> attributes;
+
+    public TrendingService(@Value("${trending.view-weight:1}") double viewWeight,
+            @Value("${trending.open-weight:3}") double openWeight,
+            @Value("${trending.request-weight:10}") double requestWeight,
+            @Value("${trending.half-life:6h}") Duration halfLife,
+            @Value("${trending.top-k:50}") int topK,
+            @Value("${trending.geohash-precision:5}") int precision,
+            @Value("${trending.max-scopes:4096}") int maxScopes,
+            @Value("${trending.sketch-depth:4}") int sketchDepth,
+            @Value("${trending.sketch-width:4096}") int sketchWidth,
+            @Value("${trending.queue-capacity:65536}") int queueCapacity) {
+        this.viewWeight = viewWeight;
+        this.openWeight = openWeight;
+        this.requestWeight = requestWeight;
+        this.halfLifeMillis = halfLife.toMillis();
+        this.topK = Math.max(1, topK);
+        this.precision = precision;
+        this.events = new ArrayBlockingQueue<>(queueCapacity);
+        this.sketch = new CountMinSketch(sketchDepth, sketchWidth);
+        this.scopes = Caffeine.newBuilder().maximumSize(maxScopes).build();
+        this.attributes = Caffeine.newBuilder().maximumSize(50_000).build();
+    }
+
+    @PostConstruct
+    public void subscribe() {
+        cacheCoherenceService.subscribe(CacheCoherenceService.ITEM, (itemId, local) -> {
+            if (itemId == null) {
+                attributes.invalidateAll();
+            } else {
+                attributes.invalidate(itemId);
+            }
+        });
+        // A request's first change-log entry is its creation, still PENDING when seen
+        cacheCoherenceService.subscribe(CacheCoherenceService.BORROW_REQUEST, (requestId, local) ->
+                borrowRequestRepository.findById(requestId)
+                        .filter(request -> "PENDING".equals(request.getStatus()) && request.getCreatedAt() != null)
+                        .ifPresent(request -> enqueue(request.getItemId(), requestWeight, millis(request.getCreatedAt()))));
+    }
+
+    // Replays recent borrow requests so a restart does not start from nothing
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        try {
+            LocalDateTime since = LocalDateTime.now().minus(Duration.ofMillis((long) (4 * halfLifeMillis)));
+            List<Object[]> recent = borrowRequestRepository.findItemIdsCreatedSince(since);
+            synchronized (this) {
+                for (Object[] row : recent) {
+                    if (row[0] != null && row[1] != null) {
+                        apply(new Event((Long) row[0], requestWeight, millis((LocalDateTime) row[1])));
+                    }
+                }
+                publish();
+            }
+            logger.info("Replayed {} borrow requests into trending", recent.size());
+        } catch (Exception e) {
+            logger.error("Failed to warm up trending: " + e.getMessage());
+        }
+    }
+
+    public void recordViews(Collection<Long> itemIds) {
+        long now = System.currentTimeMillis();
+        for (Long itemId : itemIds) {
+            enqueue(itemId, viewWeight, now);
+        }
+    }
+
+    public void recordOpen(Long itemId) {
+        enqueue(itemId, openWeight, System.currentTimeMillis());
+    }
+
+    private void enqueue(Long itemId, double weight, long at) {
+        if (itemId != null && weight > 0 && !events.offer(new Event(itemId, weight, at))) {
+            dropped.increment();
+        }
+    }
+
+    /**
+     * Up to {@code limit} item ids, best first, for the category (or all) around the point (or
+     * anywhere). Around a point, the cell holding it and its eight neighbours are merged.
+     */
+    public List<Long> trending(String category, Double latitude, Double longitude, int limit) {
+        String prefix = category == null || category.isBlank() ? null : "category:" + normalize(category);
+        List<Ranked> lists = new ArrayList<>();
+        if (latitude != null && longitude != null) {
+            for (String cell : Geohash.neighbourhood(latitude, longitude, precision)) {
+                lists.add(published(prefix == null ? "cell:" + cell : prefix + "|cell:" + cell));
+            }
+        } else {
+            lists.add(published(prefix == null ? ALL : prefix));
+        }
+        if (lists.size() == 1) {
+            Ranked ranked = lists.get(0);
+            List<Long> ids = new ArrayList<>(Math.min(limit, ranked.ids.length));
+            for (int i = 0; i < ranked.ids.length && ids.size() < limit; i++) {
+                ids.add(ranked.ids[i]);
+            }
+            return ids;
+        }
+        // Cells do not overlap, so an item appears in at most one list
+        List<long[]> merged = new ArrayList<>();
+        for (Ranked ranked : lists) {
+            for (int i = 0; i < ranked.ids.length; i++) {
+                merged.add(new long[] {ranked.ids[i], Double.doubleToLongBits(ranked.scores[i])});
+            }
+        }
+        merged.sort((a, b) -> Double.compare(Double.longBitsToDouble(b[1]), Double.longBitsToDouble(a[1])));
+        List<Long> ids = new ArrayList<>(Math.min(limit, merged.size()));
+        for (int i = 0; i < merged.size() && ids.size() < limit; i++) {
+            ids.add(merged.get(i)[0]);
+        }
+        return ids;
+    }
+
+    private Ranked published(String scope) {
+        TopK list = scopes.getIfPresent(scope);
+        return list == null ? Ranked.EMPTY : list.published;
+    }
+
+    @Scheduled(fixedDelayString = "${trending.drain-interval-ms:200}")
+    public synchronized void drain() {
+        List<Event> batch = new ArrayList<>();
+        events.drainTo(batch);
+        if (batch.isEmpty()) {
+            return;
+        }
+        for (Event event : batch) {
+            try {
+                apply(event);
+            } catch (Exception e) {
+                logger.warn("Failed to apply trending event for item {}: {}", event.itemId(), e.getMessage());
+            }
+        }
+        publish();
+        long droppedEvents = dropped.sumThenReset();
+        if (droppedEvents > 0) {
+            logger.warn("Dropped {} trending events; the queue was full", droppedEvents);
+        }
+    }
+
+    private void apply(Event event) {
+        Attributes item = attributes.get(event.itemId(), this::load);
+        if (item == MISSING) {
+            return;
+        }
+        double exponent = (event.at() - landmark) / halfLifeMillis;
+        if (exponent > MAX_EXPONENT) {
+            rescale(event.at());
+            exponent = 0;
+        }
+        double score = sketch.add(event.itemId(), event.weight() * Math.pow(2, exponent));
+        for (String scope : item.scopes()) {
+            scopes.get(scope, name -> new TopK(topK)).offer(event.itemId(), score);
+        }
+    }
+
+    private void rescale(long now) {
+        double factor = Math.pow(2, -(now - landmark) / halfLifeMillis);
+        sketch.scale(factor);
+        for (TopK list : scopes.asMap().values()) {
+            list.scale(factor);
+        }
+        landmark = now;
+    }
+
+    private void publish() {
+        for (TopK list : scopes.asMap().values()) {
+            list.publish();
+        }
+    }
+
+    private Attributes load(Long itemId) {
+        Item item = itemRepository.findById(itemId).orElse(null);
+        if (item == null) {
+            return MISSING;
+        }
+        String category = "category:" + normalize(item.getCategory());
+        List<String> scopes = new ArrayList<>(4);
+        scopes.add(ALL);
+        scopes.add(category);
+        // 0,0 is what an item without a location has
+        if (item.getLatitude() != 0 || item.getLongitude() != 0) {
+            String cell = "cell:" + Geohash.encode(item.getLatitude(), item.getLongitude(), precision);
+            scopes.add(cell);
+            scopes.add(category + "|" + cell);
+        }
+        return new Attributes(scopes);
+    }
+
+    private long millis(LocalDateTime time) {
+        return time.atZone(zone).toInstant().toEpochMilli();
+    }
+
+    private static String normalize(String category) {
+        return category == null || category.isBlank() ? FacetIndexService.UNSPECIFIED : category.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private record Event(long itemId, double weight, long at) {
+    }
+
+    private record Attributes(List<String> scopes) {
+    }
+
+    private record Ranked(long[] ids, double[] scores) {
+        static final Ranked EMPTY = new Ranked(new long[0], new double[0]);
+    }
+
+    /**
+     * The K best items of one scope. Written by the drain thread only; readers see the copy made
+     * by the last {@link #publish()}.
+     */
+    private static final class TopK {
+
+        private final long[] ids;
+        private final double[] scores;
+        private final Map<Long, Integer> positions = new HashMap<>();
+        private int size;
+        private boolean dirty;
+
+        volatile Ranked published = Ranked.EMPTY;
+
+        TopK(int k) {
+            ids = new long[k];
+            scores = new double[k];
+        }
+
+        void offer(long id, double score) {
+            Integer position = positions.get(id);
+            if (position != null) {
+                scores[position] = Math.max(scores[position], score);
+                dirty = true;
+                return;
+            }
+            if (size < ids.length) {
+                ids[size] = id;
+                scores[size] = score;
+                positions.put(id, size++);
+                dirty = true;
+                return;
+            }
+            int lowest = 0;
+            for (int i = 1; i < size; i++) {
+                if (scores[i] < scores[lowest]) {
+                    lowest = i;
+                }
+            }
+            if (score > scores[lowest]) {
+                positions.remove(ids[lowest]);
+                ids[lowest] = id;
+                scores[lowest] = score;
+                positions.put(id, lowest);
+                dirty = true;
+            }
+        }
+
+        void scale(double factor) {
+            for (int i = 0; i < size; i++) {
+                scores[i] *= factor;
+            }
+            dirty = true;
+        }
+
+        void publish() {
+            if (!dirty) {
+                return;
+            }
+            Integer[] order = new Integer[size];
+            for (int i = 0; i < size; i++) {
+                order[i] = i;
+            }
+            Arrays.sort(order, (a, b) -> Double.compare(scores[b], scores[a]));
+            long[] rankedIds = new long[size];
+            double[] rankedScores = new double[size];
+            for (int i = 0; i < size; i++) {
+                rankedIds[i] = ids[order[i]];
+                rankedScores[i] = scores[order[i]];
+            }
+            published = new Ranked(rankedIds, rankedScores);
+            dirty = false;
+        }
+    }
+}
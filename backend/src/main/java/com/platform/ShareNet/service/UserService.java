@@ -1,5 +1,7 @@
 package com.platform.ShareNet.service;
 
+import java.time.LocalDateTime;
+import java.time.ZoneId;
 import java.util.Optional;
 
 import org.springframework.beans.factory.annotation.Autowired;
@@ -9,9 +11,11 @@ import org.springframework.security.core.Authentication;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import com.platform.ShareNet.model.User;
 import com.platform.ShareNet.repository.UserRepository;
+import io.jsonwebtoken.Claims;
 
 @Service
 public class UserService {
@@ -28,14 +32,27 @@ public class UserService {
     @Autowired
     private AuthenticationManager authenticationManager;
 
+    @Autowired
+    private CatalogSnapshotService catalogSnapshotService;
+
+    @Autowired
+    private TokenRevocationService tokenRevocationService;
+
+    @Autowired
+    private CacheCoherenceService cacheCoherenceService;
+
+    @Autowired
+    private NearCacheService nearCacheService;
+
     public User getUserById(Long id) {
-        return userRepository.findById(id).orElse(null);
+        return nearCacheService.user(id);
     }
 
     public User getUserByEmail(String email) {
         return userRepository.findByEmail(email).orElse(null);
     }
 
+    @Transactional
     public User registerUser(User user) {
         // Check if user already exists
         if (userRepository.findByEmail(user.getEmail()).isPresent()) {
@@ -43,7 +60,11 @@ public class UserService {
         }
         // Hash password before saving
         user.setPassword(passwordEncoder.encode(user.getPassword()));
-        return userRepository.save(user);
+        User saved = userRepository.save(user);
+        // The id may have been looked up, and cached as missing, here or on another instance
+        cacheCoherenceService.record(CacheCoherenceService.USER, saved.getId());
+        AfterCommit.run(() -> nearCacheService.evictUser(saved.getId()));
+        return saved;
     }
 
     public String loginUser(String email, String password) {
@@ -62,17 +83,45 @@ public class UserService {
         return null;
     }
 
+    /**
+     * Revokes the given token for the rest of its lifetime.
+     *
+     * @throws IllegalArgumentException if the token carries no jti (issued before revocation existed)
+     */
+    public void logoutUser(String token) {
+        Claims claims = jwtService.extractAllClaims(token);
+        if (claims.getId() == null) {
+            throw new IllegalArgumentException("Token cannot be revoked; it expires at " + claims.getExpiration());
+        }
+        LocalDateTime expiresAt = LocalDateTime.ofInstant(claims.getExpiration().toInstant(), ZoneId.systemDefault());
+        tokenRevocationService.revoke(claims.getId(), claims.get("userId", Long.class), expiresAt);
+    }
+
+    @Transactional
     public User addCredit(Long userId, double amount) {
         Optional<User> userOpt = userRepository.findById(userId);
         if (userOpt.isPresent()) {
             User user = userOpt.get();
             user.setCreditPoints(user.getCreditPoints() + amount);
-            return userRepository.save(user);
+            User saved = userRepository.save(user);
+            cacheCoherenceService.record(CacheCoherenceService.USER, saved.getId());
+            AfterCommit.run(() -> refreshCaches(saved.getId()));
+            return saved;
         }
         return null;
     }
 
+    @Transactional
     public User updateUser(User user) {
-        return userRepository.save(user);
+        User saved = userRepository.save(user);
+        cacheCoherenceService.record(CacheCoherenceService.USER, saved.getId());
+        AfterCommit.run(() -> refreshCaches(saved.getId()));
+        return saved;
+    }
+
+    private void refreshCaches(Long userId) {
+        // Owners are embedded in the catalogue documents
+        catalogSnapshotService.onOwnerChanged(userId);
+        nearCacheService.evictUser(userId);
     }
 }
@@ -0,0 +1,369 @@
+package com.platform.ShareNet.util;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Radix trie from normalized keys to weighted completions, answering "the best K keys starting
+ * with this prefix" without walking the subtree.
+ *
+ * Edges carry whole label runs, so a node exists only where keys branch or end. Every node whose
+ * subtree holds more than K keys keeps its K best completions; smaller subtrees are walked (they
+ * have at most K keys by definition). An update re-ranks only the nodes on the key's path. Not
+ * thread-safe.
+ */
+public class CompletionTrie {
+
+    private static final char[] NO_KEYS = new char[0];
+    private static final Node[] NO_CHILDREN = new Node[0];
+
+    // Heavier first, then shorter, then alphabetical
+    private static final Comparator<Completion> ORDER = (a, b) -> {
+        if (a.weight != b.weight) {
+            return a.weight > b.weight ? -1 : 1;
+        }
+        if (a.key.length() != b.key.length()) {
+            return a.key.length() - b.key.length();
+        }
+        return a.key.compareTo(b.key);
+    };
+
+    private final int k;
+    private final Node root = new Node(NO_KEYS);
+    private int size;
+    private int nodes = 1;
+
+    public CompletionTrie(int k) {
+        this.k = Math.max(1, k);
+    }
+
+    /**
+     * A key, the text to show for it, its weight and how many entries (items) share it.
+     */
+    public static final class Completion {
+
+        private final String key;
+        private String display;
+        private long weight;
+        private int count;
+
+        private Completion(String key, String display) {
+            this.key = key;
+            this.display = display;
+        }
+
+        public String key() {
+            return key;
+        }
+
+        public String display() {
+            return display;
+        }
+
+        public long weight() {
+            return weight;
+        }
+
+        public int count() {
+            return count;
+        }
+    }
+
+    private static final class Node {
+
+        char[] label;
+        char[] keys = NO_KEYS;
+        Node[] children = NO_CHILDREN;
+        Completion completion;
+        int subtreeSize;
+        Completion[] top;
+
+        Node(char[] label) {
+            this.label = label;
+        }
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public int nodeCount() {
+        return nodes;
+    }
+
+    /**
+     * Adds {@code weight} and {@code count} (either may be negative) to {@code key}, creating it
+     * if needed; the key is removed once its count drops to zero. {@code display} replaces the
+     * shown text when not null.
+     */
+    public void add(String key, String display, long weight, int count) {
+        if (key.isEmpty()) {
+            return;
+        }
+        List<Node> path = new ArrayList<>();
+        Node node = count > 0 ? insert(key, path) : find(key, path);
+        if (node == null) {
+            return;
+        }
+        if (node.completion == null) {
+            node.completion = new Completion(key, display != null ? display : key);
+            size++;
+            for (Node onPath : path) {
+                onPath.subtreeSize++;
+            }
+        } else if (display != null && count > 0) {
+            node.completion.display = display;
+        }
+        Completion changed = node.completion;
+        changed.weight += weight;
+        changed.count += count;
+        boolean removed = changed.count <= 0;
+        if (removed) {
+            node.completion = null;
+            size--;
+            for (Node onPath : path) {
+                onPath.subtreeSize--;
+            }
+            prune(path);
+        }
+        if (weight == 0 && !removed && count <= 0) {
+            return;
+        }
+        for (int i = path.size() - 1; i >= 0; i--) {
+            rank(path.get(i), changed, removed || weight < 0);
+        }
+    }
+
+    public Completion get(String key) {
+        Node node = find(key, new ArrayList<>());
+        return node == null ? null : node.completion;
+    }
+
+    /**
+     * The best {@code limit} (at most K) completions of keys starting with {@code prefix}.
+     */
+    public List<Completion> complete(String prefix, int limit) {
+        Node node = root;
+        int matched = 0;
+        while (matched < prefix.length()) {
+            Node child = child(node, prefix.charAt(matched));
+            if (child == null) {
+                return List.of();
+            }
+            int common = commonPrefix(child.label, prefix, matched);
+            if (matched + common == prefix.length()) {
+                node = child;
+                break;
+            }
+            if (common < child.label.length) {
+                return List.of();
+            }
+            matched += common;
+            node = child;
+        }
+        Completion[] best = node.top != null ? node.top : collect(node);
+        int n = Math.min(Math.min(limit, k), best.length);
+        return Arrays.asList(Arrays.copyOf(best, n));
+    }
+
+    // Descends to the node for key, splitting an edge or adding a leaf when the key ends inside one
+    private Node insert(String key, List<Node> path) {
+        Node node = root;
+        path.add(node);
+        int matched = 0;
+        while (matched < key.length()) {
+            Node child = child(node, key.charAt(matched));
+            if (child == null) {
+                Node leaf = new Node(key.substring(matched).toCharArray());
+                attach(node, leaf);
+                nodes++;
+                path.add(leaf);
+                return leaf;
+            }
+            int common = commonPrefix(child.label, key, matched);
+            if (common < child.label.length) {
+                Node split = new Node(Arrays.copyOf(child.label, common));
+                split.subtreeSize = child.subtreeSize;
+                child.label = Arrays.copyOfRange(child.label, common, child.label.length);
+                split.top = child.top;
+                replace(node, split);
+                attach(split, child);
+                nodes++;
+                child = split;
+            }
+            matched += common;
+            node = child;
+            path.add(node);
+        }
+        return node;
+    }
+
+    private Node find(String key, List<Node> path) {
+        Node node = root;
+        path.add(node);
+        int matched = 0;
+        while (matched < key.length()) {
+            Node child = child(node, key.charAt(matched));
+            if (child == null) {
+                return null;
+            }
+            int common = commonPrefix(child.label, key, matched);
+            if (common < child.label.length) {
+                return null;
+            }
+            matched += common;
+            node = child;
+            path.add(node);
+        }
+        return node;
+    }
+
+    // Drops the emptied end of the path and merges a node left with a single child into it
+    private void prune(List<Node> path) {
+        for (int i = path.size() - 1; i > 0; i--) {
+            Node node = path.get(i);
+            Node parent = path.get(i - 1);
+            if (node.completion != null) {
+                return;
+            }
+            if (node.children.length == 0) {
+                detach(parent, node);
+                nodes--;
+                path.remove(i);
+                continue;
+            }
+            if (node.children.length == 1) {
+                Node only = node.children[0];
+                char[] label = Arrays.copyOf(node.label, node.label.length + only.label.length);
+                System.arraycopy(only.label, 0, label, node.label.length, only.label.length);
+                only.label = label;
+                replace(parent, only);
+                nodes--;
+                path.set(i, only);
+            }
+            return;
+        }
+    }
+
+    /**
+     * Brings a node's top list up to date after {@code changed} moved. A completion that gained
+     * weight can only move up, which needs no other candidates; one that lost weight or left
+     * the subtree while in the list forces a full merge of the children's lists.
+     */
+    private void rank(Node node, Completion changed, boolean demoted) {
+        if (node.subtreeSize <= k) {
+            node.top = null;
+            return;
+        }
+        if (node.top == null || node.top.length < k) {
+            merge(node);
+            return;
+        }
+        int index = indexOf(node.top, changed);
+        if (demoted) {
+            if (index >= 0) {
+                merge(node);
+            }
+            return;
+        }
+        if (index < 0) {
+            if (ORDER.compare(changed, node.top[k - 1]) >= 0) {
+                return;
+            }
+            index = k - 1;
+        }
+        // Shift the completion up to its place; the last entry falls off when it was not listed
+        Completion[] top = node.top.clone();
+        while (index > 0 && ORDER.compare(changed, top[index - 1]) < 0) {
+            top[index] = top[index - 1];
+            index--;
+        }
+        top[index] = changed;
+        node.top = top;
+    }
+
+    private static int indexOf(Completion[] top, Completion completion) {
+        for (int i = 0; i < top.length; i++) {
+            if (top[i] == completion) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private void merge(Node node) {
+        List<Completion> candidates = new ArrayList<>();
+        if (node.completion != null) {
+            candidates.add(node.completion);
+        }
+        for (Node child : node.children) {
+            candidates.addAll(Arrays.asList(child.top != null ? child.top : collect(child)));
+        }
+        candidates.sort(ORDER);
+        node.top = candidates.subList(0, Math.min(k, candidates.size())).toArray(new Completion[0]);
+    }
+
+    // All completions under a node with at most K of them, best first
+    private Completion[] collect(Node node) {
+        List<Completion> found = new ArrayList<>();
+        gather(node, found);
+        found.sort(ORDER);
+        return found.toArray(new Completion[0]);
+    }
+
+    private static void gather(Node node, List<Completion> found) {
+        if (node.completion != null) {
+            found.add(node.completion);
+        }
+        for (Node child : node.children) {
+            gather(child, found);
+        }
+    }
+
+    private static int commonPrefix(char[] label, String key, int from) {
+        int n = Math.min(label.length, key.length() - from);
+        int i = 0;
+        while (i < n && label[i] == key.charAt(from + i)) {
+            i++;
+        }
+        return i;
+    }
+
+    private static Node child(Node node, char first) {
+        int index = Arrays.binarySearch(node.keys, first);
+        return index >= 0 ? node.children[index] : null;
+    }
+
+    private static void attach(Node parent, Node child) {
+        int index = -Arrays.binarySearch(parent.keys, child.label[0]) - 1;
+        char[] keys = new char[parent.keys.length + 1];
+        Node[] children = new Node[parent.children.length + 1];
+        System.arraycopy(parent.keys, 0, keys, 0, index);
+        System.arraycopy(parent.children, 0, children, 0, index);
+        keys[index] = child.label[0];
+        children[index] = child;
+        System.arraycopy(parent.keys, index, keys, index + 1, parent.keys.length - index);
+        System.arraycopy(parent.children, index, children, index + 1, parent.children.length - index);
+        parent.keys = keys;
+        parent.children = children;
+    }
+
+    private static void detach(Node parent, Node child) {
+        int index = Arrays.binarySearch(parent.keys, child.label[0]);
+        char[] keys = new char[parent.keys.length - 1];
+        Node[] children = new Node[parent.children.length - 1];
+        System.arraycopy(parent.keys, 0, keys, 0, index);
+        System.arraycopy(parent.children, 0, children, 0, index);
+        System.arraycopy(parent.keys, index + 1, keys, index, keys.length - index);
+        System.arraycopy(parent.children, index + 1, children, index, children.length - index);
+        parent.keys = keys;
+        parent.children = children;
+    }
+
+    // Puts node in the slot of the parent's child that starts with the same character
+    private static void replace(Node parent, Node node) {
+        parent.children[Arrays.binarySearch(parent.keys, node.label[0])] = node;
+    }
+}
@@ -0,0 +1,127 @@
+package com.platform.ShareNet.util;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.LongFunction;
+
+/**
+ * Thread-safe {@code long -> V} map: a fixed number of {@link LongObjectHashMap} stripes, each
+ * behind its own read-write lock, so readers of a stripe never block each other and writers
+ * only contend within a stripe. Null values are not allowed.
+ */
+public class ConcurrentLongObjectMap<V> {
+
+    private static final int STRIPE_BITS = 5;
+
+    private final LongObjectHashMap<V>[] stripes;
+    private final ReentrantReadWriteLock[] locks;
+
+    @SuppressWarnings("unchecked")
+    public ConcurrentLongObjectMap() {
+        int count = 1 << STRIPE_BITS;
+        stripes = new LongObjectHashMap[count];
+        locks = new ReentrantReadWriteLock[count];
+        for (int i = 0; i < count; i++) {
+            stripes[i] = new LongObjectHashMap<>();
+            locks[i] = new ReentrantReadWriteLock();
+        }
+    }
+
+    public V get(long key) {
+        int stripe = stripeOf(key);
+        ReentrantReadWriteLock.ReadLock lock = locks[stripe].readLock();
+        lock.lock();
+        try {
+            return stripes[stripe].get(key);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public boolean containsKey(long key) {
+        return get(key) != null;
+    }
+
+    public V put(long key, V value) {
+        int stripe = stripeOf(key);
+        ReentrantReadWriteLock.WriteLock lock = locks[stripe].writeLock();
+        lock.lock();
+        try {
+            return stripes[stripe].put(key, value);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public V computeIfAbsent(long key, LongFunction<V> factory) {
+        V existing = get(key);
+        if (existing != null) {
+            return existing;
+        }
+        int stripe = stripeOf(key);
+        ReentrantReadWriteLock.WriteLock lock = locks[stripe].writeLock();
+        lock.lock();
+        try {
+            return stripes[stripe].computeIfAbsent(key, factory);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public V remove(long key) {
+        int stripe = stripeOf(key);
+        ReentrantReadWriteLock.WriteLock lock = locks[stripe].writeLock();
+        lock.lock();
+        try {
+            return stripes[stripe].remove(key);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int size() {
+        int size = 0;
+        for (int i = 0; i < stripes.length; i++) {
+            locks[i].readLock().lock();
+            try {
+                size += stripes[i].size();
+            } finally {
+                locks[i].readLock().unlock();
+            }
+        }
+        return size;
+    }
+
+    /**
+     * Copy of the values, consistent per stripe but not across stripes.
+     */
+    public List<V> values() {
+        List<V> values = new ArrayList<>();
+        for (int i = 0; i < stripes.length; i++) {
+            locks[i].readLock().lock();
+            try {
+                stripes[i].forEach((key, value) -> values.add(value));
+            } finally {
+                locks[i].readLock().unlock();
+            }
+        }
+        return values;
+    }
+
+    public void clear() {
+        for (int i = 0; i < stripes.length; i++) {
+            locks[i].writeLock().lock();
+            try {
+                stripes[i].clear();
+            } finally {
+                locks[i].writeLock().unlock();
+            }
+        }
+    }
+
+    // High bits pick the stripe, the stripe's table uses the low bits of the same hash
+    private static int stripeOf(long key) {
+        return LongLongHashMap.mix(key) >>> (32 - STRIPE_BITS);
+    }
+}
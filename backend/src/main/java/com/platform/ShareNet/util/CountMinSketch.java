@@ -0,0 +1,69 @@
+package com.platform.ShareNet.util;
+
+/**
+ * Count-min sketch of non-negative {@code double} weights per {@code long} key, in a fixed
+ * {@code depth x width} table however many keys are added. Estimates never undercount; with
+ * conservative update a key only raises the rows it is lowest in, which keeps the overcount
+ * from colliding keys small. Not thread-safe.
+ */
+public class CountMinSketch {
+
+    private final int depth;
+    private final int width;
+    private final double[][] counts;
+
+    public CountMinSketch(int depth, int width) {
+        this.depth = Math.max(1, depth);
+        this.width = Math.max(1, width);
+        this.counts = new double[this.depth][this.width];
+    }
+
+    /**
+     * Adds {@code amount} to the key and returns its new estimate.
+     */
+    public double add(long key, double amount) {
+        int[] columns = new int[depth];
+        double estimate = Double.MAX_VALUE;
+        for (int row = 0; row < depth; row++) {
+            columns[row] = column(key, row);
+            estimate = Math.min(estimate, counts[row][columns[row]]);
+        }
+        double updated = estimate + amount;
+        for (int row = 0; row < depth; row++) {
+            if (counts[row][columns[row]] < updated) {
+                counts[row][columns[row]] = updated;
+            }
+        }
+        return updated;
+    }
+
+    public double estimate(long key) {
+        double estimate = Double.MAX_VALUE;
+        for (int row = 0; row < depth; row++) {
+            estimate = Math.min(estimate, counts[row][column(key, row)]);
+        }
+        return estimate;
+    }
+
+    /**
+     * Multiplies every counter by {@code factor}, e.g. to move a decay landmark.
+     */
+    public void scale(double factor) {
+        for (double[] row : counts) {
+            for (int i = 0; i < row.length; i++) {
+                row[i] *= factor;
+            }
+        }
+    }
+
+    private int column(long key, int row) {
+        return (int) Math.floorMod(mix(key + row * 0x9E3779B97F4A7C15L), (long) width);
+    }
+
+    // SplitMix64 finalizer; each row offsets the key by a different multiple of the golden ratio
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
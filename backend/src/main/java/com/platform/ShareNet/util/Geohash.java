@@ -0,0 +1,75 @@
+package com.platform.ShareNet.util;
+
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * Geohash cells: base32 strings naming a latitude/longitude rectangle, where each extra
+ * character narrows the cell (precision 5 is about 4.9 x 4.9 km at the equator).
+ */
+public final class Geohash {
+
+    private static final char[] BASE32 = "0123456789bcdefghjkmnpqrstuvwxyz".toCharArray();
+
+    private Geohash() {
+    }
+
+    public static String encode(double latitude, double longitude, int precision) {
+        double minLat = -90, maxLat = 90, minLon = -180, maxLon = 180;
+        StringBuilder hash = new StringBuilder(precision);
+        boolean lonBit = true;
+        int bit = 0;
+        int value = 0;
+        while (hash.length() < precision) {
+            if (lonBit) {
+                double mid = (minLon + maxLon) / 2;
+                if (longitude >= mid) {
+                    value = value << 1 | 1;
+                    minLon = mid;
+                } else {
+                    value <<= 1;
+                    maxLon = mid;
+                }
+            } else {
+                double mid = (minLat + maxLat) / 2;
+                if (latitude >= mid) {
+                    value = value << 1 | 1;
+                    minLat = mid;
+                } else {
+                    value <<= 1;
+                    maxLat = mid;
+                }
+            }
+            lonBit = !lonBit;
+            if (++bit == 5) {
+                hash.append(BASE32[value]);
+                bit = 0;
+                value = 0;
+            }
+        }
+        return hash.toString();
+    }
+
+    /**
+     * The cell of the point and the (up to) eight cells around it.
+     */
+    public static Set<String> neighbourhood(double latitude, double longitude, int precision) {
+        int bits = 5 * precision;
+        double cellHeight = 180 / Math.pow(2, bits / 2);
+        double cellWidth = 360 / Math.pow(2, bits - bits / 2);
+        Set<String> cells = new LinkedHashSet<>();
+        for (int dy = -1; dy <= 1; dy++) {
+            double lat = latitude + dy * cellHeight;
+            if (lat < -90 || lat > 90) {
+                continue;
+            }
+            for (int dx = -1; dx <= 1; dx++) {
+                double lon = longitude + dx * cellWidth;
+                // Wrap across the antimeridian
+                lon = ((lon + 180) % 360 + 360) % 360 - 180;
+                cells.add(encode(lat, lon, precision));
+            }
+        }
+        return cells;
+    }
+}
@@ -0,0 +1,206 @@
+package com.platform.ShareNet.util;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Hierarchical timing wheel keyed by {@code long} ids.
+ *
+ * Level 0 has one slot per tick; every higher level has slots {@code slotsPerLevel} times
+ * wider. A timer goes into the lowest level whose slot range can hold its deadline and is
+ * cascaded down a level when time reaches the start of that range, so scheduling, cancelling
+ * and expiring are all O(1) amortised. Time only moves when {@link #advance} is called.
+ *
+ * Scheduling an id that is already pending replaces its timer. Not thread-safe.
+ */
+public class TimingWheel<T> {
+
+    private final long tickMillis;
+    private final long startMillis;
+    private final int bits;
+    private final int mask;
+    private final int levels;
+
+    private final Node<T>[][] slots;
+    private final LongObjectHashMap<Node<T>> byKey = new LongObjectHashMap<>();
+
+    // Timers scheduled at or before the current tick, returned by the next advance
+    private final List<Node<T>> overdue = new ArrayList<>();
+
+    private long currentTick;
+
+    @SuppressWarnings("unchecked")
+    public TimingWheel(long tickMillis, int slotsPerLevel, int levels, long startMillis) {
+        if (Integer.bitCount(slotsPerLevel) != 1 || levels < 1 || tickMillis <= 0) {
+            throw new IllegalArgumentException("slotsPerLevel must be a power of two, levels and tickMillis positive");
+        }
+        if ((long) Integer.numberOfTrailingZeros(slotsPerLevel) * levels >= 62) {
+            throw new IllegalArgumentException("Wheel span does not fit in a long");
+        }
+        this.tickMillis = tickMillis;
+        this.startMillis = startMillis;
+        this.bits = Integer.numberOfTrailingZeros(slotsPerLevel);
+        this.mask = slotsPerLevel - 1;
+        this.levels = levels;
+        this.slots = new Node[levels][slotsPerLevel];
+    }
+
+    public int size() {
+        return byKey.size();
+    }
+
+    public boolean contains(long key) {
+        return byKey.containsKey(key);
+    }
+
+    /**
+     * Latest deadline the wheel can currently hold: the end of the top level's rotation, which
+     * is always at least {@code (slotsPerLevel - 1) * slotsPerLevel^(levels - 1)} ticks away.
+     */
+    public long horizonMillis() {
+        int topShift = bits * (levels - 1);
+        long endTick = (((currentTick >>> topShift) + mask + 1) << topShift) - 1;
+        return startMillis + endTick * tickMillis;
+    }
+
+    /**
+     * Schedules (or reschedules) {@code key}. Returns {@code false}, leaving any existing timer
+     * for the key cancelled, if the deadline lies beyond the horizon.
+     */
+    public boolean schedule(long key, long deadlineMillis, T payload) {
+        cancel(key);
+        long deadlineTick = Math.floorDiv(deadlineMillis - startMillis + tickMillis - 1, tickMillis);
+        Node<T> node = new Node<>(key, deadlineTick, payload);
+        if (!place(node)) {
+            return false;
+        }
+        byKey.put(key, node);
+        return true;
+    }
+
+    public boolean cancel(long key) {
+        Node<T> node = byKey.remove(key);
+        if (node == null) {
+            return false;
+        }
+        if (node.level < 0) {
+            overdue.remove(node);
+        } else {
+            unlink(node);
+        }
+        return true;
+    }
+
+    /**
+     * Moves time forward to {@code nowMillis} and returns the payloads of every timer that
+     * became due, in deadline order.
+     */
+    public List<T> advance(long nowMillis) {
+        List<T> expired = new ArrayList<>();
+        drainOverdue(expired);
+
+        long targetTick = Math.floorDiv(nowMillis - startMillis, tickMillis);
+        if (byKey.isEmpty()) {
+            currentTick = Math.max(currentTick, targetTick);
+            return expired;
+        }
+        while (currentTick < targetTick) {
+            currentTick++;
+            // Higher levels first, so timers cascading into a lower slot due now are handled too
+            for (int level = levels - 1; level >= 1; level--) {
+                if ((currentTick & ((1L << (bits * level)) - 1)) == 0) {
+                    cascade(level, (int) ((currentTick >>> (bits * level)) & mask));
+                }
+            }
+            // A timer cascaded down exactly on its deadline tick lands in overdue
+            drainOverdue(expired);
+            int slot = (int) (currentTick & mask);
+            Node<T> node = slots[0][slot];
+            slots[0][slot] = null;
+            while (node != null) {
+                Node<T> next = node.next;
+                byKey.remove(node.key);
+                expired.add(node.payload);
+                node = next;
+            }
+            if (byKey.isEmpty()) {
+                currentTick = targetTick;
+            }
+        }
+        return expired;
+    }
+
+    private void drainOverdue(List<T> expired) {
+        for (Node<T> node : overdue) {
+            byKey.remove(node.key);
+            expired.add(node.payload);
+        }
+        overdue.clear();
+    }
+
+    private void cascade(int level, int slot) {
+        Node<T> node = slots[level][slot];
+        slots[level][slot] = null;
+        while (node != null) {
+            Node<T> next = node.next;
+            node.prev = null;
+            node.next = null;
+            place(node);
+            node = next;
+        }
+    }
+
+    private boolean place(Node<T> node) {
+        if (node.deadlineTick <= currentTick) {
+            node.level = -1;
+            overdue.add(node);
+            return true;
+        }
+        // Lowest level whose slot for the deadline is less than one rotation ahead
+        for (int level = 0; level < levels; level++) {
+            int shift = bits * level;
+            long distance = (node.deadlineTick >>> shift) - (currentTick >>> shift);
+            if (distance <= mask) {
+                node.level = level;
+                node.slot = (int) ((node.deadlineTick >>> shift) & mask);
+                Node<T> head = slots[level][node.slot];
+                node.next = head;
+                if (head != null) {
+                    head.prev = node;
+                }
+                slots[level][node.slot] = node;
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void unlink(Node<T> node) {
+        if (node.prev != null) {
+            node.prev.next = node.next;
+        } else {
+            slots[node.level][node.slot] = node.next;
+        }
+        if (node.next != null) {
+            node.next.prev = node.prev;
+        }
+        node.prev = null;
+        node.next = null;
+    }
+
+    private static final class Node<T> {
+        final long key;
+        final long deadlineTick;
+        final T payload;
+        int level;
+        int slot;
+        Node<T> prev;
+        Node<T> next;
+
+        Node(long key, long deadlineTick, T payload) {
+            this.key = key;
+            this.deadlineTick = deadlineTick;
+            this.payload = payload;
+        }
+    }
+}
@@ -0,0 +1,180 @@
+package com.platform.ShareNet;
+
+import com.platform.ShareNet.model.Item;
+import com.platform.ShareNet.model.User;
+import com.platform.ShareNet.repository.inmemory.InMemoryBorrowRequestRepository;
+import com.platform.ShareNet.repository.inmemory.InMemoryCacheInvalidationRepository;
+import com.platform.ShareNet.repository.inmemory.InMemoryChatRepository;
+import com.platform.ShareNet.repository.inmemory.InMemoryIdempotencyRecordRepository;
+import com.platform.ShareNet.repository.inmemory.InMemoryItemRepository;
+import com.platform.ShareNet.repository.inmemory.InMemoryItemStatsRepository;
+import com.platform.ShareNet.repository.inmemory.InMemoryOutboxEventRepository;
+import com.platform.ShareNet.repository.inmemory.InMemoryRefreshTokenRepository;
+import com.platform.ShareNet.repository.inmemory.InMemoryRevokedTokenRepository;
+import com.platform.ShareNet.repository.inmemory.InMemoryTransactionManager;
+import com.platform.ShareNet.repository.inmemory.InMemoryTransactionRepository;
+import com.platform.ShareNet.repository.inmemory.InMemoryUserRepository;
+import com.platform.ShareNet.service.CacheCoherenceService;
+import com.platform.ShareNet.service.CatalogSnapshotService;
+import com.platform.ShareNet.service.ItemService;
+import com.platform.ShareNet.service.NearCacheService;
+import com.platform.ShareNet.service.UserService;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.DirectFieldAccessor;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.support.GenericApplicationContext;
+
+import java.nio.charset.StandardCharsets;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Two application instances over one database: a change made through one must reach the other's
+ * caches through the change log. The shared "database" is a parent context holding the in-memory
+ * repositories, since MySQL is not available to tests.
+ */
+class CacheCoherenceTests {
+
+    private static GenericApplicationContext database;
+    private static ConfigurableApplicationContext first;
+    private static ConfigurableApplicationContext second;
+
+    @BeforeAll
+    static void start() {
+        database = new GenericApplicationContext();
+        database.registerBean(InMemoryTransactionManager.class);
+        database.registerBean(InMemoryUserRepository.class);
+        database.registerBean(InMemoryItemRepository.class);
+        database.registerBean(InMemoryBorrowRequestRepository.class);
+        database.registerBean(InMemoryChatRepository.class);
+        database.registerBean(InMemoryTransactionRepository.class);
+        database.registerBean(InMemoryOutboxEventRepository.class);
+        database.registerBean(InMemoryIdempotencyRecordRepository.class);
+        database.registerBean(InMemoryRevokedTokenRepository.class);
+        database.registerBean(InMemoryRefreshTokenRepository.class);
+        database.registerBean(InMemoryCacheInvalidationRepository.class);
+        database.registerBean(InMemoryItemStatsRepository.class);
+        database.refresh();
+        first = instance();
+        second = instance();
+    }
+
+    private static ConfigurableApplicationContext instance() {
+        return new SpringApplicationBuilder(ShareNetApplication.class)
+                .parent(database)
+                .run("--spring.autoconfigure.exclude="
+                                + "org.springframework.boot.autoconfigure.jdbc.DataSourceAutoConfiguration,"
+                                + "org.springframework.boot.autoconfigure.jdbc.DataSourceTransactionManagerAutoConfiguration,"
+                                + "org.springframework.boot.autoconfigure.orm.jpa.HibernateJpaAutoConfiguration,"
+                                + "org.springframework.boot.autoconfigure.data.jpa.JpaRepositoriesAutoConfiguration,"
+                                + "org.springframework.boot.autoconfigure.sql.init.SqlInitializationAutoConfiguration",
+                        "--sql-profiler.enabled=false",
+                        "--server.port=0",
+                        "--coherence.poll-interval-ms=50");
+    }
+
+    @AfterAll
+    static void stop() {
+        for (ConfigurableApplicationContext context : new ConfigurableApplicationContext[] {first, second, database}) {
+            if (context != null) {
+                context.close();
+            }
+        }
+    }
+
+    @Test
+    void itemAndOwnerChangesReachTheOtherInstance() {
+        User owner = new User();
+        owner.setName("Coherence Owner");
+        owner.setEmail("coherence-owner@example.com");
+        owner.setPassword("secret");
+        owner = first.getBean(UserService.class).registerUser(owner);
+
+        Item item = new Item();
+        new DirectFieldAccessor(item).setPropertyValue("name", "Drill");
+        new DirectFieldAccessor(item).setPropertyValue("available", true);
+        new DirectFieldAccessor(item).setPropertyValue("owner", owner);
+        item.setDescription("cordless");
+        item = first.getBean(ItemService.class).saveItem(item);
+
+        CatalogSnapshotService remoteCatalog = second.getBean(CatalogSnapshotService.class);
+        assertTrue(json(remoteCatalog).contains("cordless"));
+
+        item.setDescription("hammer drill");
+        first.getBean(ItemService.class).saveItem(item);
+        await(() -> json(remoteCatalog).contains("hammer drill"));
+
+        // Only the owner's items are re-encoded, with the owner as it is now
+        first.getBean(UserService.class).addCredit(owner.getId(), 5);
+        await(() -> json(remoteCatalog).contains("\"creditPoints\":5.0"));
+
+        CacheCoherenceService.Stats remote = second.getBean(CacheCoherenceService.class).stats();
+        assertTrue(remote.remoteApplied() >= 2);
+        assertEquals(0, remote.pendingGaps());
+        assertEquals(0, first.getBean(CacheCoherenceService.class).stats().remoteApplied());
+    }
+
+    @Test
+    void registrationReachesAnInstanceThatCachedTheIdAsMissing() {
+        UserService users = first.getBean(UserService.class);
+        Long next = users.registerUser(user("coherence-before@example.com")).getId() + 1;
+        NearCacheService remoteCache = second.getBean(NearCacheService.class);
+        assertNull(remoteCache.user(next));
+
+        assertEquals(next, users.registerUser(user("coherence-after@example.com")).getId());
+        await(() -> remoteCache.user(next) != null);
+    }
+
+    @Test
+    void nearCacheHandsEveryCallerItsOwnCopy() {
+        User owner = first.getBean(UserService.class).registerUser(user("coherence-copies@example.com"));
+        Item item = new Item();
+        new DirectFieldAccessor(item).setPropertyValue("name", "Ladder");
+        new DirectFieldAccessor(item).setPropertyValue("owner", owner);
+        item.setDescription("aluminium");
+        Long id = first.getBean(ItemService.class).saveItem(item).getId();
+        NearCacheService cache = first.getBean(NearCacheService.class);
+
+        Item read = cache.item(id);
+        read.setDescription("changed by one request");
+        read.getOwner().setName("Changed");
+
+        Item again = cache.item(id);
+        assertNotSame(read, again);
+        assertEquals("aluminium", again.getDescription());
+        assertEquals("Coherence Owner", again.getOwner().getName());
+        assertEquals("Coherence Owner", cache.user(owner.getId()).getName());
+    }
+
+    private static User user(String email) {
+        User user = new User();
+        user.setName("Coherence Owner");
+        user.setEmail(email);
+        user.setPassword("secret");
+        return user;
+    }
+
+    private static String json(CatalogSnapshotService catalog) {
+        return new String(catalog.current().all().json(), StandardCharsets.UTF_8);
+    }
+
+    private static void await(BooleanSupplier condition) {
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (!condition.getAsBoolean()) {
+            assertTrue(System.currentTimeMillis() < deadline, "change did not reach the other instance in time");
+            try {
+                Thread.sleep(20);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException(e);
+            }
+        }
+    }
+}
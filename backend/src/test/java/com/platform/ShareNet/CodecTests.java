@@ -0,0 +1,289 @@
+package com.platform.ShareNet;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
+import com.platform.ShareNet.codec.CborCodec;
+import com.platform.ShareNet.codec.CborHttpMessageConverter;
+import com.platform.ShareNet.codec.ProtoSchema;
+import com.platform.ShareNet.codec.ProtobufCodec;
+import com.platform.ShareNet.codec.ProtobufHttpMessageConverter;
+import com.platform.ShareNet.dto.ItemListResponse;
+import com.platform.ShareNet.dto.ItemResponse;
+import com.platform.ShareNet.dto.ItemStatsResponse;
+import com.platform.ShareNet.dto.SuggestResponse;
+import com.platform.ShareNet.model.Item;
+import com.platform.ShareNet.model.ItemStats;
+import com.platform.ShareNet.model.User;
+import com.platform.ShareNet.service.SuggestService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.DirectFieldAccessor;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.mock.http.MockHttpInputMessage;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Round trips through the CBOR and protobuf codecs, and malformed bodies, which must come out as
+ * {@link IllegalArgumentException} (a 400 through the converters) rather than anything else.
+ */
+class CodecTests {
+
+    private static final ObjectMapper MAPPER = Jackson2ObjectMapperBuilder.json()
+            .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+            .build();
+
+    @Test
+    void cborRoundTripsScalarsAndNesting() throws IOException {
+        Map<String, Object> value = new LinkedHashMap<>();
+        value.put("text", "grüße, 世界");
+        value.put("empty", "");
+        value.put("small", 23L);
+        value.put("negative", -1_000_000L);
+        value.put("min", Long.MIN_VALUE);
+        value.put("big", new BigInteger("123456789012345678901234567890"));
+        value.put("bigNegative", new BigInteger("-123456789012345678901234567890"));
+        value.put("decimal", new BigDecimal("-12.3450"));
+        value.put("float", 0.5);
+        value.put("double", 0.1);
+        value.put("flags", List.of(true, false));
+        value.put("missing", null);
+        value.put("nested", Map.of("list", List.of(List.of(), Map.of())));
+
+        assertEquals(value, CborCodec.decode(cbor(value)));
+    }
+
+    @Test
+    void cborRoundTripsAnItem() throws IOException {
+        Item item = item();
+        assertEquals(tree(item), tree(CborCodec.decode(cbor(item))));
+    }
+
+    @Test
+    void cborReadsDefiniteLengthsAndBigUnsigned() {
+        // {"a": [1, -2]} with definite lengths, and 2^64 - 1 as a plain unsigned integer
+        assertEquals(Map.of("a", List.of(1L, -2L)), CborCodec.decode(hex("a1616182 0121")));
+        assertEquals(new BigInteger("18446744073709551615"), CborCodec.decode(hex("1bffffffffffffffff")));
+        assertEquals(new BigInteger("-18446744073709551616"), CborCodec.decode(hex("3bffffffffffffffff")));
+    }
+
+    @Test
+    void cborRejectsDeepNesting() {
+        byte[] arrays = new byte[100_000];
+        Arrays.fill(arrays, (byte) 0x81);
+        assertThrows(IllegalArgumentException.class, () -> CborCodec.decode(arrays));
+
+        byte[] indefinite = new byte[100_000];
+        Arrays.fill(indefinite, (byte) 0x9f);
+        assertThrows(IllegalArgumentException.class, () -> CborCodec.decode(indefinite));
+
+        byte[] tags = new byte[100_000];
+        Arrays.fill(tags, (byte) 0xc6);
+        assertThrows(IllegalArgumentException.class, () -> CborCodec.decode(tags));
+
+        // Exactly at the limit still decodes
+        byte[] deepest = new byte[CborCodec.MAX_DEPTH + 1];
+        Arrays.fill(deepest, 0, CborCodec.MAX_DEPTH, (byte) 0x81);
+        deepest[CborCodec.MAX_DEPTH] = 0x01;
+        CborCodec.decode(deepest);
+    }
+
+    @Test
+    void cborRejectsMalformedDecimals() {
+        // Tag 4 over a text exponent, a one-element array, a float mantissa and an exponent past int
+        assertThrows(IllegalArgumentException.class, () -> CborCodec.decode(hex("c482616101")));
+        assertThrows(IllegalArgumentException.class, () -> CborCodec.decode(hex("c48101")));
+        assertThrows(IllegalArgumentException.class, () -> CborCodec.decode(hex("c48201fa3f000000")));
+        assertThrows(IllegalArgumentException.class, () -> CborCodec.decode(hex("c4821b000000010000000001")));
+    }
+
+    @Test
+    void cborRejectsMalformedStructure() {
+        assertThrows(IllegalArgumentException.class, () -> CborCodec.decode(new byte[0]));
+        // Break at the top, inside a definite array, and as a map value
+        assertThrows(IllegalArgumentException.class, () -> CborCodec.decode(hex("ff")));
+        assertThrows(IllegalArgumentException.class, () -> CborCodec.decode(hex("8201ff")));
+        assertThrows(IllegalArgumentException.class, () -> CborCodec.decode(hex("bf6161ff")));
+        // Text longer than the data, a truncated argument, an unterminated array
+        assertThrows(IllegalArgumentException.class, () -> CborCodec.decode(hex("6a6162")));
+        assertThrows(IllegalArgumentException.class, () -> CborCodec.decode(hex("1a0001")));
+        assertThrows(IllegalArgumentException.class, () -> CborCodec.decode(hex("9f0102")));
+        // Reserved additional information and an unassigned simple value
+        assertThrows(IllegalArgumentException.class, () -> CborCodec.decode(hex("1c")));
+        assertThrows(IllegalArgumentException.class, () -> CborCodec.decode(hex("f0")));
+        // Indefinite text made of byte string chunks
+        assertThrows(IllegalArgumentException.class, () -> CborCodec.decode(hex("7f4161ff")));
+    }
+
+    @Test
+    void cborConverterAnswersMalformedBodiesAsUnreadable() {
+        CborHttpMessageConverter converter = new CborHttpMessageConverter(MAPPER);
+        byte[] nested = new byte[100_000];
+        Arrays.fill(nested, (byte) 0x81);
+        assertThrows(HttpMessageNotReadableException.class,
+                () -> converter.read(Item.class, new MockHttpInputMessage(nested)));
+        assertThrows(HttpMessageNotReadableException.class,
+                () -> converter.read(Item.class, new MockHttpInputMessage(hex("c482616101"))));
+    }
+
+    @Test
+    void protobufRoundTripsAnItem() throws IOException {
+        Item item = item();
+        assertEquals(tree(item), tree(ProtobufCodec.decode(protobuf(item, ProtoSchema.ITEM), ProtoSchema.ITEM)));
+    }
+
+    @Test
+    void protobufRoundTripsAListWithFacets() throws IOException {
+        Map<String, Map<String, Integer>> facets = new LinkedHashMap<>();
+        facets.put("category", new LinkedHashMap<>(Map.of("Tools", 2)));
+        facets.put("condition", new LinkedHashMap<>());
+        ItemListResponse response = ItemListResponse.ofFacets(2, facets, List.of(item(), item()));
+
+        Map<String, Object> decoded = ProtobufCodec.decode(protobuf(response, ProtoSchema.ITEM_LIST),
+                ProtoSchema.ITEM_LIST);
+        assertEquals(true, decoded.get("success"));
+        assertEquals(2L, decoded.get("total"));
+        assertEquals(Map.of("category", Map.of("Tools", 2L), "condition", Map.of()), decoded.get("facets"));
+        List<?> items = (List<?>) decoded.get("items");
+        assertEquals(2, items.size());
+        assertEquals(tree(item()), tree(items.get(1)));
+    }
+
+    @Test
+    void protobufRoundTripsItemStats() throws IOException {
+        ItemStatsResponse response = ItemStatsResponse.of(
+                new ItemStats(42L, 3_000_000_000L, 7, LocalDateTime.of(2024, 3, 2, 8, 0)));
+        assertEquals(tree(response), tree(ProtobufCodec.decode(protobuf(response, ProtoSchema.ITEM_STATS),
+                ProtoSchema.ITEM_STATS)));
+    }
+
+    @Test
+    void protobufRoundTripsSuggestions() throws IOException {
+        SuggestResponse response = SuggestResponse.of("dri", List.of(
+                new SuggestService.Suggestion("Tools", "category", 12),
+                new SuggestService.Suggestion("Cordless drill", "item", 3)));
+        assertEquals(tree(response), tree(ProtobufCodec.decode(protobuf(response, ProtoSchema.SUGGEST_RESULT),
+                ProtoSchema.SUGGEST_RESULT)));
+    }
+
+    @Test
+    void itemResponsesLeaveOutTheOwnerPassword() throws IOException {
+        // GET /api/items/{id} is public and embeds the owner
+        Item item = item();
+        item.getOwner().setPassword("$2a$10$hash");
+        ItemResponse response = ItemResponse.of(item);
+
+        assertFalse(MAPPER.writeValueAsString(response).contains("password"));
+        assertFalse(tree(CborCodec.decode(cbor(response))).get("item").get("owner").has("password"));
+        assertEquals(tree(ItemResponse.of(item())), tree(ProtobufCodec.decode(
+                protobuf(response, ProtoSchema.ITEM_RESULT), ProtoSchema.ITEM_RESULT)));
+    }
+
+    @Test
+    void protobufSkipsUnknownFields() {
+        // Unknown fields 20 (varint), 21 (fixed64), 22 (bytes) and 23 (fixed32) around id = 7
+        byte[] data = hex("a00101 a9010000000000000000 b201026869 bd0100000000 0807");
+        assertEquals(Map.of("id", 7L), ProtobufCodec.decode(data, ProtoSchema.ITEM));
+    }
+
+    @Test
+    void protobufRejectsMalformedData() {
+        // Truncated varint, and one that never ends
+        assertThrows(IllegalArgumentException.class, () -> ProtobufCodec.decode(hex("0880"), ProtoSchema.ITEM));
+        assertThrows(IllegalArgumentException.class,
+                () -> ProtobufCodec.decode(hex("08ffffffffffffffffffff01"), ProtoSchema.ITEM));
+        // A name longer than the data, and a negative length
+        assertThrows(IllegalArgumentException.class, () -> ProtobufCodec.decode(hex("120a6869"), ProtoSchema.ITEM));
+        assertThrows(IllegalArgumentException.class,
+                () -> ProtobufCodec.decode(hex("12ffffffffffffffffff01"), ProtoSchema.ITEM));
+        // An owner whose name runs past the end of the owner message
+        assertThrows(IllegalArgumentException.class,
+                () -> ProtobufCodec.decode(hex("7a02 1205 6162636465"), ProtoSchema.ITEM));
+        // The id sent as a length-delimited field, and a truncated double
+        assertThrows(IllegalArgumentException.class, () -> ProtobufCodec.decode(hex("0a0107"), ProtoSchema.ITEM));
+        assertThrows(IllegalArgumentException.class, () -> ProtobufCodec.decode(hex("2100"), ProtoSchema.ITEM));
+        // Unknown fields with an unsupported wire type and with a length past the end
+        assertThrows(IllegalArgumentException.class, () -> ProtobufCodec.decode(hex("a301"), ProtoSchema.ITEM));
+        assertThrows(IllegalArgumentException.class, () -> ProtobufCodec.decode(hex("b20105"), ProtoSchema.ITEM));
+        assertThrows(IllegalArgumentException.class, () -> ProtobufCodec.decode(hex("a90100"), ProtoSchema.ITEM));
+    }
+
+    @Test
+    void protobufConverterAnswersMalformedBodiesAsUnreadable() {
+        ProtobufHttpMessageConverter converter = new ProtobufHttpMessageConverter(MAPPER);
+        assertThrows(HttpMessageNotReadableException.class,
+                () -> converter.read(Item.class, new MockHttpInputMessage(hex("12ffffffffffffffffff01"))));
+    }
+
+    private static Item item() {
+        User owner = new User();
+        owner.setId(3L);
+        owner.setName("Asha");
+        owner.setEmail("asha@example.com");
+        owner.setCreditPoints(12.5);
+        owner.setLatitude(28.61);
+        owner.setLongitude(77.2);
+        Item item = new Item();
+        DirectFieldAccessor fields = new DirectFieldAccessor(item);
+        fields.setPropertyValue("id", 42L);
+        fields.setPropertyValue("name", "Cordless drill");
+        fields.setPropertyValue("description", "18V, two batteries");
+        fields.setPropertyValue("pricePerDay", 4.75);
+        fields.setPropertyValue("category", "Tools");
+        fields.setPropertyValue("condition", "Good");
+        fields.setPropertyValue("location", "Sector 21");
+        fields.setPropertyValue("available", true);
+        fields.setPropertyValue("latitude", 28.6);
+        fields.setPropertyValue("longitude", 77.21);
+        fields.setPropertyValue("createdAt", LocalDateTime.of(2024, 3, 1, 10, 15, 30));
+        fields.setPropertyValue("updatedAt", LocalDateTime.of(2024, 3, 2, 8, 0));
+        fields.setPropertyValue("owner", owner);
+        return item;
+    }
+
+    // The JSON the value serializes to, without nulls (which protobuf does not carry), as a tree
+    // so that key order and Integer against Long do not matter
+    private static JsonNode tree(Object value) throws IOException {
+        ObjectMapper withoutNulls = MAPPER.copy().setDefaultPropertyInclusion(
+                JsonInclude.Value.construct(JsonInclude.Include.NON_NULL, JsonInclude.Include.NON_NULL));
+        return MAPPER.readTree(withoutNulls.writeValueAsString(value));
+    }
+
+    private static byte[] cbor(Object value) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (TokenBuffer buffer = new TokenBuffer(MAPPER, false)) {
+            MAPPER.writeValue(buffer, value);
+            CborCodec.encode(buffer.asParser(), out);
+        }
+        return out.toByteArray();
+    }
+
+    private static byte[] protobuf(Object value, ProtoSchema schema) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (TokenBuffer buffer = new TokenBuffer(MAPPER, false)) {
+            MAPPER.writeValue(buffer, value);
+            ProtobufCodec.encode(buffer.asParser(), schema, out);
+        }
+        return out.toByteArray();
+    }
+
+    private static byte[] hex(String value) {
+        return HexFormat.of().parseHex(value.replace(" ", ""));
+    }
+}
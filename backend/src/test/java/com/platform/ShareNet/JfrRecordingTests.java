@@ -0,0 +1,39 @@
+package com.platform.ShareNet;
+
+import com.platform.ShareNet.monitoring.JfrRecordingService;
+import org.junit.jupiter.api.Test;
+
+import java.nio.file.Files;
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * On-demand JFR recordings: back-to-back recordings get files of their own, and only the last
+ * {@code jfr.max-recordings} are kept.
+ */
+class JfrRecordingTests {
+
+    @Test
+    void backToBackRecordingsKeepSeparateFiles() throws Exception {
+        JfrRecordingService service = new JfrRecordingService(Duration.ofMinutes(1), 2);
+
+        // Well within one second, so the timestamps alone would collide
+        String[] files = new String[3];
+        for (int i = 0; i < files.length; i++) {
+            service.start("default", Duration.ofSeconds(30));
+            files[i] = service.stop();
+        }
+
+        assertNotEquals(files[0], files[1]);
+        assertNotEquals(files[1], files[2]);
+        assertEquals(List.of(files[1], files[2]), service.recordings());
+        assertNull(service.file(files[0]));
+        assertTrue(Files.isRegularFile(service.file(files[1])));
+        assertTrue(Files.isRegularFile(service.file(files[2])));
+    }
+}
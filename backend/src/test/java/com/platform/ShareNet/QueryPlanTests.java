@@ -0,0 +1,289 @@
+package com.platform.ShareNet;
+
+import com.platform.ShareNet.monitoring.SqlProfiler;
+import com.platform.ShareNet.repository.BorrowRequestRepository;
+import com.platform.ShareNet.repository.CacheInvalidationRepository;
+import com.platform.ShareNet.repository.ChatRepository;
+import com.platform.ShareNet.repository.IdempotencyRecordRepository;
+import com.platform.ShareNet.repository.ItemRepository;
+import com.platform.ShareNet.repository.OutboxEventRepository;
+import com.platform.ShareNet.repository.RefreshTokenRepository;
+import com.platform.ShareNet.repository.RevokedTokenRepository;
+import com.platform.ShareNet.repository.TransactionRepository;
+import com.platform.ShareNet.repository.UserRepository;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.support.GenericApplicationContext;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Statement;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Runs EXPLAIN for every declared repository query against a local MySQL and fails when one
+ * reads a whole table or a whole index. Skipped unless {@code -Dquery-plan.url} is set; run it
+ * through {@code scripts/query-plan-check.sh}.
+ *
+ * The tables at that URL are dropped and recreated from the entity mappings, so the plans use
+ * exactly the declared indexes, then seeded with a few thousand rows per table and analyzed so
+ * the optimizer has statistics. Seeded times span weeks, so a few hours between the JVM's and
+ * the server's clocks or time zones do not change which plan is chosen. Each query runs in a
+ * rolled-back transaction while its SQL and bind values are captured, and each captured
+ * statement is then explained with those values.
+ */
+@EnabledIfSystemProperty(named = "query-plan.url", matches = ".+")
+class QueryPlanTests {
+
+    // Queries whose plan is expected to read the table, and why
+    private static final Map<String, String> EXPECTED_SCANS = Map.of(
+            "ItemRepository.findByAvailableTrue", "returns every available listing",
+            "BorrowRequestRepository.findBorrowPairsByStatusIn", "full recommendation rebuild over most requests",
+            "RevokedTokenRepository.findByExpiresAtAfter", "startup load of every revocation not yet purged");
+
+    private static final List<String> SCAN_TYPES = List.of("ALL", "index");
+
+    private static final CapturingProfiler profiler = new CapturingProfiler();
+    private static ConfigurableApplicationContext context;
+    private static JdbcTemplate jdbc;
+
+    private record Explained(String query, String sql, List<Map<String, Object>> plan) {
+    }
+
+    /**
+     * Keeps the statements run by one thread between {@link #start()} and {@link #stop()}.
+     */
+    static final class CapturingProfiler extends SqlProfiler {
+
+        private volatile Thread capturing;
+        private final List<Object[]> captured = new ArrayList<>();
+
+        CapturingProfiler() {
+            super(256, Duration.ofMillis(200), Duration.ofSeconds(10), List.of("password"));
+        }
+
+        @Override
+        public void record(String sql, Object[] parameters, long nanos, long rows, boolean failed) {
+            if (Thread.currentThread() == capturing) {
+                captured.add(new Object[]{sql, parameters == null ? new Object[0] : parameters});
+            }
+            super.record(sql, parameters, nanos, rows, failed);
+        }
+
+        void start() {
+            captured.clear();
+            capturing = Thread.currentThread();
+        }
+
+        List<Object[]> stop() {
+            capturing = null;
+            return new ArrayList<>(captured);
+        }
+    }
+
+    @BeforeAll
+    static void start() {
+        context = new SpringApplicationBuilder(ShareNetApplication.class)
+                .initializers(applicationContext -> ((GenericApplicationContext) applicationContext).registerBean(
+                        "capturingSqlProfiler", SqlProfiler.class, () -> profiler,
+                        definition -> definition.setPrimary(true)))
+                .run("--spring.datasource.url=" + System.getProperty("query-plan.url"),
+                        "--spring.datasource.username=" + System.getProperty("query-plan.username", "root"),
+                        "--spring.datasource.password=" + System.getProperty("query-plan.password", ""),
+                        "--spring.jpa.hibernate.ddl-auto=create-drop",
+                        "--spring.sql.init.mode=never",
+                        "--server.port=0");
+        jdbc = context.getBean(JdbcTemplate.class);
+        seed();
+    }
+
+    @AfterAll
+    static void stop() {
+        if (context != null) {
+            context.close();
+        }
+    }
+
+    private static void seed() {
+        insert("users", 2000, "id, name, email, password, credit_points, latitude, longitude",
+                "n, CONCAT('user ', n), CONCAT('user', n, '@example.com'), 'x', 100, 0, 0");
+        insert("items", 20000, "id, name, description, price_per_day, category, item_condition, is_available, "
+                        + "available_until, latitude, longitude, created_at, updated_at, owner_id",
+                "n, CONCAT('item ', n), 'seeded', n % 50, ELT(1 + n % 6, 'Tools', 'Electronics', 'Books', 'Sports', "
+                        + "'Kitchen', 'Garden'), 'Good', n % 4 = 0, IF(n % 4 = 0, NOW() + INTERVAL n % 60 DAY, NULL), "
+                        + "0, 0, NOW() - INTERVAL n MINUTE, NOW() - INTERVAL n MINUTE, 1 + n % 2000");
+        // Mostly finished requests, as in a long-running deployment; 5% pending, 5% approved
+        insert("borrow_requests", 50000, "item_id, borrower_id, owner_id, start_date, end_date, status, message, "
+                        + "created_at, updated_at",
+                "1 + n % 20000, 1 + (n * 7) % 2000, 1 + (n * 13 + 1) % 2000, NOW() - INTERVAL n * 10 MINUTE + INTERVAL 1 DAY, "
+                        + "NOW() - INTERVAL n * 10 MINUTE + INTERVAL 3 DAY, "
+                        + "CASE n % 20 WHEN 0 THEN 'PENDING' WHEN 1 THEN 'APPROVED' WHEN 2 THEN 'OVERDUE' "
+                        + "WHEN 3 THEN 'REJECTED' ELSE 'COMPLETED' END, 'seeded', "
+                        + "NOW() - INTERVAL n * 10 MINUTE, NOW() - INTERVAL n * 10 MINUTE");
+        insert("chats", 50000, "sender_id, receiver_id, message, time_stamp",
+                "1 + n % 100, 1 + (n DIV 100) % 100, 'seeded', NOW() - INTERVAL n MINUTE");
+        insert("transactions", 50000, "user_id, item_id, amount, type, txn_timestamp",
+                "1 + n % 2000, 1 + n % 20000, n % 50, IF(n % 2 = 0, 'CREDIT', 'DEBIT'), NOW() - INTERVAL n MINUTE");
+        // 2% undelivered
+        insert("outbox_events", 20000, "aggregate_type, aggregate_id, event_type, payload, status, attempts, "
+                        + "next_attempt_at, created_at, delivered_at",
+                "ELT(1 + n % 3, 'Item', 'BorrowRequest', 'User'), 1 + n % 5000, 'SEEDED', '{}', "
+                        + "IF(n % 50 = 0, 'PENDING', 'DELIVERED'), 0, NOW() - INTERVAL n * 3 MINUTE, "
+                        + "NOW() - INTERVAL n * 3 MINUTE, IF(n % 50 = 0, NULL, NOW() - INTERVAL n * 3 MINUTE)");
+        insert("cache_invalidations", 20000, "cache_name, entity_id, origin, created_at",
+                "ELT(1 + n % 3, 'item', 'user', 'borrow-request'), n, 'seed', NOW() - INTERVAL n * 3 MINUTE");
+        insert("refresh_tokens", 5000, "token_hash, family_id, user_id, email, created_at, expires_at",
+                "SHA2(n, 256), LPAD(n DIV 3, 36, '0'), 1 + n % 2000, CONCAT('user', 1 + n % 2000, '@example.com'), "
+                        + "NOW() - INTERVAL n MINUTE, NOW() + INTERVAL (n % 60) - 2 DAY");
+        insert("revoked_tokens", 2000, "id, user_id, revoked_at, expires_at",
+                "LPAD(n, 36, '0'), 1 + n % 2000, NOW() - INTERVAL n * 30 MINUTE, "
+                        + "NOW() - INTERVAL n * 30 MINUTE + INTERVAL 40 DAY");
+        insert("idempotency_records", 2000, "id, status_code, content_type, created_at, expires_at",
+                "LPAD(n, 64, '0'), 200, 'application/json', NOW() - INTERVAL n MINUTE, NOW() + INTERVAL n - 100 HOUR");
+    }
+
+    // Generates rows 1..count from a recursive sequence; the expressions see the row number as n.
+    // MariaDB names the recursion bound differently and is accepted for local runs.
+    private static void insert(String table, int count, String columns, String expressions) {
+        jdbc.execute((ConnectionCallback<Void>) connection -> {
+            boolean mariaDb = connection.getMetaData().getDatabaseProductVersion().contains("MariaDB");
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("SET SESSION " + (mariaDb ? "max_recursive_iterations" : "cte_max_recursion_depth")
+                        + " = " + (count + 1));
+                statement.execute("INSERT INTO " + table + " (" + columns + ") "
+                        + "WITH RECURSIVE seq (n) AS (SELECT 1 UNION ALL SELECT n + 1 FROM seq WHERE n < " + count + ") "
+                        + "SELECT " + expressions + " FROM seq");
+                statement.execute("ANALYZE TABLE " + table);
+            }
+            return null;
+        });
+    }
+
+    @Test
+    void repositoryQueriesUseIndexes() {
+        ItemRepository items = context.getBean(ItemRepository.class);
+        BorrowRequestRepository requests = context.getBean(BorrowRequestRepository.class);
+        ChatRepository chats = context.getBean(ChatRepository.class);
+        TransactionRepository transactions = context.getBean(TransactionRepository.class);
+        UserRepository users = context.getBean(UserRepository.class);
+        OutboxEventRepository outbox = context.getBean(OutboxEventRepository.class);
+        CacheInvalidationRepository invalidations = context.getBean(CacheInvalidationRepository.class);
+        RefreshTokenRepository refreshTokens = context.getBean(RefreshTokenRepository.class);
+        RevokedTokenRepository revokedTokens = context.getBean(RevokedTokenRepository.class);
+        IdempotencyRecordRepository idempotency = context.getBean(IdempotencyRecordRepository.class);
+
+        LocalDateTime now = LocalDateTime.now();
+        List<Long> ids = List.of(11L, 12L, 13L);
+        List<Explained> explained = new ArrayList<>();
+
+        explain(explained, "ItemRepository.findByAvailableTrue", items::findByAvailableTrue);
+        explain(explained, "ItemRepository.findAvailableUntilBefore",
+                () -> items.findAvailableUntilBefore(now.plusDays(1), PageRequest.of(0, 100)));
+        explain(explained, "ItemRepository.findAllWithOwnerByIdIn", () -> items.findAllWithOwnerByIdIn(ids));
+        explain(explained, "ItemRepository.lockExpired", () -> items.lockExpired(ids, now));
+        explain(explained, "ItemRepository.markUnavailable", () -> items.markUnavailable(ids, now));
+
+        explain(explained, "BorrowRequestRepository.findByBorrowerId", () -> requests.findByBorrowerId(42L));
+        explain(explained, "BorrowRequestRepository.findByOwnerId", () -> requests.findByOwnerId(42L));
+        explain(explained, "BorrowRequestRepository.findByItemId", () -> requests.findByItemId(42L));
+        explain(explained, "BorrowRequestRepository.findByIdAndOwnerId", () -> requests.findByIdAndOwnerId(42L, 42L));
+        explain(explained, "BorrowRequestRepository.findByIdAndBorrowerId", () -> requests.findByIdAndBorrowerId(42L, 42L));
+        explain(explained, "BorrowRequestRepository.findAllByUserId", () -> requests.findAllByUserId(42L));
+        explain(explained, "BorrowRequestRepository.findByStatus", () -> requests.findByStatus("PENDING"));
+        explain(explained, "BorrowRequestRepository.findBorrowPairsByStatusIn",
+                () -> requests.findBorrowPairsByStatusIn(List.of("APPROVED", "COMPLETED", "OVERDUE")));
+        explain(explained, "BorrowRequestRepository.findItemIdsCreatedSince",
+                () -> requests.findItemIdsCreatedSince(now.minusDays(2)));
+        explain(explained, "BorrowRequestRepository.findApprovedEndingBefore",
+                () -> requests.findApprovedEndingBefore(now, PageRequest.of(0, 100)));
+        explain(explained, "BorrowRequestRepository.lockOverdue", () -> requests.lockOverdue(ids, now));
+        explain(explained, "BorrowRequestRepository.markOverdue", () -> requests.markOverdue(ids, now));
+
+        explain(explained, "ChatRepository.findChatsBetweenUsers", () -> chats.findChatsBetweenUsers(3L, 7L));
+
+        explain(explained, "TransactionRepository.findByUserId", () -> transactions.findByUserId(42L));
+        explain(explained, "TransactionRepository.findByUser_Id", () -> transactions.findByUser_Id(42L));
+
+        explain(explained, "UserRepository.findByEmail", () -> users.findByEmail("user42@example.com"));
+        explain(explained, "UserRepository.existsByEmail", () -> users.existsByEmail("user42@example.com"));
+
+        explain(explained, "OutboxEventRepository.findDueForUpdate",
+                () -> outbox.findDueForUpdate(now, PageRequest.of(0, 100)));
+        explain(explained, "OutboxEventRepository.findOldestUndeliveredIds",
+                () -> outbox.findOldestUndeliveredIds(List.of(50L, 100L, 150L)));
+        explain(explained, "OutboxEventRepository.deleteDeliveredBefore",
+                () -> outbox.deleteDeliveredBefore(now.minusDays(40)));
+
+        explain(explained, "CacheInvalidationRepository.findAfter",
+                () -> invalidations.findAfter(19900, PageRequest.of(0, 500)));
+        explain(explained, "CacheInvalidationRepository.findMaxId", invalidations::findMaxId);
+        explain(explained, "CacheInvalidationRepository.deleteCreatedBefore",
+                () -> invalidations.deleteCreatedBefore(now.minusDays(40)));
+
+        explain(explained, "RefreshTokenRepository.findByTokenHash",
+                () -> refreshTokens.findByTokenHash("0000000000000000000000000000000000000000000000000000000000000000"));
+        explain(explained, "RefreshTokenRepository.markUsed", () -> refreshTokens.markUsed(42L, now));
+        explain(explained, "RefreshTokenRepository.revokeFamily",
+                () -> refreshTokens.revokeFamily("000000000000000000000000000000000014", now));
+        explain(explained, "RefreshTokenRepository.deleteExpired", () -> refreshTokens.deleteExpired(now));
+
+        explain(explained, "RevokedTokenRepository.findByExpiresAtAfter", () -> revokedTokens.findByExpiresAtAfter(now));
+        explain(explained, "RevokedTokenRepository.findByRevokedAtAfter",
+                () -> revokedTokens.findByRevokedAtAfter(now.minusDays(2)));
+        explain(explained, "RevokedTokenRepository.deleteExpired", () -> revokedTokens.deleteExpired(now));
+
+        explain(explained, "IdempotencyRecordRepository.deleteExpired", () -> idempotency.deleteExpired(now));
+
+        List<String> scans = new ArrayList<>();
+        for (Explained query : explained) {
+            for (Map<String, Object> row : query.plan()) {
+                String table = String.valueOf(row.get("table"));
+                String type = String.valueOf(row.get("type"));
+                System.out.printf("%-55s %-22s %-7s %-45s %8s  %s%n", query.query(), table, type, row.get("key"),
+                        row.get("rows"), row.get("Extra") == null ? "" : row.get("Extra"));
+                // <union1,2>, <derived2>: the temporary result of another step, not a stored table
+                if (SCAN_TYPES.contains(type) && !table.startsWith("<") && !EXPECTED_SCANS.containsKey(query.query())) {
+                    scans.add(query.query() + " reads all of " + table + " (" + type + "): " + query.sql());
+                }
+            }
+        }
+        assertTrue(scans.isEmpty(), "Full scans:\n" + String.join("\n", scans));
+    }
+
+    // Runs the call in a rolled-back transaction and explains every statement it issued
+    private static void explain(List<Explained> explained, String query, Runnable call) {
+        TransactionTemplate transaction = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        profiler.start();
+        List<Object[]> statements;
+        try {
+            transaction.executeWithoutResult(status -> {
+                call.run();
+                status.setRollbackOnly();
+            });
+        } finally {
+            statements = profiler.stop();
+        }
+        assertTrue(!statements.isEmpty(), query + " ran no SQL");
+        for (Object[] statement : statements) {
+            String sql = (String) statement[0];
+            if (sql.trim().toLowerCase(Locale.ROOT).startsWith("insert")) {
+                continue;
+            }
+            explained.add(new Explained(query, sql, jdbc.queryForList("EXPLAIN " + sql, (Object[]) statement[1])));
+        }
+    }
+}
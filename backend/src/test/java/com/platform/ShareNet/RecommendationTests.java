@@ -0,0 +1,68 @@
+package com.platform.ShareNet;
+
+import com.platform.ShareNet.repository.inmemory.InMemoryBorrowRequestRepository;
+import com.platform.ShareNet.service.RecommendationService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.DirectFieldAccessor;
+
+import java.util.Collection;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * The co-borrow recommendations: incremental borrows, and borrows that arrive while a full
+ * rebuild is reading the database. The service is built by hand over a stubbed repository.
+ */
+class RecommendationTests {
+
+    @Test
+    void recordedBorrowsUpdateBothItems() {
+        RecommendationService service = service(List.of());
+        service.rebuild();
+
+        service.recordBorrow(1L, 10L);
+        service.recordBorrow(1L, 11L);
+        service.recordBorrow(2L, 10L);
+        service.recordBorrow(2L, 12L);
+        service.recordBorrow(3L, 10L);
+        service.recordBorrow(3L, 12L);
+
+        // 12 was borrowed with 10 twice, 11 once
+        assertEquals(List.of(12L, 11L), service.getAlsoBorrowed(10L, 5));
+        assertEquals(List.of(12L), service.getAlsoBorrowed(10L, 1));
+        assertEquals(List.of(10L), service.getAlsoBorrowed(11L, 5));
+        assertEquals(List.of(), service.getAlsoBorrowed(99L, 5));
+    }
+
+    @Test
+    void borrowsRecordedDuringARebuildSurviveIt() {
+        RecommendationService[] holder = new RecommendationService[1];
+        // The approval commits after the rebuild's query read its snapshot
+        holder[0] = service(List.of(new Object[] {1L, 10L}, new Object[] {1L, 11L}),
+                () -> holder[0].recordBorrow(1L, 12L));
+
+        holder[0].rebuild();
+
+        assertEquals(List.of(11L, 12L), holder[0].getAlsoBorrowed(10L, 5));
+        assertEquals(List.of(10L, 11L), holder[0].getAlsoBorrowed(12L, 5));
+    }
+
+    private static RecommendationService service(List<Object[]> pairs) {
+        return service(pairs, () -> { });
+    }
+
+    private static RecommendationService service(List<Object[]> pairs, Runnable duringQuery) {
+        RecommendationService service = new RecommendationService();
+        DirectFieldAccessor fields = new DirectFieldAccessor(service);
+        fields.setPropertyValue("topK", 10);
+        fields.setPropertyValue("borrowRequestRepository", new InMemoryBorrowRequestRepository() {
+            @Override
+            public List<Object[]> findBorrowPairsByStatusIn(Collection<String> statuses) {
+                duringQuery.run();
+                return pairs;
+            }
+        });
+        return service;
+    }
+}
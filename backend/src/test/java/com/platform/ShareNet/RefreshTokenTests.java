@@ -0,0 +1,166 @@
+package com.platform.ShareNet;
+
+import com.platform.ShareNet.model.RefreshToken;
+import com.platform.ShareNet.repository.RefreshTokenRepository;
+import com.platform.ShareNet.service.JwtService;
+import com.platform.ShareNet.service.RefreshTokenService;
+import com.platform.ShareNet.service.RefreshTokenService.TokenPair;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Refresh token rotation: successors, reuse detection, concurrent claims of one token, expiry
+ * and revocation. Each test starts its own token family, so they share one context.
+ */
+@SpringBootTest
+@ActiveProfiles("inmemory")
+class RefreshTokenTests {
+
+    @Autowired
+    private RefreshTokenService refreshTokenService;
+
+    @Autowired
+    private RefreshTokenRepository refreshTokenRepository;
+
+    @Autowired
+    private JwtService jwtService;
+
+    @Test
+    void rotationIssuesASuccessorInTheSameFamily() {
+        String first = refreshTokenService.create(7L, "rotate@example.com");
+
+        TokenPair pair = refreshTokenService.rotate(first);
+
+        assertNotEquals(first, pair.refreshToken());
+        assertEquals("rotate@example.com", jwtService.extractUsername(pair.accessToken()));
+        assertEquals(7L, jwtService.extractUserId(pair.accessToken()));
+        assertTrue(pair.expiresIn() > 0);
+        RefreshToken used = stored(first);
+        RefreshToken successor = stored(pair.refreshToken());
+        assertNotNull(used.getUsedAt());
+        assertNull(successor.getUsedAt());
+        assertEquals(used.getFamilyId(), successor.getFamilyId());
+        // The successor rotates in turn
+        refreshTokenService.rotate(pair.refreshToken());
+    }
+
+    @Test
+    void replayingAUsedTokenRevokesTheFamily() {
+        String first = refreshTokenService.create(7L, "replay@example.com");
+        String unrelated = refreshTokenService.create(7L, "replay@example.com");
+        String second = refreshTokenService.rotate(first).refreshToken();
+
+        IllegalArgumentException replay = assertThrows(IllegalArgumentException.class,
+                () -> refreshTokenService.rotate(first));
+        assertTrue(replay.getMessage().contains("already used"));
+
+        // The legitimate holder of the successor has to log in again too
+        assertThrows(IllegalArgumentException.class, () -> refreshTokenService.rotate(second));
+        assertNotNull(stored(first).getRevokedAt());
+        assertNotNull(stored(second).getRevokedAt());
+        // Another login of the same user is a different family
+        refreshTokenService.rotate(unrelated);
+    }
+
+    @Test
+    void concurrentClaimsOfOneTokenLeaveNoUsableSuccessor() throws InterruptedException {
+        for (int round = 0; round < 20; round++) {
+            String token = refreshTokenService.create(7L, "race@example.com");
+            int threads = 8;
+            CountDownLatch start = new CountDownLatch(1);
+            AtomicInteger rejected = new AtomicInteger();
+            ConcurrentLinkedQueue<String> successors = new ConcurrentLinkedQueue<>();
+            List<Thread> workers = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                workers.add(Thread.ofPlatform().start(() -> {
+                    try {
+                        start.await();
+                        successors.add(refreshTokenService.rotate(token).refreshToken());
+                    } catch (IllegalArgumentException e) {
+                        rejected.incrementAndGet();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                }));
+            }
+            start.countDown();
+            for (Thread worker : workers) {
+                worker.join();
+            }
+
+            // At most one claim wins; every other one is a reuse, which revokes the family,
+            // including whatever successor the winner was given
+            assertTrue(successors.size() <= 1, successors.size() + " claims succeeded");
+            assertEquals(threads, successors.size() + rejected.get());
+            assertNotNull(stored(token).getRevokedAt());
+            for (String successor : successors) {
+                assertNotNull(stored(successor).getRevokedAt());
+                assertThrows(IllegalArgumentException.class, () -> refreshTokenService.rotate(successor));
+            }
+        }
+    }
+
+    @Test
+    void expiredTokensAreRejectedWithoutRevokingTheFamily() {
+        String token = refreshTokenService.create(7L, "expiry@example.com");
+        RefreshToken stored = stored(token);
+        stored.setExpiresAt(LocalDateTime.now().minusSeconds(1));
+        refreshTokenRepository.save(stored);
+
+        IllegalArgumentException expired = assertThrows(IllegalArgumentException.class,
+                () -> refreshTokenService.rotate(token));
+        assertTrue(expired.getMessage().contains("expired or revoked"));
+        assertNull(stored(token).getUsedAt());
+        assertNull(stored(token).getRevokedAt());
+    }
+
+    @Test
+    void revokedAndUnknownTokensAreRejected() {
+        String token = refreshTokenService.create(7L, "logout@example.com");
+        String successor = refreshTokenService.rotate(token).refreshToken();
+
+        // Logout with either token ends the whole family
+        refreshTokenService.revoke(token);
+
+        assertThrows(IllegalArgumentException.class, () -> refreshTokenService.rotate(successor));
+        assertNull(stored(successor).getUsedAt());
+        IllegalArgumentException unknown = assertThrows(IllegalArgumentException.class,
+                () -> refreshTokenService.rotate("not-a-token"));
+        assertEquals("Invalid refresh token", unknown.getMessage());
+        // Revoking an unknown token is ignored
+        refreshTokenService.revoke("not-a-token");
+    }
+
+    private RefreshToken stored(String token) {
+        return refreshTokenRepository.findByTokenHash(sha256(token)).orElseThrow();
+    }
+
+    private static String sha256(String value) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(value.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,209 @@
+package com.platform.ShareNet;
+
+import com.platform.ShareNet.model.RevokedToken;
+import com.platform.ShareNet.repository.inmemory.InMemoryRevokedTokenRepository;
+import com.platform.ShareNet.service.TokenRevocationService;
+import com.platform.ShareNet.util.BloomFilter;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.DirectFieldAccessor;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * The Bloom filter on its own, and the revocation list over it: growing past its sizing,
+ * purging expired entries, and picking up revocations made by another instance. Services are
+ * built by hand over one in-memory repository, which stands in for the shared table.
+ */
+class TokenRevocationTests {
+
+    private InMemoryRevokedTokenRepository repository;
+
+    @BeforeEach
+    void createRepository() {
+        repository = new InMemoryRevokedTokenRepository();
+    }
+
+    @Test
+    void bloomFilterHasNoFalseNegativesAndKeepsItsRate() {
+        BloomFilter filter = new BloomFilter(10_000, 0.01);
+        for (int i = 0; i < 10_000; i++) {
+            filter.add("jti-" + i);
+        }
+        for (int i = 0; i < 10_000; i++) {
+            assertTrue(filter.mightContain("jti-" + i));
+        }
+        int falsePositives = 0;
+        for (int i = 0; i < 100_000; i++) {
+            if (filter.mightContain("other-" + i)) {
+                falsePositives++;
+            }
+        }
+        // 1% expected; allow for the variance of one filter
+        assertTrue(falsePositives < 2_000, falsePositives + " false positives in 100000");
+        assertEquals(7, filter.probes());
+    }
+
+    @Test
+    void bloomFilterKeepsConcurrentAdds() throws InterruptedException {
+        BloomFilter filter = new BloomFilter(40_000, 0.01);
+        List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < 4; t++) {
+            int offset = t;
+            threads.add(Thread.ofPlatform().start(() -> {
+                for (int i = offset; i < 40_000; i += 4) {
+                    filter.add("jti-" + i);
+                }
+            }));
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        for (int i = 0; i < 40_000; i++) {
+            assertTrue(filter.mightContain("jti-" + i));
+        }
+    }
+
+    @Test
+    void revokesUntilExpiry() {
+        TokenRevocationService service = service(100);
+        service.revoke("a", 1L, LocalDateTime.now().plusHours(1));
+        service.revoke("expired", 1L, LocalDateTime.now().minusSeconds(1));
+
+        assertTrue(service.isRevoked("a"));
+        assertFalse(service.isRevoked("b"));
+        assertFalse(service.isRevoked("expired"));
+        assertFalse(service.isRevoked(null));
+        assertEquals(1, repository.count());
+    }
+
+    @Test
+    void rebuildsTheFilterWhenItOutgrowsItsSizing() {
+        TokenRevocationService service = service(10);
+        BloomFilter initial = filter(service);
+        LocalDateTime expiresAt = LocalDateTime.now().plusHours(1);
+        for (int i = 0; i < 1_000; i++) {
+            service.revoke("jti-" + i, 1L, expiresAt);
+        }
+
+        BloomFilter rebuilt = filter(service);
+        assertNotSame(initial, rebuilt);
+        assertTrue(rebuilt.bits() > initial.bits());
+        for (int i = 0; i < 1_000; i++) {
+            assertTrue(service.isRevoked("jti-" + i));
+        }
+        assertEquals(1_000, service.size());
+    }
+
+    @Test
+    void rebuildsNeverHideARevocationFromConcurrentReaders() throws InterruptedException {
+        TokenRevocationService service = service(16);
+        LocalDateTime expiresAt = LocalDateTime.now().plusHours(1);
+        AtomicInteger written = new AtomicInteger();
+        AtomicBoolean done = new AtomicBoolean();
+        AtomicInteger misses = new AtomicInteger();
+        CountDownLatch readers = new CountDownLatch(3);
+        for (int t = 0; t < 3; t++) {
+            Thread.ofPlatform().start(() -> {
+                while (!done.get()) {
+                    // Everything below the published count was revoked before it was published
+                    int upTo = written.get();
+                    for (int i = Math.max(0, upTo - 64); i < upTo; i++) {
+                        if (!service.isRevoked("jti-" + i)) {
+                            misses.incrementAndGet();
+                        }
+                    }
+                }
+                readers.countDown();
+            });
+        }
+        for (int i = 0; i < 5_000; i++) {
+            service.revoke("jti-" + i, 1L, expiresAt);
+            written.set(i + 1);
+        }
+        done.set(true);
+        readers.await();
+        assertEquals(0, misses.get());
+    }
+
+    @Test
+    void purgeDropsExpiredEntriesAndRebuildsTheFilter() throws InterruptedException {
+        TokenRevocationService service = service(100);
+        service.revoke("short", 1L, LocalDateTime.now().plusNanos(200_000_000));
+        service.revoke("long", 1L, LocalDateTime.now().plusHours(1));
+        BloomFilter before = filter(service);
+        Thread.sleep(300);
+
+        service.purgeExpired();
+
+        assertFalse(service.isRevoked("short"));
+        assertNotSame(before, filter(service));
+        assertTrue(service.isRevoked("long"));
+        assertEquals(1, service.size());
+        assertTrue(repository.findById("short").isEmpty());
+        assertTrue(repository.findById("long").isPresent());
+    }
+
+    @Test
+    void purgeWithNothingExpiredKeepsTheFilter() {
+        TokenRevocationService service = service(100);
+        service.revoke("long", 1L, LocalDateTime.now().plusHours(1));
+        BloomFilter before = filter(service);
+
+        service.purgeExpired();
+
+        assertSame(before, filter(service));
+        assertTrue(service.isRevoked("long"));
+    }
+
+    @Test
+    void picksUpRevocationsFromOtherInstances() {
+        TokenRevocationService first = service(100);
+        first.revoke("before-start", 1L, LocalDateTime.now().plusHours(1));
+
+        TokenRevocationService second = service(100);
+        // Nothing is refreshed before the initial load
+        second.refresh();
+        assertFalse(second.isRevoked("before-start"));
+        second.load();
+        assertTrue(second.isRevoked("before-start"));
+
+        first.revoke("after-start", 1L, LocalDateTime.now().plusHours(1));
+        assertFalse(second.isRevoked("after-start"));
+        second.refresh();
+        assertTrue(second.isRevoked("after-start"));
+
+        // A revocation committed late, stamped before the last refresh, is still within the overlap
+        repository.save(new RevokedToken("late", 1L, LocalDateTime.now().minusSeconds(10),
+                LocalDateTime.now().plusHours(1)));
+        second.refresh();
+        assertTrue(second.isRevoked("late"));
+
+        // Tokens that expired in the meantime are not picked up
+        repository.save(new RevokedToken("stale", 1L, LocalDateTime.now(), LocalDateTime.now().minusSeconds(1)));
+        second.refresh();
+        assertFalse(second.isRevoked("stale"));
+    }
+
+    private TokenRevocationService service(long expectedEntries) {
+        TokenRevocationService service = new TokenRevocationService(expectedEntries, 0.01, Duration.ofMinutes(1));
+        new DirectFieldAccessor(service).setPropertyValue("revokedTokenRepository", repository);
+        return service;
+    }
+
+    private static BloomFilter filter(TokenRevocationService service) {
+        return (BloomFilter) new DirectFieldAccessor(service).getPropertyValue("filter");
+    }
+}
@@ -0,0 +1,194 @@
+package com.platform.ShareNet.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.platform.ShareNet.model.Item;
+import com.platform.ShareNet.model.User;
+import com.platform.ShareNet.repository.inmemory.InMemoryItemRepository;
+import com.platform.ShareNet.service.CatalogSnapshotService;
+import org.springframework.beans.DirectFieldAccessor;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Throughput and allocation per request of {@code GET /api/items} served the old way (load every
+ * item, serialize the list with Jackson) against the pre-encoded catalogue snapshot: a full 200
+ * (identity and gzip), a 304 for a matching {@code If-None-Match}, and the cost of republishing
+ * after one item is saved. Not a unit test; run it through {@code scripts/catalog-benchmark.sh}.
+ *
+ * Items come from the in-memory repository, so the old path is measured without its MySQL
+ * round trip and the numbers are a lower bound on what the snapshot saves.
+ *
+ * Arguments: [items] [threads] [seconds per case]
+ */
+public class CatalogBenchmark {
+
+    private static final String[] CATEGORIES = {"Electronics", "Tools", "Books", "Sports", "Kitchen", "Garden"};
+    private static final String[] CONDITIONS = {"New", "Like New", "Good", "Fair"};
+
+    // Stands in for the response stream: copies through an 8 KB buffer like the servlet output
+    // buffer does, so a pre-encoded body still pays for moving its bytes
+    private static final class Sink extends OutputStream {
+        private final byte[] buffer = new byte[8192];
+        private int position;
+        long bytes;
+
+        @Override
+        public void write(int b) {
+            if (position == buffer.length) {
+                position = 0;
+            }
+            buffer[position++] = (byte) b;
+            bytes++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            while (len > 0) {
+                if (position == buffer.length) {
+                    position = 0;
+                }
+                int chunk = Math.min(len, buffer.length - position);
+                System.arraycopy(b, off, buffer, position, chunk);
+                position += chunk;
+                off += chunk;
+                len -= chunk;
+                bytes += chunk;
+            }
+        }
+    }
+
+    interface Request {
+        void serve(Sink out) throws IOException;
+    }
+
+    public static void main(String[] args) throws Exception {
+        int items = args.length > 0 ? Integer.parseInt(args[0]) : 2000;
+        int threads = args.length > 1 ? Integer.parseInt(args[1]) : Runtime.getRuntime().availableProcessors();
+        int seconds = args.length > 2 ? Integer.parseInt(args[2]) : 5;
+
+        ObjectMapper mapper = Jackson2ObjectMapperBuilder.json()
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build();
+        InMemoryItemRepository repository = new InMemoryItemRepository();
+        seed(repository, items, new Random(42));
+
+        CatalogSnapshotService snapshots = new CatalogSnapshotService();
+        DirectFieldAccessor fields = new DirectFieldAccessor(snapshots);
+        fields.setPropertyValue("itemRepository", repository);
+        fields.setPropertyValue("objectMapper", mapper);
+
+        CatalogSnapshotService.View view = snapshots.current().all();
+        System.out.printf("items %d, threads %d, body %d bytes (%d gzip)%n%n", items, threads, view.json().length,
+                view.gzip().length);
+        System.out.printf("%-20s %12s %12s %14s %14s%n", "path", "requests/s", "us/request", "bytes/request",
+                "alloc MB/s");
+
+        run("jackson (old path)", threads, seconds, out -> mapper.writeValue(out, repository.findAll()));
+        run("snapshot 200", threads, seconds, out -> out.write(snapshots.current().all().json()));
+        run("snapshot 200 gzip", threads, seconds, out -> out.write(snapshots.current().all().gzip()));
+        String etag = view.etag();
+        run("snapshot 304", threads, seconds, out -> {
+            if (!snapshots.current().all().matches(etag)) {
+                throw new IllegalStateException("ETag stopped matching");
+            }
+        });
+        List<Item> all = repository.findAll();
+        // Writers are serialized by the snapshot lock, so this one runs on a single thread
+        run("save + republish", 1, seconds, out ->
+                snapshots.onItemSaved(all.get(ThreadLocalRandom.current().nextInt(all.size()))));
+    }
+
+    private static void run(String name, int threads, int seconds, Request request) throws Exception {
+        // Warm up on the calling thread so every case starts compiled
+        Sink warmup = new Sink();
+        long warmupEnd = System.nanoTime() + 2_000_000_000L;
+        while (System.nanoTime() < warmupEnd) {
+            request.serve(warmup);
+        }
+
+        com.sun.management.ThreadMXBean mx = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        LongAdder requests = new LongAdder();
+        LongAdder allocated = new LongAdder();
+        AtomicBoolean running = new AtomicBoolean(true);
+        CountDownLatch done = new CountDownLatch(threads);
+        List<Thread> workers = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            workers.add(Thread.ofPlatform().start(() -> {
+                Sink out = new Sink();
+                long count = 0;
+                long before = mx.getCurrentThreadAllocatedBytes();
+                try {
+                    while (running.get()) {
+                        request.serve(out);
+                        count++;
+                    }
+                } catch (IOException e) {
+                    throw new IllegalStateException(e);
+                } finally {
+                    allocated.add(mx.getCurrentThreadAllocatedBytes() - before);
+                    requests.add(count);
+                    done.countDown();
+                }
+            }));
+        }
+        long start = System.nanoTime();
+        Thread.sleep(seconds * 1000L);
+        running.set(false);
+        done.await();
+        double elapsed = (System.nanoTime() - start) / 1e9;
+        for (Thread worker : workers) {
+            worker.join();
+        }
+
+        long total = requests.sum();
+        double perSecond = total / elapsed;
+        System.out.printf("%-20s %12.0f %12.2f %14.0f %14.1f%n", name, perSecond, threads * 1e6 / perSecond,
+                (double) allocated.sum() / total, allocated.sum() / elapsed / 1048576.0);
+    }
+
+    private static void seed(InMemoryItemRepository repository, int count, Random random) {
+        List<User> owners = new ArrayList<>();
+        for (long id = 1; id <= Math.max(1, count / 10); id++) {
+            User user = new User();
+            user.setId(id);
+            user.setName("User " + id);
+            user.setEmail("user" + id + "@example.com");
+            user.setCreditPoints(random.nextInt(500));
+            user.setLatitude(28.4 + random.nextDouble());
+            user.setLongitude(77.0 + random.nextDouble());
+            owners.add(user);
+        }
+        for (long id = 1; id <= count; id++) {
+            Item item = new Item();
+            DirectFieldAccessor fields = new DirectFieldAccessor(item);
+            String category = CATEGORIES[random.nextInt(CATEGORIES.length)];
+            fields.setPropertyValue("id", id);
+            fields.setPropertyValue("name", category + " item " + id);
+            fields.setPropertyValue("description", "A well kept " + category.toLowerCase() + " item, available for short loans.");
+            fields.setPropertyValue("pricePerDay", Math.round(random.nextDouble() * 5000) / 100.0);
+            fields.setPropertyValue("imageUrl", "https://images.example.com/items/" + id + ".jpg");
+            fields.setPropertyValue("category", category);
+            fields.setPropertyValue("condition", CONDITIONS[random.nextInt(CONDITIONS.length)]);
+            fields.setPropertyValue("location", "Sector " + random.nextInt(60));
+            fields.setPropertyValue("available", random.nextInt(4) > 0);
+            fields.setPropertyValue("latitude", 28.4 + random.nextDouble());
+            fields.setPropertyValue("longitude", 77.0 + random.nextDouble());
+            fields.setPropertyValue("createdAt", LocalDateTime.of(2024, 1, 1, 0, 0).plusMinutes(random.nextInt(500_000)));
+            fields.setPropertyValue("updatedAt", LocalDateTime.of(2024, 6, 1, 0, 0).plusMinutes(random.nextInt(500_000)));
+            fields.setPropertyValue("owner", owners.get(random.nextInt(owners.size())));
+            repository.save(item);
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package com.platform.ShareNet.benchmark;
+
+import com.platform.ShareNet.config.RateLimitFilter;
+import com.platform.ShareNet.config.RateLimitProperties;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.io.IOException;
+import java.time.Duration;
+
+/**
+ * Time {@link RateLimitFilter} adds per request: for a request on no limited route, for one client
+ * hitting a limited route, and for many clients spread over their own buckets. Budgets are set
+ * high enough that every request is admitted, so the allowed path is what gets timed. Requests are
+ * built up front and the chain does nothing, so a bare call of the chain is the baseline.
+ * Not a unit test; run it through {@code scripts/rate-limit-benchmark.sh}.
+ *
+ * Arguments: [clients] [measured iterations]
+ */
+public class RateLimitBenchmark {
+
+    // Results are folded in here so the JIT cannot drop the measured work
+    private static volatile long blackhole;
+
+    interface Case {
+        void run(int i) throws IOException, ServletException;
+    }
+
+    public static void main(String[] args) throws Exception {
+        int clients = args.length > 0 ? Integer.parseInt(args[0]) : 50_000;
+        int iterations = args.length > 1 ? Integer.parseInt(args[1]) : 5_000_000;
+
+        RateLimitProperties properties = new RateLimitProperties();
+        properties.setMaxKeys(Math.max(100_000, clients * 2));
+        properties.setIdleTimeout(Duration.ofMinutes(10));
+        RateLimitProperties.Route login = new RateLimitProperties.Route();
+        login.setPath("/api/auth/login");
+        login.setCapacity(Integer.MAX_VALUE / 2);
+        login.setRefillPerMinute(Integer.MAX_VALUE / 2);
+        properties.getRoutes().put("login", login);
+        RateLimitProperties.Route chat = new RateLimitProperties.Route();
+        chat.setPath("/api/chats/send");
+        properties.getRoutes().put("chat-send", chat);
+        RateLimitFilter filter = new RateLimitFilter(properties);
+
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        FilterChain chain = (request, ignored) -> blackhole++;
+
+        MockHttpServletRequest unlimited = new MockHttpServletRequest("GET", "/api/items/available");
+        MockHttpServletRequest single = new MockHttpServletRequest("POST", "/api/auth/login");
+        single.setRemoteAddr("203.0.113.7");
+        MockHttpServletRequest[] many = new MockHttpServletRequest[clients];
+        for (int i = 0; i < clients; i++) {
+            many[i] = new MockHttpServletRequest("POST", "/api/auth/login");
+            many[i].setRemoteAddr("10." + (i >> 16 & 255) + "." + (i >> 8 & 255) + "." + (i & 255));
+        }
+
+        System.out.printf("%-28s %12s %14s%n", "case", "ns/request", "overhead ns");
+        double baseline = time("chain only (baseline)", iterations, 0, i -> chain.doFilter(single, response));
+        time("unlimited route", iterations, baseline, i -> filter.doFilter(unlimited, response, chain));
+        time("limited route, 1 client", iterations, baseline, i -> filter.doFilter(single, response, chain));
+        time("limited route, " + clients + " clients", iterations, baseline,
+                i -> filter.doFilter(many[i % clients], response, chain));
+    }
+
+    private static double time(String name, int iterations, double baseline, Case benchmarkCase)
+            throws IOException, ServletException {
+        // Warm up with the same number of calls before timing
+        for (int i = 0; i < iterations; i++) {
+            benchmarkCase.run(i);
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < iterations; i++) {
+            benchmarkCase.run(i);
+        }
+        double nanos = (System.nanoTime() - start) / (double) iterations;
+        if (baseline == 0) {
+            System.out.printf("%-28s %12.1f %14s%n", name, nanos, "-");
+        } else {
+            System.out.printf("%-28s %12.1f %14.1f%n", name, nanos, nanos - baseline);
+        }
+        return nanos;
+    }
+}
@@ -0,0 +1,58 @@
+package com.platform.ShareNet.benchmark;
+
+import com.platform.ShareNet.service.RecommendationService;
+import org.springframework.beans.DirectFieldAccessor;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Time of a full co-borrow rebuild, {@link RecommendationService#rebuild(long[], long[], int)}, for
+ * synthetic (borrower, item) pairs. Rows are computed on the common fork-join pool, so the
+ * parallelism is set per JVM; run it through {@code scripts/recommendation-benchmark.sh}, which
+ * repeats it at 1, 2, 4... threads up to the core count.
+ *
+ * Borrowers are uniform; items are skewed, item i drawn with probability about 1/sqrt(i), so a
+ * few popular items have long rows as in a real catalogue.
+ *
+ * Arguments: [pairs] [borrowers] [items] [rounds]
+ */
+public class RecommendationBenchmark {
+
+    // Results are folded in here so the JIT cannot drop the measured work
+    private static volatile long blackhole;
+
+    public static void main(String[] args) {
+        int pairs = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+        int borrowers = args.length > 1 ? Integer.parseInt(args[1]) : 100_000;
+        int items = args.length > 2 ? Integer.parseInt(args[2]) : 50_000;
+        int rounds = args.length > 3 ? Integer.parseInt(args[3]) : 5;
+
+        Random random = new Random(42);
+        long[] borrowerIds = new long[pairs];
+        long[] itemIds = new long[pairs];
+        for (int i = 0; i < pairs; i++) {
+            borrowerIds[i] = 1 + random.nextInt(borrowers);
+            double u = random.nextDouble();
+            itemIds[i] = 1 + (long) (items * u * u);
+        }
+
+        RecommendationService service = new RecommendationService();
+        new DirectFieldAccessor(service).setPropertyValue("topK", 10);
+
+        // Warm-up at the measured size, so the JIT has compiled the row loop
+        service.rebuild(borrowerIds, itemIds, pairs);
+
+        long[] millis = new long[rounds];
+        for (int round = 0; round < rounds; round++) {
+            long start = System.nanoTime();
+            service.rebuild(borrowerIds, itemIds, pairs);
+            millis[round] = (System.nanoTime() - start) / 1_000_000;
+            blackhole += service.getAlsoBorrowed(1L, 10).size();
+        }
+        Arrays.sort(millis);
+        System.out.printf("parallelism %2d: %d pairs, %d borrowers, %d items; rebuild median %d ms, best %d ms%n",
+                ForkJoinPool.getCommonPoolParallelism(), pairs, borrowers, items, millis[rounds / 2], millis[0]);
+    }
+}
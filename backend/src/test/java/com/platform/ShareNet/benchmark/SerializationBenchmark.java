@@ -0,0 +1,202 @@
+package com.platform.ShareNet.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
+import com.platform.ShareNet.codec.CborCodec;
+import com.platform.ShareNet.codec.ProtoSchema;
+import com.platform.ShareNet.codec.ProtobufCodec;
+import com.platform.ShareNet.dto.ChatListResponse;
+import com.platform.ShareNet.dto.ItemListResponse;
+import com.platform.ShareNet.model.Chat;
+import com.platform.ShareNet.model.Item;
+import com.platform.ShareNet.model.User;
+import org.springframework.beans.DirectFieldAccessor;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Size and encode/decode time of the JSON, CBOR and protobuf encodings for an item page and a
+ * conversation, built the way the HTTP converters build them. Not a unit test; run it through
+ * {@code scripts/serialization-benchmark.sh}.
+ *
+ * Arguments: [items per page] [chats per conversation] [measured iterations]
+ */
+public class SerializationBenchmark {
+
+    private static final String[] CATEGORIES = {"Electronics", "Tools", "Books", "Sports", "Kitchen", "Garden"};
+    private static final String[] CONDITIONS = {"New", "Like New", "Good", "Fair"};
+
+    // Results are folded in here so the JIT cannot drop the measured work
+    private static volatile long blackhole;
+
+    interface Codec {
+        byte[] encode(Object value) throws IOException;
+
+        Object decode(byte[] data) throws IOException;
+    }
+
+    public static void main(String[] args) throws IOException {
+        int items = args.length > 0 ? Integer.parseInt(args[0]) : 50;
+        int chats = args.length > 1 ? Integer.parseInt(args[1]) : 200;
+        int iterations = args.length > 2 ? Integer.parseInt(args[2]) : 2000;
+
+        ObjectMapper mapper = Jackson2ObjectMapperBuilder.json()
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build();
+        Random random = new Random(42);
+        List<User> users = new ArrayList<>();
+        for (long id = 1; id <= 20; id++) {
+            users.add(user(id, random));
+        }
+        Object itemPage = itemPage(items, users, random);
+        Object conversation = conversation(chats, users.get(0), users.get(1), random);
+
+        System.out.printf("%-12s %-10s %10s %10s %12s %12s%n",
+                "payload", "format", "bytes", "gzip", "encode_us", "decode_us");
+        run("item-page", itemPage, ProtoSchema.ITEM_LIST, mapper, iterations);
+        run("chat-list", conversation, ProtoSchema.CHAT_LIST, mapper, iterations);
+    }
+
+    private static void run(String payload, Object value, ProtoSchema schema, ObjectMapper mapper, int iterations)
+            throws IOException {
+        Map<String, Codec> codecs = new LinkedHashMap<>();
+        codecs.put("json", new Codec() {
+            public byte[] encode(Object v) throws IOException {
+                return mapper.writeValueAsBytes(v);
+            }
+
+            public Object decode(byte[] data) throws IOException {
+                return mapper.readValue(data, Map.class);
+            }
+        });
+        codecs.put("cbor", new Codec() {
+            public byte[] encode(Object v) throws IOException {
+                ByteArrayOutputStream out = new ByteArrayOutputStream();
+                try (TokenBuffer buffer = new TokenBuffer(mapper, false)) {
+                    mapper.writeValue(buffer, v);
+                    CborCodec.encode(buffer.asParser(), out);
+                }
+                return out.toByteArray();
+            }
+
+            public Object decode(byte[] data) {
+                return CborCodec.decode(data);
+            }
+        });
+        codecs.put("protobuf", new Codec() {
+            public byte[] encode(Object v) throws IOException {
+                ByteArrayOutputStream out = new ByteArrayOutputStream();
+                try (TokenBuffer buffer = new TokenBuffer(mapper, false)) {
+                    mapper.writeValue(buffer, v);
+                    ProtobufCodec.encode(buffer.asParser(), schema, out);
+                }
+                return out.toByteArray();
+            }
+
+            public Object decode(byte[] data) {
+                return ProtobufCodec.decode(data, schema);
+            }
+        });
+
+        for (Map.Entry<String, Codec> entry : codecs.entrySet()) {
+            Codec codec = entry.getValue();
+            byte[] encoded = codec.encode(value);
+            long sink = 0;
+            // Warm up both directions before timing
+            for (int i = 0; i < iterations; i++) {
+                sink += codec.encode(value).length;
+                sink += codec.decode(encoded).hashCode();
+            }
+            long start = System.nanoTime();
+            for (int i = 0; i < iterations; i++) {
+                sink += codec.encode(value).length;
+            }
+            double encodeMicros = (System.nanoTime() - start) / 1000.0 / iterations;
+            start = System.nanoTime();
+            for (int i = 0; i < iterations; i++) {
+                sink += codec.decode(encoded).hashCode();
+            }
+            double decodeMicros = (System.nanoTime() - start) / 1000.0 / iterations;
+            blackhole += sink;
+            System.out.printf("%-12s %-10s %10d %10d %12.1f %12.1f%n", payload, entry.getKey(), encoded.length,
+                    gzipped(encoded), encodeMicros, decodeMicros);
+        }
+    }
+
+    private static int gzipped(byte[] data) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(data);
+        }
+        return out.size();
+    }
+
+    private static Object itemPage(int count, List<User> users, Random random) {
+        List<Item> items = new ArrayList<>();
+        Map<String, Map<String, Integer>> facets = new LinkedHashMap<>();
+        Map<String, Integer> categories = new LinkedHashMap<>();
+        for (long id = 1; id <= count; id++) {
+            Item item = new Item();
+            DirectFieldAccessor fields = new DirectFieldAccessor(item);
+            String category = CATEGORIES[random.nextInt(CATEGORIES.length)];
+            fields.setPropertyValue("id", id);
+            fields.setPropertyValue("name", category + " item " + id);
+            fields.setPropertyValue("description", "A well kept " + category.toLowerCase() + " item, available for short loans.");
+            fields.setPropertyValue("pricePerDay", Math.round(random.nextDouble() * 5000) / 100.0);
+            fields.setPropertyValue("imageUrl", "https://images.example.com/items/" + id + ".jpg");
+            fields.setPropertyValue("category", category);
+            fields.setPropertyValue("condition", CONDITIONS[random.nextInt(CONDITIONS.length)]);
+            fields.setPropertyValue("location", "Sector " + random.nextInt(60));
+            fields.setPropertyValue("available", random.nextBoolean());
+            fields.setPropertyValue("latitude", 28.4 + random.nextDouble());
+            fields.setPropertyValue("longitude", 77.0 + random.nextDouble());
+            fields.setPropertyValue("createdAt", LocalDateTime.of(2024, 1, 1, 0, 0).plusMinutes(random.nextInt(500_000)));
+            fields.setPropertyValue("updatedAt", LocalDateTime.of(2024, 6, 1, 0, 0).plusMinutes(random.nextInt(500_000)));
+            fields.setPropertyValue("owner", users.get(random.nextInt(users.size())));
+            items.add(item);
+            categories.merge(category, 1, Integer::sum);
+        }
+        facets.put("category", categories);
+        facets.put("available", Map.of("true", count / 2));
+        return ItemListResponse.ofFacets(count, facets, items);
+    }
+
+    private static Object conversation(int count, User first, User second, Random random) {
+        List<Chat> chats = new ArrayList<>();
+        LocalDateTime time = LocalDateTime.of(2024, 3, 1, 9, 0);
+        for (long id = 1; id <= count; id++) {
+            Chat chat = new Chat();
+            chat.setId(id);
+            boolean forward = random.nextBoolean();
+            chat.setSender(forward ? first : second);
+            chat.setReceiver(forward ? second : first);
+            chat.setMessage("Is the item still free on " + (1 + random.nextInt(28)) + " March? I can pick it up after work.");
+            time = time.plusMinutes(1 + random.nextInt(90));
+            chat.setTimeStamp(time);
+            chats.add(chat);
+        }
+        return ChatListResponse.ok(chats);
+    }
+
+    private static User user(long id, Random random) {
+        User user = new User();
+        user.setId(id);
+        user.setName("User " + id);
+        user.setEmail("user" + id + "@example.com");
+        user.setPassword("$2a$10$abcdefghijklmnopqrstuv0123456789ABCDEFGHIJKLMNOPQRS");
+        user.setCreditPoints(random.nextInt(500));
+        user.setLatitude(28.4 + random.nextDouble());
+        user.setLongitude(77.0 + random.nextDouble());
+        return user;
+    }
+}
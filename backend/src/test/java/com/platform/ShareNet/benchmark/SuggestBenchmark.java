@@ -0,0 +1,90 @@
+package com.platform.ShareNet.benchmark;
+
+import com.platform.ShareNet.util.CompletionTrie;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Heap used and prefix-lookup latency of the item-name {@link CompletionTrie} for a synthetic
+ * catalogue of listing names ("brand adjective noun model"). Not a unit test; run it through
+ * {@code scripts/suggest-benchmark.sh}, which gives the JVM a fixed heap.
+ *
+ * Arguments: [items] [measured lookups] [top K]
+ */
+public class SuggestBenchmark {
+
+    private static final String[] BRANDS = {"bosch", "makita", "dewalt", "canon", "nikon", "sony", "apple", "samsung",
+            "ikea", "coleman", "yeti", "weber", "dyson", "philips", "lego", "trek", "specialized", "garmin"};
+    private static final String[] ADJECTIVES = {"cordless", "portable", "compact", "heavy duty", "wireless", "electric",
+            "folding", "vintage", "professional", "mini", "large", "waterproof", "digital", "manual"};
+    private static final String[] NOUNS = {"drill", "camera", "tent", "grill", "ladder", "projector", "speaker",
+            "bike", "kayak", "vacuum", "sander", "saw", "lens", "tripod", "cooler", "blender", "mixer", "console"};
+
+    // Results are folded in here so the JIT cannot drop the measured work
+    private static volatile long blackhole;
+
+    public static void main(String[] args) {
+        int items = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+        int lookups = args.length > 1 ? Integer.parseInt(args[1]) : 1_000_000;
+        int topK = args.length > 2 ? Integer.parseInt(args[2]) : 10;
+
+        Random random = new Random(42);
+        List<String> names = new ArrayList<>(items);
+        for (int i = 0; i < items; i++) {
+            names.add(name(random));
+        }
+
+        long before = usedHeap();
+        long start = System.nanoTime();
+        CompletionTrie trie = new CompletionTrie(topK);
+        for (String name : names) {
+            // Zipf-like popularity: most listings are rarely viewed
+            trie.add(name, name, 1 + (long) (1000 / (1 + random.nextInt(1000))), 1);
+        }
+        double buildSeconds = (System.nanoTime() - start) / 1e9;
+        long after = usedHeap();
+
+        // Key strings are shared with the names list, so they are counted here only for what the trie adds
+        System.out.printf("items %d, distinct keys %d, trie nodes %d%n", items, trie.size(), trie.nodeCount());
+        System.out.printf("build %.1f s, trie heap %.1f MB (%.0f bytes per item)%n", buildSeconds,
+                (after - before) / 1048576.0, (after - before) / (double) items);
+
+        String[] prefixes = new String[4096];
+        for (int i = 0; i < prefixes.length; i++) {
+            String name = names.get(random.nextInt(items));
+            prefixes[i] = name.substring(0, 1 + random.nextInt(Math.min(name.length(), 12)));
+        }
+        for (int i = 0; i < lookups; i++) {
+            blackhole += trie.complete(prefixes[i & (prefixes.length - 1)], topK).size();
+        }
+        start = System.nanoTime();
+        for (int i = 0; i < lookups; i++) {
+            blackhole += trie.complete(prefixes[i & (prefixes.length - 1)], topK).size();
+        }
+        System.out.printf("lookup %.2f us average over %d prefixes of 1-12 chars%n",
+                (System.nanoTime() - start) / 1000.0 / lookups, lookups);
+
+        start = System.nanoTime();
+        for (int i = 0; i < 100_000; i++) {
+            String name = names.get(random.nextInt(items));
+            trie.add(name, null, 5, 0);
+        }
+        System.out.printf("update %.2f us average (re-ranking the key's path)%n",
+                (System.nanoTime() - start) / 1000.0 / 100_000);
+    }
+
+    private static String name(Random random) {
+        return BRANDS[random.nextInt(BRANDS.length)] + " " + ADJECTIVES[random.nextInt(ADJECTIVES.length)] + " "
+                + NOUNS[random.nextInt(NOUNS.length)] + " " + (char) ('a' + random.nextInt(26)) + random.nextInt(1000);
+    }
+
+    private static long usedHeap() {
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        Runtime runtime = Runtime.getRuntime();
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
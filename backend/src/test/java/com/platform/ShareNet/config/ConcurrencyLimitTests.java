@@ -0,0 +1,160 @@
+package com.platform.ShareNet.config;
+
+import com.platform.ShareNet.config.ConcurrencyLimitFilter.GradientLimit;
+import com.platform.ShareNet.monitoring.RequestTimingFilter;
+import com.platform.ShareNet.monitoring.RequestTimings;
+import com.platform.ShareNet.monitoring.SlowRequestLog;
+import jakarta.servlet.AsyncContext;
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * The gradient limit against a simulated database that serves {@code capacity} requests at
+ * its base time and queues the rest, and the filter's accounting for async requests. Lives in
+ * the filter's package because the estimator is package-private.
+ */
+class ConcurrencyLimitTests {
+
+    private static final double CAPACITY = 40;
+    private static final double BASE_MILLIS = 5;
+
+    // Closed by sample count alone, ten samples per window
+    private static GradientLimit gradientLimit(int longWindows) {
+        return new GradientLimit(20, 4, 200, 1.5, 0.2, 0, 10, longWindows);
+    }
+
+    /**
+     * Saturating load: every window runs at the current limit, its time stretched by queueing
+     * beyond capacity. Every {@code fastEvery}-th window is four times faster, e.g. a burst of
+     * cache-warm reads.
+     */
+    private static final class Simulation {
+
+        private final GradientLimit limit;
+        private long now;
+
+        Simulation(GradientLimit limit) {
+            this.limit = limit;
+        }
+
+        int run(int windows, double baseMillis, int fastEvery) {
+            for (int window = 1; window <= windows; window++) {
+                int inFlight = limit.limit();
+                double millis = baseMillis * Math.max(1, inFlight / CAPACITY);
+                if (fastEvery > 0 && window % fastEvery == 0) {
+                    millis /= 4;
+                }
+                for (int sample = 0; sample < 10; sample++) {
+                    now += TimeUnit.MILLISECONDS.toNanos(10);
+                    limit.onSample((long) (millis * 1_000_000), inFlight, now);
+                }
+            }
+            return limit.limit();
+        }
+    }
+
+    @Test
+    void settlesAboveCapacityWithinTolerance() {
+        Simulation simulation = new Simulation(gradientLimit(600));
+
+        int settled = simulation.run(2_000, BASE_MILLIS, 0);
+
+        // Queueing may stretch database time up to the tolerance, 1.5 times capacity
+        assertTrue(settled >= CAPACITY && settled <= 1.5 * CAPACITY + 10, "limit " + settled);
+        assertEquals(BASE_MILLIS, simulation.limit.longTermNanos() / 1e6, 0.01);
+    }
+
+    @Test
+    void fastWindowsDoNotPullTheBaselineDown() {
+        Simulation simulation = new Simulation(gradientLimit(600));
+        simulation.run(500, BASE_MILLIS, 0);
+
+        // A baseline that snapped to the fast windows' time would read every normal window as
+        // four times too slow and hold the limit near its minimum
+        int limit = simulation.run(2_000, BASE_MILLIS, 10);
+
+        assertTrue(limit >= CAPACITY, "limit " + limit);
+        assertEquals(BASE_MILLIS, simulation.limit.longTermNanos() / 1e6, 0.01);
+    }
+
+    @Test
+    void backsOffWhenTheDatabaseSlowsAndAdoptsTheNewBaseline() {
+        Simulation simulation = new Simulation(gradientLimit(50));
+        int before = simulation.run(1_000, BASE_MILLIS, 0);
+
+        // Three times slower at every concurrency, e.g. a cold buffer pool after a failover
+        int shed = simulation.run(50, 3 * BASE_MILLIS, 0);
+        assertTrue(shed < before / 2, before + " -> " + shed);
+
+        // Near the minimum the slower time becomes the baseline, and the limit climbs back to
+        // what the database can still serve concurrently
+        int recovered = simulation.run(3_000, 3 * BASE_MILLIS, 0);
+        assertTrue(recovered >= CAPACITY, "limit " + recovered);
+        assertTrue(simulation.limit.longTermNanos() / 1e6 > 1.5 * BASE_MILLIS);
+    }
+
+    @Test
+    void asyncRequestsHoldTheirSlotAndReportTheirDatabaseTime() throws Exception {
+        ConcurrencyLimitProperties properties = new ConcurrencyLimitProperties();
+        properties.setWindow(Duration.ZERO);
+        properties.setMinWindowSamples(1);
+        ConcurrencyLimitFilter limitFilter = new ConcurrencyLimitFilter(properties);
+        RequestTimingFilter timingFilter = new RequestTimingFilter(new SlowRequestLog(10), Duration.ofMinutes(1));
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        AtomicReference<AsyncContext> async = new AtomicReference<>();
+
+        // Like a streamed response: the handler returns at once and the body runs, with its SQL,
+        // on another thread
+        HttpServlet streaming = new HttpServlet() {
+            @Override
+            protected void service(HttpServletRequest request, HttpServletResponse response) {
+                async.set(request.startAsync());
+                executor.submit(RequestTimings.propagate(() -> {
+                    RequestTimings.add("sql", TimeUnit.MILLISECONDS.toNanos(30));
+                    return null;
+                }));
+            }
+        };
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/items/feed");
+        request.setAsyncSupported(true);
+        try {
+            new MockFilterChain(streaming, timingFilter, limitFilter).doFilter(request, new MockHttpServletResponse());
+            executor.shutdown();
+            assertTrue(executor.awaitTermination(5, TimeUnit.SECONDS));
+
+            assertEquals(1, limitFilter.stats().get("inFlight"));
+            assertEquals(0.0, limitFilter.stats().get("recentDatabaseMs"));
+            async.get().complete();
+            assertEquals(0, limitFilter.stats().get("inFlight"));
+            assertEquals(30.0, limitFilter.stats().get("recentDatabaseMs"));
+        } finally {
+            executor.shutdownNow();
+        }
+
+        // Synchronous requests still release as the chain returns
+        HttpServlet plain = new HttpServlet() {
+            @Override
+            protected void service(HttpServletRequest request, HttpServletResponse response) {
+                RequestTimings.add("sql", TimeUnit.MILLISECONDS.toNanos(10));
+            }
+        };
+        new MockFilterChain(plain, timingFilter, limitFilter)
+                .doFilter(new MockHttpServletRequest("GET", "/api/items"), new MockHttpServletResponse());
+        assertEquals(0, limitFilter.stats().get("inFlight"));
+        assertEquals(10.0, limitFilter.stats().get("recentDatabaseMs"));
+    }
+}
@@ -53,6 +53,42 @@ export const endpoints = {
       return axios.get(`${API_URL}/items/${itemId}`, {
         headers: getHeaders(false)
       });
+    },
+    // Counts a detail-page open; fire and forget
+    opened: async (itemId) => {
+      return axios.post(`${API_URL}/items/${itemId}/opened`, null, {
+        headers: getHeaders(false)
+      });
+    },
+    // Search-box completions for a typed prefix
+    suggest: async (query, limit) => {
+      return axios.get(`${API_URL}/items/suggest`, {
+        params: { q: query, limit },
+        headers: getHeaders(false)
+      });
+    },
+    // One request for many ids instead of one per id
+    getByIds: async (itemIds, fields) => {
+      return axios.get(`${API_URL}/items`, {
+        params: { ids: itemIds.join(','), fields },
+        headers: getHeaders(false)
+      });
+    }
+  },
+  users: {
+    getByIds: async (userIds, fields) => {
+      return axios.get(`${API_URL}/users`, {
+        params: { ids: userIds.join(','), fields },
+        headers: getHeaders(true)
+      });
+    }
+  },
+  dashboard: {
+    // Profile, owned items, pending/own requests and transactions in one call
+    get: async (userId) => {
+      return axios.get(`${API_URL}/dashboard/${userId}`, {
+        headers: getHeaders(true)
+      });
     }
   }
 };
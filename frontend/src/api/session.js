@@ -0,0 +1,92 @@
+import axios from 'axios';
+
+const API_URL = import.meta.env.VITE_API_URL || 'http://localhost:8080/api';
+
+// Renew this long before the access token expires
+const REFRESH_MARGIN_MS = 60 * 1000;
+
+let pendingRefresh = null;
+
+const expiresAt = (token) => {
+  try {
+    const payload = JSON.parse(atob(token.split('.')[1].replace(/-/g, '+').replace(/_/g, '/')));
+    return payload.exp * 1000;
+  } catch {
+    return 0;
+  }
+};
+
+export const saveSession = (data) => {
+  localStorage.setItem('token', data.token);
+  if (data.refreshToken) {
+    localStorage.setItem('refreshToken', data.refreshToken);
+  }
+};
+
+export const clearSession = () => {
+  localStorage.removeItem('token');
+  localStorage.removeItem('refreshToken');
+  localStorage.removeItem('user');
+};
+
+// One renewal at a time: refresh tokens are single-use, a second concurrent call would be reuse
+const renew = () => {
+  if (!pendingRefresh) {
+    const refreshToken = localStorage.getItem('refreshToken');
+    pendingRefresh = fetch(`${API_URL}/auth/refresh`, {
+      method: 'POST',
+      headers: { 'Content-Type': 'application/json' },
+      body: JSON.stringify({ refreshToken })
+    })
+      .then((response) => response.json())
+      .then((data) => {
+        if (data.success) {
+          saveSession(data);
+        } else {
+          clearSession();
+        }
+      })
+      .catch(() => {})
+      .finally(() => {
+        pendingRefresh = null;
+      });
+  }
+  return pendingRefresh;
+};
+
+/**
+ * Keeps the short-lived access token fresh: requests sent through axios renew it first when it
+ * is about to expire, and the stored header is rewritten with the new token.
+ */
+export const installTokenRefresh = () => {
+  axios.interceptors.request.use(async (config) => {
+    const token = localStorage.getItem('token');
+    const auth = config.headers?.Authorization;
+    if (token && localStorage.getItem('refreshToken') && auth === `Bearer ${token}`
+        && expiresAt(token) - Date.now() < REFRESH_MARGIN_MS) {
+      await renew();
+      const renewed = localStorage.getItem('token');
+      if (renewed) {
+        config.headers.Authorization = `Bearer ${renewed}`;
+      }
+    }
+    return config;
+  });
+};
+
+export const logout = async () => {
+  const token = localStorage.getItem('token');
+  const refreshToken = localStorage.getItem('refreshToken');
+  if (token) {
+    try {
+      await fetch(`${API_URL}/auth/logout`, {
+        method: 'POST',
+        headers: { 'Content-Type': 'application/json', Authorization: `Bearer ${token}` },
+        body: JSON.stringify({ refreshToken })
+      });
+    } catch {
+      // The tokens expire on their own
+    }
+  }
+  clearSession();
+};
@@ -3,6 +3,7 @@ import { Link, useLocation, useNavigate } from 'react-router-dom';
 import { motion } from 'framer-motion';
 import NotificationPanel from './NotificationPanel';
 import SettingsPanel from './SettingsPanel';
+import { logout } from '../api/session';
 
 // Animation variants for page transitions
 const pageVariants = {
@@ -126,9 +127,8 @@ const AppLayout = ({ children }) => {
     { name: 'Profile', href: '/profile', icon: 'user' },
   ];
 
-  const handleLogout = () => {
-    localStorage.removeItem('authToken');
-    localStorage.removeItem('user');
+  const handleLogout = async () => {
+    await logout();
     window.location.href = '/login';
   };
 
@@ -1,6 +1,7 @@
 import React from 'react';
 import ReactDOM from 'react-dom/client';
 import App from './App';
+import { installTokenRefresh } from './api/session';
 import './index.css';
 
 class ErrorBoundary extends React.Component {
@@ -31,6 +32,8 @@ class ErrorBoundary extends React.Component {
   }
 }
 
+installTokenRefresh();
+
 // Clean React mounting with error boundary and strict mode
 const root = ReactDOM.createRoot(document.getElementById('root'));
 root.render(
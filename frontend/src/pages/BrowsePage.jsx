@@ -136,6 +136,25 @@ const BrowsePage = () => {
     image: null
   });
   const [uploadPreview, setUploadPreview] = useState(null);
+  const [suggestions, setSuggestions] = useState([]);
+
+  // Completions for the search box, fetched once typing pauses
+  useEffect(() => {
+    const query = searchTerm.trim();
+    if (!query) {
+      setSuggestions([]);
+      return;
+    }
+    const timer = setTimeout(async () => {
+      try {
+        const response = await endpoints.items.suggest(query, 8);
+        setSuggestions(response?.data?.suggestions || []);
+      } catch (error) {
+        setSuggestions([]);
+      }
+    }, 150);
+    return () => clearTimeout(timer);
+  }, [searchTerm]);
 
   // Load items from backend database
   useEffect(() => {
@@ -209,7 +228,15 @@ const BrowsePage = () => {
               className="w-full px-4 py-2 bg-white/10 border border-white/20 rounded-lg text-white placeholder-gray-400 focus:outline-none focus:ring-2 focus:ring-blue-500"
               value={searchTerm}
               onChange={(e) => setSearchTerm(e.target.value)}
+              list="item-suggestions"
             />
+            <datalist id="item-suggestions">
+              {suggestions.map(suggestion => (
+                <option key={`${suggestion.type}:${suggestion.text}`} value={suggestion.text}>
+                  {suggestion.type === 'category' ? 'Category' : ''}
+                </option>
+              ))}
+            </datalist>
           </div>
           <select
             className="px-4 py-2 bg-white/10 border border-white/20 rounded-lg text-white focus:outline-none focus:ring-2 focus:ring-blue-500"
@@ -2,6 +2,7 @@ import React, { useState, useEffect } from 'react';
 import { useParams, useNavigate, useLocation } from 'react-router-dom';
 import StarsBackground from '../components/StarsBackground';
 import { toast } from 'sonner';
+import { endpoints } from '../api/api';
 import { MessageSquare, Heart, Bell, X, ChevronLeft } from 'lucide-react';
 
 export default function ItemDetailPage() {
@@ -17,6 +18,12 @@ export default function ItemDetailPage() {
   const [isNotificationOpen, setIsNotificationOpen] = useState(false);
   const [unreadCount, setUnreadCount] = useState(0);
 
+  useEffect(() => {
+    if (id) {
+      endpoints.items.opened(id).catch(() => {});
+    }
+  }, [id]);
+
   useEffect(() => {
     const fetchItemDetails = () => {
       try {
@@ -2,6 +2,7 @@ import React, { useState, useEffect } from 'react';
 import { useNavigate } from 'react-router-dom';
 import { motion, AnimatePresence } from 'framer-motion';
 import { endpoints } from '../api/api';
+import { saveSession } from '../api/session';
 
 /* ── Floating aurora orbs ─────────────────────────────────────── */
 const Orb = ({ cx, cy, r, color, delay }) => (
@@ -107,7 +108,7 @@ const LoginPage = () => {
     try {
       const response = await endpoints.auth.login({ email, password });
       if (response.data.success) {
-        localStorage.setItem('token', response.data.token);
+        saveSession(response.data);
         localStorage.setItem('user', JSON.stringify(response.data.user));
         navigate('/dashboard');
       } else {
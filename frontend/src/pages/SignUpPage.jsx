@@ -2,6 +2,7 @@ import React, { useState, useEffect } from 'react';
 import { useNavigate } from 'react-router-dom';
 import { motion, AnimatePresence } from 'framer-motion';
 import { endpoints } from '../api/api';
+import { saveSession } from '../api/session';
 
 /* ── Floating aurora orbs ─────────────────────────────────────── */
 const Orb = ({ cx, cy, r, color, delay }) => (
@@ -118,7 +119,7 @@ const SignUpPage = () => {
       });
       if (response.data.success) {
         if (response.data.token) {
-          localStorage.setItem('token', response.data.token);
+          saveSession(response.data);
           localStorage.setItem('user', JSON.stringify(response.data.user));
           navigate('/dashboard');
         } else {